@@ -21,6 +21,7 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Charset> FILE_ENCODING;
     public static final ConfigurationDefinition<Long> CHANGELOGLOCK_WAIT_TIME;
     public static final ConfigurationDefinition<Long> CHANGELOGLOCK_POLL_RATE;
+    public static final ConfigurationDefinition<Boolean> CHANGELOGLOCK_USE_ADVISORY_LOCK;
     public static final ConfigurationDefinition<Boolean> CONVERT_DATA_TYPES;
     public static final ConfigurationDefinition<Boolean> GENERATE_CHANGESET_CREATED_VALUES;
     public static final ConfigurationDefinition<Boolean> AUTO_REORG;
@@ -40,6 +41,13 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Boolean> STRICT;
     public static final ConfigurationDefinition<Integer> DDL_LOCK_TIMEOUT;
     public static final ConfigurationDefinition<Boolean> SECURE_PARSING;
+    public static final ConfigurationDefinition<Boolean> VERIFY_CACHED_CHECKSUMS;
+    public static final ConfigurationDefinition<Integer> CHECKSUM_PARALLELISM;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_BATCH_SIZE;
+    public static final ConfigurationDefinition<Integer> SNAPSHOT_CACHE_MAX_ROWS;
+    public static final ConfigurationDefinition<Integer> HISTORY_GROUP_COMMIT_SIZE;
+    public static final ConfigurationDefinition<String> HISTORY_CACHE_DIRECTORY;
+    public static final ConfigurationDefinition<Boolean> USE_CHANGELOG_DIGEST;
 
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase");
@@ -64,10 +72,15 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
 
         CHANGELOGLOCK_POLL_RATE = builder.define("changelogLockPollRate", Long.class)
                 .addAliasKey("liquibase.changeLogLockPollRate")
-                .setDescription("Number of seconds wait between checks to the changelog lock when it is locked")
+                .setDescription("Maximum number of seconds wait between checks to the changelog lock when it is locked. The wait starts below a second and doubles with every check, with random jitter.")
                 .setDefaultValue(10L)
                 .build();
 
+        CHANGELOGLOCK_USE_ADVISORY_LOCK = builder.define("changelogLockUseAdvisoryLock", Boolean.class)
+                .setDescription("Wait for the changelog lock on a session level advisory lock of the database (pg_advisory_lock on PostgreSQL, GET_LOCK on MySQL and MariaDB, sp_getapplock on SQL Server), so waiting instances continue as soon as the lock is released. Do not enable with connection pools that do not keep the database session, like PgBouncer in transaction mode.")
+                .setDefaultValue(false)
+                .build();
+
         LIQUIBASE_TABLESPACE_NAME = builder.define("liquibaseTablespaceName", String.class)
                 .addAliasKey("liquibase.liquibaseTableSpaceName")
                 .addAliasKey("liquibase.databaseChangeLogTablespaceName")
@@ -192,5 +205,39 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
                 .setDescription("If true, show a Liquibase banner on startup.")
                 .setDefaultValue(true)
                 .build();
+
+        VERIFY_CACHED_CHECKSUMS = builder.define("verifyCachedChecksums", Boolean.class)
+                .setDescription("If true, changeset checksums are recomputed every time they are used and an error is thrown if the cached value is out of date. Intended for debugging only since it disables checksum caching.")
+                .setDefaultValue(false)
+                .build();
+
+        CHECKSUM_PARALLELISM = builder.define("checksumParallelism", Integer.class)
+                .setDescription("Number of threads used to compute all changeset checksums right after the changelog is parsed. Values of 1 or less disable the precomputation and checksums are computed when first needed.")
+                .setDefaultValue(1)
+                .build();
+
+        LOAD_DATA_BATCH_SIZE = builder.define("loadDataBatchSize", Integer.class)
+                .setDescription("Default number of rows loadData and loadUpdateData send to the database in a single JDBC batch, and read at once in streaming mode. Can be overridden with the batchSize attribute of the change.")
+                .setDefaultValue(1000)
+                .build();
+
+        SNAPSHOT_CACHE_MAX_ROWS = builder.define("snapshotCacheMaxRows", Integer.class)
+                .setDescription("Maximum number of metadata rows each snapshot query type keeps cached. Once exceeded, the rows of the least recently used schemas are dropped and queried again when needed. Values of 0 or less keep all rows.")
+                .setDefaultValue(0)
+                .build();
+
+        HISTORY_GROUP_COMMIT_SIZE = builder.define("historyGroupCommitSize", Integer.class)
+                .setDescription("Maximum number of consecutive changesets committed together, with their DATABASECHANGELOG rows inserted as one JDBC batch. Only applies to changesets that run in a transaction, only modify data and have no preconditions, on databases that support DDL in transactions. Values of 1 or less commit every changeset on its own.")
+                .setDefaultValue(1)
+                .build();
+
+        HISTORY_CACHE_DIRECTORY = builder.define("historyCacheDirectory", String.class)
+                .setDescription("Directory to keep a local copy of the DATABASECHANGELOG table in, one file per database URL and liquibase schema. Later runs only read the rows with a higher ORDEREXECUTED than the copy, after checking the row count, highest ORDEREXECUTED, highest MD5SUM and tags of the table. No copy is kept if not set.")
+                .build();
+
+        USE_CHANGELOG_DIGEST = builder.define("useChangelogDigest", Boolean.class)
+                .setDescription("If true, an update that leaves nothing to run stores a digest of the changelog in the DATABASECHANGELOGDIGEST table, which is created on first use. Later updates with the same changelog return without taking the lock or reading the history as long as the stored digest and the row count, highest ORDEREXECUTED, highest MD5SUM and tags of DATABASECHANGELOG are unchanged.")
+                .setDefaultValue(false)
+                .build();
     }
 }
@@ -20,6 +20,7 @@ import liquibase.exception.*;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
+import liquibase.executor.jvm.JdbcExecutor;
 import liquibase.hub.*;
 import liquibase.hub.listener.HubChangeExecListener;
 import liquibase.hub.model.Connection;
@@ -33,6 +34,7 @@ import liquibase.logging.core.BufferedLogService;
 import liquibase.logging.core.CompositeLogService;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
+import liquibase.precondition.PreconditionMetadataCache;
 import liquibase.resource.InputStreamList;
 import liquibase.resource.ResourceAccessor;
 import liquibase.serializer.ChangeLogSerializer;
@@ -210,12 +212,16 @@ public class Liquibase implements AutoCloseable {
     public void update(Contexts contexts, LabelExpression labelExpression, boolean checkLiquibaseTables) throws LiquibaseException {
         runInScope(() -> {
 
-            LockService lockService = LockServiceFactory.getInstance().getLockService(database);
-            lockService.waitForLock();
-
             changeLogParameters.setContexts(contexts);
             changeLogParameters.setLabels(labelExpression);
 
+            if (checkLiquibaseTables && isUpToDate(contexts, labelExpression)) {
+                return;
+            }
+
+            LockService lockService = LockServiceFactory.getInstance().getLockService(database);
+            lockService.waitForLock();
+
             Operation updateOperation = null;
             BufferedLogService bufferLog = new BufferedLogService();
             DatabaseChangeLog changeLog = null;
@@ -261,9 +267,11 @@ public class Liquibase implements AutoCloseable {
                 //
                 ChangeLogIterator runChangeLogIterator = getStandardChangelogIterator(contexts, labelExpression, changeLog);
                 CompositeLogService compositeLogService = new CompositeLogService(true, bufferLog);
+                UpdateVisitor updateVisitor = createUpdateVisitor();
                 Scope.child(Scope.Attr.logService.name(), compositeLogService, () -> {
-                    runChangeLogIterator.run(createUpdateVisitor(), new RuntimeEnvironment(database, contexts, labelExpression));
+                    runChangeLogIterator.run(updateVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
                 });
+                storeChangeLogDigest(changeLog, contexts, labelExpression, updateVisitor.hasChangeSetsLeftToRun());
 
                 //
                 // Update Hub with the operation information
@@ -273,6 +281,7 @@ public class Liquibase implements AutoCloseable {
                 if (hubUpdater != null) {
                     hubUpdater.postUpdateHubExceptionHandling(updateOperation, bufferLog, e.getMessage());
                 }
+                discardGroupCommit();
                 throw e;
             } finally {
                 database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
@@ -287,6 +296,87 @@ public class Liquibase implements AutoCloseable {
         });
     }
 
+    /**
+     * Rolls back the changesets that are still waiting for their group to be committed after a failed update, so that
+     * releasing the lock does not commit them. See {@link GlobalConfiguration#HISTORY_GROUP_COMMIT_SIZE}.
+     */
+    private void discardGroupCommit() {
+        ChangeLogHistoryService historyService = ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database);
+        if (!(historyService instanceof StandardChangeLogHistoryService)
+                || !((StandardChangeLogHistoryService) historyService).hasPendingGroupCommit()) {
+            return;
+        }
+        ((StandardChangeLogHistoryService) historyService).discardGroupCommit();
+        try {
+            database.rollback();
+        } catch (DatabaseException e) {
+            LOG.warning("Could not roll back the changesets committed together: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns true if the changelog digest stored in the database and the DATABASECHANGELOG table are unchanged since
+     * the last update that left nothing to run, see {@link ChangeLogDigest}. Only the digest row and a summary of the
+     * table are read from the database.
+     */
+    private boolean isUpToDate(Contexts contexts, LabelExpression labelExpression) throws LiquibaseException {
+        if (!canUseChangeLogDigest()) {
+            return false;
+        }
+        String digest = ChangeLogDigest.compute(getDatabaseChangeLog(), contexts, labelExpression);
+        if (digest == null) {
+            return false;
+        }
+        try {
+            if (ChangeLogDigest.isUpToDate(database, digest)) {
+                LOG.info("Database is up to date, no changesets to execute");
+                return true;
+            }
+        } catch (DatabaseException e) {
+            LOG.fine("Cannot check the changelog digest, running a full update: " + e.getMessage());
+            rollbackAfterChangeLogDigest();
+        }
+        return false;
+    }
+
+    /**
+     * Stores the changelog digest in the database if the update left nothing to run, so the next update with the same
+     * changelog can return early, and removes it otherwise. Whether anything is left to run comes from the
+     * {@link UpdateVisitor} of the update.
+     */
+    private void storeChangeLogDigest(DatabaseChangeLog changeLog, Contexts contexts, LabelExpression labelExpression,
+                                      boolean changeSetsLeftToRun) throws LiquibaseException {
+        if (!canUseChangeLogDigest()) {
+            return;
+        }
+        String digest = changeSetsLeftToRun ? null : ChangeLogDigest.compute(changeLog, contexts, labelExpression);
+        try {
+            ChangeLogDigest.store(database, digest);
+        } catch (DatabaseException e) {
+            LOG.warning("Cannot store the changelog digest: " + e.getMessage(), e);
+            rollbackAfterChangeLogDigest();
+        }
+    }
+
+    private void rollbackAfterChangeLogDigest() {
+        try {
+            // some databases abort the transaction after a failed query
+            database.rollback();
+        } catch (DatabaseException e) {
+            LOG.fine("Cannot roll back after accessing the changelog digest: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns true if {@link GlobalConfiguration#USE_CHANGELOG_DIGEST} is set and the update runs against a live
+     * DATABASECHANGELOG table
+     */
+    private boolean canUseChangeLogDigest() {
+        return GlobalConfiguration.USE_CHANGELOG_DIGEST.getCurrentValue()
+                && (ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database) instanceof StandardChangeLogHistoryService)
+                && (Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof JdbcExecutor);
+    }
+
     /**
      *
      * Create or retrieve the Connection object
@@ -367,6 +457,7 @@ public class Liquibase implements AutoCloseable {
         if (databaseChangeLog == null && changeLogFile != null) {
             ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(changeLogFile, resourceAccessor);
             databaseChangeLog = parser.parse(changeLogFile, changeLogParameters, resourceAccessor);
+            databaseChangeLog.precomputeCheckSums();
         }
 
         return databaseChangeLog;
@@ -546,6 +637,7 @@ public class Liquibase implements AutoCloseable {
                     if (hubUpdater != null) {
                         hubUpdater.postUpdateHubExceptionHandling(updateOperation, bufferLog, e.getMessage());
                     }
+                    discardGroupCommit();
                     throw e;
                 } finally {
                     database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
@@ -664,6 +756,7 @@ public class Liquibase implements AutoCloseable {
                     if (hubUpdater != null) {
                         hubUpdater.postUpdateHubExceptionHandling(updateOperation, bufferLog, e.getMessage());
                     }
+                    discardGroupCommit();
                     throw e;
                 } finally {
                     database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
@@ -2400,6 +2493,7 @@ public class Liquibase implements AutoCloseable {
         Map<String, Object> scopeObjects = new HashMap<>();
         scopeObjects.put(Scope.Attr.database.name(), getDatabase());
         scopeObjects.put(Scope.Attr.resourceAccessor.name(), getResourceAccessor());
+        scopeObjects.put(Scope.Attr.preconditionMetadataCache.name(), new PreconditionMetadataCache());
 
         try {
             Scope.child(scopeObjects, scopedRunner);
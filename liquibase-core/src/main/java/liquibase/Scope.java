@@ -56,7 +56,17 @@ public class Scope {
         fileEncoding,
         databaseChangeLog,
         changeSet,
-        osgiPlatform
+        osgiPlatform,
+
+        /**
+         * {@link javax.sql.DataSource} that changeSets with parallelLoad set use to open one connection per worker
+         */
+        parallelLoadDataSource,
+
+        /**
+         * {@link liquibase.precondition.PreconditionMetadataCache} the existence preconditions of the current run use
+         */
+        preconditionMetadataCache
     }
 
     private static ScopeManager scopeManager;
@@ -286,6 +286,16 @@ public abstract class AbstractChange extends AbstractPlugin implements Change {
         this.changeSet = changeSet;
     }
 
+    /**
+     * Clears the checksum cached by the {@link ChangeSet} of this change. Called by the setters of the change
+     * properties.
+     */
+    protected void clearCheckSum() {
+        if (changeSet != null) {
+            changeSet.clearCheckSum();
+        }
+    }
+
     /**
      * Implementation delegates logic to the
      * {@link liquibase.sqlgenerator.SqlGenerator#generateStatementsIsVolatile(Database) } method on the
@@ -416,23 +426,21 @@ public abstract class AbstractChange extends AbstractPlugin implements Change {
         }
 
         // Record warnings if statements are unsupported on database
-        if (!generateStatementsVolatile(database)) {
+        SqlStatement[] statements = generateStatementShape(database);
+        if (statements != null) {
             String unsupportedWarning = Scope.getCurrentScope().getSingleton(ChangeFactory.class).getChangeMetaData(this).getName()
                     + " is not supported on " + database.getShortName();
             boolean sawUnsupportedError = false;
 
-            SqlStatement[] statements = generateStatements(database);
-            if (statements != null) {
-                for (SqlStatement statement : statements) {
-                    boolean supported = SqlGeneratorFactory.getInstance().supports(statement, database);
-                    if (!supported && !sawUnsupportedError) {
-                        if (!statement.skipOnUnsupported()) {
-                            changeValidationErrors.addError(unsupportedWarning);
-                            sawUnsupportedError = true;
-                        }
-                    } else {
-                        changeValidationErrors.addAll(SqlGeneratorFactory.getInstance().validate(statement, database));
+            for (SqlStatement statement : statements) {
+                boolean supported = SqlGeneratorFactory.getInstance().supports(statement, database);
+                if (!supported && !sawUnsupportedError) {
+                    if (!statement.skipOnUnsupported()) {
+                        changeValidationErrors.addError(unsupportedWarning);
+                        sawUnsupportedError = true;
                     }
+                } else {
+                    changeValidationErrors.addAll(SqlGeneratorFactory.getInstance().validate(statement, database));
                 }
             }
         }
@@ -462,13 +470,32 @@ public abstract class AbstractChange extends AbstractPlugin implements Change {
     }
 
     /**
-     * Implementation generates checksum by serializing the change with {@link StringChangeLogSerializer}
+     * Implementation generates checksum by serializing the change with {@link StringChangeLogSerializer}.
+     * The {@link ColumnConfig}s of the change are registered so that their setters clear the cached changeSet checksum.
      */
     @Override
     public CheckSum generateCheckSum() {
+        if (changeSet != null) {
+            registerColumnConfigs();
+        }
         return CheckSum.compute(new StringChangeLogSerializer().serialize(this, false));
     }
 
+    private void registerColumnConfigs() {
+        for (String field : getSerializableFields()) {
+            Object value = getSerializableFieldValue(field);
+            if (value instanceof ColumnConfig) {
+                ((ColumnConfig) value).setChange(this);
+            } else if (value instanceof Collection) {
+                for (Object item : (Collection<?>) value) {
+                    if (item instanceof ColumnConfig) {
+                        ((ColumnConfig) item).setChange(this);
+                    }
+                }
+            }
+        }
+    }
+
     /*
      * Generates rollback statements from the inverse changes returned by createInverses().
      * Throws RollbackImpossibleException if the changes created by createInverses() is not supported for the
@@ -60,6 +60,7 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
 
     @Override
     public void setDbms(final String dbms) {
+        clearCheckSum();
         this.dbms = dbms;
     }
 
@@ -104,6 +105,7 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
      * Passing null sets stripComments to the default value (false).
      */
     public void setStripComments(Boolean stripComments) {
+        clearCheckSum();
         if (stripComments == null) {
             this.stripComments = false;
         } else {
@@ -127,6 +129,7 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
      * Passing null sets stripComments to the default value (true).
      */
     public void setSplitStatements(Boolean splitStatements) {
+        clearCheckSum();
         if (splitStatements == null) {
             this.splitStatements = true;
         } else {
@@ -156,6 +159,7 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
      * Set the raw SQL managed by this Change. The passed sql is trimmed and set to null if an empty string is passed.
      */
     public void setSql(String sql) {
+        clearCheckSum();
        this.sql = StringUtil.trimToNull(sql);
     }
 
@@ -174,6 +178,7 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
      * @param endDelimiter
      */
     public void setEndDelimiter(String endDelimiter) {
+        clearCheckSum();
         this.endDelimiter = endDelimiter;
     }
 
@@ -11,6 +11,7 @@ public abstract class AbstractTableChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -20,6 +21,7 @@ public abstract class AbstractTableChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -31,6 +33,7 @@ public abstract class AbstractTableChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 }
@@ -24,6 +24,7 @@ public class AddColumnConfig extends ColumnConfig {
     }
 
     public void setAfterColumn(String afterColumn) {
+        clearCheckSum();
         this.afterColumn = afterColumn;
     }
 
@@ -32,6 +33,7 @@ public class AddColumnConfig extends ColumnConfig {
     }
 
     public void setBeforeColumn(String beforeColumn) {
+        clearCheckSum();
         this.beforeColumn = beforeColumn;
     }
 
@@ -40,6 +42,7 @@ public class AddColumnConfig extends ColumnConfig {
     }
 
     public void setPosition(Integer position) {
+        clearCheckSum();
         this.position = position;
     }
 
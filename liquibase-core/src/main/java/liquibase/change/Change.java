@@ -102,6 +102,21 @@ public interface Change extends LiquibaseSerializable, Plugin, ExtensibleObject
      */
     public boolean generateStatementsVolatile(Database database);
 
+    /**
+     * Returns statements of the same types and structure as {@link #generateStatements(Database)}, for checks that do
+     * not depend on the actual values, such as whether the database supports the statements.
+     * Implementations can override this to return fewer statements or statements without data when creating the real
+     * statements is expensive, like reading a large data file.
+     * Returns null if the statements cannot be known up front because {@link #generateStatementsVolatile(Database)}
+     * is true.
+     */
+    default SqlStatement[] generateStatementShape(Database database) {
+        if (generateStatementsVolatile(database)) {
+            return null;
+        }
+        return generateStatements(database);
+    }
+
 
     /**
      * Returns true if this can change be rolled back for the given database.
@@ -348,6 +348,9 @@ public class ChangeParameterMetaData {
                 }
             }
             writeMethod.invoke(change, value);
+            if (change.getChangeSet() != null) {
+                change.getChangeSet().clearCheckSum();
+            }
         } catch (UnexpectedLiquibaseException e) {
             throw e;
         } catch (Exception e) {
@@ -58,6 +58,8 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     private String remarks;
     private Boolean descending;
 
+    private transient AbstractChange change;
+
     /**
      * Create a ColumnConfig object based on a {@link Column} snapshot.
      * It will attempt to set as much as possible based on the information in the snapshot.
@@ -204,6 +206,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setName(String name) {
+        clearCheckSum();
         this.name = name;
         return this;
     }
@@ -218,6 +221,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setComputed(Boolean computed) {
+        clearCheckSum();
         this.computed = computed;
         return this;
     }
@@ -231,6 +235,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setType(String type) {
+        clearCheckSum();
         this.type = type;
         return this;
     }
@@ -254,6 +259,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
      * so that you can set the string "null" as a value if you are feeling particularly crazy.
      */
     public ColumnConfig setValue(String value) {
+        clearCheckSum();
         this.value = value;
 
         return this;
@@ -268,6 +274,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setValueNumeric(Number valueNumeric) {
+        clearCheckSum();
         this.valueNumeric = valueNumeric;
 
         return this;
@@ -279,6 +286,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
      * that returns a number. If the value "null" is passed, it will set a null value.
      */
     public ColumnConfig setValueNumeric(String valueNumeric) {
+        clearCheckSum();
         if ((valueNumeric == null) || "null".equalsIgnoreCase(valueNumeric)) {
             this.valueNumeric = null;
         } else {
@@ -313,6 +321,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
      * If "1" is passed, defaultValueBoolean is set to true. If 0 is passed, defaultValueBoolean is set to false
      */
     public ColumnConfig setValueBoolean(String valueBoolean) {
+        clearCheckSum();
         valueBoolean = StringUtil.trimToNull(valueBoolean);
         if ((valueBoolean == null) || "null".equalsIgnoreCase(valueBoolean)) {
             this.valueBoolean = null;
@@ -331,6 +340,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setValueBoolean(Boolean valueBoolean) {
+        clearCheckSum();
         this.valueBoolean = valueBoolean;
 
         return this;
@@ -346,6 +356,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setValueComputed(DatabaseFunction valueComputed) {
+        clearCheckSum();
         this.valueComputed = valueComputed;
 
         return this;
@@ -356,6 +367,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setValueSequenceNext(SequenceNextValueFunction valueSequenceNext) {
+        clearCheckSum();
         this.valueSequenceNext = valueSequenceNext;
 
         return this;
@@ -366,6 +378,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setValueSequenceCurrent(SequenceCurrentValueFunction valueSequenceCurrent) {
+        clearCheckSum();
         this.valueSequenceCurrent = valueSequenceCurrent;
 
         return this;
@@ -387,6 +400,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
      * @throws DateParseException if the columnType isn't supported for "now" or "today" values.
      */
     public ColumnConfig setValueDate(String valueDate) throws DateParseException {
+        clearCheckSum();
         if ((valueDate == null) || "null".equalsIgnoreCase(valueDate)) {
             this.valueDate = null;
         } else if (NowAndTodayUtil.isNowOrTodayFormat(valueDate)) {
@@ -404,6 +418,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setValueDate(Date valueDate) {
+        clearCheckSum();
         this.valueDate = valueDate;
 
         return this;
@@ -418,6 +433,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setValueBlobFile(String valueBlobFile) {
+        clearCheckSum();
         this.valueBlobFile = valueBlobFile;
         return this;
     }
@@ -431,6 +447,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setValueClobFile(String valueClobFile) {
+        clearCheckSum();
         this.valueClobFile = valueClobFile;
         return this;
     }
@@ -443,6 +460,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setEncoding(String encoding) {
+        clearCheckSum();
         this.encoding = encoding;
         return this;
     }
@@ -488,6 +506,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
      * so that you can set the string "null" as a value if you are feeling particularly crazy.
      */
     public ColumnConfig setDefaultValue(String defaultValue) {
+        clearCheckSum();
         this.defaultValue = defaultValue;
 
         return this;
@@ -509,6 +528,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
      * A special case is made for "GENERATED_BY_DEFAULT" which simply sets the ColumnConfig object to autoIncrement.
      */
     public ColumnConfig setDefaultValueNumeric(String defaultValueNumeric) {
+        clearCheckSum();
         if ((defaultValueNumeric == null) || "null".equalsIgnoreCase(defaultValueNumeric)) {
             this.defaultValueNumeric = null;
         } else {
@@ -531,6 +551,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setDefaultValueNumeric(Number defaultValueNumeric) {
+        clearCheckSum();
         this.defaultValueNumeric = defaultValueNumeric;
 
         return this;
@@ -545,6 +566,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setDefaultValueDate(Date defaultValueDate) {
+        clearCheckSum();
         this.defaultValueDate = defaultValueDate;
 
         return this;
@@ -556,6 +578,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
      * If the string "null" or an empty string is passed, it will set a null value.
      */
     public ColumnConfig setDefaultValueDate(String defaultValueDate) {
+        clearCheckSum();
         defaultValueDate = StringUtil.trimToNull(defaultValueDate);
         if ((defaultValueDate == null) || "null".equalsIgnoreCase(defaultValueDate)) {
             this.defaultValueDate = null;
@@ -586,6 +609,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
      * If "1" is passed, defaultValueBoolean is set to true. If 0 is passed, defaultValueBoolean is set to false
      */
     public ColumnConfig setDefaultValueBoolean(String defaultValueBoolean) {
+        clearCheckSum();
         defaultValueBoolean = StringUtil.trimToNull(defaultValueBoolean);
         if ((defaultValueBoolean == null) || "null".equalsIgnoreCase(defaultValueBoolean)) {
             this.defaultValueBoolean = null;
@@ -604,6 +628,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setDefaultValueBoolean(Boolean defaultValueBoolean) {
+        clearCheckSum();
         this.defaultValueBoolean = defaultValueBoolean;
 
         return this;
@@ -618,6 +643,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setDefaultValueComputed(DatabaseFunction defaultValueComputed) {
+        clearCheckSum();
         this.defaultValueComputed = defaultValueComputed;
 
         return this;
@@ -652,7 +678,11 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setConstraints(ConstraintsConfig constraints) {
+        clearCheckSum();
         this.constraints = constraints;
+        if (constraints != null) {
+            constraints.setChange(change);
+        }
 
         return this;
     }
@@ -665,6 +695,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setAutoIncrement(Boolean autoIncrement) {
+        clearCheckSum();
         this.autoIncrement = autoIncrement;
 
         return this;
@@ -678,6 +709,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setStartWith(BigInteger startWith) {
+        clearCheckSum();
         this.startWith = startWith;
 
         return this;
@@ -691,6 +723,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setIncrementBy(BigInteger incrementBy) {
+        clearCheckSum();
         this.incrementBy = incrementBy;
 
         return this;
@@ -713,6 +746,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setRemarks(String remarks) {
+        clearCheckSum();
         this.remarks = remarks;
         return this;
     }
@@ -722,6 +756,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setDescending(Boolean descending) {
+        clearCheckSum();
         this.descending = descending;
         return this;
     }
@@ -731,6 +766,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setDefaultOnNull(Boolean defaultOnNull) {
+        clearCheckSum();
         this.defaultOnNull = defaultOnNull;
         return this;
     }
@@ -740,6 +776,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public ColumnConfig setGenerationType(String generationType) {
+        clearCheckSum();
         this.generationType = generationType;
         return this;
     }
@@ -749,11 +786,32 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
         return "column";
     }
 
+    /**
+     * Sets the change whose cached checksum is cleared when this column or its constraints are modified.
+     * Called by {@link AbstractChange#generateCheckSum()}.
+     */
+    void setChange(AbstractChange change) {
+        this.change = change;
+        if (constraints != null) {
+            constraints.setChange(change);
+        }
+    }
+
+    /**
+     * Clears the checksum cached by the changeSet of the change this column belongs to. Called by the setters.
+     */
+    protected void clearCheckSum() {
+        if (change != null) {
+            change.clearCheckSum();
+        }
+    }
+
     public SequenceNextValueFunction getDefaultValueSequenceNext() {
         return defaultValueSequenceNext;
     }
 
     public ColumnConfig setDefaultValueSequenceNext(SequenceNextValueFunction defaultValueSequenceNext) {
+        clearCheckSum();
         this.defaultValueSequenceNext = defaultValueSequenceNext;
 
         return this;
@@ -764,6 +822,7 @@ public class ColumnConfig extends AbstractLiquibaseSerializable {
     }
 
     public void setDefaultValueConstraintName(String defaultValueConstraintName) {
+        clearCheckSum();
         this.defaultValueConstraintName = defaultValueConstraintName;
     }
 
@@ -34,6 +34,8 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     private Boolean validatePrimaryKey;
     private Boolean validateForeignKey ;
 
+    private transient AbstractChange change;
+
     /**
      * Returns if the column should be nullable. Returns null if unspecified.
      */
@@ -42,6 +44,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setNullable(Boolean nullable) {
+        clearCheckSum();
         this.nullable = nullable;
         return this;
     }
@@ -54,6 +57,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if a different value is passed
      */
     public ConstraintsConfig setNullable(String nullable) {
+        clearCheckSum();
         this.nullable = parseBoolean(nullable);
 
         return this;
@@ -69,6 +73,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setNotNullConstraintName(String notNullConstraintName) {
+        clearCheckSum();
         this.notNullConstraintName = notNullConstraintName;
         return this;
     }
@@ -81,6 +86,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setPrimaryKey(Boolean primaryKey) {
+        clearCheckSum();
         this.primaryKey = primaryKey;
         return this;
     }
@@ -93,6 +99,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if a different value is passed
      */
     public ConstraintsConfig setPrimaryKey(String primaryKey) {
+        clearCheckSum();
         this.primaryKey = parseBoolean(primaryKey);
 
         return this;
@@ -107,6 +114,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setPrimaryKeyName(String primaryKeyName) {
+        clearCheckSum();
         this.primaryKeyName = primaryKeyName;
         return this;
     }
@@ -120,6 +128,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setReferences(String references) {
+        clearCheckSum();
         this.references = references;
         return this;
     }
@@ -132,6 +141,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setUnique(Boolean unique) {
+        clearCheckSum();
         this.unique = unique;
         return this;
     }
@@ -144,6 +154,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if a different value is passed
      */
     public ConstraintsConfig setUnique(String unique) {
+        clearCheckSum();
         this.unique = parseBoolean(unique);
 
         return this;
@@ -158,6 +169,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setUniqueConstraintName(String uniqueConstraintName) {
+        clearCheckSum();
         this.uniqueConstraintName = uniqueConstraintName;
         return this;
     }
@@ -170,6 +182,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setCheckConstraint(String checkConstraint) {
+        clearCheckSum();
         this.checkConstraint = checkConstraint;
         return this;
     }
@@ -183,6 +196,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setDeleteCascade(Boolean deleteCascade) {
+        clearCheckSum();
         this.deleteCascade = deleteCascade;
         return this;
     }
@@ -195,6 +209,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if a different value is passed
      */
     public ConstraintsConfig setDeleteCascade(String deleteCascade) {
+        clearCheckSum();
         this.deleteCascade = parseBoolean(deleteCascade);
 
         return this;
@@ -208,6 +223,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setForeignKeyName(String foreignKeyName) {
+        clearCheckSum();
         this.foreignKeyName = foreignKeyName;
         return this;
     }
@@ -220,6 +236,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setInitiallyDeferred(Boolean initiallyDeferred) {
+        clearCheckSum();
         this.initiallyDeferred = initiallyDeferred;
         return this;
     }
@@ -232,6 +249,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if a different value is passed
      */
     public ConstraintsConfig setInitiallyDeferred(String initiallyDeferred) {
+        clearCheckSum();
         this.initiallyDeferred = parseBoolean(initiallyDeferred);
 
         return this;
@@ -245,6 +263,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setDeferrable(Boolean deferrable) {
+        clearCheckSum();
         this.deferrable = deferrable;
         return this;
     }
@@ -257,6 +276,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if an invalid value is passed
      */
     public ConstraintsConfig setValidateNullable(String validateNullable) {
+        clearCheckSum();
         this.validateNullable = parseBoolean(validateNullable);
         return this;
     }
@@ -270,6 +290,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setValidateNullable(Boolean validateNullable) {
+        clearCheckSum();
         this.validateNullable = validateNullable;
         return this;
     }
@@ -282,6 +303,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if an invalid value is passed
      */
     public ConstraintsConfig setValidateUnique(String validateUnique) {
+        clearCheckSum();
         this.validateUnique = parseBoolean(validateUnique);
         return this;
     }
@@ -295,6 +317,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setValidateUnique(Boolean validateUnique) {
+        clearCheckSum();
         this.validateUnique = validateUnique;
         return this;
     }
@@ -307,6 +330,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if an invalid value is passed
      */
     public ConstraintsConfig setValidatePrimaryKey(String validatePrimaryKey) {
+        clearCheckSum();
         this.validatePrimaryKey = parseBoolean(validatePrimaryKey);
         return this;
     }
@@ -320,6 +344,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setValidatePrimaryKey(Boolean validatePrimaryKey) {
+        clearCheckSum();
         this.validatePrimaryKey = validatePrimaryKey;
         return this;
     }
@@ -332,6 +357,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if an invalid value is passed
      */
     public ConstraintsConfig setValidateForeignKey(String validateForeignKey) {
+        clearCheckSum();
         this.validateForeignKey= parseBoolean(validateForeignKey);
         return this;
     }
@@ -345,6 +371,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setValidateForeignKey(Boolean validateForeignKey) {
+        clearCheckSum();
         this.validateForeignKey = validateForeignKey;
         return this;
     }
@@ -357,6 +384,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
      * Throws an {@link UnexpectedLiquibaseException} if a different value is passed
      */
     public ConstraintsConfig setDeferrable(String deferrable) {
+        clearCheckSum();
         this.deferrable = parseBoolean(deferrable);
 
         return this;
@@ -370,6 +398,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public ConstraintsConfig setPrimaryKeyTablespace(String primaryKeyTablespace) {
+        clearCheckSum();
         this.primaryKeyTablespace = primaryKeyTablespace;
         return this;
     }
@@ -379,6 +408,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public void setReferencedTableCatalogName(String referencedTableCatalogName) {
+        clearCheckSum();
         this.referencedTableCatalogName = referencedTableCatalogName;
     }
 
@@ -387,6 +417,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public void setReferencedTableSchemaName(String referencedTableSchemaName) {
+        clearCheckSum();
         this.referencedTableSchemaName = referencedTableSchemaName;
     }
 
@@ -395,6 +426,7 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public void setReferencedTableName(String referencedTableName) {
+        clearCheckSum();
         this.referencedTableName = referencedTableName;
     }
 
@@ -403,9 +435,23 @@ public class ConstraintsConfig extends AbstractLiquibaseSerializable {
     }
 
     public void setReferencedColumnNames(String referencedColumnNames) {
+        clearCheckSum();
         this.referencedColumnNames = referencedColumnNames;
     }
 
+    /**
+     * Sets the change whose cached checksum is cleared when these constraints are modified.
+     */
+    void setChange(AbstractChange change) {
+        this.change = change;
+    }
+
+    private void clearCheckSum() {
+        if (change != null) {
+            change.clearCheckSum();
+        }
+    }
+
     private Boolean parseBoolean(String value) {
         value = StringUtil.trimToNull(value);
         if ((value == null) || "null".equalsIgnoreCase(value)) {
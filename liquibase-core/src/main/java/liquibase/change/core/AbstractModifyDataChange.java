@@ -26,6 +26,7 @@ public abstract class AbstractModifyDataChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -35,6 +36,7 @@ public abstract class AbstractModifyDataChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -44,6 +46,7 @@ public abstract class AbstractModifyDataChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -53,6 +56,7 @@ public abstract class AbstractModifyDataChange extends AbstractChange {
     }
 
     public void setWhere(String where) {
+        clearCheckSum();
         this.where = where;
     }
 
@@ -68,11 +72,13 @@ public abstract class AbstractModifyDataChange extends AbstractChange {
      * @deprecated use setWhere()
      */
     public void setWhereClause(String where) {
+        clearCheckSum();
         this.where = where;
     }
 
 
     public void addWhereParam(ColumnConfig param) {
+        clearCheckSum();
         whereParams.add(param);
     }
 
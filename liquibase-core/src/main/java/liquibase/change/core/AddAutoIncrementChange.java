@@ -48,6 +48,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -57,6 +58,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -66,6 +68,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -75,6 +78,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        clearCheckSum();
         this.columnName = columnName;
     }
 
@@ -85,6 +89,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        clearCheckSum();
         this.columnDataType = columnDataType;
     }
 
@@ -94,6 +99,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setStartWith(BigInteger startWith) {
+        clearCheckSum();
         this.startWith = startWith;
     }
 
@@ -103,6 +109,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setIncrementBy(BigInteger incrementBy) {
+        clearCheckSum();
         this.incrementBy = incrementBy;
     }
 @DatabaseChangeProperty(exampleValue = "true", since = "3.6")
@@ -111,6 +118,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setDefaultOnNull(Boolean defaultOnNull) {
+        clearCheckSum();
         this.defaultOnNull = defaultOnNull;
     }
 
@@ -120,6 +128,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setGenerationType(String generationType) {
+        clearCheckSum();
         this.generationType = generationType;
     }
     @Override
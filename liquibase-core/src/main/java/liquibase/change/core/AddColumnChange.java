@@ -38,6 +38,7 @@ public class AddColumnChange extends AbstractChange implements ChangeWithColumns
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -47,6 +48,7 @@ public class AddColumnChange extends AbstractChange implements ChangeWithColumns
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -56,6 +58,7 @@ public class AddColumnChange extends AbstractChange implements ChangeWithColumns
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -67,11 +70,13 @@ public class AddColumnChange extends AbstractChange implements ChangeWithColumns
 
     @Override
     public void setColumns(List<AddColumnConfig> columns) {
+        clearCheckSum();
         this.columns = columns;
     }
 
     @Override
     public void addColumn(AddColumnConfig column) {
+        clearCheckSum();
         this.columns.add(column);
     }
 
@@ -79,6 +79,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -88,6 +89,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -97,6 +99,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -106,6 +109,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        clearCheckSum();
         this.columnName = columnName;
     }
 
@@ -115,6 +119,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        clearCheckSum();
         this.columnDataType = columnDataType;
     }
 
@@ -124,6 +129,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValue(String defaultValue) {
+        clearCheckSum();
         this.defaultValue = defaultValue;
     }
 
@@ -134,6 +140,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueNumeric(String defaultValueNumeric) {
+        clearCheckSum();
         this.defaultValueNumeric = defaultValueNumeric;
     }
 
@@ -143,6 +150,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueDate(String defaultValueDate) {
+        clearCheckSum();
         this.defaultValueDate = defaultValueDate;
     }
 
@@ -153,6 +161,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueBoolean(Boolean defaultValueBoolean) {
+        clearCheckSum();
         this.defaultValueBoolean = defaultValueBoolean;
     }
 
@@ -162,6 +171,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueComputed(DatabaseFunction defaultValueComputed) {
+        clearCheckSum();
         this.defaultValueComputed = defaultValueComputed;
     }
 
@@ -171,6 +181,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueSequenceNext(SequenceNextValueFunction defaultValueSequenceNext) {
+        clearCheckSum();
         this.defaultValueSequenceNext = defaultValueSequenceNext;
     }
 
@@ -179,6 +190,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueConstraintName(String defaultValueConstraintName) {
+        clearCheckSum();
         this.defaultValueConstraintName = defaultValueConstraintName;
     }
 
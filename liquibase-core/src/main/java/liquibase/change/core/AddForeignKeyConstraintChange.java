@@ -67,6 +67,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableCatalogName(String baseTableCatalogName) {
+        clearCheckSum();
         this.baseTableCatalogName = baseTableCatalogName;
     }
 
@@ -76,6 +77,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableSchemaName(String baseTableSchemaName) {
+        clearCheckSum();
         this.baseTableSchemaName = baseTableSchemaName;
     }
 
@@ -89,6 +91,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableName(String baseTableName) {
+        clearCheckSum();
         this.baseTableName = baseTableName;
     }
 
@@ -102,6 +105,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseColumnNames(String baseColumnNames) {
+        clearCheckSum();
         this.baseColumnNames = baseColumnNames;
     }
 
@@ -111,6 +115,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setReferencedTableCatalogName(String referencedTableCatalogName) {
+        clearCheckSum();
         this.referencedTableCatalogName = referencedTableCatalogName;
     }
 
@@ -119,6 +124,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setReferencedTableSchemaName(String referencedTableSchemaName) {
+        clearCheckSum();
         this.referencedTableSchemaName = referencedTableSchemaName;
     }
 
@@ -130,6 +136,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setReferencedTableName(String referencedTableName) {
+        clearCheckSum();
         this.referencedTableName = referencedTableName;
     }
 
@@ -141,6 +148,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setReferencedColumnNames(String referencedColumnNames) {
+        clearCheckSum();
         this.referencedColumnNames = referencedColumnNames;
     }
 
@@ -150,6 +158,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -159,6 +168,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setDeferrable(Boolean deferrable) {
+        clearCheckSum();
         this.deferrable = deferrable;
     }
 
@@ -186,10 +196,12 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
      * have 'ENABLE VALIDATE' set.
      */
     public void setValidate(Boolean shouldValidate) {
+        clearCheckSum();
         this.shouldValidate = shouldValidate;
     }
     
     public void setInitiallyDeferred(Boolean initiallyDeferred) {
+        clearCheckSum();
         this.initiallyDeferred = initiallyDeferred;
     }
 
@@ -203,6 +215,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setDeleteCascade(Boolean deleteCascade) {
+        clearCheckSum();
         if ((deleteCascade != null) && deleteCascade && (this.onDelete == null)) {
             setOnDelete("CASCADE");
         } else {
@@ -211,6 +224,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setOnUpdate(String rule) {
+        clearCheckSum();
         this.onUpdate = rule;
     }
 
@@ -223,6 +237,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setOnDelete(String onDelete) {
+        clearCheckSum();
         this.onDelete = onDelete;
     }
 
@@ -234,6 +249,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setOnDelete(ForeignKeyConstraintType rule) {
+        clearCheckSum();
         if (rule == null) {
             //nothing
         } else if (rule == ForeignKeyConstraintType.importedKeyCascade) {
@@ -252,6 +268,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setOnUpdate(ForeignKeyConstraintType rule) {
+        clearCheckSum();
         if (rule == null) {
             //nothing
         } else if (rule == ForeignKeyConstraintType.importedKeyCascade) {
@@ -374,6 +391,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setReferencesUniqueColumn(Boolean referencesUniqueColumn) {
+        clearCheckSum();
     }
 
     @Override
@@ -63,6 +63,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setExistingTableCatalogName(String existingTableCatalogName) {
+        clearCheckSum();
         this.existingTableCatalogName = existingTableCatalogName;
     }
 
@@ -72,6 +73,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setExistingTableSchemaName(String existingTableSchemaName) {
+        clearCheckSum();
         this.existingTableSchemaName = existingTableSchemaName;
     }
 
@@ -81,6 +83,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setExistingTableName(String existingTableName) {
+        clearCheckSum();
         this.existingTableName = existingTableName;
     }
 
@@ -90,6 +93,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setExistingColumnName(String existingColumnName) {
+        clearCheckSum();
         this.existingColumnName = existingColumnName;
     }
 
@@ -100,6 +104,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewTableCatalogName(String newTableCatalogName) {
+        clearCheckSum();
         this.newTableCatalogName = newTableCatalogName;
     }
 
@@ -108,6 +113,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewTableSchemaName(String newTableSchemaName) {
+        clearCheckSum();
         this.newTableSchemaName = newTableSchemaName;
     }
 
@@ -117,6 +123,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewTableName(String newTableName) {
+        clearCheckSum();
         this.newTableName = newTableName;
     }
 
@@ -126,6 +133,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewColumnName(String newColumnName) {
+        clearCheckSum();
         this.newColumnName = newColumnName;
     }
 
@@ -135,6 +143,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewColumnDataType(String newColumnDataType) {
+        clearCheckSum();
         this.newColumnDataType = newColumnDataType;
     }
 
@@ -152,6 +161,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
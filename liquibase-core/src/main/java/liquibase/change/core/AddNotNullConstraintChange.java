@@ -73,6 +73,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -82,6 +83,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -93,6 +95,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -103,6 +106,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        clearCheckSum();
         this.columnName = columnName;
     }
 
@@ -113,6 +117,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setDefaultNullValue(String defaultNullValue) {
+        clearCheckSum();
         this.defaultNullValue = defaultNullValue;
     }
 
@@ -122,6 +127,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        clearCheckSum();
         this.columnDataType = columnDataType;
     }
 
@@ -132,6 +138,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -233,6 +240,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
      * have 'ENABLE VALIDATE' set.
      */
     public void setValidate(Boolean shouldValidate) {
+        clearCheckSum();
         this.shouldValidate = shouldValidate;
     }
 }
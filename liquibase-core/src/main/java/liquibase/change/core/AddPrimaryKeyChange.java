@@ -34,6 +34,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -43,6 +44,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -52,6 +54,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -61,6 +64,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setColumnNames(String columnNames) {
+        clearCheckSum();
         this.columnNames = columnNames;
     }
 
@@ -70,6 +74,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -78,6 +83,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setForIndexName(String forIndexName) {
+        clearCheckSum();
         this.forIndexName = forIndexName;
     }
 
@@ -86,6 +92,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setForIndexSchemaName(String forIndexSchemaName) {
+        clearCheckSum();
         this.forIndexSchemaName = forIndexSchemaName;
     }
 
@@ -94,6 +101,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setForIndexCatalogName(String forIndexCatalogName) {
+        clearCheckSum();
         this.forIndexCatalogName = forIndexCatalogName;
     }
 
@@ -102,6 +110,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setTablespace(String tablespace) {
+        clearCheckSum();
         this.tablespace = tablespace;
     }
 
@@ -110,6 +119,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setClustered(Boolean clustered) {
+        clearCheckSum();
         this.clustered = clustered;
     }
 
@@ -132,6 +142,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
      * have 'ENABLE VALIDATE' set.
      */
     public void setValidate(Boolean shouldValidate) {
+        clearCheckSum();
         this.shouldValidate = shouldValidate;
     }
 
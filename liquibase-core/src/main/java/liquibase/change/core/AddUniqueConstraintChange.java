@@ -38,6 +38,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -47,6 +48,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -57,6 +59,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -67,6 +70,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setColumnNames(String columnNames) {
+        clearCheckSum();
         this.columnNames = columnNames;
     }
 
@@ -76,6 +80,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -86,6 +91,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setTablespace(String tablespace) {
+        clearCheckSum();
         this.tablespace = tablespace;
     }
 
@@ -95,6 +101,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setDeferrable(Boolean deferrable) {
+        clearCheckSum();
         this.deferrable = deferrable;
     }
 
@@ -104,6 +111,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setInitiallyDeferred(Boolean initiallyDeferred) {
+        clearCheckSum();
         this.initiallyDeferred = initiallyDeferred;
     }
 
@@ -113,6 +121,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setDisabled(Boolean disabled) {
+        clearCheckSum();
         this.disabled = disabled;
     }
 
@@ -135,6 +144,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
      * have 'ENABLE VALIDATE' set.
      */
     public void setValidate(Boolean validate) {
+        clearCheckSum();
         this.shouldValidate = validate;
     }
 
@@ -143,6 +153,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setClustered(Boolean clustered) {
+        clearCheckSum();
         this.clustered = clustered;
     }
 
@@ -151,6 +162,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setForIndexName(String forIndexName) {
+        clearCheckSum();
         this.forIndexName = forIndexName;
     }
 
@@ -159,6 +171,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setForIndexSchemaName(String forIndexSchemaName) {
+        clearCheckSum();
         this.forIndexSchemaName = forIndexSchemaName;
     }
 
@@ -167,6 +180,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setForIndexCatalogName(String forIndexCatalogName) {
+        clearCheckSum();
         this.forIndexCatalogName = forIndexCatalogName;
     }
 
@@ -32,6 +32,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -41,6 +42,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -50,6 +52,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setSequenceName(String sequenceName) {
+        clearCheckSum();
         this.sequenceName = sequenceName;
     }
 
@@ -60,6 +63,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setIncrementBy(BigInteger incrementBy) {
+        clearCheckSum();
         this.incrementBy = incrementBy;
     }
 
@@ -69,6 +73,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setMaxValue(BigInteger maxValue) {
+        clearCheckSum();
         this.maxValue = maxValue;
     }
 
@@ -78,6 +83,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setMinValue(BigInteger minValue) {
+        clearCheckSum();
         this.minValue = minValue;
     }
 
@@ -87,6 +93,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setOrdered(Boolean ordered) {
+        clearCheckSum();
         this.ordered = ordered;
     }
 
@@ -96,6 +103,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setCacheSize(BigInteger cacheSize) {
+        clearCheckSum();
         this.cacheSize = cacheSize;
     }
 
@@ -104,10 +112,12 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setCycle(Boolean cycle) {
+        clearCheckSum();
         this.cycle = cycle;
     }
 
     public void setDataType(String dataType) {
+        clearCheckSum();
         this.dataType = dataType;
     }
 
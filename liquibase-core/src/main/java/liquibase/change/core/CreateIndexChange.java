@@ -43,6 +43,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setIndexName(String indexName) {
+        clearCheckSum();
         this.indexName = indexName;
     }
 
@@ -52,6 +53,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -61,6 +63,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -75,11 +78,13 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
 
     @Override
     public void setColumns(List<AddColumnConfig> columns) {
+        clearCheckSum();
         this.columns = columns;
     }
 
     @Override
     public void addColumn(AddColumnConfig column) {
+        clearCheckSum();
         columns.add(column);
     }
 
@@ -90,6 +95,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setTablespace(String tablespace) {
+        clearCheckSum();
         this.tablespace = tablespace;
     }
 
@@ -157,6 +163,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
      * @param isUnique the isUnique to set
      */
     public void setUnique(Boolean isUnique) {
+        clearCheckSum();
         this.unique = isUnique;
     }
 
@@ -178,6 +185,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setAssociatedWith(String associatedWith) {
+        clearCheckSum();
         this.associatedWith = associatedWith;
     }
 
@@ -188,6 +196,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -196,6 +205,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setClustered(Boolean clustered) {
+        clearCheckSum();
         this.clustered = clustered;
     }
 
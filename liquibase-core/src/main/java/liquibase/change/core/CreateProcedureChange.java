@@ -59,6 +59,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -67,6 +68,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -76,6 +78,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setProcedureName(String procedureName) {
+        clearCheckSum();
         this.procedureName = procedureName;
     }
 
@@ -85,6 +88,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setEncoding(String encoding) {
+        clearCheckSum();
         this.encoding = encoding;
     }
 
@@ -98,6 +102,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setPath(String path) {
+        clearCheckSum();
         this.path = path;
     }
 
@@ -106,6 +111,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setRelativeToChangelogFile(Boolean relativeToChangelogFile) {
+        clearCheckSum();
         this.relativeToChangelogFile = relativeToChangelogFile;
     }
 
@@ -128,6 +134,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
      */
     @Deprecated
     public void setProcedureBody(String procedureText) {
+        clearCheckSum();
         this.procedureText = procedureText;
     }
 
@@ -137,6 +144,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setProcedureText(String procedureText) {
+        clearCheckSum();
         this.procedureText = procedureText;
     }
 
@@ -149,6 +157,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setDbms(final String dbms) {
+        clearCheckSum();
         this.dbms = dbms;
     }
 
@@ -157,6 +166,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setComments(String comments) {
+        clearCheckSum();
         this.comments = comments;
     }
 
@@ -166,6 +176,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     public void setReplaceIfExists(Boolean replaceIfExists) {
+        clearCheckSum();
         this.replaceIfExists = replaceIfExists;
     }
 
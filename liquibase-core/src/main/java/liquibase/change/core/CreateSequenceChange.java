@@ -33,6 +33,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -41,6 +42,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -50,6 +52,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setSequenceName(String sequenceName) {
+        clearCheckSum();
         this.sequenceName = sequenceName;
     }
 
@@ -59,6 +62,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setStartValue(BigInteger startValue) {
+        clearCheckSum();
         this.startValue = startValue;
     }
 
@@ -68,6 +72,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setIncrementBy(BigInteger incrementBy) {
+        clearCheckSum();
         this.incrementBy = incrementBy;
     }
 
@@ -77,6 +82,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setMaxValue(BigInteger maxValue) {
+        clearCheckSum();
         this.maxValue = maxValue;
     }
 
@@ -86,6 +92,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setMinValue(BigInteger minValue) {
+        clearCheckSum();
         this.minValue = minValue;
     }
 
@@ -95,6 +102,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setOrdered(Boolean ordered) {
+        clearCheckSum();
         this.ordered = ordered;
     }
 
@@ -104,6 +112,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setCycle(Boolean cycle) {
+        clearCheckSum();
         this.cycle = cycle;
     }
 
@@ -113,6 +122,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setCacheSize(BigInteger cacheSize) {
+        clearCheckSum();
         this.cacheSize = cacheSize;
     }
 
@@ -122,6 +132,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setDataType(String dataType) {
+        clearCheckSum();
         this.dataType = dataType;
     }
     @Override
@@ -229,6 +229,7 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
 
     @Override
     public void setColumns(List<ColumnConfig> columns) {
+        clearCheckSum();
         this.columns = columns;
     }
 
@@ -238,6 +239,7 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -246,6 +248,7 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -255,6 +258,7 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -264,11 +268,13 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setTablespace(String tablespace) {
+        clearCheckSum();
         this.tablespace = tablespace;
     }
 
     @Override
     public void addColumn(ColumnConfig column) {
+        clearCheckSum();
         columns.add(column);
     }
 
@@ -277,6 +283,7 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setRemarks(String remarks) {
+        clearCheckSum();
         this.remarks = remarks;
     }
 
@@ -55,6 +55,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -63,6 +64,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -72,6 +74,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setViewName(String viewName) {
+        clearCheckSum();
         this.viewName = viewName;
     }
 
@@ -81,6 +84,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setSelectQuery(String selectQuery) {
+        clearCheckSum();
         this.selectQuery = selectQuery;
     }
 
@@ -90,6 +94,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setReplaceIfExists(Boolean replaceIfExists) {
+        clearCheckSum();
         this.replaceIfExists = replaceIfExists;
     }
 
@@ -99,6 +104,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setFullDefinition(Boolean fullDefinition) {
+        clearCheckSum();
         this.fullDefinition = fullDefinition;
     }
 
@@ -108,6 +114,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setPath(String path) {
+        clearCheckSum();
         this.path = path;
     }
 
@@ -116,6 +123,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setRelativeToChangelogFile(Boolean relativeToChangelogFile) {
+        clearCheckSum();
         this.relativeToChangelogFile = relativeToChangelogFile;
     }
 
@@ -124,6 +132,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setEncoding(String encoding) {
+        clearCheckSum();
         this.encoding = encoding;
     }
 
@@ -132,6 +141,7 @@ public class CreateViewChange extends AbstractChange {
     }
 
     public void setRemarks(String remarks) {
+        clearCheckSum();
         this.remarks = remarks;
     }
 
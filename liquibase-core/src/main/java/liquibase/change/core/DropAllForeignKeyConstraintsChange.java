@@ -31,6 +31,7 @@ public class DropAllForeignKeyConstraintsChange extends AbstractChange {
     }
 
     public void setBaseTableCatalogName(String baseTableCatalogName) {
+        clearCheckSum();
         this.baseTableCatalogName = baseTableCatalogName;
     }
 
@@ -40,6 +41,7 @@ public class DropAllForeignKeyConstraintsChange extends AbstractChange {
     }
 
     public void setBaseTableSchemaName(String baseTableSchemaName) {
+        clearCheckSum();
         this.baseTableSchemaName = baseTableSchemaName;
     }
 
@@ -49,6 +51,7 @@ public class DropAllForeignKeyConstraintsChange extends AbstractChange {
     }
 
     public void setBaseTableName(String baseTableName) {
+        clearCheckSum();
         this.baseTableName = baseTableName;
     }
 
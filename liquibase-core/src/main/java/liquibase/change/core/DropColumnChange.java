@@ -77,6 +77,7 @@ public class DropColumnChange extends AbstractChange implements ChangeWithColumn
     }
     
     public void setColumnName(String columnName) {
+        clearCheckSum();
         this.columnName = columnName;
     }
     
@@ -87,6 +88,7 @@ public class DropColumnChange extends AbstractChange implements ChangeWithColumn
     }
     
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
     
@@ -96,6 +98,7 @@ public class DropColumnChange extends AbstractChange implements ChangeWithColumn
     }
     
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
     
@@ -106,6 +109,7 @@ public class DropColumnChange extends AbstractChange implements ChangeWithColumn
     }
     
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
     
@@ -254,6 +258,7 @@ public class DropColumnChange extends AbstractChange implements ChangeWithColumn
     
     @Override
     public void addColumn(ColumnConfig column) {
+        clearCheckSum();
         columns.add(column);
     }
     
@@ -265,6 +270,7 @@ public class DropColumnChange extends AbstractChange implements ChangeWithColumn
     
     @Override
     public void setColumns(List<ColumnConfig> columns) {
+        clearCheckSum();
         this.columns = columns;
     }
     
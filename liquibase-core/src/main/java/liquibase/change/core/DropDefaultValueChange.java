@@ -28,6 +28,7 @@ public class DropDefaultValueChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -37,6 +38,7 @@ public class DropDefaultValueChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -46,6 +48,7 @@ public class DropDefaultValueChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -55,6 +58,7 @@ public class DropDefaultValueChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        clearCheckSum();
         this.columnName = columnName;
     }
 
@@ -64,6 +68,7 @@ public class DropDefaultValueChange extends AbstractChange {
 	}
     
     public void setColumnDataType(String columnDataType) {
+        clearCheckSum();
 		this.columnDataType = columnDataType;
 	}
 
@@ -23,6 +23,7 @@ public class DropForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableCatalogName(String baseTableCatalogName) {
+        clearCheckSum();
         this.baseTableCatalogName = baseTableCatalogName;
     }
 
@@ -32,6 +33,7 @@ public class DropForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableSchemaName(String baseTableSchemaName) {
+        clearCheckSum();
         this.baseTableSchemaName = baseTableSchemaName;
     }
 
@@ -41,6 +43,7 @@ public class DropForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableName(String baseTableName) {
+        clearCheckSum();
         this.baseTableName = baseTableName;
     }
 
@@ -50,6 +53,7 @@ public class DropForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -26,6 +26,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -35,6 +36,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setIndexName(String indexName) {
+        clearCheckSum();
         this.indexName = indexName;
     }
 
@@ -44,6 +46,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -74,6 +77,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setAssociatedWith(String associatedWith) {
+        clearCheckSum();
         this.associatedWith = associatedWith;
     }
 
@@ -83,6 +87,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -32,6 +32,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -41,6 +42,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -53,6 +55,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -65,6 +68,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        clearCheckSum();
         this.columnName = columnName;
     }
 
@@ -74,6 +78,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        clearCheckSum();
         this.columnDataType = columnDataType;
     }
 
@@ -83,6 +88,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -41,6 +41,7 @@ public class DropPrimaryKeyChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -50,6 +51,7 @@ public class DropPrimaryKeyChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -59,6 +61,7 @@ public class DropPrimaryKeyChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -68,6 +71,7 @@ public class DropPrimaryKeyChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -76,6 +80,7 @@ public class DropPrimaryKeyChange extends AbstractChange {
     }
 
     public void setDropIndex(Boolean dropIndex) {
+        clearCheckSum();
         this.dropIndex = dropIndex;
     }
 
@@ -22,6 +22,7 @@ public class DropProcedureChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -31,6 +32,7 @@ public class DropProcedureChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -40,6 +42,7 @@ public class DropProcedureChange extends AbstractChange {
     }
 
     public void setProcedureName(String procedureName) {
+        clearCheckSum();
         this.procedureName = procedureName;
     }
 
@@ -23,6 +23,7 @@ public class DropSequenceChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -32,6 +33,7 @@ public class DropSequenceChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -41,6 +43,7 @@ public class DropSequenceChange extends AbstractChange {
     }
 
     public void setSequenceName(String sequenceName) {
+        clearCheckSum();
         this.sequenceName = sequenceName;
     }
 
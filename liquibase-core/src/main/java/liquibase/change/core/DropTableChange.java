@@ -24,6 +24,7 @@ public class DropTableChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -33,6 +34,7 @@ public class DropTableChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -42,6 +44,7 @@ public class DropTableChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -50,6 +53,7 @@ public class DropTableChange extends AbstractChange {
     }
 
     public void setCascadeConstraints(Boolean cascadeConstraints) {
+        clearCheckSum();
         this.cascadeConstraints = cascadeConstraints;
     }
 
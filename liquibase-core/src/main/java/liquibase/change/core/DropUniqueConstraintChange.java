@@ -34,6 +34,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -43,6 +44,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -55,6 +57,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -64,6 +67,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        clearCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -73,6 +77,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
     }
 
     public void setUniqueColumns(String uniqueColumns) {
+        clearCheckSum();
         this.uniqueColumns = uniqueColumns;
     }
 
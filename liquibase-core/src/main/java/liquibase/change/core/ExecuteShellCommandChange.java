@@ -68,10 +68,12 @@ public class ExecuteShellCommandChange extends AbstractChange {
     }
 
     public void setExecutable(String executable) {
+        clearCheckSum();
         this.executable = executable;
     }
 
     public void addArg(String arg) {
+        clearCheckSum();
         this.args.add(arg);
     }
 
@@ -85,6 +87,7 @@ public class ExecuteShellCommandChange extends AbstractChange {
     }
 
     public void setTimeout(String timeout) {
+        clearCheckSum();
         this.timeout = timeout;
     }
 
@@ -94,6 +97,7 @@ public class ExecuteShellCommandChange extends AbstractChange {
     }
 
     public void setOs(String os) {
+        clearCheckSum();
         this.os = StringUtil.splitAndTrim(os, ",");
     }
 
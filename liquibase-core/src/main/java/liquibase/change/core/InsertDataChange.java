@@ -45,6 +45,7 @@ public class InsertDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -54,6 +55,7 @@ public class InsertDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -63,6 +65,7 @@ public class InsertDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -74,11 +77,13 @@ public class InsertDataChange extends AbstractChange implements ChangeWithColumn
 
     @Override
     public void setColumns(List<ColumnConfig> columns) {
+        clearCheckSum();
         this.columns = columns;
     }
 
     @Override
     public void addColumn(ColumnConfig column) {
+        clearCheckSum();
         columns.add(column);
     }
 
@@ -169,6 +174,7 @@ public class InsertDataChange extends AbstractChange implements ChangeWithColumn
 
     @Override
     public void setDbms(final String dbms) {
+        clearCheckSum();
         this.dbms = dbms;
     }
 
@@ -2,17 +2,22 @@ package liquibase.change.core;
 
 import com.opencsv.exceptions.CsvMalformedLineException;
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.change.*;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.Database;
+import liquibase.database.DatabaseList;
+import liquibase.database.PreparedStatementFactory;
 import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.OracleDatabase;
 import liquibase.database.core.PostgresDatabase;
 import liquibase.datatype.DataTypeFactory;
 import liquibase.datatype.LiquibaseDataType;
 import liquibase.exception.*;
+import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
 import liquibase.io.EmptyLineAndCommentSkippingInputStream;
@@ -21,10 +26,14 @@ import liquibase.resource.ResourceAccessor;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.statement.AbstractSqlStatement;
 import liquibase.statement.BatchDmlExecutablePreparedStatement;
+import liquibase.statement.ExecutablePreparedStatement;
 import liquibase.statement.ExecutablePreparedStatementBase;
 import liquibase.statement.InsertExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingSqlStatement;
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.statement.core.InsertSetStatement;
 import liquibase.statement.core.InsertStatement;
@@ -77,6 +86,14 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
      * CSV Lines starting with that sign(s) will be treated as comments by default
      */
     public static final String DEFAULT_COMMENT_PATTERN = "#";
+    /**
+     * loadMode that inserts the rows with INSERT statements
+     */
+    public static final String LOAD_MODE_INSERT = "insert";
+    /**
+     * loadMode that uses the bulk loading facility of the database, see {@link LoadDataNativeLoader}
+     */
+    public static final String LOAD_MODE_NATIVE = "native";
     public static final Pattern BASE64_PATTERN = Pattern.compile("^(?:[A-Za-z0-9+/]{4})*(?:[A-Za-z0-9+/]{2}==|[A-Za-z0-9+/]{3}=)?$");
     private static final Logger LOG = Scope.getCurrentScope().getLog(LoadDataChange.class);
     private static ResourceBundle coreBundle = getBundle("liquibase/i18n/liquibase-core");
@@ -89,6 +106,9 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     private List<LoadDataColumnConfig> columns = new ArrayList<>();
 
     private Boolean usePreparedStatements;
+    private Boolean streaming;
+    private Integer batchSize;
+    private String loadMode;
 
     /**
      * Transform a value read from a CSV file into a string to be written into the database if the column type
@@ -136,6 +156,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     public void setFile(String file) {
+        clearCheckSum();
         this.file = file;
     }
 
@@ -146,9 +167,84 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     public void setUsePreparedStatements(Boolean usePreparedStatements) {
+        clearCheckSum();
         this.usePreparedStatements = usePreparedStatements;
     }
 
+    @DatabaseChangeProperty(supportsDatabase = ALL,
+            description = "Read the CSV file while the data is being inserted instead of creating the statements for " +
+                    "all rows up front. Keeps memory use independent of the file size. Default: false")
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(Boolean streaming) {
+        clearCheckSum();
+        this.streaming = streaming;
+    }
+
+    @DatabaseChangeProperty(supportsDatabase = ALL,
+            description = "Number of rows sent to the database in a single JDBC batch, and read at once in streaming " +
+                    "mode. Default: the liquibase.loadDataBatchSize setting")
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        clearCheckSum();
+        this.batchSize = batchSize;
+    }
+
+    @DatabaseChangeProperty(supportsDatabase = ALL,
+            description = "How the rows are loaded. 'insert' uses INSERT statements. 'native' uses the bulk loader of " +
+                    "the database (COPY on PostgreSQL, LOAD DATA LOCAL INFILE on MySQL, CSVREAD on embedded H2) and " +
+                    "falls back to 'insert' if it is not available. Default: insert")
+    public String getLoadMode() {
+        return loadMode;
+    }
+
+    public void setLoadMode(String loadMode) {
+        clearCheckSum();
+        this.loadMode = loadMode;
+    }
+
+    /**
+     * Returns true if the change set has sqlVisitors that apply to the database
+     */
+    private boolean hasSqlVisitors(Database database) {
+        if (getChangeSet() == null) {
+            return false;
+        }
+        for (SqlVisitor visitor : getChangeSet().getSqlVisitors()) {
+            if (DatabaseList.definitionMatches(visitor.getApplicableDbms(), database, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if this change can load data with a {@link LoadDataNativeLoader}
+     */
+    protected boolean supportsNativeLoadMode() {
+        return true;
+    }
+
+    /**
+     * Returns the batch size to use: {@link #getBatchSize()} if set, otherwise
+     * {@link GlobalConfiguration#LOAD_DATA_BATCH_SIZE}. Values less than 1 mean "no limit".
+     */
+    protected int getEffectiveBatchSize() {
+        Integer size = batchSize;
+        if (size == null) {
+            size = GlobalConfiguration.LOAD_DATA_BATCH_SIZE.getCurrentValue();
+        }
+        if ((size == null) || (size < 1)) {
+            return Integer.MAX_VALUE;
+        }
+        return size;
+    }
+
     @DatabaseChangeProperty(supportsDatabase = ALL,
             description = "Lines staring with this are treated as comment and ignored. Default: " + DEFAULT_COMMENT_PATTERN)
     public String getCommentLineStartsWith() {
@@ -156,6 +252,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     public void setCommentLineStartsWith(String commentLineStartsWith) {
+        clearCheckSum();
         //if the value is null (not provided) we want to use default value
         if (commentLineStartsWith == null) {
             this.commentLineStartsWith = DEFAULT_COMMENT_PATTERN;
@@ -173,6 +270,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     public void setRelativeToChangelogFile(Boolean relativeToChangelogFile) {
+        clearCheckSum();
         this.relativeToChangelogFile = relativeToChangelogFile;
     }
 
@@ -183,6 +281,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     public void setEncoding(String encoding) {
+        clearCheckSum();
         this.encoding = encoding;
     }
 
@@ -193,6 +292,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     public void setSeparator(String separator) {
+        clearCheckSum();
         if ((separator != null) && "\\t".equals(separator)) {
             separator = "\t";
         }
@@ -207,12 +307,14 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     public void setQuotchar(String quotchar) {
+        clearCheckSum();
         this.quotchar = quotchar;
     }
 
 
     @Override
     public void addColumn(LoadDataColumnConfig column) {
+        clearCheckSum();
         columns.add(column);
     }
 
@@ -229,6 +331,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
 
     @Override
     public void setColumns(List<LoadDataColumnConfig> columns) {
+        clearCheckSum();
         this.columns = columns;
     }
 
@@ -264,6 +367,91 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
 
     @Override
     public SqlStatement[] generateStatements(Database database) {
+        if (LOAD_MODE_NATIVE.equalsIgnoreCase(getLoadMode()) && !isLoggingExecutor(database)) {
+            if (hasSqlVisitors(database)) {
+                // the visitors modify the INSERT statements, which the bulk loader does not create
+                LOG.info("Native loading is not used for " + getChangeSet() + " because it has modifySql, " +
+                        "using INSERT statements instead");
+            } else {
+                LoadDataNativeLoader loader = supportsNativeLoadMode() ? LoadDataNativeLoader.forDatabase(database) : null;
+                if (loader != null) {
+                    return new SqlStatement[]{new NativeLoadDataStatement(database, loader)};
+                }
+                LOG.info("Native loading is not available for " + getChangeSet() + " on " + database.getShortName() +
+                        ", using INSERT statements instead");
+            }
+        }
+        if (ObjectUtil.defaultIfNull(getStreaming(), false)) {
+            return new SqlStatement[]{new StreamingLoadDataStatement(database)};
+        }
+
+        try {
+            List<LoadDataRowConfig> rows = new ArrayList<>();
+            readRows(database, rows::add);
+            return generateStatementsFromRows(database, rows);
+        } catch (DatabaseException e) {
+            throw new RuntimeException(e);
+        } catch (UnexpectedLiquibaseException ule) {
+            if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet()
+                    .getFailOnError()) {
+                LOG.info("Change set " + getChangeSet().toString(false) +
+                        " failed, but failOnError was false.  Error: " + ule.getMessage());
+                return new SqlStatement[0];
+            } else {
+                throw ule;
+            }
+        }
+    }
+
+    /**
+     * Only reads the header line of the CSV file and returns a single statement without values that contains the
+     * columns the real statements would have. Returns null if the file cannot be read, which is reported when the
+     * change is executed.
+     */
+    @Override
+    public SqlStatement[] generateStatementShape(Database database) {
+        String[] headers;
+        try (CSVReader reader = getCSVReader()) {
+            if (reader == null) {
+                return null;
+            }
+            headers = reader.readNext();
+        } catch (Exception e) {
+            return null;
+        }
+        if (headers == null) {
+            return null;
+        }
+
+        InsertStatement statement = this.createStatement(getCatalogName(), getSchemaName(), getTableName());
+        for (int i = 0; i < headers.length; i++) {
+            String columnName = headers[i].trim();
+            LoadDataColumnConfig columnConfig = getColumnConfig(i, columnName);
+            if (columnConfig != null) {
+                if ("skip".equalsIgnoreCase(columnConfig.getType())) {
+                    continue;
+                }
+                if (columnConfig.getName() != null) {
+                    columnName = columnConfig.getName();
+                }
+            }
+            statement.addColumnValue(columnName, null);
+        }
+
+        if (supportsInsertSetStatement(database) && !(statement instanceof InsertOrUpdateStatement)) {
+            return new SqlStatement[]{this.createStatementSet(getCatalogName(), getSchemaName(), getTableName())
+                    .addInsertStatement(statement)};
+        }
+        return new SqlStatement[]{statement};
+    }
+
+    /**
+     * Reads the CSV file and passes each data row to the handler as soon as it is parsed, so callers decide
+     * how many rows are kept in memory.
+     *
+     * @throws DatabaseException only if thrown by the handler
+     */
+    protected void readRows(Database database, RowHandler handler) throws DatabaseException {
         boolean databaseSupportsBatchUpdates = supportsBatchUpdates(database);
 
         CSVReader reader = null;
@@ -295,7 +483,6 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
 
             boolean isCommentingEnabled = StringUtil.isNotEmpty(commentLineStartsWith);
 
-            List<LoadDataRowConfig> rows = new ArrayList<>();
             while ((line = reader.readNext()) != null) {
                 lineNumber++;
                 if
@@ -474,22 +661,16 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                         actuallyUsePreparedStatements = needsPreparedStatement || (databaseSupportsBatchUpdates && !isLoggingExecutor(database));
                     }
                 }
-                rows.add(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
+                handler.handle(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
             }
-            return generateStatementsFromRows(database, rows);
         } catch (CsvMalformedLineException e) {
             throw new RuntimeException("Error parsing " + getRelativeTo() + " on line " + e.getLineNumber() + ": " + e.getMessage());
-        } catch (IOException | LiquibaseException e) {
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (DatabaseException e) {
+            throw e;
+        } catch (LiquibaseException e) {
             throw new RuntimeException(e);
-        } catch (UnexpectedLiquibaseException ule) {
-            if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet()
-                    .getFailOnError()) {
-                LOG.info("Change set " + getChangeSet().toString(false) +
-                        " failed, but failOnError was false.  Error: " + ule.getMessage());
-                return new SqlStatement[0];
-            } else {
-                throw ule;
-            }
         } finally {
             if (null != reader) {
                 try {
@@ -638,6 +819,13 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     public ValidationErrors validate(Database database) {
         ValidationErrors validationErrors = new ValidationErrors(this);
         validationErrors.addAll(super.validate(database));
+        if ((batchSize != null) && (batchSize < 1)) {
+            validationErrors.addError("batchSize must be greater than 0");
+        }
+        if ((loadMode != null) && !LOAD_MODE_INSERT.equalsIgnoreCase(loadMode)
+                && !LOAD_MODE_NATIVE.equalsIgnoreCase(loadMode)) {
+            validationErrors.addError("loadMode must be '" + LOAD_MODE_INSERT + "' or '" + LOAD_MODE_NATIVE + "'");
+        }
         return validateColumns(validationErrors);
     }
 
@@ -743,7 +931,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     protected InsertSetStatement createStatementSet(String catalogName, String schemaName, String tableName) {
-        return new InsertSetStatement(catalogName, schemaName, tableName);
+        return new InsertSetStatement(catalogName, schemaName, tableName, getEffectiveBatchSize());
     }
 
     protected LoadDataColumnConfig getColumnConfig(int index, String header) {
@@ -772,6 +960,10 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         return String.format(coreBundle.getString("loaddata.successful"), getFile(), getTableName());
     }
 
+    /**
+     * Only the table name and the content of the file are part of the checksum, so the options that only decide how
+     * the rows are sent to the database, loadMode, streaming and batchSize, can be changed on changesets that already ran.
+     */
     @Override
     public CheckSum generateCheckSum() {
         InputStream stream = null;
@@ -845,17 +1037,18 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         if (rows.stream().anyMatch(LoadDataRowConfig::needsPreparedStatement)) {
             // If we have only prepared statements and the database supports batching, let's roll
             if (supportsBatchUpdates(database) && !preparedStatements.isEmpty()) {
-                if (database instanceof PostgresDatabase || database instanceof MySQLDatabase) {
-                    // we don't do batch updates for Postgres but we still send as a prepared statement, see LB-744
+                if (database instanceof MySQLDatabase) {
                     // mysql supports batch updates, but the performance vs. the big insert is worse
                     return preparedStatements.toArray(new SqlStatement[0]);
                 } else {
+                    // the batch is flushed every batchSize rows. On Postgres, the single-row INSERT ... VALUES (...)
+                    // statements can be rewritten into multi-row inserts by the driver (reWriteBatchedInserts=true)
                     return new SqlStatement[]{
                             new BatchDmlExecutablePreparedStatement(
                                     database, getCatalogName(), getSchemaName(),
                                     getTableName(), columns,
                                     getChangeSet(), Scope.getCurrentScope().getResourceAccessor(),
-                                    preparedStatements)
+                                    preparedStatements, getEffectiveBatchSize())
                     };
                 }
             } else {
@@ -874,8 +1067,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                 statementSet.addInsertStatement((InsertStatement) stmt);
             }
 
-            if ((database instanceof MSSQLDatabase) || (database instanceof MySQLDatabase) || (database
-                    instanceof PostgresDatabase)) {
+            if (supportsInsertSetStatement(database)) {
                 List<InsertStatement> innerStatements = statementSet.getStatements();
                 if ((innerStatements != null) && (!innerStatements.isEmpty()) && (innerStatements.get(0)
                         instanceof InsertOrUpdateStatement)) {
@@ -891,11 +1083,169 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         }
     }
 
+    /**
+     * Returns true if rows without prepared statements are combined into a single {@link InsertSetStatement}
+     */
+    private boolean supportsInsertSetStatement(Database database) {
+        return (database instanceof MSSQLDatabase) || (database instanceof MySQLDatabase) || (database
+                instanceof PostgresDatabase) || (database instanceof OracleDatabase);
+    }
+
     @SuppressWarnings("HardCodedStringLiteral")
     public enum LOAD_DATA_TYPE {
         BOOLEAN, NUMERIC, DATE, STRING, COMPUTED, SEQUENCE, BLOB, CLOB, SKIP, UUID, OTHER, UNKNOWN
     }
 
+    /**
+     * Receives the rows read by {@link #readRows(Database, RowHandler)}
+     */
+    protected interface RowHandler {
+        void handle(LoadDataRowConfig row) throws DatabaseException;
+    }
+
+    /**
+     * Statement returned by {@link #generateStatements(Database)} in streaming mode. The CSV file is only read when
+     * the statement is executed, and the statements for every {@link #getEffectiveBatchSize()} rows are created and
+     * executed before the next rows are read. Executors that do not handle the chunks themselves use
+     * {@link liquibase.sqlgenerator.core.StreamingSqlStatementGenerator}.
+     */
+    protected class StreamingLoadDataStatement extends AbstractSqlStatement implements StreamingSqlStatement {
+
+        private final Database database;
+
+        public StreamingLoadDataStatement(Database database) {
+            this.database = database;
+        }
+
+        @Override
+        public void generateChunks(ChunkHandler handler) throws DatabaseException {
+            int chunkSize = getEffectiveBatchSize();
+            List<LoadDataRowConfig> chunk = new ArrayList<>(Math.min(chunkSize, 1000));
+            try {
+                readRows(database, row -> {
+                    chunk.add(row);
+                    if (chunk.size() >= chunkSize) {
+                        handler.handle(generateStatementsFromRows(database, chunk));
+                        chunk.clear();
+                    }
+                });
+                if (!chunk.isEmpty()) {
+                    handler.handle(generateStatementsFromRows(database, chunk));
+                }
+            } catch (UnexpectedLiquibaseException ule) {
+                // like the non-streaming mode, stop loading but keep the rows of the chunks that were already handled
+                if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet()
+                        .getFailOnError()) {
+                    LOG.info("Change set " + getChangeSet().toString(false) +
+                            " failed, but failOnError was false.  Error: " + ule.getMessage());
+                } else {
+                    throw ule;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "loadData from " + getFile() + " into " + getTableName();
+        }
+    }
+
+    /**
+     * Statement returned by {@link #generateStatements(Database)} for loadMode="native". The CSV file is read when the
+     * statement is executed and every {@link #getEffectiveBatchSize()} rows are passed to the
+     * {@link LoadDataNativeLoader}. Rows the loader cannot handle are inserted with the regular statements, in the
+     * order of the file. All rows are inserted if the loader reports that bulk loading is disabled before it loaded any
+     * rows, see {@link LoadDataNativeLoader#isUnavailable}. Once rows were loaded, a failure is thrown like any other,
+     * so the rows of the failed chunk are never inserted twice.
+     */
+    protected class NativeLoadDataStatement extends AbstractSqlStatement implements ExecutablePreparedStatement {
+
+        private final Database database;
+        private final LoadDataNativeLoader loader;
+        private boolean nativeLoadingEnabled = true;
+        private boolean loadedNatively;
+        private final List<LoadDataRowConfig> pendingRows = new ArrayList<>();
+        private boolean pendingRowsNative;
+
+        public NativeLoadDataStatement(Database database, LoadDataNativeLoader loader) {
+            this.database = database;
+            this.loader = loader;
+        }
+
+        public LoadDataNativeLoader getLoader() {
+            return loader;
+        }
+
+        @Override
+        public void execute(PreparedStatementFactory factory) throws DatabaseException {
+            int chunkSize = getEffectiveBatchSize();
+            pendingRows.clear();
+            readRows(database, row -> {
+                boolean nativeRow = loader.canLoad(database, row.getColumns());
+                // a chunk also ends where the rows switch between loading and inserting, to keep the order of the file
+                if (!pendingRows.isEmpty() && ((nativeRow != pendingRowsNative) || (pendingRows.size() >= chunkSize))) {
+                    flushPendingRows();
+                }
+                pendingRowsNative = nativeRow;
+                pendingRows.add(row);
+            });
+            flushPendingRows();
+        }
+
+        private void flushPendingRows() throws DatabaseException {
+            if (pendingRowsNative) {
+                loadRows(pendingRows);
+            } else {
+                insertRows(pendingRows);
+            }
+            pendingRows.clear();
+        }
+
+        /**
+         * Passes the rows to the loader, or inserts them if the loader turned out to be disabled
+         */
+        private void loadRows(List<LoadDataRowConfig> rows) throws DatabaseException {
+            if (rows.isEmpty()) {
+                return;
+            }
+            if (!nativeLoadingEnabled) {
+                insertRows(rows);
+                return;
+            }
+            List<List<LoadDataColumnConfig>> columns = new ArrayList<>(rows.size());
+            for (LoadDataRowConfig row : rows) {
+                columns.add(row.getColumns());
+            }
+            try {
+                loader.load(database, getCatalogName(), getSchemaName(), getTableName(), columns);
+                loadedNatively = true;
+            } catch (DatabaseException e) {
+                if (loadedNatively || !loader.isUnavailable(e)) {
+                    throw e;
+                }
+                LOG.warning("Native loading is disabled for " + getChangeSet() + " on " + database.getShortName() +
+                        ", using INSERT statements instead: " + e.getMessage());
+                nativeLoadingEnabled = false;
+                insertRows(rows);
+            }
+        }
+
+        private void insertRows(List<LoadDataRowConfig> rows) throws DatabaseException {
+            if (rows.isEmpty()) {
+                return;
+            }
+            Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+            for (SqlStatement statement : generateStatementsFromRows(database, rows)) {
+                executor.execute(statement);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "loadData (native) from " + getFile() + " into " + getTableName();
+        }
+    }
+
     protected static class LoadDataRowConfig {
 
         private final boolean needsPreparedStatement;
@@ -18,6 +18,7 @@ public class LoadDataColumnConfig extends ColumnConfig {
     }
 
     public void setIndex(Integer index) {
+        clearCheckSum();
         this.index = index;
     }
 
@@ -26,6 +27,7 @@ public class LoadDataColumnConfig extends ColumnConfig {
     }
 
     public void setHeader(String header) {
+        clearCheckSum();
         this.header = header;
     }
     
@@ -37,6 +39,7 @@ public class LoadDataColumnConfig extends ColumnConfig {
 	}
 
 	public void setAllowUpdate(Boolean getAllowUpdate) {
+	    clearCheckSum();
 		this.allowUpdate = getAllowUpdate;
 	}
 
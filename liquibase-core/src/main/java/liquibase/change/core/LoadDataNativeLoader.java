@@ -0,0 +1,164 @@
+package liquibase.change.core;
+
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.core.CockroachDatabase;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.DatabaseFunction;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Loads the rows of a {@link LoadDataChange} with the bulk loading facility of the database instead of INSERT
+ * statements. Used for loadMode="native".
+ * <p>
+ * The rows are passed in after the regular column handling of loadData, so the values have already been converted
+ * according to their {@link LoadDataColumnConfig}. They are written back into CSV and sent to the database one chunk
+ * at a time.
+ */
+public abstract class LoadDataNativeLoader {
+
+    /**
+     * Returns the loader for the given database, or null if the database or its JDBC driver has no supported bulk
+     * loading facility.
+     */
+    public static LoadDataNativeLoader forDatabase(Database database) {
+        if (!(database.getConnection() instanceof JdbcConnection)) {
+            return null;
+        }
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        if (connection == null) {
+            return null;
+        }
+
+        LoadDataNativeLoader loader;
+        if ((database instanceof PostgresDatabase) && !(database instanceof CockroachDatabase)) {
+            loader = new LoadDataNativeLoaderPostgres();
+        } else if (database instanceof MySQLDatabase) {
+            loader = new LoadDataNativeLoaderMySQL();
+        } else if (database instanceof H2Database) {
+            loader = new LoadDataNativeLoaderH2();
+        } else {
+            return null;
+        }
+
+        try {
+            if (loader.isAvailable(connection)) {
+                return loader;
+            }
+        } catch (Exception | LinkageError e) {
+            Scope.getCurrentScope().getLog(LoadDataNativeLoader.class).fine("Cannot use native loading: " + e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the connection supports this loader, e.g. because the needed driver classes are present
+     */
+    protected abstract boolean isAvailable(Connection connection) throws Exception;
+
+    /**
+     * Loads the given rows into the table. All rows contain the same columns in the same order.
+     */
+    public abstract void load(Database database, String catalogName, String schemaName, String tableName,
+                              List<List<LoadDataColumnConfig>> rows) throws DatabaseException;
+
+    /**
+     * Returns true if the load failed because the bulk loading facility is disabled, e.g. by a setting of the
+     * connection or the server, rather than because of the data. The rows are inserted with regular statements then.
+     */
+    public boolean isUnavailable(DatabaseException e) {
+        return false;
+    }
+
+    /**
+     * Returns false if a row contains values that cannot be expressed as CSV text, such as LOBs and database
+     * functions. Those rows are inserted with regular statements instead.
+     */
+    public boolean canLoad(Database database, List<LoadDataColumnConfig> row) {
+        for (LoadDataColumnConfig column : row) {
+            LoadDataChange.LOAD_DATA_TYPE type = column.getTypeEnum();
+            if ((type == LoadDataChange.LOAD_DATA_TYPE.BLOB) || (type == LoadDataChange.LOAD_DATA_TYPE.CLOB)
+                    || (column.getValueBlobFile() != null) || (column.getValueClobFile() != null)) {
+                return false;
+            }
+            Object value = column.getValueObject();
+            if (value instanceof DatabaseFunction) {
+                return false;
+            }
+            // InsertGenerator writes these strings without quotes, so they are evaluated by the database
+            if ((value instanceof String) && (((String) value).startsWith("to_date(")
+                    || ((String) value).equalsIgnoreCase(database.getCurrentDateTimeFunction()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected String getColumnList(Database database, String catalogName, String schemaName, String tableName,
+                                   List<LoadDataColumnConfig> row) {
+        StringBuilder columns = new StringBuilder();
+        for (LoadDataColumnConfig column : row) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append(database.escapeColumnName(catalogName, schemaName, tableName, column.getName()));
+        }
+        return columns.toString();
+    }
+
+    protected byte[] toCsv(List<List<LoadDataColumnConfig>> rows) {
+        StringBuilder csv = new StringBuilder();
+        for (List<LoadDataColumnConfig> row : rows) {
+            boolean first = true;
+            for (LoadDataColumnConfig column : row) {
+                if (!first) {
+                    csv.append(',');
+                }
+                first = false;
+                appendValue(csv, column.getValueObject());
+            }
+            csv.append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    protected void appendValue(StringBuilder csv, Object value) {
+        if (value == null) {
+            csv.append(getNullValue());
+        } else if (value instanceof Boolean) {
+            csv.append(formatBoolean((Boolean) value));
+        } else if (value instanceof BigDecimal) {
+            csv.append(((BigDecimal) value).toPlainString());
+        } else if (value instanceof Number) {
+            csv.append(value);
+        } else if (value instanceof Date) {
+            if (!(value instanceof java.sql.Date) && !(value instanceof java.sql.Time)
+                    && !(value instanceof java.sql.Timestamp)) {
+                value = new java.sql.Timestamp(((Date) value).getTime());
+            }
+            csv.append(value);
+        } else {
+            csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    /**
+     * Text used for NULL values. Quoted empty strings are always read as empty strings.
+     */
+    protected String getNullValue() {
+        return "";
+    }
+
+    protected String formatBoolean(boolean value) {
+        return value ? "true" : "false";
+    }
+}
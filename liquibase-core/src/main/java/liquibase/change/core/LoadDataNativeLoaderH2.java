@@ -0,0 +1,69 @@
+package liquibase.change.core;
+
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.util.JdbcUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Loads rows with INSERT ... SELECT FROM CSVREAD(...). CSVREAD reads a file on the database side, so this is only
+ * used for embedded H2 databases that share the file system with Liquibase.
+ */
+public class LoadDataNativeLoaderH2 extends LoadDataNativeLoader {
+
+    @Override
+    protected boolean isAvailable(Connection connection) throws Exception {
+        String url = connection.getMetaData().getURL();
+        if (url == null) {
+            return false;
+        }
+        url = url.toLowerCase(Locale.US);
+        return url.startsWith("jdbc:h2:") && !url.startsWith("jdbc:h2:tcp:") && !url.startsWith("jdbc:h2:ssl:");
+    }
+
+    @Override
+    public void load(Database database, String catalogName, String schemaName, String tableName,
+                     List<List<LoadDataColumnConfig>> rows) throws DatabaseException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        File file = null;
+        Statement statement = null;
+        String sql = null;
+        try {
+            file = File.createTempFile("liquibase-load-data", ".csv");
+            Files.write(file.toPath(), toCsv(rows));
+
+            StringBuilder csvColumns = new StringBuilder();
+            for (int i = 1; i <= rows.get(0).size(); i++) {
+                csvColumns.append(i > 1 ? "," : "").append("C").append(i);
+            }
+            sql = "INSERT INTO " + database.escapeTableName(catalogName, schemaName, tableName) +
+                    " (" + getColumnList(database, catalogName, schemaName, tableName, rows.get(0)) + ")" +
+                    " SELECT * FROM CSVREAD('" + database.escapeStringForDatabase(file.getAbsolutePath()) + "', '" +
+                    csvColumns + "', 'charset=UTF-8 fieldSeparator=,')";
+
+            Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+            statement = connection.createStatement();
+            statement.execute(sql);
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        } catch (SQLException e) {
+            throw new DatabaseException("Error executing " + sql + ": " + e.getMessage(), e);
+        } finally {
+            JdbcUtil.closeStatement(statement);
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package liquibase.change.core;
+
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.util.JdbcUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Loads rows with LOAD DATA LOCAL INFILE, passing the data as a stream to the MySQL or MariaDB JDBC driver instead of
+ * a file. The connection must allow it, e.g. with allowLoadLocalInfile=true for MySQL Connector/J, and the server must
+ * have local_infile enabled. Otherwise the rows are inserted with regular statements.
+ */
+public class LoadDataNativeLoaderMySQL extends LoadDataNativeLoader {
+
+    /**
+     * Driver statement interfaces that provide setLocalInfileInputStream(InputStream)
+     */
+    private static final String[] STATEMENT_CLASSES = {
+            "com.mysql.cj.jdbc.JdbcStatement",
+            "com.mysql.jdbc.Statement",
+            "org.mariadb.jdbc.MariaDbStatement"
+    };
+
+    /**
+     * Error codes for LOAD DATA LOCAL INFILE being disabled on the server (1148, 3948) or in the driver (2068)
+     */
+    private static final int[] LOCAL_INFILE_DISABLED_ERROR_CODES = {1148, 3948, 2068};
+
+    @Override
+    protected boolean isAvailable(Connection connection) throws Exception {
+        Statement statement = connection.createStatement();
+        try {
+            if (findStatementClass(statement) == null) {
+                return false;
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT @@local_infile")) {
+                if (resultSet.next() && !resultSet.getBoolean(1)) {
+                    return false;
+                }
+            }
+        } finally {
+            JdbcUtil.closeStatement(statement);
+        }
+        return !Boolean.FALSE.equals(getConnectorJProperty(connection, "allowLoadLocalInfile"));
+    }
+
+    @Override
+    public boolean isUnavailable(DatabaseException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                int errorCode = ((SQLException) cause).getErrorCode();
+                for (int disabledErrorCode : LOCAL_INFILE_DISABLED_ERROR_CODES) {
+                    if (errorCode == disabledErrorCode) {
+                        return true;
+                    }
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void load(Database database, String catalogName, String schemaName, String tableName,
+                     List<List<LoadDataColumnConfig>> rows) throws DatabaseException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // the file name is ignored since the data comes from the stream
+        String sql = "LOAD DATA LOCAL INFILE 'liquibase-load-data.csv' INTO TABLE " +
+                database.escapeTableName(catalogName, schemaName, tableName) +
+                " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''" +
+                " LINES TERMINATED BY '\\n'" +
+                " (" + getColumnList(database, catalogName, schemaName, tableName, rows.get(0)) + ")";
+
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        Statement statement = null;
+        try {
+            statement = connection.createStatement();
+            Class<?> statementClass = findStatementClass(statement);
+            if (statementClass == null) {
+                throw new DatabaseException("The JDBC driver does not support streaming LOAD DATA LOCAL INFILE");
+            }
+            Method setStream = statementClass.getMethod("setLocalInfileInputStream", InputStream.class);
+            setStream.invoke(statement.unwrap(statementClass), new ByteArrayInputStream(toCsv(rows)));
+            statement.execute(sql);
+        } catch (InvocationTargetException e) {
+            throw new DatabaseException(e.getCause());
+        } catch (SQLException e) {
+            throw new DatabaseException("Error executing " + sql + ": " + e.getMessage(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new DatabaseException(e);
+        } finally {
+            JdbcUtil.closeStatement(statement);
+        }
+    }
+
+    /**
+     * With ENCLOSED BY set, the unquoted word NULL is read as NULL while "NULL" is read as a string
+     */
+    @Override
+    protected String getNullValue() {
+        return "NULL";
+    }
+
+    @Override
+    protected String formatBoolean(boolean value) {
+        return value ? "1" : "0";
+    }
+
+    /**
+     * Returns the value of a boolean connection property of MySQL Connector/J 8, or null if it cannot be read, e.g.
+     * with other drivers
+     */
+    private Boolean getConnectorJProperty(Connection connection, String name) {
+        try {
+            ClassLoader classLoader = connection.getClass().getClassLoader();
+            Class<?> connectionClass = Class.forName("com.mysql.cj.jdbc.JdbcConnection", true, classLoader);
+            if (!connection.isWrapperFor(connectionClass)) {
+                return null;
+            }
+            Object propertySet = connectionClass.getMethod("getPropertySet").invoke(connection.unwrap(connectionClass));
+            Object property = Class.forName("com.mysql.cj.conf.PropertySet", true, classLoader)
+                    .getMethod("getBooleanProperty", String.class).invoke(propertySet, name);
+            Object value = Class.forName("com.mysql.cj.conf.RuntimeProperty", true, classLoader)
+                    .getMethod("getValue").invoke(property);
+            return (value instanceof Boolean) ? (Boolean) value : null;
+        } catch (ReflectiveOperationException | SQLException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Class<?> findStatementClass(Statement statement) throws SQLException {
+        for (String className : STATEMENT_CLASSES) {
+            Class<?> statementClass;
+            try {
+                statementClass = Class.forName(className, true, statement.getClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                continue;
+            }
+            if (statement.isWrapperFor(statementClass)) {
+                try {
+                    statementClass.getMethod("setLocalInfileInputStream", InputStream.class);
+                    return statementClass;
+                } catch (NoSuchMethodException e) {
+                    // older or newer driver version without streaming support
+                }
+            }
+        }
+        return null;
+    }
+}
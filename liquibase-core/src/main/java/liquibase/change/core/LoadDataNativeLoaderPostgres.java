@@ -0,0 +1,52 @@
+package liquibase.change.core;
+
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Loads rows with COPY ... FROM STDIN through the CopyManager of the PostgreSQL JDBC driver.
+ * The driver is accessed by reflection since it is not a dependency of liquibase-core.
+ */
+public class LoadDataNativeLoaderPostgres extends LoadDataNativeLoader {
+
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+
+    @Override
+    protected boolean isAvailable(Connection connection) throws Exception {
+        return connection.isWrapperFor(getPgConnectionClass(connection));
+    }
+
+    @Override
+    public void load(Database database, String catalogName, String schemaName, String tableName,
+                     List<List<LoadDataColumnConfig>> rows) throws DatabaseException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = "COPY " + database.escapeTableName(catalogName, schemaName, tableName) +
+                " (" + getColumnList(database, catalogName, schemaName, tableName, rows.get(0)) + ")" +
+                " FROM STDIN WITH (FORMAT csv, ENCODING 'UTF8')";
+
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try {
+            Class<?> pgConnectionClass = getPgConnectionClass(connection);
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(connection.unwrap(pgConnectionClass));
+            copyManager.getClass().getMethod("copyIn", String.class, InputStream.class)
+                    .invoke(copyManager, sql, new ByteArrayInputStream(toCsv(rows)));
+        } catch (InvocationTargetException e) {
+            throw new DatabaseException("Error executing " + sql + ": " + e.getCause().getMessage(), e.getCause());
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    private Class<?> getPgConnectionClass(Connection connection) throws ClassNotFoundException {
+        return Class.forName(PG_CONNECTION_CLASS, true, connection.getClass().getClassLoader());
+    }
+}
@@ -7,11 +7,14 @@ import liquibase.change.DatabaseChangeProperty;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
 import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.RollbackImpossibleException;
+import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.resource.ResourceAccessor;
 import liquibase.statement.BatchDmlExecutablePreparedStatement;
 import liquibase.statement.ExecutablePreparedStatementBase;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingSqlStatement;
 import liquibase.statement.core.DeleteStatement;
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.statement.core.InsertStatement;
@@ -36,6 +39,12 @@ public class LoadUpdateDataChange extends LoadDataChange {
     @Override
     protected boolean hasPreparedStatementsImplemented() { return false; }
 
+    // bulk loaders can only insert rows
+    @Override
+    protected boolean supportsNativeLoadMode() {
+        return false;
+    }
+
     @Override
     @DatabaseChangeProperty(description = "Name of the table to insert or update data in", requiredForDatabase = ALL)
     public String getTableName() {
@@ -43,6 +52,7 @@ public class LoadUpdateDataChange extends LoadDataChange {
     }
 
     public void setPrimaryKey(String primaryKey) {
+        clearCheckSum();
         this.primaryKey = primaryKey;
     }
 
@@ -62,6 +72,7 @@ public class LoadUpdateDataChange extends LoadDataChange {
     }
 
     public void setOnlyUpdate(Boolean onlyUpdate) {
+        clearCheckSum();
         this.onlyUpdate = ((onlyUpdate == null) ? Boolean.FALSE : onlyUpdate);
     }
 
@@ -93,12 +104,14 @@ public class LoadUpdateDataChange extends LoadDataChange {
 
         // If we are dealing with a batched UPDATE, "unroll" the individual statements first.
         for (SqlStatement thisForward : this.generateStatements(database)) {
-            if (thisForward instanceof BatchDmlExecutablePreparedStatement) {
-                finalForwardList.addAll(
-                        ((BatchDmlExecutablePreparedStatement)thisForward).getIndividualStatements()
-                );
+            if (thisForward instanceof StreamingSqlStatement) {
+                try {
+                    ((StreamingSqlStatement) thisForward).generateChunks(chunk -> addForwardStatements(chunk, finalForwardList));
+                } catch (DatabaseException e) {
+                    throw new UnexpectedLiquibaseException(e);
+                }
             } else {
-                finalForwardList.add(thisForward);
+                addForwardStatements(new SqlStatement[]{thisForward}, finalForwardList);
             }
         }
 
@@ -112,6 +125,18 @@ public class LoadUpdateDataChange extends LoadDataChange {
         return statements.toArray(new SqlStatement[statements.size()]);
     }
 
+    private void addForwardStatements(SqlStatement[] statements, List<SqlStatement> finalForwardList) {
+        for (SqlStatement thisForward : statements) {
+            if (thisForward instanceof BatchDmlExecutablePreparedStatement) {
+                finalForwardList.addAll(
+                        ((BatchDmlExecutablePreparedStatement)thisForward).getIndividualStatements()
+                );
+            } else {
+                finalForwardList.add(thisForward);
+            }
+        }
+    }
+
     private String getWhere(InsertOrUpdateStatement insertOrUpdateStatement, Database database) {
         StringBuilder where = new StringBuilder();
 
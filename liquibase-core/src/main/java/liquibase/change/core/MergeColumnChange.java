@@ -40,6 +40,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -48,6 +49,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -57,6 +59,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -66,6 +69,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setColumn1Name(String column1Name) {
+        clearCheckSum();
         this.column1Name = column1Name;
     }
 
@@ -75,6 +79,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setJoinString(String joinString) {
+        clearCheckSum();
         this.joinString = joinString;
     }
 
@@ -84,6 +89,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setColumn2Name(String column2Name) {
+        clearCheckSum();
         this.column2Name = column2Name;
     }
 
@@ -93,6 +99,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setFinalColumnName(String finalColumnName) {
+        clearCheckSum();
         this.finalColumnName = finalColumnName;
     }
 
@@ -102,6 +109,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setFinalColumnType(String finalColumnType) {
+        clearCheckSum();
         this.finalColumnType = finalColumnType;
     }
 
@@ -51,6 +51,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -60,6 +61,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -69,6 +71,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -78,6 +81,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        clearCheckSum();
         this.columnName = columnName;
     }
 
@@ -87,6 +91,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setNewDataType(String newDataType) {
+        clearCheckSum();
         this.newDataType = newDataType;
     }
 
@@ -33,6 +33,7 @@ public class OutputChange extends AbstractChange {
     }
 
     public void setMessage(String message) {
+        clearCheckSum();
         this.message = StringUtil.trimToNull(message);
     }
 
@@ -45,6 +46,7 @@ public class OutputChange extends AbstractChange {
     }
 
     public void setTarget(String target) {
+        clearCheckSum();
         this.target = StringUtil.trimToNull(target);
     }
 
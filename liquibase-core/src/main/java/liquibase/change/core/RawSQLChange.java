@@ -59,6 +59,7 @@ public class RawSQLChange extends AbstractSQLChange {
     }
 
     public void setComment(String comment) {
+        clearCheckSum();
         this.comment = comment;
     }
 
@@ -88,6 +89,7 @@ public class RawSQLChange extends AbstractSQLChange {
     }
 
     public void setRerunnable(Boolean rerunnable) {
+        clearCheckSum();
         if (rerunnable == null) {
             this.rerunnable = false;
         }
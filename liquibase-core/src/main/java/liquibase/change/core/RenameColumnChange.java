@@ -40,6 +40,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -49,6 +50,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -61,6 +63,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -74,6 +77,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setOldColumnName(String oldColumnName) {
+        clearCheckSum();
         this.oldColumnName = oldColumnName;
     }
 
@@ -83,6 +87,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setNewColumnName(String newColumnName) {
+        clearCheckSum();
         this.newColumnName = newColumnName;
     }
 
@@ -92,6 +97,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        clearCheckSum();
         this.columnDataType = columnDataType;
     }
 
@@ -101,6 +107,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setRemarks(String remarks) {
+        clearCheckSum();
         this.remarks = remarks;
     }
 
@@ -29,6 +29,7 @@ public class RenameSequenceChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -38,6 +39,7 @@ public class RenameSequenceChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -47,6 +49,7 @@ public class RenameSequenceChange extends AbstractChange {
     }
 
     public void setOldSequenceName(String oldSequenceName) {
+        clearCheckSum();
         this.oldSequenceName = oldSequenceName;
     }
     
@@ -56,6 +59,7 @@ public class RenameSequenceChange extends AbstractChange {
     }
 
     public void setNewSequenceName(String newSequenceName) {
+        clearCheckSum();
         this.newSequenceName = newSequenceName;
     }
     
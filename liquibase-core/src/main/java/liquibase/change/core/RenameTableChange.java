@@ -33,6 +33,7 @@ public class RenameTableChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -42,6 +43,7 @@ public class RenameTableChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -51,6 +53,7 @@ public class RenameTableChange extends AbstractChange {
     }
 
     public void setOldTableName(String oldTableName) {
+        clearCheckSum();
         this.oldTableName = oldTableName;
     }
 
@@ -60,6 +63,7 @@ public class RenameTableChange extends AbstractChange {
     }
 
     public void setNewTableName(String newTableName) {
+        clearCheckSum();
         this.newTableName = newTableName;
     }
 
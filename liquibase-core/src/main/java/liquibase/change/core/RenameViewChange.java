@@ -23,6 +23,7 @@ public class RenameViewChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -32,6 +33,7 @@ public class RenameViewChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -41,6 +43,7 @@ public class RenameViewChange extends AbstractChange {
     }
 
     public void setOldViewName(String oldViewName) {
+        clearCheckSum();
         this.oldViewName = oldViewName;
     }
 
@@ -50,6 +53,7 @@ public class RenameViewChange extends AbstractChange {
     }
 
     public void setNewViewName(String newViewName) {
+        clearCheckSum();
         this.newViewName = newViewName;
     }
 
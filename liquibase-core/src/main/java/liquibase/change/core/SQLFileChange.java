@@ -71,6 +71,7 @@ public class SQLFileChange extends AbstractSQLChange {
      * @param fileName The file to use
      */
     public void setPath(String fileName) {
+        clearCheckSum();
         path = fileName;
     }
 
@@ -88,6 +89,7 @@ public class SQLFileChange extends AbstractSQLChange {
      * @param encoding the encoding to set
      */
     public void setEncoding(String encoding) {
+        clearCheckSum();
         this.encoding = encoding;
     }
 
@@ -97,6 +99,7 @@ public class SQLFileChange extends AbstractSQLChange {
     }
 
     public void setRelativeToChangelogFile(Boolean relativeToChangelogFile) {
+        clearCheckSum();
         this.relativeToChangelogFile = relativeToChangelogFile;
     }
 
@@ -173,6 +176,7 @@ public class SQLFileChange extends AbstractSQLChange {
 
     @Override
     public void setSql(String sql) {
+        clearCheckSum();
         if ((getChangeSet() != null) && (getChangeSet().getChangeLogParameters() != null)) {
             sql = getChangeSet().getChangeLogParameters().expandExpressions(sql, getChangeSet().getChangeLog());
         }
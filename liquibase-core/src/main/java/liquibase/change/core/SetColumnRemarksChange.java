@@ -38,6 +38,7 @@ public class SetColumnRemarksChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -46,6 +47,7 @@ public class SetColumnRemarksChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -54,6 +56,7 @@ public class SetColumnRemarksChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -62,6 +65,7 @@ public class SetColumnRemarksChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        clearCheckSum();
         this.columnName = columnName;
     }
 
@@ -70,6 +74,7 @@ public class SetColumnRemarksChange extends AbstractChange {
     }
 
     public void setRemarks(String remarks) {
+        clearCheckSum();
         this.remarks = remarks;
     }
 
@@ -88,6 +93,7 @@ public class SetColumnRemarksChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        clearCheckSum();
         this.columnDataType = columnDataType;
     }
 }
@@ -36,6 +36,7 @@ public class SetTableRemarksChange extends AbstractChange {
     }
 
     public void setCatalogName(String catalogName) {
+        clearCheckSum();
         this.catalogName = catalogName;
     }
 
@@ -44,6 +45,7 @@ public class SetTableRemarksChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        clearCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -52,6 +54,7 @@ public class SetTableRemarksChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        clearCheckSum();
         this.tableName = tableName;
     }
 
@@ -60,6 +63,7 @@ public class SetTableRemarksChange extends AbstractChange {
     }
 
     public void setRemarks(String remarks) {
+        clearCheckSum();
         this.remarks = remarks;
     }
 
@@ -31,6 +31,7 @@ public class StopChange extends AbstractChange {
     }
 
     public void setMessage(String message) {
+        clearCheckSum();
         this.message = StringUtil.trimToNull(message);
     }
 
@@ -41,11 +41,13 @@ public class UpdateDataChange extends AbstractModifyDataChange implements Change
 
     @Override
     public void setColumns(List<ColumnConfig> columns) {
+        clearCheckSum();
         this.columns = columns;
     }
 
     @Override
     public void addColumn(ColumnConfig column) {
+        clearCheckSum();
         columns.add(column);
     }
 
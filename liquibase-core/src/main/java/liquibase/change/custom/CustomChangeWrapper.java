@@ -66,6 +66,7 @@ public class CustomChangeWrapper extends AbstractChange {
      * Specify the name of the class to use as the CustomChange and assigns it to {@link #getCustomChange()}.
      */
     public CustomChangeWrapper setClass(String className) throws CustomChangeException {
+        clearCheckSum();
         if (className == null) {
             return this;
         }
@@ -105,6 +106,7 @@ public class CustomChangeWrapper extends AbstractChange {
      * The CustomChange class must have a set method for the given parameter. For example, to call setParam("lastName", "X") you must have a method setLastName(String val) on your class.
      */
     public void setParam(String name, String value) {
+        clearCheckSum();
         this.params.add(name);
         this.paramValues.put(name, value);
     }
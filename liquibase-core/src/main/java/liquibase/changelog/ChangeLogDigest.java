@@ -0,0 +1,158 @@
+package liquibase.changelog;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.ObjectQuotingStrategy;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.snapshot.InvalidExampleException;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.statement.NotNullConstraint;
+import liquibase.statement.core.CreateTableStatement;
+import liquibase.statement.core.DeleteStatement;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.core.Schema;
+import liquibase.structure.core.Table;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.MD5Util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Digest of everything in a changelog that decides which changesets an update runs: the identity, checksum and filter
+ * attributes of every changeset, the contexts and labels of the update and the Liquibase version.
+ * <p>
+ * If {@link liquibase.GlobalConfiguration#USE_CHANGELOG_DIGEST} is set,
+ * {@link liquibase.Liquibase#update(Contexts, LabelExpression, boolean)} stores the digest in a single row of the
+ * DATABASECHANGELOGDIGEST table after an update that leaves nothing to run, with the
+ * {@link ChangeLogHistoryCache.Summary} of the DATABASECHANGELOG table. As long as neither the digest nor the summary
+ * change, later updates return without taking the lock or reading the history.
+ */
+public class ChangeLogDigest {
+
+    private ChangeLogDigest() {
+    }
+
+    /**
+     * Returns the digest of the changelog, or null if updates with it always have to run in full because it has
+     * preconditions or is registered with Liquibase Hub.
+     */
+    public static String compute(DatabaseChangeLog changeLog, Contexts contexts, LabelExpression labelExpression) {
+        if ((changeLog.getChangeLogId() != null)
+                || ((changeLog.getPreconditions() != null) && !changeLog.getPreconditions().getNestedPreconditions().isEmpty())) {
+            return null;
+        }
+
+        StringBuilder digest = new StringBuilder();
+        digest.append(LiquibaseUtil.getBuildVersion()).append('\n')
+                .append(contexts).append('\n')
+                .append(labelExpression).append('\n');
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            digest.append(changeSet.getFilePath())
+                    .append("::").append(changeSet.getId())
+                    .append("::").append(changeSet.getAuthor())
+                    .append("::").append(changeSet.generateCheckSum())
+                    .append("::").append(changeSet.isAlwaysRun())
+                    .append("::").append(changeSet.isRunOnChange())
+                    .append("::").append(changeSet.isIgnore())
+                    .append("::").append(changeSet.getContexts())
+                    .append("::").append(changeSet.getInheritableContexts())
+                    .append("::").append(changeSet.getLabels())
+                    .append("::").append(changeSet.getInheritableLabels())
+                    .append("::").append((changeSet.getDbmsSet() == null) ? null : new TreeSet<>(changeSet.getDbmsSet()))
+                    .append('\n');
+        }
+        return MD5Util.computeMD5(digest.toString());
+    }
+
+    /**
+     * Returns the name of the table the digest is stored in, the DATABASECHANGELOG table name followed by DIGEST
+     */
+    public static String getTableName(Database database) {
+        return database.getDatabaseChangeLogTableName() + "DIGEST";
+    }
+
+    /**
+     * Returns true if the digest stored in the database equals the given one and the DATABASECHANGELOG table still has
+     * the summary it had when the digest was stored. Throws a DatabaseException if the digest table does not exist.
+     */
+    public static boolean isUpToDate(Database database, String digest) throws DatabaseException {
+        if (digest == null) {
+            return false;
+        }
+        String tableName;
+        ObjectQuotingStrategy currentStrategy = database.getObjectQuotingStrategy();
+        database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
+        try {
+            tableName = database.escapeTableName(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName(), getTableName(database));
+        } finally {
+            database.setObjectQuotingStrategy(currentStrategy);
+        }
+        List<Map<String, ?>> rows = getExecutor(database).queryForList(new RawSqlStatement("SELECT DIGEST, SUMMARY FROM " + tableName));
+        if ((rows.size() != 1) || !digest.equals(rows.get(0).get("DIGEST"))) {
+            return false;
+        }
+        return ChangeLogHistoryCache.Summary.query(database).toString().equals(rows.get(0).get("SUMMARY"));
+    }
+
+    /**
+     * Replaces the stored digest with the given one and the current summary of the DATABASECHANGELOG table, creating the
+     * digest table if needed. A null digest removes the stored one, so the next update runs in full.
+     */
+    public static void store(Database database, String digest) throws DatabaseException {
+        boolean tableExists = hasTable(database);
+        if (!tableExists && (digest == null)) {
+            return;
+        }
+        String summary = (digest == null) ? null : ChangeLogHistoryCache.Summary.query(database).toString();
+
+        Executor executor = getExecutor(database);
+        String catalogName = database.getLiquibaseCatalogName();
+        String schemaName = database.getLiquibaseSchemaName();
+        String tableName = getTableName(database);
+        // use LEGACY quoting since we're dealing with system objects
+        ObjectQuotingStrategy currentStrategy = database.getObjectQuotingStrategy();
+        database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
+        try {
+            if (tableExists) {
+                executor.execute(new DeleteStatement(catalogName, schemaName, tableName));
+            } else {
+                executor.execute(new CreateTableStatement(catalogName, schemaName, tableName)
+                        .setTablespace(database.getLiquibaseTablespaceName())
+                        .addPrimaryKeyColumn("ID", DataTypeFactory.getInstance().fromDescription("int", database), null, null, null, new NotNullConstraint())
+                        .addColumn("DIGEST", DataTypeFactory.getInstance().fromDescription("varchar(255)", database))
+                        .addColumn("SUMMARY", DataTypeFactory.getInstance().fromDescription("varchar(255)", database)));
+            }
+            if (digest != null) {
+                executor.execute(new InsertStatement(catalogName, schemaName, tableName)
+                        .addColumnValue("ID", 1)
+                        .addColumnValue("DIGEST", digest)
+                        .addColumnValue("SUMMARY", summary));
+            }
+            database.commit();
+        } finally {
+            database.setObjectQuotingStrategy(currentStrategy);
+        }
+    }
+
+    private static boolean hasTable(Database database) throws DatabaseException {
+        try {
+            return SnapshotGeneratorFactory.getInstance().has(new Table().setName(getTableName(database)).setSchema(
+                    new Schema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName())), database);
+        } catch (InvalidExampleException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    private static Executor getExecutor(Database database) {
+        return Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+    }
+}
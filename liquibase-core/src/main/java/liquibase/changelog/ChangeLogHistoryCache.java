@@ -0,0 +1,308 @@
+package liquibase.changelog;
+
+import liquibase.ContextExpression;
+import liquibase.GlobalConfiguration;
+import liquibase.Labels;
+import liquibase.Scope;
+import liquibase.change.CheckSum;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.SelectFromDatabaseChangeLogStatement;
+import liquibase.util.MD5Util;
+import liquibase.util.StringUtil;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Local copy of the rows of the DATABASECHANGELOG table, kept in a file in the
+ * {@link GlobalConfiguration#HISTORY_CACHE_DIRECTORY} with one file per database URL, liquibase catalog and schema.
+ * <p>
+ * The file starts with the {@link #VERSION} of the format, the highest ORDEREXECUTED and DATEEXECUTED and the number of
+ * changesets, followed by the changesets in the order they were read from the table.
+ * {@link StandardChangeLogHistoryService} only reads the rows with a higher ORDEREXECUTED from the table and falls back
+ * to reading the whole table if the result does not match the {@link Summary} of the table.
+ */
+public class ChangeLogHistoryCache {
+
+    public static final int VERSION = 1;
+
+    private final File file;
+
+    public ChangeLogHistoryCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cache of the DATABASECHANGELOG table of the database, or null if
+     * {@link GlobalConfiguration#HISTORY_CACHE_DIRECTORY} is not set or the database has no connection URL.
+     */
+    public static ChangeLogHistoryCache forDatabase(Database database) {
+        String directory = StringUtil.trimToNull(GlobalConfiguration.HISTORY_CACHE_DIRECTORY.getCurrentValue());
+        if ((directory == null) || (database.getConnection() == null) || (database.getConnection().getURL() == null)) {
+            return null;
+        }
+        String key = database.getConnection().getURL() + "::" + database.getLiquibaseCatalogName() + "::"
+                + database.getLiquibaseSchemaName() + "::" + database.getDatabaseChangeLogTableName();
+        return new ChangeLogHistoryCache(new File(directory, "databasechangelog-" + MD5Util.computeMD5(key) + ".cache"));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the cached changesets, or null if the file does not exist or cannot be read
+     */
+    public List<RanChangeSet> read() {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != VERSION) {
+                return null;
+            }
+            input.readInt(); // highest ORDEREXECUTED
+            input.readLong(); // highest DATEEXECUTED
+            int count = input.readInt();
+
+            List<RanChangeSet> ranChangeSets = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String storedChangeLog = readString(input);
+                String id = readString(input);
+                String author = readString(input);
+                String checkSum = readString(input);
+                long dateExecuted = input.readLong();
+                Integer orderExecuted = input.readBoolean() ? input.readInt() : null;
+                String tag = readString(input);
+                String execType = readString(input);
+                String description = readString(input);
+                String comments = readString(input);
+                String contexts = readString(input);
+                String labels = readString(input);
+                String deploymentId = readString(input);
+                String liquibaseVersion = readString(input);
+
+                RanChangeSet ranChangeSet = new RanChangeSet(DatabaseChangeLog.normalizePath(storedChangeLog), id,
+                        author, CheckSum.parse(checkSum), (dateExecuted < 0) ? null : new Date(dateExecuted), tag,
+                        ChangeSet.ExecType.valueOf(execType), description, comments, new ContextExpression(contexts),
+                        new Labels(labels), deploymentId, storedChangeLog);
+                ranChangeSet.setOrderExecuted(orderExecuted);
+                ranChangeSet.setLiquibaseVersion(liquibaseVersion);
+                ranChangeSets.add(ranChangeSet);
+            }
+            return ranChangeSets;
+        } catch (IOException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(getClass()).info("Cannot read changelog history cache " + file.getAbsolutePath() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the cached changesets. The file is written to a temporary file first, so readers never see a partly
+     * written cache.
+     */
+    public void write(List<RanChangeSet> ranChangeSets) {
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                int maxOrderExecuted = 0;
+                long maxDateExecuted = -1;
+                for (RanChangeSet ranChangeSet : ranChangeSets) {
+                    if (ranChangeSet.getOrderExecuted() != null) {
+                        maxOrderExecuted = Math.max(maxOrderExecuted, ranChangeSet.getOrderExecuted());
+                    }
+                    if (ranChangeSet.getDateExecuted() != null) {
+                        maxDateExecuted = Math.max(maxDateExecuted, ranChangeSet.getDateExecuted().getTime());
+                    }
+                }
+                output.writeInt(VERSION);
+                output.writeInt(maxOrderExecuted);
+                output.writeLong(maxDateExecuted);
+                output.writeInt(ranChangeSets.size());
+
+                for (RanChangeSet ranChangeSet : ranChangeSets) {
+                    writeString(output, ranChangeSet.getStoredChangeLog());
+                    writeString(output, ranChangeSet.getId());
+                    writeString(output, ranChangeSet.getAuthor());
+                    writeString(output, (ranChangeSet.getLastCheckSum() == null) ? null : ranChangeSet.getLastCheckSum().toString());
+                    output.writeLong((ranChangeSet.getDateExecuted() == null) ? -1 : ranChangeSet.getDateExecuted().getTime());
+                    output.writeBoolean(ranChangeSet.getOrderExecuted() != null);
+                    if (ranChangeSet.getOrderExecuted() != null) {
+                        output.writeInt(ranChangeSet.getOrderExecuted());
+                    }
+                    writeString(output, ranChangeSet.getTag());
+                    writeString(output, ranChangeSet.getExecType().name());
+                    writeString(output, ranChangeSet.getDescription());
+                    writeString(output, ranChangeSet.getComments());
+                    writeString(output, ((ranChangeSet.getContextExpression() == null) || ranChangeSet.getContextExpression().isEmpty()) ? null : ranChangeSet.getContextExpression().toString());
+                    writeString(output, ((ranChangeSet.getLabels() == null) || ranChangeSet.getLabels().isEmpty()) ? null : ranChangeSet.getLabels().toString());
+                    writeString(output, ranChangeSet.getDeploymentId());
+                    writeString(output, ranChangeSet.getLiquibaseVersion());
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot write changelog history cache " + file.getAbsolutePath() + ": " + e.getMessage(), e);
+            tempFile.delete();
+            delete();
+        }
+    }
+
+    /**
+     * Removes the cache, so the next read reads the whole table again
+     */
+    public void delete() {
+        if (file.exists() && !file.delete()) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot delete changelog history cache " + file.getAbsolutePath());
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * Row count, highest ORDEREXECUTED, highest MD5SUM and tags of the DATABASECHANGELOG table
+     */
+    public static class Summary {
+
+        private final long rowCount;
+        private final Integer maxOrderExecuted;
+        private final String maxCheckSum;
+        private final String tagCheckSum;
+
+        public Summary(long rowCount, Integer maxOrderExecuted, String maxCheckSum, String tagCheckSum) {
+            this.rowCount = rowCount;
+            this.maxOrderExecuted = maxOrderExecuted;
+            this.maxCheckSum = maxCheckSum;
+            this.tagCheckSum = tagCheckSum;
+        }
+
+        /**
+         * Returns the summary of the changesets, with the checksums compared as {@link CheckSum#toString()}
+         */
+        public static Summary of(List<RanChangeSet> ranChangeSets) {
+            Integer maxOrderExecuted = null;
+            String maxCheckSum = null;
+            List<String> tags = new ArrayList<>();
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                if (ranChangeSet.getTag() != null) {
+                    tags.add(toTagEntry(ranChangeSet.getOrderExecuted(), ranChangeSet.getTag()));
+                }
+                if ((ranChangeSet.getOrderExecuted() != null) && ((maxOrderExecuted == null) || (ranChangeSet.getOrderExecuted() > maxOrderExecuted))) {
+                    maxOrderExecuted = ranChangeSet.getOrderExecuted();
+                }
+                if (ranChangeSet.getLastCheckSum() != null) {
+                    String checkSum = ranChangeSet.getLastCheckSum().toString();
+                    if ((maxCheckSum == null) || (checkSum.compareTo(maxCheckSum) > 0)) {
+                        maxCheckSum = checkSum;
+                    }
+                }
+            }
+            return new Summary(ranChangeSets.size(), maxOrderExecuted, maxCheckSum, computeTagCheckSum(tags));
+        }
+
+        /**
+         * Reads the summary of the DATABASECHANGELOG table of the database with a single row query and a query of the
+         * tagged rows
+         */
+        public static Summary query(Database database) throws DatabaseException {
+            Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+            List<Map<String, ?>> rows = executor
+                    .queryForList(new SelectFromDatabaseChangeLogStatement(
+                            new ColumnConfig().setName("COUNT(*)", true),
+                            new ColumnConfig().setName("MAX(ORDEREXECUTED)", true),
+                            new ColumnConfig().setName("MAX(MD5SUM)", true)));
+            if (rows.size() != 1) {
+                throw new DatabaseException("Expected one row summarizing " + database.getDatabaseChangeLogTableName() + " but got " + rows.size());
+            }
+            List<?> values = new ArrayList<>(rows.get(0).values());
+            CheckSum maxCheckSum = CheckSum.parse((values.get(2) == null) ? null : values.get(2).toString());
+
+            List<String> tags = new ArrayList<>();
+            for (Map<String, ?> row : executor.queryForList(new SelectFromDatabaseChangeLogStatement(
+                    new SelectFromDatabaseChangeLogStatement.ByNotNullTag(),
+                    new ColumnConfig().setName("ORDEREXECUTED"), new ColumnConfig().setName("TAG")))) {
+                Object orderExecuted = row.get("ORDEREXECUTED");
+                tags.add(toTagEntry((orderExecuted == null) ? null : ((Number) orderExecuted).intValue(), (String) row.get("TAG")));
+            }
+
+            return new Summary(((Number) values.get(0)).longValue(),
+                    (values.get(1) == null) ? null : ((Number) values.get(1)).intValue(),
+                    (maxCheckSum == null) ? null : maxCheckSum.toString(), computeTagCheckSum(tags));
+        }
+
+        private static String toTagEntry(Integer orderExecuted, String tag) {
+            return orderExecuted + ":" + tag;
+        }
+
+        /**
+         * Returns the MD5 of the sorted ORDEREXECUTED and TAG pairs of the tagged rows, or null if no row is tagged
+         */
+        private static String computeTagCheckSum(List<String> tags) {
+            if (tags.isEmpty()) {
+                return null;
+            }
+            Collections.sort(tags);
+            return MD5Util.computeMD5(StringUtil.join(tags, "\n"));
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public Integer getMaxOrderExecuted() {
+            return maxOrderExecuted;
+        }
+
+        public String getMaxCheckSum() {
+            return maxCheckSum;
+        }
+
+        public String getTagCheckSum() {
+            return tagCheckSum;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if ((o == null) || (getClass() != o.getClass())) {
+                return false;
+            }
+            Summary that = (Summary) o;
+            return (rowCount == that.rowCount) && Objects.equals(maxOrderExecuted, that.maxOrderExecuted)
+                    && Objects.equals(maxCheckSum, that.maxCheckSum) && Objects.equals(tagCheckSum, that.tagCheckSum);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rowCount, maxOrderExecuted, maxCheckSum, tagCheckSum);
+        }
+
+        @Override
+        public String toString() {
+            return rowCount + "::" + maxOrderExecuted + "::" + maxCheckSum + "::" + tagCheckSum;
+        }
+    }
+}
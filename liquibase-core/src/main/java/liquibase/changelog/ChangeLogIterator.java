@@ -4,6 +4,7 @@ import liquibase.*;
 import liquibase.changelog.filter.ChangeSetFilter;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.changelog.visitor.ChangeSetVisitor;
+import liquibase.changelog.visitor.FinishedChangeSetVisitor;
 import liquibase.changelog.visitor.SkippedChangeSetVisitor;
 import liquibase.changelog.visitor.ValidatingVisitor;
 import liquibase.configuration.LiquibaseConfiguration;
@@ -120,6 +121,10 @@ public class ChangeLogIterator {
                             }
                         });
                     }
+
+                    if (visitor instanceof FinishedChangeSetVisitor) {
+                        ((FinishedChangeSetVisitor) visitor).finished(databaseChangeLog, env.getTargetDatabase());
+                    }
                 }
             });
         } catch (Exception e) {
@@ -1,6 +1,7 @@
 package liquibase.changelog;
 
 import liquibase.ContextExpression;
+import liquibase.GlobalConfiguration;
 import liquibase.LabelExpression;
 import liquibase.Labels;
 import liquibase.Scope;
@@ -22,8 +23,10 @@ import liquibase.parser.core.ParsedNodeException;
 import liquibase.precondition.Conditional;
 import liquibase.precondition.ErrorPrecondition;
 import liquibase.precondition.FailedPrecondition;
+import liquibase.precondition.PreconditionMetadataCache;
 import liquibase.precondition.core.PreconditionContainer;
 import liquibase.resource.ResourceAccessor;
+import liquibase.sql.visitor.AbstractSqlVisitor;
 import liquibase.sql.visitor.SqlVisitor;
 import liquibase.sql.visitor.SqlVisitorFactory;
 import liquibase.statement.SqlStatement;
@@ -37,7 +40,8 @@ import java.util.*;
  */
 public class ChangeSet implements Conditional, ChangeLogChild {
 
-    protected CheckSum checkSum;
+    protected volatile CheckSum checkSum;
+
     /**
      * storedChecksum is used to make the checksum of a changeset that has already been run
      * on a database available to liquibase extensions. This value might differ from the checkSum value that
@@ -107,6 +111,12 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      */
     private String filePath = "UNKNOWN CHANGE LOG";
 
+    /**
+     * {@link DatabaseChangeLog#normalizePath(String)} of {@link #filePath}, cached because normalizing runs several regular expressions.
+     * Recomputed whenever filePath no longer matches {@link #normalizedFilePathSource}.
+     */
+    private String normalizedFilePath;
+    private String normalizedFilePathSource;
 
     /**
      * A logicalFilePath if defined
@@ -194,6 +204,11 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      */
     private String runWith;
 
+    /**
+     * ChangeSet level attribute to run the loadData changes on this many connections at once
+     */
+    private Integer parallelLoad;
+
     /**
      * SqlVisitors defined for this changeset.
      * SqlVisitors will modify the SQL generated by the changes before sending it to the database.
@@ -204,6 +219,11 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
     private DatabaseChangeLog changeLog;
 
+    /**
+     * Changelogs whose changeSet index contains this changeSet. Told to drop their index when {@link #id}, {@link #author} or {@link #filePath} changes.
+     */
+    private Set<DatabaseChangeLog> indexingChangeLogs;
+
     private String created;
 
     /**
@@ -269,6 +289,21 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         return filePath;
     }
 
+    /**
+     * @return {@link #getFilePath()} normalized with {@link DatabaseChangeLog#normalizePath(String)}. The value is computed once per file path.
+     */
+    public String getNormalizedFilePath() {
+        String filePath = this.filePath;
+        if (filePath == null) {
+            return null;
+        }
+        if (!filePath.equals(normalizedFilePathSource)) {
+            normalizedFilePath = DatabaseChangeLog.normalizePath(filePath);
+            normalizedFilePathSource = filePath;
+        }
+        return normalizedFilePath;
+    }
+
     /**
      * The logical file path defined directly on this node. Return null if not set.
      * @return
@@ -296,26 +331,61 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         return runWith;
     }
 
+    /**
+     * Returns the number of connections used to run the loadData and loadUpdateData changes of this changeSet
+     * concurrently, or null if they run one after another. See {@link ParallelLoadDataExecutor}.
+     */
+    public Integer getParallelLoad() {
+        return parallelLoad;
+    }
+
+    public void setParallelLoad(Integer parallelLoad) {
+        this.parallelLoad = parallelLoad;
+    }
+
+    /**
+     * Clears the checksum cached by {@link #generateCheckSum()}.
+     * Must be called whenever a change or sql visitor in this changeSet is modified after the checksum may have been computed.
+     * Adding changes or sql visitors and calling the setters of the changes, their {@link liquibase.change.ColumnConfig}s
+     * and sql visitors clear it automatically. Modifying a collection returned by a getter does not.
+     */
     public void clearCheckSum() {
         this.checkSum = null;
     }
 
+    /**
+     * Returns the checksum of the changes and sql visitors in this changeSet.
+     * The value is computed once and cached until {@link #clearCheckSum()} is called.
+     * If {@link GlobalConfiguration#VERIFY_CACHED_CHECKSUMS} is set, the cached value is recomputed and compared.
+     */
     public CheckSum generateCheckSum() {
+        CheckSum checkSum = this.checkSum;
         if (checkSum == null) {
-            StringBuilder stringToMD5 = new StringBuilder();
-            for (Change change : getChanges()) {
-                stringToMD5.append(change.generateCheckSum()).append(":");
+            checkSum = computeCheckSum();
+            this.checkSum = checkSum;
+        } else if (Boolean.TRUE.equals(GlobalConfiguration.VERIFY_CACHED_CHECKSUMS.getCurrentValue())) {
+            CheckSum currentCheckSum = computeCheckSum();
+            if (!currentCheckSum.equals(checkSum)) {
+                throw new UnexpectedLiquibaseException("Cached checksum " + checkSum + " for changeSet " + toString(false) +
+                        " does not match the current checksum " + currentCheckSum +
+                        ". The changeSet was modified without calling clearCheckSum()");
             }
+        }
 
-            for (SqlVisitor visitor : this.getSqlVisitors()) {
-                stringToMD5.append(visitor.generateCheckSum()).append(";");
-            }
+        return checkSum;
+    }
 
+    private CheckSum computeCheckSum() {
+        StringBuilder stringToMD5 = new StringBuilder();
+        for (Change change : getChanges()) {
+            stringToMD5.append(change.generateCheckSum()).append(":");
+        }
 
-            checkSum = CheckSum.compute(stringToMD5.toString());
+        for (SqlVisitor visitor : this.getSqlVisitors()) {
+            stringToMD5.append(visitor.generateCheckSum()).append(";");
         }
 
-        return checkSum;
+        return CheckSum.compute(stringToMD5.toString());
     }
 
     @Override
@@ -325,6 +395,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         this.alwaysRun = node.getChildValue(null, "runAlways", node.getChildValue(null, "alwaysRun", false));
         this.runOnChange = node.getChildValue(null, "runOnChange", false);
         this.runWith = node.getChildValue(null, "runWith", String.class);
+        this.parallelLoad = node.getChildValue(null, "parallelLoad", Integer.class);
         this.contexts = new ContextExpression(node.getChildValue(null, "context", String.class));
         this.labels = new Labels(StringUtil.trimToNull(node.getChildValue(null, "labels", String.class)));
         setDbms(node.getChildValue(null, "dbms", String.class));
@@ -365,6 +436,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                                .replaceFirst("^/", "");
 
         }
+        clearChangeLogIndexes();
 
         this.setFailOnError(node.getChildValue(null, "failOnError", Boolean.class));
         String onValidationFailString = node.getChildValue(null, "onValidationFail", "HALT");
@@ -551,6 +623,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         boolean skipChange = false;
 
         Executor originalExecutor = setupCustomExecutorIfNecessary(database);
+        boolean groupCommitted = isGroupCommitted(database);
         try {
             Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
             // set object quoting strategy
@@ -635,7 +708,10 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
                 database.rollback();
             } finally {
-                database.rollback();
+                // changeSets committed as a group have no preconditions, and rolling back would undo the group
+                if (!groupCommitted) {
+                    database.rollback();
+                }
             }
 
             if (!skipChange) {
@@ -648,27 +724,32 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                 }
 
                 log.fine("Reading ChangeSet: " + toString());
-                for (Change change : getChanges()) {
-                    if ((!(change instanceof DbmsTargetedChange)) || DatabaseList.definitionMatches(((DbmsTargetedChange) change).getDbms(), database, true)) {
-                        if (listener != null) {
-                            listener.willRun(change, this, changeLog, database);
-                        }
-                        if (change.generateStatementsVolatile(database)) {
-                            executor.comment("WARNING The following SQL may change each run and therefore is possibly incorrect and/or invalid:");
-                        }
-
-
-                        database.executeStatements(change, databaseChangeLog, sqlVisitors);
-                        log.info(change.getConfirmationMessage());
-                        if (listener != null) {
-                            listener.ran(change, this, changeLog, database);
+                if (ParallelLoadDataExecutor.canExecute(this, database)) {
+                    new ParallelLoadDataExecutor(this, databaseChangeLog, listener, database).execute();
+                } else {
+                    for (Change change : getChanges()) {
+                        if ((!(change instanceof DbmsTargetedChange)) || DatabaseList.definitionMatches(((DbmsTargetedChange) change).getDbms(), database, true)) {
+                            if (listener != null) {
+                                listener.willRun(change, this, changeLog, database);
+                            }
+                            if (change.generateStatementsVolatile(database)) {
+                                executor.comment("WARNING The following SQL may change each run and therefore is possibly incorrect and/or invalid:");
+                            }
+
+
+                            database.executeStatements(change, databaseChangeLog, sqlVisitors);
+                            PreconditionMetadataCache.invalidate(change, database);
+                            log.info(change.getConfirmationMessage());
+                            if (listener != null) {
+                                listener.ran(change, this, changeLog, database);
+                            }
+                        } else {
+                            log.fine("Change " + change.getSerializedObjectName() + " not included for database " + database.getShortName());
                         }
-                    } else {
-                        log.fine("Change " + change.getSerializedObjectName() + " not included for database " + database.getShortName());
                     }
                 }
 
-                if (runInTransaction) {
+                if (runInTransaction && !groupCommitted) {
                     database.commit();
                 }
                 log.info("ChangeSet " + toString(false) + " ran successfully in " + (new Date().getTime() - startTime + "ms"));
@@ -680,6 +761,8 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             }
 
         } catch (Exception e) {
+            // a failed change may have run part of its statements
+            PreconditionMetadataCache.invalidate(database);
             try {
                 database.rollback();
             } catch (Exception e1) {
@@ -711,6 +794,15 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         return execType;
     }
 
+    /**
+     * Returns true if the {@link StandardChangeLogHistoryService} commits this changeSet together with the ones before it
+     */
+    private boolean isGroupCommitted(Database database) {
+        ChangeLogHistoryService historyService = ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database);
+        return (historyService instanceof StandardChangeLogHistoryService)
+                && ((StandardChangeLogHistoryService) historyService).isGroupCommitted(this);
+    }
+
     //
     // Get the custom Executor ready if necessary
     // We do not do anything if we have a LoggingExecutor.
@@ -827,6 +919,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             }
             throw new RollbackFailedException(e);
         } finally {
+            PreconditionMetadataCache.invalidate(database);
             // restore auto-commit to false if this ChangeSet was not run in a transaction,
             // but only if the database supports DDL in transactions
             Scope.getCurrentScope().getSingleton(ExecutorService.class).setExecutor("jdbc", database, originalExecutor);
@@ -861,6 +954,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         }
         changes.add(change);
         change.setChangeSet(this);
+        clearCheckSum();
     }
 
     public String getId() {
@@ -1088,6 +1182,10 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
     public void addSqlVisitor(SqlVisitor sqlVisitor) {
         sqlVisitors.add(sqlVisitor);
+        if (sqlVisitor instanceof AbstractSqlVisitor) {
+            ((AbstractSqlVisitor) sqlVisitor).setChangeSet(this);
+        }
+        clearCheckSum();
     }
 
     public List<SqlVisitor> getSqlVisitors() {
@@ -1110,6 +1208,26 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      */
     public void setFilePath(String filePath) {
         this.filePath = filePath;
+        clearChangeLogIndexes();
+    }
+
+    /**
+     * Called by {@link DatabaseChangeLog} when it indexes this changeSet.
+     */
+    void addIndexingChangeLog(DatabaseChangeLog changeLog) {
+        if (indexingChangeLogs == null) {
+            indexingChangeLogs = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        indexingChangeLogs.add(changeLog);
+    }
+
+    private void clearChangeLogIndexes() {
+        if (indexingChangeLogs != null) {
+            for (DatabaseChangeLog indexingChangeLog : indexingChangeLogs) {
+                indexingChangeLog.clearChangeSetIndex();
+            }
+            indexingChangeLogs = null;
+        }
     }
 
     public ObjectQuotingStrategy getObjectQuotingStrategy() {
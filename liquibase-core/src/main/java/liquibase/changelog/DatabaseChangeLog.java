@@ -25,6 +25,8 @@ import liquibase.util.FilenameUtil;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Encapsulates the information stored in the change log XML file.
@@ -40,7 +42,19 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     private String changeLogId;
     private ObjectQuotingStrategy objectQuotingStrategy;
 
-    private List<ChangeSet> changeSets = new ArrayList<>();
+    private final ChangeSetList changeSets = new ChangeSetList();
+
+    /**
+     * Index of {@link #changeSets} used by {@link #getChangeSet(String, String, String)}, keyed by {@link #createChangeSetKey(String, String, String)}.
+     * Maintained by {@link #addChangeSet(ChangeSet)} and rebuilt if the list returned by {@link #getChangeSets()} was modified directly
+     * or {@link #clearChangeSetIndex()} was called because an indexed changeSet changed its id, author or file path.
+     */
+    private final Map<String, List<ChangeSet>> changeSetIndex = new HashMap<>();
+
+    /**
+     * {@link ChangeSetList#getModificationCount()} of {@link #changeSets} when {@link #changeSetIndex} was last updated, or -1 if it must be rebuilt.
+     */
+    private int indexedModificationCount;
     private ChangeLogParameters changeLogParameters;
 
     private RuntimeEnvironment runtimeEnvironment;
@@ -199,25 +213,91 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     }
 
     public ChangeSet getChangeSet(String path, String author, String id) {
+        final String normalizedPath = normalizePath(path);
+        if (normalizedPath == null || author == null || id == null) {
+            return null;
+        }
+
+        List<ChangeSet> candidates = getChangeSetIndex().get(createChangeSetKey(normalizedPath, author, id));
+        if (candidates == null) {
+            return null;
+        }
+
+        ChangeSet found = null;
+        for (ChangeSet changeSet : candidates) {
+            if (isMatch(changeSet, normalizedPath, author, id)) {
+                if (found != null) {
+                    //more than one match, return the first one in run order like a full scan would
+                    return getFirstInRunOrder(candidates, normalizedPath, author, id);
+                }
+                found = changeSet;
+            }
+        }
+
+        return found;
+    }
+
+    private ChangeSet getFirstInRunOrder(List<ChangeSet> candidates, String normalizedPath, String author, String id) {
+        Set<ChangeSet> candidateSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidateSet.addAll(candidates);
         for (ChangeSet changeSet : changeSets) {
-            final String normalizedPath = normalizePath(changeSet.getFilePath());
-            if (normalizedPath != null &&
-                normalizedPath.equalsIgnoreCase(normalizePath(path)) &&
-                changeSet.getAuthor().equalsIgnoreCase(author) &&
-                changeSet.getId().equalsIgnoreCase(id) &&
-                isDbmsMatch(changeSet.getDbmsSet())) {
+            if (candidateSet.contains(changeSet) && isMatch(changeSet, normalizedPath, author, id)) {
                 return changeSet;
             }
         }
-
         return null;
     }
 
+    private boolean isMatch(ChangeSet changeSet, String normalizedPath, String author, String id) {
+        final String changeSetPath = changeSet.getNormalizedFilePath();
+        return changeSetPath != null &&
+            changeSetPath.equalsIgnoreCase(normalizedPath) &&
+            changeSet.getAuthor().equalsIgnoreCase(author) &&
+            changeSet.getId().equalsIgnoreCase(id) &&
+            isDbmsMatch(changeSet.getDbmsSet());
+    }
+
+    private Map<String, List<ChangeSet>> getChangeSetIndex() {
+        if (indexedModificationCount != changeSets.getModificationCount()) {
+            changeSetIndex.clear();
+            for (ChangeSet changeSet : changeSets) {
+                indexChangeSet(changeSet);
+            }
+            indexedModificationCount = changeSets.getModificationCount();
+        }
+        return changeSetIndex;
+    }
+
+    private void indexChangeSet(ChangeSet changeSet) {
+        changeSet.addIndexingChangeLog(this);
+        String normalizedPath = changeSet.getNormalizedFilePath();
+        if (normalizedPath != null && changeSet.getAuthor() != null && changeSet.getId() != null) {
+            changeSetIndex.computeIfAbsent(createChangeSetKey(normalizedPath, changeSet.getAuthor(), changeSet.getId()), key -> new ArrayList<>(1))
+                    .add(changeSet);
+        }
+    }
+
+    /**
+     * Drops the changeSet index so the next {@link #getChangeSet(String, String, String)} rebuilds it from {@link #getChangeSets()}.
+     */
+    void clearChangeSetIndex() {
+        changeSetIndex.clear();
+        indexedModificationCount = -1;
+    }
+
+    /**
+     * Creates the case-insensitive lookup key for a changeset. The path must already be normalized.
+     */
+    private static String createChangeSetKey(String normalizedPath, String author, String id) {
+        return (normalizedPath + "::" + author + "::" + id).toLowerCase(Locale.US);
+    }
+
     public List<ChangeSet> getChangeSets() {
         return changeSets;
     }
 
     public void addChangeSet(ChangeSet changeSet) {
+        boolean indexUpToDate = indexedModificationCount == changeSets.getModificationCount();
         if (changeSet.getRunOrder() == null) {
             ListIterator<ChangeSet> it = this.changeSets.listIterator(this.changeSets.size());
             boolean added = false;
@@ -250,6 +330,11 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         } else {
             throw new UnexpectedLiquibaseException("Unknown runOrder: " + changeSet.getRunOrder());
         }
+
+        if (indexUpToDate) {
+            indexChangeSet(changeSet);
+            indexedModificationCount = changeSets.getModificationCount();
+        }
     }
 
     @Override
@@ -656,12 +741,68 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
 
     }
 
+    /**
+     * Computes and caches the checksum of every changeSet using {@link GlobalConfiguration#CHECKSUM_PARALLELISM} threads.
+     * Does nothing if the configured parallelism is 1 or less.
+     */
+    public void precomputeCheckSums() {
+        precomputeCheckSums(GlobalConfiguration.CHECKSUM_PARALLELISM.getCurrentValue());
+    }
+
+    /**
+     * Computes and caches the checksum of every changeSet using up to the given number of threads.
+     * Each checksum only depends on its own changeSet, so the result is the same as computing them one at a time.
+     * Errors are logged as warnings and the checksum is left uncached, so the error is raised again where the checksum is actually used.
+     */
+    public void precomputeCheckSums(int parallelism) {
+        if (parallelism <= 1 || changeSets.size() <= 1) {
+            return;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(changeSets.size());
+        for (ChangeSet changeSet : changeSets) {
+            tasks.add(() -> {
+                try {
+                    changeSet.generateCheckSum();
+                } catch (Exception e) {
+                    LOG.warning("Cannot precompute checksum for " + changeSet.toString(false) + ": " + e.getMessage(), e);
+                }
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invokeAll(tasks);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     public void clearCheckSums() {
         for (ChangeSet changeSet : getChangeSets()) {
             changeSet.clearCheckSum();
         }
     }
 
+    /**
+     * ArrayList that also counts {@link #set(int, ChangeSet)} as a modification, since ArrayList does not increase its modCount for it.
+     */
+    private static class ChangeSetList extends ArrayList<ChangeSet> {
+
+        private int replaceCount;
+
+        @Override
+        public ChangeSet set(int index, ChangeSet changeSet) {
+            replaceCount++;
+            return super.set(index, changeSet);
+        }
+
+        int getModificationCount() {
+            return modCount + replaceCount;
+        }
+    }
+
     /**
      * Holder for the PreconditionContainer for this changelog, plus any nested changelogs.
      */
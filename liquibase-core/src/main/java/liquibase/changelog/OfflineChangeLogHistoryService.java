@@ -25,9 +25,14 @@ import liquibase.util.csv.CSVReader;
 import liquibase.util.csv.CSVWriter;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
 
 @LiquibaseService(skip = true)
 @SuppressWarnings("java:S899")
@@ -41,6 +46,22 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
     private boolean executeDdlAgainstDatabase = true;
 
     private Integer lastChangeSetSequenceValue;
+
+    /**
+     * Number of appended changesets after which the file is synced to disk
+     */
+    protected static final int APPENDS_PER_SYNC = 100;
+    private int appendsSinceSync;
+
+    /**
+     * Byte offset and length of every changeset line in the file, by id, author and file name. Built on the first
+     * replacement and kept up to date after that, null if it has to be rebuilt. The index only saves the scan for the
+     * line: a replacement is a single write only if the new line has the same length, since the values of the CSV
+     * cannot be padded without changing what other readers of the file see.
+     */
+    private Map<String, LineOffset> lineOffsets;
+    private List<LineOffset> orderedLineOffsets;
+
     private enum Columns {
         ID,
         AUTHOR,
@@ -96,7 +117,13 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
     @Override
     public void reset() {
-        // nothing to do.
+        try {
+            sync();
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Could not sync " + changeLogFile.getAbsolutePath(), e);
+        }
+        lineOffsets = null;
+        orderedLineOffsets = null;
     }
 
     @Override
@@ -132,6 +159,8 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
             }
             csvWriter.writeNext(columns);
         }
+        lineOffsets = null;
+        orderedLineOffsets = null;
     }
 
     @Override
@@ -202,7 +231,109 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         }
     }
 
+    /**
+     * Replaces the line of the changeSet with the line returned by the replaceLogic, or removes it if that returns null.
+     * Only lines of the same length, e.g. a new checksum of the same version, are overwritten in place. Otherwise the
+     * whole file is copied with the line replaced into a new file that is then moved over the old one, so an interrupted
+     * write never leaves a partial file behind. If changeSet is null, every line is replaced and the whole file is
+     * written again.
+     */
     protected void replaceChangeSet(ChangeSet changeSet, ReplaceChangeSetLogic replaceLogic) throws DatabaseException {
+        if ((changeSet == null) || !buildLineOffsets()) {
+            rewriteChangeSets(changeSet, replaceLogic);
+            return;
+        }
+        LineOffset lineOffset = lineOffsets.get(getKey(changeSet.getId(), changeSet.getAuthor(), changeSet.getFilePath()));
+        if (lineOffset == null) {
+            return;
+        }
+
+        Charset charset = getCharset();
+        try {
+            String[] line;
+            byte[] newBytes;
+            try (FileChannel channel = FileChannel.open(changeLogFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer oldBytes = ByteBuffer.allocate(lineOffset.length);
+                readFully(channel, oldBytes, lineOffset.offset);
+                line = new CSVReader(new StringReader(new String(oldBytes.array(), charset))).readNext();
+                line = replaceLogic.execute(line);
+                newBytes = (line == null) ? new byte[0] : toCsvLine(line).getBytes(charset);
+
+                if (newBytes.length == lineOffset.length) {
+                    writeFully(channel, ByteBuffer.wrap(newBytes), lineOffset.offset);
+                    channel.force(false);
+                    return;
+                }
+            }
+
+            replaceLine(lineOffset, newBytes);
+
+            int index = orderedLineOffsets.indexOf(lineOffset);
+            int difference = newBytes.length - lineOffset.length;
+            for (LineOffset following : orderedLineOffsets.subList(index + 1, orderedLineOffsets.size())) {
+                following.offset += difference;
+            }
+            if (line == null) {
+                orderedLineOffsets.remove(index);
+                lineOffsets.remove(lineOffset.key);
+            } else {
+                lineOffset.length = newBytes.length;
+            }
+        } catch (Exception e) {
+            lineOffsets = null;
+            orderedLineOffsets = null;
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Copies the file with the given line replaced by the new bytes into a new file and moves that over the old one
+     */
+    private void replaceLine(LineOffset lineOffset, byte[] newBytes) throws IOException {
+        File newFile = new File(changeLogFile.getParentFile(), changeLogFile.getName() + ".new");
+        try (FileChannel oldChannel = FileChannel.open(changeLogFile.toPath(), StandardOpenOption.READ);
+             FileChannel newChannel = FileChannel.open(newFile.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long tailOffset = lineOffset.offset + lineOffset.length;
+            transferFully(oldChannel, 0, lineOffset.offset, newChannel);
+            ByteBuffer buffer = ByteBuffer.wrap(newBytes);
+            while (buffer.hasRemaining()) {
+                newChannel.write(buffer);
+            }
+            transferFully(oldChannel, tailOffset, oldChannel.size() - tailOffset, newChannel);
+            newChannel.force(false);
+        }
+        moveOverChangeLogFile(newFile);
+        appendsSinceSync = 0;
+    }
+
+    private void transferFully(FileChannel source, long position, long count, FileChannel target) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long bytes = source.transferTo(position + transferred, count - transferred, target);
+            if (bytes <= 0) {
+                throw new EOFException("Unexpected end of " + changeLogFile.getAbsolutePath());
+            }
+            transferred += bytes;
+        }
+    }
+
+    /**
+     * Replaces the changelog file with the given file, atomically if the file system supports it
+     */
+    private void moveOverChangeLogFile(File newFile) throws IOException {
+        try {
+            Files.move(newFile.toPath(), changeLogFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(newFile.toPath(), changeLogFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the file again into a new file with the lines of the changeSet replaced, or all lines if changeSet is null
+     */
+    protected void rewriteChangeSets(ChangeSet changeSet, ReplaceChangeSetLogic replaceLogic) throws DatabaseException {
         File oldFile = this.changeLogFile;
         File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
 
@@ -226,34 +357,29 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         } catch (Exception e) {
             throw new DatabaseException(e);
         }
-        oldFile.delete();
-        newFile.renameTo(oldFile);
+        try {
+            moveOverChangeLogFile(newFile);
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+        lineOffsets = null;
+        orderedLineOffsets = null;
     }
 
+    /**
+     * Appends the line of the changeSet to the end of the file. The file is synced to disk every
+     * {@link #APPENDS_PER_SYNC} changesets and when the service is reset.
+     */
     protected void appendChangeSet(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
-        File oldFile = this.changeLogFile;
-        File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
-
-        try (
-                Reader reader = new InputStreamReader(new FileInputStream(oldFile), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                Writer writer = new OutputStreamWriter(new FileOutputStream(newFile), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                CSVReader csvReader = new CSVReader(reader);
-                CSVWriter csvWriter = new CSVWriter(writer);
-        )
-        {
-            String[] line;
-            while ((line = csvReader.readNext()) != null) {
-                csvWriter.writeNext(line);
-            }
-
-            String tag = "";
-            for (Change change : changeSet.getChanges()) {
-                if (change instanceof TagDatabaseChange) {
-                    TagDatabaseChange tagChange = (TagDatabaseChange) change;
-                    tag = tagChange.getTag();
-                }
+        String tag = "";
+        for (Change change : changeSet.getChanges()) {
+            if (change instanceof TagDatabaseChange) {
+                TagDatabaseChange tagChange = (TagDatabaseChange) change;
+                tag = tagChange.getTag();
             }
+        }
 
+        try {
             String[] newLine = new String[Columns.values().length];
             newLine[Columns.ID.ordinal()] = changeSet.getId();
             newLine[Columns.AUTHOR.ordinal()] = changeSet.getAuthor();
@@ -272,14 +398,142 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
             newLine[Columns.DEPLOYMENT_ID.ordinal()] = getDeploymentId();
 
-            csvWriter.writeNext(newLine);
-
+            byte[] bytes = toCsvLine(newLine).getBytes(getCharset());
+            try (FileChannel channel = FileChannel.open(changeLogFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                long offset = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (++appendsSinceSync >= APPENDS_PER_SYNC) {
+                    channel.force(false);
+                    appendsSinceSync = 0;
+                }
+                if ((lineOffsets != null) && !addLineOffset(new LineOffset(getKey(changeSet.getId(),
+                        changeSet.getAuthor(), changeSet.getFilePath()), offset, bytes.length))) {
+                    // the changeset is in the file twice now, so replacing it has to rewrite the whole file
+                    lineOffsets = null;
+                    orderedLineOffsets = null;
+                }
+            }
         } catch (Exception e) {
             throw new DatabaseException(e);
         }
+    }
+
+    /**
+     * Syncs the changesets appended since the last sync to disk
+     */
+    protected void sync() throws IOException {
+        if ((appendsSinceSync > 0) && changeLogFile.exists()) {
+            try (FileChannel channel = FileChannel.open(changeLogFile.toPath(), StandardOpenOption.WRITE)) {
+                channel.force(false);
+            }
+        }
+        appendsSinceSync = 0;
+    }
+
+    /**
+     * Reads the offsets of all lines if they are not known yet.
+     *
+     * @return false if the offsets cannot be used, because the encoding does not use single bytes for quotes and line
+     * breaks or because a changeset is in the file more than once
+     */
+    private boolean buildLineOffsets() throws DatabaseException {
+        if (lineOffsets != null) {
+            return true;
+        }
+        Charset charset = getCharset();
+        if (("\"".getBytes(charset).length != 1) || ("\n".getBytes(charset).length != 1)) {
+            return false;
+        }
+
+        lineOffsets = new HashMap<>();
+        orderedLineOffsets = new ArrayList<>();
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(changeLogFile))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long offset = 0;
+            long lineStart = 0;
+            boolean inQuotes = false;
+            boolean header = true;
+            int b;
+            while ((b = stream.read()) != -1) {
+                offset++;
+                line.write(b);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if ((b == '\n') && !inQuotes) {
+                    if (!header && !addLineOffset(line.toByteArray(), lineStart, charset)) {
+                        return false;
+                    }
+                    header = false;
+                    line.reset();
+                    lineStart = offset;
+                }
+            }
+            if ((line.size() > 0) && !header && !addLineOffset(line.toByteArray(), lineStart, charset)) {
+                return false;
+            }
+        } catch (IOException e) {
+            lineOffsets = null;
+            orderedLineOffsets = null;
+            throw new DatabaseException(e);
+        }
+        return true;
+    }
+
+    private boolean addLineOffset(byte[] bytes, long offset, Charset charset) throws IOException {
+        String[] line = new CSVReader(new StringReader(new String(bytes, charset))).readNext();
+        if ((line == null) || (line.length <= Columns.FILENAME.ordinal())) {
+            return true;
+        }
+        if (!addLineOffset(new LineOffset(getKey(line[Columns.ID.ordinal()], line[Columns.AUTHOR.ordinal()],
+                line[Columns.FILENAME.ordinal()]), offset, bytes.length))) {
+            lineOffsets = null;
+            orderedLineOffsets = null;
+            return false;
+        }
+        return true;
+    }
+
+    private boolean addLineOffset(LineOffset lineOffset) {
+        if (lineOffsets.containsKey(lineOffset.key)) {
+            return false;
+        }
+        lineOffsets.put(lineOffset.key, lineOffset);
+        orderedLineOffsets.add(lineOffset);
+        return true;
+    }
+
+    private String getKey(String id, String author, String filePath) {
+        return id + "::" + author + "::" + filePath;
+    }
 
-        oldFile.delete();
-        newFile.renameTo(oldFile);
+    private String toCsvLine(String[] line) throws IOException {
+        StringWriter writer = new StringWriter();
+        CSVWriter csvWriter = new CSVWriter(writer);
+        csvWriter.writeNext(line);
+        csvWriter.flush();
+        return writer.toString();
+    }
+
+    private Charset getCharset() {
+        return Charset.forName(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + changeLogFile.getAbsolutePath());
+            }
+        }
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
     }
 
     @Override
@@ -387,6 +641,18 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         public String[] execute(String[] line);
     }
 
+    private static class LineOffset {
+        private final String key;
+        private long offset;
+        private int length;
+
+        private LineOffset(String key, long offset, int length) {
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
     @Override
     public void clearAllCheckSums() throws LiquibaseException {
         replaceChangeSet(null, new ReplaceChangeSetLogic() {
@@ -401,6 +667,9 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
     @Override
     public void destroy() throws DatabaseException {
+        lineOffsets = null;
+        orderedLineOffsets = null;
+        appendsSinceSync = 0;
         if (changeLogFile.exists() && !changeLogFile.delete()) {
             throw new DatabaseException("Could not delete changelog history file "+changeLogFile.getAbsolutePath());
         }
@@ -0,0 +1,237 @@
+package liquibase.changelog;
+
+import liquibase.Scope;
+import liquibase.change.Change;
+import liquibase.change.DbmsTargetedChange;
+import liquibase.change.core.LoadDataChange;
+import liquibase.changelog.visitor.ChangeExecListener;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.DatabaseList;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.LoggingExecutor;
+import liquibase.logging.Logger;
+import liquibase.util.StringUtil;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the loadData and loadUpdateData changes of a changeSet with {@link ChangeSet#getParallelLoad()} set
+ * concurrently. Each worker uses its own connection from the {@link DataSource} in the
+ * {@link Scope.Attr#parallelLoadDataSource} scope value. Changes for the same table run one after another in the same
+ * worker.
+ * <p>
+ * The worker connections are only committed after all changes succeeded, and all of them are rolled back if one
+ * fails. The commits are not atomic across connections: if a commit fails, the connections that are not committed yet
+ * are rolled back and the error lists the changes that were already committed.
+ */
+class ParallelLoadDataExecutor {
+
+    private static final Logger LOG = Scope.getCurrentScope().getLog(ParallelLoadDataExecutor.class);
+
+    private final ChangeSet changeSet;
+    private final DatabaseChangeLog databaseChangeLog;
+    private final ChangeExecListener listener;
+    private final Database database;
+
+    ParallelLoadDataExecutor(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, ChangeExecListener listener,
+                             Database database) {
+        this.changeSet = changeSet;
+        this.databaseChangeLog = databaseChangeLog;
+        this.listener = listener;
+        this.database = database;
+    }
+
+    /**
+     * Returns true if parallelLoad is set, a DataSource is available, the changes are actually executed and the
+     * changeSet contains nothing but loadData and loadUpdateData changes. Other changes could create objects
+     * the worker connections cannot see before they are committed.
+     */
+    static boolean canExecute(ChangeSet changeSet, Database database) {
+        Integer parallelLoad = changeSet.getParallelLoad();
+        if ((parallelLoad == null) || (parallelLoad <= 1)) {
+            return false;
+        }
+        String reason = null;
+        if (!(Scope.getCurrentScope().get(Scope.Attr.parallelLoadDataSource, Object.class) instanceof DataSource)) {
+            reason = "no " + Scope.Attr.parallelLoadDataSource.name() + " is set";
+        } else if (Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof LoggingExecutor) {
+            reason = "SQL is only generated";
+        } else if (!(database.getConnection() instanceof JdbcConnection)) {
+            reason = "the database is not a JDBC database";
+        } else {
+            for (Change change : changeSet.getChanges()) {
+                if (!(change instanceof LoadDataChange)) {
+                    reason = "it contains " + change.getSerializedObjectName() + " changes";
+                    break;
+                }
+            }
+        }
+        if (reason != null) {
+            LOG.info("Running the changes of " + changeSet.toString(false) + " one after another because " + reason);
+            return false;
+        }
+        return true;
+    }
+
+    void execute() throws DatabaseException {
+        Map<String, List<Change>> changesByTable = new LinkedHashMap<>();
+        for (Change change : changeSet.getChanges()) {
+            if ((change instanceof DbmsTargetedChange) && !DatabaseList.definitionMatches(((DbmsTargetedChange) change).getDbms(), database, true)) {
+                LOG.fine("Change " + change.getSerializedObjectName() + " not included for database " + database.getShortName());
+                continue;
+            }
+            LoadDataChange loadData = (LoadDataChange) change;
+            String key = (loadData.getCatalogName() + "." + loadData.getSchemaName() + "." + loadData.getTableName()).toLowerCase(Locale.US);
+            changesByTable.computeIfAbsent(key, k -> new ArrayList<>()).add(change);
+        }
+        if (changesByTable.isEmpty()) {
+            return;
+        }
+
+        DataSource dataSource = Scope.getCurrentScope().get(Scope.Attr.parallelLoadDataSource, DataSource.class);
+        Map<String, Database> workers = new ConcurrentHashMap<>();
+        List<Callable<Void>> tasks = new ArrayList<>(changesByTable.size());
+        for (Map.Entry<String, List<Change>> entry : changesByTable.entrySet()) {
+            tasks.add(() -> {
+                Database worker = openWorker(dataSource);
+                workers.put(entry.getKey(), worker);
+                for (Change change : entry.getValue()) {
+                    if (listener != null) {
+                        synchronized (listener) {
+                            listener.willRun(change, changeSet, databaseChangeLog, database);
+                        }
+                    }
+                    worker.executeStatements(change, databaseChangeLog, changeSet.getSqlVisitors());
+                }
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(changeSet.getParallelLoad(), tasks.size()));
+        try {
+            Exception failure = null;
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = (Exception) e.getCause();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+
+            if (failure != null) {
+                for (Database worker : workers.values()) {
+                    rollback(worker);
+                }
+                if (failure instanceof DatabaseException) {
+                    throw (DatabaseException) failure;
+                }
+                throw new DatabaseException(failure);
+            }
+
+            commit(changesByTable, workers);
+        } finally {
+            pool.shutdown();
+            for (Database worker : workers.values()) {
+                Scope.getCurrentScope().getSingleton(ExecutorService.class).clearExecutor("jdbc", worker);
+                try {
+                    worker.close();
+                } catch (DatabaseException e) {
+                    LOG.fine("Cannot close parallel load connection: " + e.getMessage(), e);
+                }
+            }
+        }
+
+        for (List<Change> changes : changesByTable.values()) {
+            for (Change change : changes) {
+                LOG.info(change.getConfirmationMessage());
+                if (listener != null) {
+                    listener.ran(change, changeSet, databaseChangeLog, database);
+                }
+            }
+        }
+    }
+
+    /**
+     * Commits the workers one after another. If a commit fails, the workers that are not committed yet are rolled back
+     * and the exception lists the changes that were already committed.
+     */
+    private void commit(Map<String, List<Change>> changesByTable, Map<String, Database> workers) throws DatabaseException {
+        List<String> committed = new ArrayList<>();
+        DatabaseException commitFailure = null;
+        for (Map.Entry<String, List<Change>> entry : changesByTable.entrySet()) {
+            Database worker = workers.get(entry.getKey());
+            if (commitFailure != null) {
+                rollback(worker);
+                continue;
+            }
+            try {
+                worker.commit();
+                for (Change change : entry.getValue()) {
+                    committed.add(change.getConfirmationMessage());
+                }
+            } catch (DatabaseException e) {
+                commitFailure = e;
+                rollback(worker);
+            }
+        }
+
+        if (commitFailure != null) {
+            String message = "Cannot commit parallel load of " + changeSet.toString(false) + ": " + commitFailure.getMessage()
+                    + ". The other connections were rolled back. ";
+            if (committed.isEmpty()) {
+                message += "No changes were committed";
+            } else {
+                message += "Already committed: " + StringUtil.join(committed, "; ");
+            }
+            LOG.severe(message);
+            throw new DatabaseException(message, commitFailure);
+        }
+    }
+
+    private void rollback(Database worker) {
+        try {
+            worker.rollback();
+        } catch (DatabaseException e) {
+            LOG.warning("Cannot roll back parallel load connection: " + e.getMessage(), e);
+        }
+    }
+
+    private Database openWorker(DataSource dataSource) throws DatabaseException {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new DatabaseException("Cannot open parallel load connection: " + e.getMessage(), e);
+        }
+        Database worker = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        worker.setAutoCommit(false);
+        worker.setDefaultCatalogName(database.getDefaultCatalogName());
+        worker.setDefaultSchemaName(database.getDefaultSchemaName());
+        worker.setOutputDefaultCatalog(database.getOutputDefaultCatalog());
+        worker.setOutputDefaultSchema(database.getOutputDefaultSchema());
+        worker.setObjectQuotingStrategy(database.getObjectQuotingStrategy());
+        return worker;
+    }
+}
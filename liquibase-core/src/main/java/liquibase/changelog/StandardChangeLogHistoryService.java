@@ -2,12 +2,16 @@ package liquibase.changelog;
 
 import liquibase.*;
 import liquibase.change.Change;
+import liquibase.change.core.AbstractModifyDataChange;
+import liquibase.change.core.InsertDataChange;
+import liquibase.change.core.LoadDataChange;
 import liquibase.change.CheckSum;
 import liquibase.change.ColumnConfig;
 import liquibase.database.Database;
 import liquibase.database.core.DB2Database;
 import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.core.SQLiteDatabase;
+import liquibase.database.jvm.JdbcConnection;
 import liquibase.diff.output.DiffOutputControl;
 import liquibase.diff.output.changelog.ChangeGeneratorFactory;
 import liquibase.exception.DatabaseException;
@@ -16,9 +20,14 @@ import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
+import liquibase.listener.SqlListener;
+import liquibase.logging.Logger;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.sql.Sql;
+import liquibase.sql.SqlConfiguration;
 import liquibase.sqlgenerator.SqlGeneratorFactory;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.*;
@@ -27,12 +36,15 @@ import liquibase.structure.core.Column;
 import liquibase.structure.core.DataType;
 import liquibase.structure.core.Table;
 
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.logging.Level;
 
 public class StandardChangeLogHistoryService extends AbstractChangeLogHistoryService {
 
@@ -42,6 +54,10 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     private boolean databaseChecksumsCompatible = true;
     private Integer lastChangeSetSequenceValue;
 
+    private ChangeSet groupCommitChangeSet;
+    private final List<String> groupCommitSql = new ArrayList<>();
+    private final List<RanChangeSet> groupCommitRanChangeSets = new ArrayList<>();
+
     protected static final String LABELS_SIZE = "255";
     protected static final String CONTEXTS_SIZE = "255";
 
@@ -76,6 +92,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         this.ranChangeSetList = null;
         this.serviceInitialized = false;
         this.hasDatabaseChangeLogTable = null;
+        discardGroupCommit();
     }
 
     public boolean hasDatabaseChangeLogTable() {
@@ -290,6 +307,8 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         if (statementsToExecute.size() > 0) {
             //reset the cache if there was a change to the table. Especially catches things like md5 changes which might have been updated but would still be wrong in the cache
             this.ranChangeSetList = null;
+            SnapshotGeneratorFactory.getInstance().resetLiquibaseTables(database);
+            deleteHistoryCache();
         }
         serviceInitialized = true;
     }
@@ -303,6 +322,8 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     /**
      * Returns the ChangeSets that have been run against the current getDatabase().
+     * If {@link GlobalConfiguration#HISTORY_CACHE_DIRECTORY} is set, only the rows added since the last run are read
+     * from the table, see {@link ChangeLogHistoryCache}.
      */
     public List<RanChangeSet> getRanChangeSets() throws DatabaseException {
         if (this.ranChangeSetList == null) {
@@ -311,52 +332,19 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
                 getLiquibaseSchemaName(), getDatabaseChangeLogTableName());
             List<RanChangeSet> ranChangeSets = new ArrayList<>();
             if (hasDatabaseChangeLogTable()) {
-                Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
-                List<Map<String, ?>> results = queryDatabaseChangeLogTable(database);
-                for (Map rs : results) {
-                    String storedFileName = rs.get("FILENAME").toString();
-                    String fileName = DatabaseChangeLog.normalizePath(storedFileName);
-                    String author = rs.get("AUTHOR").toString();
-                    String id = rs.get("ID").toString();
-                    String md5sum = ((rs.get("MD5SUM") == null) || !databaseChecksumsCompatible) ? null : rs.get
-                        ("MD5SUM").toString();
-                    String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
-                    String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
-                    Object tmpDateExecuted = rs.get("DATEEXECUTED");
-                    Date dateExecuted = null;
-                    if (tmpDateExecuted instanceof Date) {
-                        dateExecuted = (Date) tmpDateExecuted;
-                    } else if (tmpDateExecuted instanceof LocalDateTime) {
-                        dateExecuted = Date.from(((LocalDateTime) tmpDateExecuted).atZone(ZoneId.systemDefault()).toInstant());
-                    } else {
-                        DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-                        try {
-                            dateExecuted = df.parse((String) tmpDateExecuted);
-                        } catch (ParseException e) {
-                            // Ignore ParseException and assume dateExecuted == null instead of aborting.
-                        }
+                ChangeLogHistoryCache cache = databaseChecksumsCompatible ? ChangeLogHistoryCache.forDatabase(database) : null;
+                List<RanChangeSet> cachedRanChangeSets = (cache == null) ? null : readFromCache(cache);
+                if (cachedRanChangeSets == null) {
+                    Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
+                    List<Map<String, ?>> results = queryDatabaseChangeLogTable(database);
+                    for (Map rs : results) {
+                        ranChangeSets.add(toRanChangeSet(rs));
                     }
-                    String tmpOrderExecuted = rs.get("ORDEREXECUTED").toString();
-                    Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
-                    String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
-                    String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
-                    ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
-                    Labels labels = new Labels((String) rs.get("LABELS"));
-                    String deploymentId = (String) rs.get("DEPLOYMENT_ID");
-                    String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
-
-                    try {
-                        RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
-                            dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
-                            labels, deploymentId, storedFileName);
-                        ranChangeSet.setOrderExecuted(orderExecuted);
-                        ranChangeSet.setLiquibaseVersion(liquibaseVersion);
-                        ranChangeSets.add(ranChangeSet);
-                    } catch (IllegalArgumentException e) {
-                        Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
-                            execType);
-                        throw e;
+                    if (cache != null) {
+                        cache.write(ranChangeSets);
                     }
+                } else {
+                    ranChangeSets = cachedRanChangeSets;
                 }
             }
 
@@ -365,6 +353,107 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         return Collections.unmodifiableList(ranChangeSetList);
     }
 
+    /**
+     * Returns the cached changesets with the rows added to the table since the cache was written, or null if the
+     * cache is missing or does not match the row count, highest ORDEREXECUTED, highest MD5SUM and tags of the table.
+     */
+    protected List<RanChangeSet> readFromCache(ChangeLogHistoryCache cache) throws DatabaseException {
+        List<RanChangeSet> ranChangeSets = cache.read();
+        if (ranChangeSets == null) {
+            return null;
+        }
+        ChangeLogHistoryCache.Summary summary = ChangeLogHistoryCache.Summary.query(getDatabase());
+        int cachedMaxOrderExecuted = 0;
+        for (RanChangeSet ranChangeSet : ranChangeSets) {
+            if (ranChangeSet.getOrderExecuted() != null) {
+                cachedMaxOrderExecuted = Math.max(cachedMaxOrderExecuted, ranChangeSet.getOrderExecuted());
+            }
+        }
+
+        int newRows = 0;
+        if ((summary.getMaxOrderExecuted() != null) && (summary.getMaxOrderExecuted() > cachedMaxOrderExecuted)) {
+            SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(
+                new SelectFromDatabaseChangeLogStatement.ByOrderExecutedAfter(cachedMaxOrderExecuted),
+                new ColumnConfig().setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+            for (Map rs : Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", getDatabase()).queryForList(select)) {
+                RanChangeSet ranChangeSet = toRanChangeSet(rs);
+                // reran changesets get a new ORDEREXECUTED, so they move to the end
+                ranChangeSets.remove(ranChangeSet);
+                ranChangeSets.add(ranChangeSet);
+                newRows++;
+            }
+        }
+
+        if (!ChangeLogHistoryCache.Summary.of(ranChangeSets).equals(summary)) {
+            Scope.getCurrentScope().getLog(getClass()).info("Changelog history cache " + cache.getFile().getAbsolutePath()
+                + " does not match the " + getDatabaseChangeLogTableName() + " table, reading the whole table");
+            return null;
+        }
+
+        Scope.getCurrentScope().getLog(getClass()).info("Read " + newRows + " new rows from " + getDatabaseChangeLogTableName()
+            + " after ORDEREXECUTED " + cachedMaxOrderExecuted + ", " + ranChangeSets.size() + " rows in total");
+        if (newRows > 0) {
+            cache.write(ranChangeSets);
+        }
+        return ranChangeSets;
+    }
+
+    private RanChangeSet toRanChangeSet(Map rs) {
+        String storedFileName = rs.get("FILENAME").toString();
+        String fileName = DatabaseChangeLog.normalizePath(storedFileName);
+        String author = rs.get("AUTHOR").toString();
+        String id = rs.get("ID").toString();
+        String md5sum = ((rs.get("MD5SUM") == null) || !databaseChecksumsCompatible) ? null : rs.get
+            ("MD5SUM").toString();
+        String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
+        String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
+        Object tmpDateExecuted = rs.get("DATEEXECUTED");
+        Date dateExecuted = null;
+        if (tmpDateExecuted instanceof Date) {
+            dateExecuted = (Date) tmpDateExecuted;
+        } else if (tmpDateExecuted instanceof LocalDateTime) {
+            dateExecuted = Date.from(((LocalDateTime) tmpDateExecuted).atZone(ZoneId.systemDefault()).toInstant());
+        } else {
+            DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            try {
+                dateExecuted = df.parse((String) tmpDateExecuted);
+            } catch (ParseException e) {
+                // Ignore ParseException and assume dateExecuted == null instead of aborting.
+            }
+        }
+        String tmpOrderExecuted = rs.get("ORDEREXECUTED").toString();
+        Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
+        String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
+        String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
+        ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
+        Labels labels = new Labels((String) rs.get("LABELS"));
+        String deploymentId = (String) rs.get("DEPLOYMENT_ID");
+        String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
+
+        try {
+            RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
+                dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
+                labels, deploymentId, storedFileName);
+            ranChangeSet.setOrderExecuted(orderExecuted);
+            ranChangeSet.setLiquibaseVersion(liquibaseVersion);
+            return ranChangeSet;
+        } catch (IllegalArgumentException e) {
+            Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
+                execType);
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the {@link ChangeLogHistoryCache} after changes to existing rows, which the cache cannot detect
+     */
+    protected void deleteHistoryCache() {
+        ChangeLogHistoryCache cache = ChangeLogHistoryCache.forDatabase(getDatabase());
+        if (cache != null) {
+            cache.delete();
+        }
+    }
+
     public List<Map<String, ?>> queryDatabaseChangeLogTable(Database database) throws DatabaseException {
         SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(new ColumnConfig()
             .setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
@@ -377,6 +466,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             (changeSet));
 
         getDatabase().commit();
+        deleteHistoryCache();
         reset();
     }
 
@@ -393,6 +483,19 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     public void setExecType(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
         Database database = getDatabase();
 
+        if (isGroupCommitted(changeSet)) {
+            groupCommitChangeSet = null;
+            for (Sql sql : SqlGeneratorFactory.getInstance().generateSql(new MarkChangeSetRanStatement(changeSet, execType), database)) {
+                groupCommitSql.add(sql.toSql());
+            }
+            groupCommitRanChangeSets.add(new RanChangeSet(changeSet, execType, null, null));
+            if (groupCommitRanChangeSets.size() >= GlobalConfiguration.HISTORY_GROUP_COMMIT_SIZE.getCurrentValue()) {
+                flushGroupCommit();
+            }
+            return;
+        }
+        flushGroupCommit();
+
         Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).execute(new MarkChangeSetRanStatement(changeSet, execType));
         getDatabase().commit();
         if (this.ranChangeSetList != null) {
@@ -401,11 +504,127 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     }
 
+    /**
+     * Returns true if the changeSet can be committed together with the changeSets before it, see
+     * {@link GlobalConfiguration#HISTORY_GROUP_COMMIT_SIZE}. That is the case for changeSets that run in a transaction,
+     * stop the update if they fail, have no preconditions and only contain data changes, on databases that support
+     * DDL in transactions so that no statement commits implicitly.
+     */
+    public boolean canGroupCommit(ChangeSet changeSet) {
+        Database database = getDatabase();
+        Integer groupCommitSize = GlobalConfiguration.HISTORY_GROUP_COMMIT_SIZE.getCurrentValue();
+        if ((groupCommitSize == null) || (groupCommitSize <= 1) || !database.supportsDDLInTransaction()
+                || !(database.getConnection() instanceof JdbcConnection)
+                || !(Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof JdbcExecutor)) {
+            return false;
+        }
+        if (!changeSet.isRunInTransaction() || Boolean.FALSE.equals(changeSet.getFailOnError())
+                || (changeSet.getRunWith() != null) || changeSet.getChanges().isEmpty()
+                || ParallelLoadDataExecutor.canExecute(changeSet, database)) {
+            return false;
+        }
+        if ((changeSet.getPreconditions() != null) && !changeSet.getPreconditions().getNestedPreconditions().isEmpty()) {
+            return false;
+        }
+        for (Change change : changeSet.getChanges()) {
+            if (!(change instanceof InsertDataChange) && !(change instanceof AbstractModifyDataChange)
+                    && !(change instanceof LoadDataChange)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Called before the changeSet is executed. If the changeSet {@link #canGroupCommit(ChangeSet) can be grouped}, it
+     * is executed without committing and {@link #setExecType(ChangeSet, ChangeSet.ExecType)} buffers its
+     * DATABASECHANGELOG row. Otherwise the changeSets grouped so far are committed first.
+     *
+     * @return true if the changeSet is committed with the group
+     */
+    public boolean startGroupCommit(ChangeSet changeSet) throws DatabaseException {
+        if (canGroupCommit(changeSet)) {
+            groupCommitChangeSet = changeSet;
+            return true;
+        }
+        flushGroupCommit();
+        return false;
+    }
+
+    /**
+     * Returns true if the changeSet is being executed as part of a group commit and should not commit on its own
+     */
+    public boolean isGroupCommitted(ChangeSet changeSet) {
+        return (groupCommitChangeSet != null) && (groupCommitChangeSet == changeSet);
+    }
+
+    /**
+     * Inserts the buffered DATABASECHANGELOG rows as one JDBC batch and commits them together with the changes of
+     * their changeSets. If that fails, the transaction of the group is rolled back and the buffered rows are discarded.
+     */
+    public void flushGroupCommit() throws DatabaseException {
+        groupCommitChangeSet = null;
+        if (groupCommitSql.isEmpty()) {
+            return;
+        }
+        Database database = getDatabase();
+        Logger log = Scope.getCurrentScope().getLog(getClass());
+        Level sqlLogLevel = SqlConfiguration.SHOW_AT_LOG_LEVEL.getCurrentValue();
+        try {
+            try (Statement statement = ((JdbcConnection) database.getConnection()).createStatement()) {
+                for (String sql : groupCommitSql) {
+                    for (SqlListener listener : Scope.getCurrentScope().getListeners(SqlListener.class)) {
+                        listener.writeSqlWillRun(sql);
+                    }
+                    log.log(sqlLogLevel, sql, null);
+                    statement.addBatch(sql);
+                }
+                statement.executeBatch();
+            } catch (SQLException e) {
+                throw new DatabaseException("Could not insert " + groupCommitRanChangeSets.size() + " rows into "
+                        + getDatabaseChangeLogTableName() + ": " + e.getMessage(), e);
+            }
+            database.commit();
+        } catch (DatabaseException | RuntimeException e) {
+            discardGroupCommit();
+            try {
+                database.rollback();
+            } catch (DatabaseException rollbackException) {
+                log.warning("Could not roll back the changesets committed together: " + rollbackException.getMessage(), rollbackException);
+            }
+            throw e;
+        }
+        log.fine("Committed " + groupCommitRanChangeSets.size() + " changesets together");
+
+        if (this.ranChangeSetList != null) {
+            this.ranChangeSetList.addAll(groupCommitRanChangeSets);
+        }
+        groupCommitSql.clear();
+        groupCommitRanChangeSets.clear();
+    }
+
+    /**
+     * Forgets the buffered DATABASECHANGELOG rows, after the transaction of the group was rolled back
+     */
+    public void discardGroupCommit() {
+        groupCommitChangeSet = null;
+        groupCommitSql.clear();
+        groupCommitRanChangeSets.clear();
+    }
+
+    /**
+     * Returns true if changeSets are waiting for their group to be committed
+     */
+    public boolean hasPendingGroupCommit() {
+        return (groupCommitChangeSet != null) || !groupCommitSql.isEmpty();
+    }
+
     @Override
     public void removeFromHistory(final ChangeSet changeSet) throws DatabaseException {
         Database database = getDatabase();
         Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).execute(new RemoveChangeSetRanStatusStatement(changeSet));
         getDatabase().commit();
+        deleteHistoryCache();
 
         if (this.ranChangeSetList != null) {
             this.ranChangeSetList.remove(new RanChangeSet(changeSet));
@@ -444,6 +663,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
         executor.execute(new TagDatabaseStatement(tagString));
         getDatabase().commit();
+        deleteHistoryCache();
 
         if (this.ranChangeSetList != null) {
             ranChangeSetList.get(ranChangeSetList.size() - 1).setTag(tagString);
@@ -466,12 +686,15 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         updateStatement.addNewColumnValue("MD5SUM", null);
         Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).execute(updateStatement);
         database.commit();
+        deleteHistoryCache();
     }
 
     @Override
     public void destroy() throws DatabaseException {
         Database database = getDatabase();
         try {
+            SnapshotGeneratorFactory.getInstance().resetLiquibaseTables(database);
+            deleteHistoryCache();
             //
             // This code now uses the ChangeGeneratorFactory to
             // allow extension code to be called in order to
@@ -492,6 +715,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
                     , database);
                 SqlStatement[] sqlStatement = change[0].generateStatements(database);
                 Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor( "jdbc", database).execute(sqlStatement[0]);
+                SnapshotGeneratorFactory.getInstance().resetLiquibaseTables(database);
             }
             reset();
         } catch (InvalidExampleException e) {
@@ -6,8 +6,11 @@ import liquibase.changelog.RanChangeSet;
 import liquibase.database.Database;
 import liquibase.exception.DatabaseException;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public class ShouldRunChangeSetFilter implements ChangeSetFilter {
@@ -15,6 +18,19 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
     private final Map<String, RanChangeSet> ranChangeSets;
     private final boolean ignoreClasspathPrefix;
 
+    /**
+     * Index of {@link #ranChangeSets} keyed by {@link #createIndexKey(String, String, String)}.
+     * More than one ran changeset can share a key when the same changeset was recorded with paths that only differ
+     * before normalization (for example with and without a classpath: prefix).
+     */
+    private final Map<String, List<RanChangeSet>> ranChangeSetIndex;
+
+    /**
+     * True if a subclass may have changed how changesets are matched, in which case the index cannot be trusted
+     * to find every match and {@link #accepts(ChangeSet)} falls back to checking every ran changeset.
+     */
+    private final boolean customMatching;
+
     public ShouldRunChangeSetFilter(Database database, boolean ignoreClasspathPrefix) throws DatabaseException {
         this.ignoreClasspathPrefix = ignoreClasspathPrefix;
         this.ranChangeSets = new HashMap<>();
@@ -46,6 +62,13 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
                 this.ranChangeSets.put(ranChangeSet.toString(), ranChangeSet);
             }
         }
+
+        this.ranChangeSetIndex = new HashMap<>();
+        for (RanChangeSet ranChangeSet : this.ranChangeSets.values()) {
+            String key = createIndexKey(getPath(ranChangeSet), ranChangeSet.getId(), ranChangeSet.getAuthor());
+            this.ranChangeSetIndex.computeIfAbsent(key, k -> new ArrayList<>(1)).add(ranChangeSet);
+        }
+        this.customMatching = !getClass().equals(ShouldRunChangeSetFilter.class);
     }
 
     public ShouldRunChangeSetFilter(Database database) throws DatabaseException {
@@ -55,18 +78,51 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
     @Override
     @SuppressWarnings({"RedundantIfStatement"})
     public ChangeSetFilterResult accepts(ChangeSet changeSet) {
-        for (RanChangeSet ranChangeSet : this.ranChangeSets.values()) {
-            if (changeSetsMatch(changeSet, ranChangeSet)) {
-                if (changeSet.shouldAlwaysRun()) {
-                    return new ChangeSetFilterResult(true, "Change set always runs", this.getClass());
+        RanChangeSet ranChangeSet = findRanChangeSet(changeSet);
+        if (ranChangeSet != null) {
+            if (changeSet.shouldAlwaysRun()) {
+                return new ChangeSetFilterResult(true, "Change set always runs", this.getClass());
+            }
+            if (changeSet.shouldRunOnChange() && checksumChanged(changeSet, ranChangeSet)) {
+                return new ChangeSetFilterResult(true, "Change set checksum changed", this.getClass());
+            }
+            return new ChangeSetFilterResult(false, "Change set already ran", this.getClass());
+        }
+        return new ChangeSetFilterResult(true, "Change set has not ran yet", this.getClass());
+    }
+
+    /**
+     * Returns the ran changeset matching the given changeset, or null if it has not ran.
+     * Uses the (path, id, author) index so the lookup does not depend on the size of the DATABASECHANGELOG table.
+     * If a subclass overrides the matching logic and nothing is found in the index, all ran changesets are checked.
+     */
+    private RanChangeSet findRanChangeSet(ChangeSet changeSet) {
+        List<RanChangeSet> candidates = ranChangeSetIndex.get(createIndexKey(getPath(changeSet), changeSet.getId(), changeSet.getAuthor()));
+        if (candidates != null) {
+            for (RanChangeSet ranChangeSet : candidates) {
+                if (changeSetsMatch(changeSet, ranChangeSet)) {
+                    return ranChangeSet;
                 }
-                if (changeSet.shouldRunOnChange() && checksumChanged(changeSet, ranChangeSet)) {
-                    return new ChangeSetFilterResult(true, "Change set checksum changed", this.getClass());
+            }
+        }
+
+        if (customMatching) {
+            for (RanChangeSet ranChangeSet : this.ranChangeSets.values()) {
+                if (changeSetsMatch(changeSet, ranChangeSet)) {
+                    return ranChangeSet;
                 }
-                return new ChangeSetFilterResult(false, "Change set already ran", this.getClass());
             }
         }
-        return new ChangeSetFilterResult(true, "Change set has not ran yet", this.getClass());
+        return null;
+    }
+
+    /**
+     * Builds the index key for a changeset. The path must already be normalized, and is lower-cased to match the
+     * case-insensitive comparison done in {@link #changeSetsMatch(ChangeSet, RanChangeSet)}.
+     */
+    private static String createIndexKey(String normalizedPath, String id, String author) {
+        String path = (normalizedPath == null) ? null : normalizedPath.toLowerCase(Locale.US);
+        return path + "::" + id + "::" + author;
     }
 
     protected boolean changeSetsMatch(ChangeSet changeSet, RanChangeSet ranChangeSet) {
@@ -103,7 +159,7 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
     }
 
     private String getPath(ChangeSet changeSet) {
-        return DatabaseChangeLog.normalizePath(changeSet.getFilePath());
+        return changeSet.getNormalizedFilePath();
     }
 
 }
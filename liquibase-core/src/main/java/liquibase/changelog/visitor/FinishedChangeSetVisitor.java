@@ -0,0 +1,15 @@
+package liquibase.changelog.visitor;
+
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.exception.LiquibaseException;
+
+/**
+ * Called by {@link liquibase.changelog.ChangeLogIterator} after all changeSets of the changelog were visited without error.
+ * To use, {@link liquibase.changelog.visitor.ChangeSetVisitor} implementations should implement this interface as well.
+ */
+public interface FinishedChangeSetVisitor {
+
+    void finished(DatabaseChangeLog databaseChangeLog, Database database) throws LiquibaseException;
+
+}
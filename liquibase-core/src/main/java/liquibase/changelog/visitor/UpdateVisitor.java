@@ -1,10 +1,13 @@
 package liquibase.changelog.visitor;
 
 import liquibase.Scope;
+import liquibase.changelog.ChangeLogHistoryService;
+import liquibase.changelog.ChangeLogHistoryServiceFactory;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.ChangeSet.ExecType;
 import liquibase.changelog.ChangeSet.RunStatus;
 import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.StandardChangeLogHistoryService;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
@@ -16,12 +19,14 @@ import liquibase.executor.LoggingExecutor;
 
 import java.util.Set;
 
-public class UpdateVisitor implements ChangeSetVisitor {
+public class UpdateVisitor implements ChangeSetVisitor, FinishedChangeSetVisitor {
 
     private Database database;
 
     private ChangeExecListener execListener;
 
+    private boolean changeSetsLeftToRun;
+
     /**
      * @deprecated - please use the constructor with ChangeExecListener, which can be null.
      */
@@ -49,24 +54,68 @@ public class UpdateVisitor implements ChangeSetVisitor {
         }
         ChangeSet.RunStatus runStatus = this.database.getRunStatus(changeSet);
         Scope.getCurrentScope().getLog(getClass()).fine("Running Changeset: " + changeSet);
-        fireWillRun(changeSet, databaseChangeLog, database, runStatus);
-        ExecType execType = null;
-        ObjectQuotingStrategy previousStr = this.database.getObjectQuotingStrategy();
+        StandardChangeLogHistoryService groupCommitHistoryService = getGroupCommitHistoryService();
+        boolean groupCommitted = false;
         try {
-            execType = changeSet.execute(databaseChangeLog, execListener, this.database);
-        } catch (MigrationFailedException e) {
-            fireRunFailed(changeSet, databaseChangeLog, database, e);
+            groupCommitted = (groupCommitHistoryService != null) && groupCommitHistoryService.startGroupCommit(changeSet);
+            fireWillRun(changeSet, databaseChangeLog, database, runStatus);
+            ExecType execType = null;
+            ObjectQuotingStrategy previousStr = this.database.getObjectQuotingStrategy();
+            try {
+                execType = changeSet.execute(databaseChangeLog, execListener, this.database);
+            } catch (MigrationFailedException e) {
+                fireRunFailed(changeSet, databaseChangeLog, database, e);
+                throw e;
+            }
+            if (changeSet.isAlwaysRun() || (execType == ExecType.FAILED) || (execType == ExecType.SKIPPED)) {
+                changeSetsLeftToRun = true;
+            }
+            if (!runStatus.equals(ChangeSet.RunStatus.NOT_RAN)) {
+                execType = ChangeSet.ExecType.RERAN;
+            }
+            fireRan(changeSet, databaseChangeLog, database, execType);
+            // reset object quoting strategy after running changeset
+            this.database.setObjectQuotingStrategy(previousStr);
+            this.database.markChangeSetExecStatus(changeSet, execType);
+        } catch (LiquibaseException | RuntimeException e) {
+            if (groupCommitted) {
+                // the changeSets of the group are not committed yet, and the failed one rolled them back
+                groupCommitHistoryService.discardGroupCommit();
+                this.database.rollback();
+            }
             throw e;
         }
-        if (!runStatus.equals(ChangeSet.RunStatus.NOT_RAN)) {
-            execType = ChangeSet.ExecType.RERAN;
+
+        if (!groupCommitted) {
+            this.database.commit();
+        }
+    }
+
+    /**
+     * Commits the changeSets that are still waiting for their group to be committed
+     */
+    @Override
+    public void finished(DatabaseChangeLog databaseChangeLog, Database database) throws LiquibaseException {
+        StandardChangeLogHistoryService groupCommitHistoryService = getGroupCommitHistoryService();
+        if (groupCommitHistoryService != null) {
+            groupCommitHistoryService.flushGroupCommit();
         }
-        fireRan(changeSet, databaseChangeLog, database, execType);
-        // reset object quoting strategy after running changeset
-        this.database.setObjectQuotingStrategy(previousStr);
-        this.database.markChangeSetExecStatus(changeSet, execType);
+    }
 
-        this.database.commit();
+    /**
+     * Returns true if a changeSet visited so far runs again in the next update, because it has runAlways set or
+     * failed or was skipped without being recorded in the history
+     */
+    public boolean hasChangeSetsLeftToRun() {
+        return changeSetsLeftToRun;
+    }
+
+    private StandardChangeLogHistoryService getGroupCommitHistoryService() {
+        ChangeLogHistoryService historyService = ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(this.database);
+        if (historyService instanceof StandardChangeLogHistoryService) {
+            return (StandardChangeLogHistoryService) historyService;
+        }
+        return null;
     }
 
     protected void fireRunFailed(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, MigrationFailedException e) {
@@ -4,6 +4,7 @@ import liquibase.CatalogAndSchema;
 import liquibase.Scope;
 import liquibase.change.Change;
 import liquibase.change.core.DropTableChange;
+import liquibase.changelog.ChangeLogDigest;
 import liquibase.changelog.ChangeLogHistoryServiceFactory;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
@@ -811,6 +812,7 @@ public abstract class AbstractJdbcDatabase implements Database {
                 if (reEnableFK) {
                     enableForeignKeyChecks();
                 }
+                SnapshotGeneratorFactory.getInstance().resetLiquibaseTables(this);
             }
 
             ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(this).destroy();
@@ -861,7 +863,10 @@ public abstract class AbstractJdbcDatabase implements Database {
             if (DatabaseObjectComparatorFactory.getInstance().isSameObject(object, new Table().setName(getDatabaseChangeLogTableName()).setSchema(liquibaseSchema), null, this)) {
                 return true;
             }
-            return DatabaseObjectComparatorFactory.getInstance().isSameObject(object, new Table().setName(getDatabaseChangeLogLockTableName()).setSchema(liquibaseSchema), null, this);
+            if (DatabaseObjectComparatorFactory.getInstance().isSameObject(object, new Table().setName(getDatabaseChangeLogLockTableName()).setSchema(liquibaseSchema), null, this)) {
+                return true;
+            }
+            return DatabaseObjectComparatorFactory.getInstance().isSameObject(object, new Table().setName(ChangeLogDigest.getTableName(this)).setSchema(liquibaseSchema), null, this);
         } else if (object instanceof Column) {
             return isLiquibaseObject(((Column) object).getRelation());
         } else if (object instanceof Index) {
@@ -13,6 +13,7 @@ import liquibase.sql.visitor.SqlVisitor;
 import liquibase.sqlgenerator.SqlGeneratorFactory;
 import liquibase.statement.ExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingSqlStatement;
 import liquibase.statement.core.*;
 import liquibase.util.StreamUtil;
 
@@ -115,6 +116,14 @@ public class LoggingExecutor extends AbstractExecutor {
     }
 
     private void outputStatement(SqlStatement sql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if (sql instanceof StreamingSqlStatement) {
+            ((StreamingSqlStatement) sql).generateChunks(statements -> {
+                for (SqlStatement statement : statements) {
+                    outputStatement(statement, sqlVisitors);
+                }
+            });
+            return;
+        }
         try {
             if (SqlGeneratorFactory.getInstance().generateStatementsVolatile(sql, database)) {
                 throw new DatabaseException(sql.getClass().getSimpleName()+" requires access to up to date database " +
@@ -21,6 +21,7 @@ import liquibase.statement.CallableSqlStatement;
 import liquibase.statement.CompoundStatement;
 import liquibase.statement.ExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingSqlStatement;
 import liquibase.util.JdbcUtil;
 import liquibase.util.StringUtil;
 
@@ -137,6 +138,14 @@ public class JdbcExecutor extends AbstractExecutor {
 
     @Override
     public void execute(final SqlStatement sql, final List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if (sql instanceof StreamingSqlStatement) {
+            ((StreamingSqlStatement) sql).generateChunks(statements -> {
+                for (SqlStatement statement : statements) {
+                    execute(statement, sqlVisitors);
+                }
+            });
+            return;
+        }
         if(sql instanceof ExecutablePreparedStatement) {
             ((ExecutablePreparedStatement) sql).execute(new PreparedStatementFactory((JdbcConnection)database.getConnection()));
             return;
@@ -266,9 +266,15 @@ public class SpringLiquibase implements InitializingBean, BeanNameAware, Resourc
             c = getDataSource().getConnection();
             liquibase = createLiquibase(c);
             generateRollbackFile(liquibase);
-            performUpdate(liquibase);
+            final Liquibase finalLiquibase = liquibase;
+            // lets changeSets with parallelLoad open their own connections
+            Scope.child(Scope.Attr.parallelLoadDataSource, getDataSource(), () -> performUpdate(finalLiquibase));
         } catch (SQLException e) {
         	throw new DatabaseException(e);
+        } catch (LiquibaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseException(e);
         } finally {
             if (liquibase != null) {
                 liquibase.close();
@@ -1,5 +1,6 @@
 package liquibase.lockservice;
 
+import liquibase.CatalogAndSchema;
 import liquibase.Scope;
 import liquibase.change.Change;
 import liquibase.GlobalConfiguration;
@@ -8,6 +9,7 @@ import liquibase.database.ObjectQuotingStrategy;
 import liquibase.database.core.DB2Database;
 import liquibase.database.core.DerbyDatabase;
 import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.MySQLDatabase;
 import liquibase.database.core.PostgresDatabase;
 import liquibase.diff.output.DiffOutputControl;
 import liquibase.diff.output.changelog.ChangeGeneratorFactory;
@@ -26,7 +28,9 @@ import liquibase.statement.SqlStatement;
 import liquibase.statement.core.*;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Table;
+import liquibase.util.MD5Util;
 
+import java.math.BigInteger;
 import java.security.SecureRandom;
 import java.sql.SQLException;
 import java.text.DateFormat;
@@ -39,9 +43,16 @@ import static java.util.ResourceBundle.getBundle;
 public class StandardLockService implements LockService {
     protected static final ResourceBundle coreBundle = getBundle("liquibase/i18n/liquibase-core");
 
+    /**
+     * First wait between checks of the lock in milliseconds, doubled after every check up to the
+     * {@link #getChangeLogLockRecheckTime()}
+     */
+    protected static final long INITIAL_RECHECK_DELAY = 100;
+
     protected Database database;
 
     protected boolean hasChangeLogLock;
+    protected boolean hasAdvisoryLock;
 
     protected Long changeLogLockPollRate;
     protected Long changeLogLockRecheckTime;
@@ -158,6 +169,7 @@ public class StandardLockService implements LockService {
                         );
                         executor.execute(new CreateDatabaseChangeLogLockTableStatement());
                         executor.execute(new InitializeDatabaseChangeLogLockTableStatement());
+                        SnapshotGeneratorFactory.getInstance().resetLiquibaseTables(database);
                     }
                 }
             } catch (Exception e) {
@@ -243,20 +255,32 @@ public class StandardLockService implements LockService {
 
         boolean locked = false;
         long timeToGiveUp = new Date().getTime() + (getChangeLogLockWaitTime() * 1000 * 60);
-        while (!locked && (new Date().getTime() < timeToGiveUp)) {
-            locked = acquireLock();
-            if (!locked) {
-                Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
-                try {
-                    Thread.sleep(getChangeLogLockRecheckTime() * 1000);
-                } catch (InterruptedException e) {
-                    // Restore thread interrupt status
-                    Thread.currentThread().interrupt();
+        if (!hasChangeLogLock) {
+            acquireAdvisoryLock(timeToGiveUp - new Date().getTime());
+        }
+        try {
+            int attempt = 0;
+            while (!locked && (new Date().getTime() < timeToGiveUp)) {
+                locked = acquireLock();
+                if (!locked) {
+                    if (attempt == 0) {
+                        Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
+                    }
+                    try {
+                        Thread.sleep(Math.max(0, Math.min(getRecheckDelay(attempt++), timeToGiveUp - new Date().getTime())));
+                    } catch (InterruptedException e) {
+                        // Restore thread interrupt status
+                        Thread.currentThread().interrupt();
+                    }
                 }
             }
+        } catch (LockException e) {
+            releaseAdvisoryLock();
+            throw e;
         }
 
         if (!locked) {
+            releaseAdvisoryLock();
             DatabaseChangeLogLock[] locks = listLocks();
             String lockedBy;
             if (locks.length > 0) {
@@ -271,6 +295,128 @@ public class StandardLockService implements LockService {
         }
     }
 
+    /**
+     * Returns the milliseconds to wait before the next check of the lock. The wait doubles with every attempt from
+     * {@link #INITIAL_RECHECK_DELAY} up to the {@link #getChangeLogLockRecheckTime()}, and a random half of it is
+     * skipped so instances that wait at the same time do not check at the same time.
+     */
+    protected long getRecheckDelay(int attempt) {
+        long maxDelay = getChangeLogLockRecheckTime() * 1000;
+        long delay = Math.min(maxDelay, INITIAL_RECHECK_DELAY << Math.min(attempt, 30));
+        if (delay <= 1) {
+            return Math.max(0, delay);
+        }
+        return (delay / 2) + (long) (random.nextDouble() * (delay / 2));
+    }
+
+    /**
+     * Returns true if waiting instances should wait on the advisory lock of the database
+     */
+    protected boolean isAdvisoryLockEnabled() {
+        return GlobalConfiguration.CHANGELOGLOCK_USE_ADVISORY_LOCK.getCurrentValue();
+    }
+
+    /**
+     * Waits up to timeoutMillis for the session level advisory lock of the database, if enabled and supported.
+     * The instance that holds the changelog lock also holds the advisory lock until {@link #releaseLock()}, so waiting
+     * on it returns as soon as the lock is released instead of polling the DATABASECHANGELOGLOCK table. The table stays
+     * the source of truth, if the advisory lock cannot be used the table is polled as before.
+     *
+     * @return true if the advisory lock is held
+     */
+    protected boolean acquireAdvisoryLock(long timeoutMillis) {
+        if (hasAdvisoryLock) {
+            return true;
+        }
+        if ((timeoutMillis <= 0) || !isAdvisoryLockEnabled()
+                || !((database instanceof PostgresDatabase) || (database instanceof MySQLDatabase) || (database instanceof MSSQLDatabase))) {
+            return false;
+        }
+        Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+        if (executor instanceof LoggingExecutor) {
+            return false;
+        }
+
+        String name = getAdvisoryLockName();
+        try {
+            if (database instanceof PostgresDatabase) {
+                String lockTimeout = executor.queryForObject(new RawSqlStatement("SELECT current_setting('lock_timeout')"), String.class);
+                try {
+                    executor.execute(new RawSqlStatement("SET lock_timeout = " + timeoutMillis));
+                    executor.execute(new RawSqlStatement("SELECT pg_advisory_lock(" + getAdvisoryLockKey(name) + ")"));
+                    hasAdvisoryLock = true;
+                } finally {
+                    database.rollback();
+                    executor.execute(new RawSqlStatement("SET lock_timeout = '" + lockTimeout + "'"));
+                }
+            } else if (database instanceof MySQLDatabase) {
+                Integer result = executor.queryForObject(new RawSqlStatement("SELECT GET_LOCK('" + name + "', "
+                        + Math.max(1, (timeoutMillis + 999) / 1000) + ")"), Integer.class);
+                hasAdvisoryLock = (result != null) && (result == 1);
+            } else {
+                int result = executor.queryForInt(new RawSqlStatement("SET NOCOUNT ON; DECLARE @result INT; "
+                        + "EXEC @result = sp_getapplock @Resource = '" + name + "', @LockMode = 'Exclusive', "
+                        + "@LockOwner = 'Session', @LockTimeout = " + timeoutMillis + "; SELECT @result"));
+                hasAdvisoryLock = result >= 0;
+            }
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot acquire advisory lock " + name + ", checking "
+                    + database.getDatabaseChangeLogLockTableName() + " only: " + e.getMessage());
+        } finally {
+            try {
+                database.rollback();
+            } catch (DatabaseException e) {
+                //nothing to do
+            }
+        }
+        if (!hasAdvisoryLock) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Advisory lock " + name + " not acquired within " + timeoutMillis + "ms");
+        }
+        return hasAdvisoryLock;
+    }
+
+    /**
+     * Releases the advisory lock acquired by {@link #acquireAdvisoryLock(long)}, if held
+     */
+    protected void releaseAdvisoryLock() {
+        if (!hasAdvisoryLock) {
+            return;
+        }
+        Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+        String name = getAdvisoryLockName();
+        try {
+            if (database instanceof PostgresDatabase) {
+                executor.execute(new RawSqlStatement("SELECT pg_advisory_unlock(" + getAdvisoryLockKey(name) + ")"));
+            } else if (database instanceof MySQLDatabase) {
+                executor.queryForObject(new RawSqlStatement("SELECT RELEASE_LOCK('" + name + "')"), Integer.class);
+            } else if (database instanceof MSSQLDatabase) {
+                executor.execute(new RawSqlStatement("EXEC sp_releaseapplock @Resource = '" + name + "', @LockOwner = 'Session'"));
+            }
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot release advisory lock " + name + ": " + e.getMessage(), e);
+        } finally {
+            hasAdvisoryLock = false;
+            try {
+                database.rollback();
+            } catch (DatabaseException e) {
+                //nothing to do
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the advisory lock, unique for the liquibase catalog, schema and lock table
+     */
+    protected String getAdvisoryLockName() {
+        CatalogAndSchema schema = new CatalogAndSchema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName()).customize(database);
+        return "liquibase_" + MD5Util.computeMD5(schema.getCatalogName() + "." + schema.getSchemaName() + "."
+                + database.getDatabaseChangeLogLockTableName());
+    }
+
+    private long getAdvisoryLockKey(String name) {
+        return new BigInteger(name.substring(name.length() - 16), 16).longValue();
+    }
+
     @Override
     public boolean acquireLock() throws LockException {
         if (hasChangeLogLock) {
@@ -399,6 +545,7 @@ public class StandardLockService implements LockService {
                 database.rollback();
             } catch (DatabaseException e) {
             }
+            releaseAdvisoryLock();
             if (incomingQuotingStrategy != null) {
                 database.setObjectQuotingStrategy(incomingQuotingStrategy);
             }
@@ -470,6 +617,7 @@ public class StandardLockService implements LockService {
     @Override
     public void destroy() throws DatabaseException {
         try {
+            SnapshotGeneratorFactory.getInstance().resetLiquibaseTables(database);
             //
             // This code now uses the ChangeGeneratorFactory to
             // allow extension code to be called in order to
@@ -490,6 +638,7 @@ public class StandardLockService implements LockService {
                 Change[] change = ChangeGeneratorFactory.getInstance().fixUnexpected(table, diffOutputControl, database, database);
                 SqlStatement[] sqlStatement = change[0].generateStatements(database);
                 Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).execute(sqlStatement[0]);
+                SnapshotGeneratorFactory.getInstance().resetLiquibaseTables(database);
             }
             reset();
         } catch (InvalidExampleException e) {
@@ -0,0 +1,174 @@
+package liquibase.parser.core.binary;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.OfflineConnection;
+import liquibase.exception.LiquibaseParseException;
+import liquibase.parser.SnapshotParser;
+import liquibase.parser.core.ParsedNode;
+import liquibase.resource.ResourceAccessor;
+import liquibase.serializer.core.binary.BinarySnapshotSerializer;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.RestoredDatabaseSnapshot;
+import liquibase.structure.DatabaseObject;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads snapshots written by {@link BinarySnapshotSerializer}.
+ */
+public class BinarySnapshotParser implements SnapshotParser {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DEFAULT;
+    }
+
+    @Override
+    public boolean supports(String path, ResourceAccessor resourceAccessor) {
+        return path.toLowerCase().endsWith("." + BinarySnapshotSerializer.FILE_EXTENSION);
+    }
+
+    @Override
+    public DatabaseSnapshot parse(String path, ResourceAccessor resourceAccessor) throws LiquibaseParseException {
+        try (InputStream stream = resourceAccessor.openStream(null, path)) {
+            if (stream == null) {
+                throw new LiquibaseParseException(path + " does not exist");
+            }
+            return new Input(new DataInputStream(new BufferedInputStream(stream))).readSnapshot(resourceAccessor);
+        } catch (LiquibaseParseException e) {
+            throw e;
+        } catch (EOFException e) {
+            throw new LiquibaseParseException(path + " is truncated", e);
+        } catch (Exception e) {
+            throw new LiquibaseParseException(e);
+        }
+    }
+
+    private static class Input {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private final List<String> objectKeys = new ArrayList<>();
+
+        private Input(DataInputStream in) {
+            this.in = in;
+        }
+
+        private DatabaseSnapshot readSnapshot(ResourceAccessor resourceAccessor) throws Exception {
+            byte[] magic = new byte[BinarySnapshotSerializer.MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, BinarySnapshotSerializer.MAGIC)) {
+                throw new LiquibaseParseException("Not a " + BinarySnapshotSerializer.FILE_EXTENSION + " snapshot file");
+            }
+            int version = readVarInt();
+            if (version > BinarySnapshotSerializer.VERSION) {
+                throw new LiquibaseParseException("Unsupported " + BinarySnapshotSerializer.FILE_EXTENSION + " snapshot version "
+                        + version + ", this version of Liquibase reads up to version " + BinarySnapshotSerializer.VERSION);
+            }
+
+            Map<String, Object> header = (Map<String, Object>) readValue();
+            Map<String, Object> databaseMap = (Map<String, Object>) header.get("database");
+            if (databaseMap == null) {
+                throw new LiquibaseParseException("Could not find database node in snapshot");
+            }
+            String shortName = (String) databaseMap.get("shortName");
+            Database database = DatabaseFactory.getInstance().getDatabase(shortName).getClass().getConstructor().newInstance();
+            database.setConnection(new OfflineConnection("offline:" + shortName, null));
+            DatabaseSnapshot snapshot = new RestoredDatabaseSnapshot(database);
+            snapshot.loadDatabase(new ParsedNode(null, "database").setValue(databaseMap));
+            Map<String, Object> metadata = (Map<String, Object>) header.get("metadata");
+            if (metadata != null) {
+                snapshot.getMetadata().putAll(metadata);
+            }
+
+            int keyCount = readVarInt();
+            for (int i = 0; i < keyCount; i++) {
+                objectKeys.add(readString());
+            }
+
+            Map<String, DatabaseObject> objects = new HashMap<>();
+            Map<String, DatabaseObject> referencedObjects = new HashMap<>();
+            int sectionCount = readVarInt();
+            for (int i = 0; i < sectionCount; i++) {
+                String section = readString();
+                Map<String, DatabaseObject> sectionObjects = "referencedObjects".equals(section) ? referencedObjects : objects;
+                int typeCount = readVarInt();
+                for (int j = 0; j < typeCount; j++) {
+                    String type = readString();
+                    int objectCount = readVarInt();
+                    for (int k = 0; k < objectCount; k++) {
+                        ParsedNode typeNode = new ParsedNode(null, type).setValue(readValue());
+                        for (ParsedNode objectNode : typeNode.getChildren()) {
+                            DatabaseObject object = snapshot.loadObject(type, objectNode, resourceAccessor);
+                            sectionObjects.put(snapshot.getLoadedObjectKey(object), object);
+                        }
+                    }
+                }
+            }
+            snapshot.addLoadedObjects(objects, referencedObjects);
+            return snapshot;
+        }
+
+        private Object readValue() throws IOException, LiquibaseParseException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case BinarySnapshotSerializer.NULL:
+                    return null;
+                case BinarySnapshotSerializer.STRING:
+                    return readString();
+                case BinarySnapshotSerializer.TRUE:
+                    return Boolean.TRUE;
+                case BinarySnapshotSerializer.FALSE:
+                    return Boolean.FALSE;
+                case BinarySnapshotSerializer.MAP:
+                    int size = readVarInt();
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        String key = readString();
+                        map.put(key, readValue());
+                    }
+                    return map;
+                case BinarySnapshotSerializer.LIST:
+                    int length = readVarInt();
+                    List<Object> list = new ArrayList<>(length);
+                    for (int i = 0; i < length; i++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                case BinarySnapshotSerializer.REFERENCE:
+                    return objectKeys.get(readVarInt());
+                default:
+                    throw new LiquibaseParseException("Unknown value type " + tag + " in snapshot");
+            }
+        }
+
+        private String readString() throws IOException {
+            int index = readVarInt();
+            if (index > 0) {
+                return strings.get(index - 1);
+            }
+            byte[] bytes = new byte[readVarInt()];
+            in.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = in.readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,208 @@
 package liquibase.parser.core.json;
 
+import liquibase.GlobalConfiguration;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.OfflineConnection;
+import liquibase.exception.LiquibaseParseException;
+import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.yaml.YamlSnapshotParser;
+import liquibase.resource.ResourceAccessor;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.RestoredDatabaseSnapshot;
+import liquibase.structure.DatabaseObject;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Reads JSON snapshots one object at a time instead of parsing the whole document into maps first, so only the
+ * restored objects themselves are kept in memory.
+ * <p>
+ * The "database" node must come before the "objects" and "referencedObjects" nodes, which is always the case for files
+ * written by {@link liquibase.serializer.core.json.JsonSnapshotSerializer}.
+ */
 public class JsonSnapshotParser extends YamlSnapshotParser {
 
+    private final Resolver resolver = new Resolver();
+
     @Override
     protected String[] getSupportedFileExtensions() {
         return new String[] {"json"};
     }
+
+    @Override
+    public DatabaseSnapshot parse(String path, ResourceAccessor resourceAccessor) throws LiquibaseParseException {
+        try (InputStream stream = resourceAccessor.openStream(null, path)) {
+            if (stream == null) {
+                throw new LiquibaseParseException(path + " does not exist");
+            }
+            Reader reader = new InputStreamReader(stream, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+            Iterator<Event> events = new Yaml().parse(reader).iterator();
+
+            nextEvent(events, Event.ID.StreamStart);
+            nextEvent(events, Event.ID.DocumentStart);
+            nextEvent(events, Event.ID.MappingStart);
+            DatabaseSnapshot snapshot = null;
+            for (Event event = events.next(); !event.is(Event.ID.MappingEnd); event = events.next()) {
+                String key = String.valueOf(readValue(event, events));
+                if ("snapshot".equals(key)) {
+                    snapshot = readSnapshot(events, resourceAccessor);
+                } else {
+                    readValue(events.next(), events);
+                }
+            }
+            if (snapshot == null) {
+                throw new LiquibaseParseException("Could not find root snapshot node");
+            }
+            return snapshot;
+        } catch (LiquibaseParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseParseException(e);
+        }
+    }
+
+    private DatabaseSnapshot readSnapshot(Iterator<Event> events, ResourceAccessor resourceAccessor) throws Exception {
+        nextEvent(events, Event.ID.MappingStart);
+        DatabaseSnapshot snapshot = null;
+        Map<String, Object> metadata = null;
+        Map<String, DatabaseObject> objects = new HashMap<>();
+        Map<String, DatabaseObject> referencedObjects = new HashMap<>();
+        for (Event event = events.next(); !event.is(Event.ID.MappingEnd); event = events.next()) {
+            String key = String.valueOf(readValue(event, events));
+            switch (key) {
+                case "database":
+                    Map<String, Object> databaseMap = (Map<String, Object>) readValue(events.next(), events);
+                    snapshot = createSnapshot(databaseMap);
+                    snapshot.loadDatabase(new ParsedNode(null, "database").setValue(databaseMap));
+                    break;
+                case "metadata":
+                    metadata = (Map<String, Object>) readValue(events.next(), events);
+                    break;
+                case "objects":
+                    readObjects(snapshot, objects, events, resourceAccessor);
+                    break;
+                case "referencedObjects":
+                    readObjects(snapshot, referencedObjects, events, resourceAccessor);
+                    break;
+                default:
+                    readValue(events.next(), events);
+            }
+        }
+        if (snapshot == null) {
+            throw new LiquibaseParseException("Could not find database node in snapshot");
+        }
+        if (metadata != null) {
+            snapshot.getMetadata().putAll(metadata);
+        }
+        snapshot.addLoadedObjects(objects, referencedObjects);
+        return snapshot;
+    }
+
+    private DatabaseSnapshot createSnapshot(Map<String, Object> databaseMap) throws Exception {
+        String shortName = (String) databaseMap.get("shortName");
+        Database database = DatabaseFactory.getInstance().getDatabase(shortName).getClass().getConstructor().newInstance();
+        database.setConnection(new OfflineConnection("offline:" + shortName, null));
+        return new RestoredDatabaseSnapshot(database);
+    }
+
+    /**
+     * Loads the objects of each type as soon as they are read. References between them are resolved once all objects
+     * are loaded.
+     */
+    private void readObjects(DatabaseSnapshot snapshot, Map<String, DatabaseObject> objects, Iterator<Event> events,
+                             ResourceAccessor resourceAccessor) throws Exception {
+        if (snapshot == null) {
+            throw new LiquibaseParseException("The database node must come before the objects of the snapshot");
+        }
+        nextEvent(events, Event.ID.MappingStart);
+        for (Event event = events.next(); !event.is(Event.ID.MappingEnd); event = events.next()) {
+            String type = String.valueOf(readValue(event, events));
+            nextEvent(events, Event.ID.SequenceStart);
+            for (Event objectEvent = events.next(); !objectEvent.is(Event.ID.SequenceEnd); objectEvent = events.next()) {
+                ParsedNode typeNode = new ParsedNode(null, type).setValue(readValue(objectEvent, events));
+                for (ParsedNode objectNode : typeNode.getChildren()) {
+                    DatabaseObject object = snapshot.loadObject(type, objectNode, resourceAccessor);
+                    objects.put(snapshot.getLoadedObjectKey(object), object);
+                }
+            }
+        }
+    }
+
+    private void nextEvent(Iterator<Event> events, Event.ID expected) throws LiquibaseParseException {
+        Event event = events.next();
+        if (!event.is(expected)) {
+            throw new LiquibaseParseException("Syntax error in json: expected " + expected + " but found " + event);
+        }
+    }
+
+    /**
+     * Reads the scalar, map or list that starts with the given event.
+     */
+    private Object readValue(Event event, Iterator<Event> events) throws LiquibaseParseException {
+        if (event.is(Event.ID.Scalar)) {
+            return toScalar((ScalarEvent) event);
+        }
+        if (event.is(Event.ID.MappingStart)) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Event keyEvent = events.next(); !keyEvent.is(Event.ID.MappingEnd); keyEvent = events.next()) {
+                String key = String.valueOf(readValue(keyEvent, events));
+                map.put(key, readValue(events.next(), events));
+            }
+            return map;
+        }
+        if (event.is(Event.ID.SequenceStart)) {
+            List<Object> list = new ArrayList<>();
+            for (Event itemEvent = events.next(); !itemEvent.is(Event.ID.SequenceEnd); itemEvent = events.next()) {
+                list.add(readValue(itemEvent, events));
+            }
+            return list;
+        }
+        throw new LiquibaseParseException("Syntax error in json: unexpected " + event);
+    }
+
+    /**
+     * Converts unquoted values the same way the SafeConstructor used for YAML snapshots does. Quoted values are strings.
+     */
+    private Object toScalar(ScalarEvent event) {
+        String value = event.getValue();
+        if (!event.getImplicit().canOmitTagInPlainScalar()) {
+            return value;
+        }
+        Tag tag = resolver.resolve(NodeId.scalar, value, true);
+        if (Tag.NULL.equals(tag)) {
+            return null;
+        } else if (Tag.BOOL.equals(tag)) {
+            return Boolean.valueOf(value);
+        } else if (Tag.INT.equals(tag)) {
+            try {
+                BigInteger number = new BigInteger(value);
+                if (number.bitLength() < Integer.SIZE) {
+                    return number.intValue();
+                } else if (number.bitLength() < Long.SIZE) {
+                    return number.longValue();
+                }
+                return number;
+            } catch (NumberFormatException e) {
+                return value;
+            }
+        } else if (Tag.FLOAT.equals(tag)) {
+            try {
+                return Double.valueOf(value);
+            } catch (NumberFormatException e) {
+                return value;
+            }
+        }
+        return value;
+    }
 }
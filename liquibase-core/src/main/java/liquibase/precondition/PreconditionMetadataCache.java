@@ -0,0 +1,250 @@
+package liquibase.precondition;
+
+import liquibase.CatalogAndSchema;
+import liquibase.Scope;
+import liquibase.change.Change;
+import liquibase.database.Database;
+import liquibase.diff.compare.DatabaseObjectComparatorFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.InvalidExampleException;
+import liquibase.snapshot.SnapshotControl;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers the existence checks of the preconditions from one snapshot per schema and object type instead of creating a
+ * new snapshot for every check. Each Liquibase operation puts a new cache in the {@link Scope.Attr#preconditionMetadataCache}
+ * scope attribute, so the cached metadata lives as long as the run. Outside of a run {@link #has(DatabaseObject, Database)}
+ * calls {@link SnapshotGeneratorFactory#has(DatabaseObject, Database)} directly.
+ * <p>
+ * Changes executed by the run evict the tables, views and sequences they affect, see {@link #invalidate(Change, Database)}.
+ * Checks of evicted objects read the database directly while the rest of the schema is still answered from the cache.
+ */
+public class PreconditionMetadataCache {
+
+    private final Map<String, DatabaseSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> evictedRelations = new ConcurrentHashMap<>();
+
+    /**
+     * Returns true if the example exists in the database, using the cache of the current run if there is one
+     */
+    public static boolean has(DatabaseObject example, Database database) throws DatabaseException, InvalidExampleException {
+        PreconditionMetadataCache cache = getCurrentCache();
+        if (cache == null) {
+            return SnapshotGeneratorFactory.getInstance().has(example, database);
+        }
+        return cache.contains(example, database);
+    }
+
+    /**
+     * Evicts the cached metadata of the tables, views and sequences the change affects. If the change does not report
+     * the objects it affects, all cached metadata of the database is removed, and objects that cannot be traced back
+     * to a table, view or sequence remove the cached metadata of their schema.
+     */
+    public static void invalidate(Change change, Database database) {
+        PreconditionMetadataCache cache = getCurrentCache();
+        if ((cache == null) || !cache.hasEntries(database)) {
+            return;
+        }
+        Set<DatabaseObject> affectedObjects = change.getAffectedDatabaseObjects(database);
+        if ((affectedObjects == null) || affectedObjects.isEmpty()) {
+            cache.clear(database);
+            return;
+        }
+        boolean evicted = false;
+        for (DatabaseObject object : affectedObjects) {
+            if ((object instanceof Schema) || (object instanceof Catalog)) {
+                // containers of the other affected objects
+                continue;
+            }
+            if (object.getSchema() == null) {
+                cache.clear(database);
+                return;
+            }
+            evicted = true;
+            CatalogAndSchema schema = object.getSchema().toCatalogAndSchema();
+            Set<String> relationNames = getRelationNames(object);
+            if ((relationNames == null) || relationNames.isEmpty()) {
+                cache.clear(database, schema);
+            } else {
+                cache.evict(database, schema, relationNames);
+            }
+        }
+        if (!evicted) {
+            cache.clear(database);
+        }
+    }
+
+    /**
+     * Removes all cached metadata of the database
+     */
+    public static void invalidate(Database database) {
+        PreconditionMetadataCache cache = getCurrentCache();
+        if (cache != null) {
+            cache.clear(database);
+        }
+    }
+
+    private static PreconditionMetadataCache getCurrentCache() {
+        return Scope.getCurrentScope().get(Scope.Attr.preconditionMetadataCache.name(), PreconditionMetadataCache.class);
+    }
+
+    public boolean contains(DatabaseObject example, Database database) throws DatabaseException, InvalidExampleException {
+        SnapshotGeneratorFactory factory = SnapshotGeneratorFactory.getInstance();
+        if ((example instanceof Table) && (example.getName().equals(database.getDatabaseChangeLogTableName())
+                || example.getName().equals(database.getDatabaseChangeLogLockTableName()))) {
+            // changed by Liquibase itself during the run, and checked more cheaply than with a snapshot
+            return exists(example, database);
+        }
+
+        CatalogAndSchema schema = getCatalogAndSchema(example, database);
+        String schemaKey = createKey(database, schema);
+        Set<String> evicted = evictedRelations.get(schemaKey);
+        if ((evicted != null) && isEvicted(getRelationNames(example), evicted)) {
+            return exists(example, database);
+        }
+
+        String key = schemaKey + example.getClass().getName();
+        DatabaseSnapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            List<Class<? extends DatabaseObject>> types = new ArrayList<>(factory.getContainerTypes(example.getClass(), database));
+            types.add(example.getClass());
+            SnapshotControl snapshotControl = new SnapshotControl(database, false, types.toArray(new Class[types.size()]));
+            snapshotControl.setWarnIfObjectNotFound(false);
+            snapshot = createSnapshot(schema, database, snapshotControl);
+            snapshots.put(key, snapshot);
+        }
+
+        DatabaseObject object = find(example, snapshot, database);
+        if ((object != null) && (evicted != null) && isEvicted(getRelationNames(object), evicted)) {
+            // e.g. a foreign key whose referenced table was dropped
+            return exists(example, database);
+        }
+        return object != null;
+    }
+
+    public void clear(Database database) {
+        String prefix = createKey(database, null);
+        snapshots.keySet().removeIf(key -> key.startsWith(prefix));
+        evictedRelations.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void clear(Database database, CatalogAndSchema schema) {
+        String prefix = createKey(database, schema.customize(database));
+        snapshots.keySet().removeIf(key -> key.startsWith(prefix));
+        evictedRelations.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Marks the tables, views or sequences with the given names as changed. Their objects are no longer answered from
+     * the cached snapshots of the schema.
+     */
+    public void evict(Database database, CatalogAndSchema schema, Set<String> relationNames) {
+        Set<String> evicted = evictedRelations.computeIfAbsent(createKey(database, schema.customize(database)),
+                key -> ConcurrentHashMap.newKeySet());
+        for (String name : relationNames) {
+            evicted.add(name.toLowerCase(Locale.US));
+        }
+    }
+
+    protected DatabaseSnapshot createSnapshot(CatalogAndSchema schema, Database database, SnapshotControl snapshotControl)
+            throws DatabaseException, InvalidExampleException {
+        return SnapshotGeneratorFactory.getInstance().createSnapshot(schema, database, snapshotControl);
+    }
+
+    protected boolean exists(DatabaseObject example, Database database) throws DatabaseException, InvalidExampleException {
+        return SnapshotGeneratorFactory.getInstance().has(example, database);
+    }
+
+    protected boolean hasEntries(Database database) {
+        String prefix = createKey(database, null);
+        for (String key : snapshots.keySet()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DatabaseObject find(DatabaseObject example, DatabaseSnapshot snapshot, Database database) {
+        DatabaseObject object = snapshot.get(example);
+        if (object != null) {
+            return object;
+        }
+        for (DatabaseObject candidate : snapshot.get(example.getClass())) {
+            if (DatabaseObjectComparatorFactory.getInstance().isSameObject(example, candidate, null, database)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the object belongs to one of the evicted relations. Objects that cannot be traced back to a
+     * relation, like an index looked up by name only, are treated as evicted as soon as anything in the schema is.
+     */
+    private boolean isEvicted(Set<String> relationNames, Set<String> evicted) {
+        if (evicted.isEmpty()) {
+            return false;
+        }
+        if ((relationNames == null) || relationNames.isEmpty()) {
+            return true;
+        }
+        for (String name : relationNames) {
+            if (evicted.contains(name.toLowerCase(Locale.US))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the names of the tables, views or sequences the object belongs to, or null for other types of objects
+     */
+    private static Set<String> getRelationNames(DatabaseObject object) {
+        Set<String> names = new HashSet<>();
+        if ((object instanceof Relation) || (object instanceof Sequence)) {
+            addName(names, object);
+        } else if (object instanceof Column) {
+            addName(names, ((Column) object).getRelation());
+        } else if (object instanceof Index) {
+            addName(names, ((Index) object).getRelation());
+        } else if (object instanceof PrimaryKey) {
+            addName(names, ((PrimaryKey) object).getTable());
+        } else if (object instanceof UniqueConstraint) {
+            addName(names, ((UniqueConstraint) object).getRelation());
+        } else if (object instanceof ForeignKey) {
+            addName(names, ((ForeignKey) object).getForeignKeyTable());
+            addName(names, ((ForeignKey) object).getPrimaryKeyTable());
+        } else {
+            return null;
+        }
+        return names;
+    }
+
+    private static void addName(Set<String> names, DatabaseObject object) {
+        if ((object != null) && (object.getName() != null)) {
+            names.add(object.getName());
+        }
+    }
+
+    private CatalogAndSchema getCatalogAndSchema(DatabaseObject example, Database database) {
+        if (example.getSchema() == null) {
+            return database.getDefaultSchema().customize(database);
+        }
+        return example.getSchema().toCatalogAndSchema().customize(database);
+    }
+
+    private String createKey(Database database, CatalogAndSchema schema) {
+        String key = System.identityHashCode(database) + "#";
+        if (schema != null) {
+            key += schema.getCatalogName() + "." + schema.getSchemaName() + "#";
+        }
+        return key;
+    }
+}
@@ -9,7 +9,7 @@ import liquibase.exception.PreconditionFailedException;
 import liquibase.exception.ValidationErrors;
 import liquibase.exception.Warnings;
 import liquibase.precondition.AbstractPrecondition;
-import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.precondition.PreconditionMetadataCache;
 import liquibase.structure.core.Column;
 import liquibase.structure.core.Index;
 import liquibase.structure.core.Schema;
@@ -100,7 +100,7 @@ public class IndexExistsPrecondition extends AbstractPrecondition {
                     example.addColumn(new Column(database.correctObjectName(column, Column.class)));
                 }
             }
-            if (!SnapshotGeneratorFactory.getInstance().has(example, database)) {
+            if (!PreconditionMetadataCache.has(example, database)) {
                 String name = "";
 
                 if (getIndexName() != null) {
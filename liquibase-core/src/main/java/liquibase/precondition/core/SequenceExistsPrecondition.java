@@ -6,8 +6,8 @@ import liquibase.changelog.DatabaseChangeLog;
 import liquibase.database.Database;
 import liquibase.exception.*;
 import liquibase.precondition.AbstractPrecondition;
+import liquibase.precondition.PreconditionMetadataCache;
 import liquibase.snapshot.DatabaseSnapshot;
-import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.structure.core.Schema;
 import liquibase.structure.core.Sequence;
 
@@ -56,7 +56,7 @@ public class SequenceExistsPrecondition extends AbstractPrecondition {
         DatabaseSnapshot snapshot;
         Schema schema = new Schema(getCatalogName(), getSchemaName());
         try {
-            if (!SnapshotGeneratorFactory.getInstance().has(new Sequence().setName(getSequenceName()).setSchema(schema), database)) {
+            if (!PreconditionMetadataCache.has(new Sequence().setName(getSequenceName()).setSchema(schema), database)) {
                 throw new PreconditionFailedException("Sequence "+database.escapeSequenceName(getCatalogName(), getSchemaName(), getSequenceName())+" does not exist", changeLog, this);
             }
         } catch (LiquibaseException e) {
@@ -3,9 +3,11 @@ package liquibase.serializer;
 import liquibase.exception.UnexpectedLiquibaseException;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReflectionSerializer {
 
@@ -15,7 +17,8 @@ public class ReflectionSerializer {
         return instance;
     }
 
-    private Map<Class, Map<String, Field>> reflectionCache = new HashMap<>();
+    private Map<Class, Map<String, Field>> reflectionCache = new ConcurrentHashMap<>();
+    private Map<Class, Map<String, Field>> foundFieldCache = new ConcurrentHashMap<>();
 
     private ReflectionSerializer() {
 
@@ -41,6 +44,9 @@ public class ReflectionSerializer {
                 if (field.isSynthetic() || "$VRc".equals(field.getName())) { //from emma
                     continue;
                 }
+                if (Modifier.isTransient(field.getModifiers())) {
+                    continue;
+                }
 
                 fields.put(field.getName(), field);
                 field.setAccessible(true);
@@ -53,7 +59,11 @@ public class ReflectionSerializer {
     }
 
     private Field findField(Object object, String field) {
-        Field foundField = null;
+        Map<String, Field> foundFields = foundFieldCache.computeIfAbsent(object.getClass(), key -> new ConcurrentHashMap<>());
+        Field foundField = foundFields.get(field);
+        if (foundField != null) {
+            return foundField;
+        }
         Class<? extends Object> classToCheck = object.getClass();
         while ((foundField == null) && !classToCheck.equals(Object.class)) {
             try {
@@ -65,6 +75,8 @@ public class ReflectionSerializer {
         if (foundField == null) {
             throw new UnexpectedLiquibaseException("No field " + field + " on " + object.getClass());
         }
+        foundField.setAccessible(true);
+        foundFields.put(field, foundField);
         return foundField;
     }
 
@@ -79,9 +91,6 @@ public class ReflectionSerializer {
         try {
             if (foundField == null) {
                 foundField = findField(object, field);
-                foundField.setAccessible(true);
-
-                fieldsByName.put(field, foundField);
             }
 
             return foundField.get(object);
@@ -93,8 +102,6 @@ public class ReflectionSerializer {
     public void setValue(Object object, String field, Object value) {
         try {
             Field foundField = findField(object, field);
-            foundField.setAccessible(true);
-
             foundField.set(object, value);
         } catch (Exception e) {
             throw new UnexpectedLiquibaseException(e);
@@ -0,0 +1,198 @@
+package liquibase.serializer.core.binary;
+
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.serializer.LiquibaseSerializable;
+import liquibase.serializer.core.yaml.YamlSnapshotSerializer;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.statement.DatabaseFunction;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.DatabaseObjectCollection;
+import liquibase.util.ISODateFormat;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Writes snapshots in a compact binary format that is faster to load than JSON. The content is the same as in JSON
+ * snapshots, so both formats restore the same objects. Read by {@link liquibase.parser.core.binary.BinarySnapshotParser}.
+ * <p>
+ * The file starts with {@link #MAGIC} and the {@link #VERSION} of the format, followed by the snapshot fields other than
+ * the objects and a table with the "type#snapshotId" key of every object. Then come the objects of the "objects" and
+ * "referencedObjects" fields, grouped by type. References to other objects are stored as an index in the key table.
+ * Each distinct string is only written once, later occurrences refer to it by number.
+ */
+public class BinarySnapshotSerializer extends YamlSnapshotSerializer {
+
+    public static final String FILE_EXTENSION = "lbsnap";
+    public static final byte[] MAGIC = "LBSNAP".getBytes(StandardCharsets.US_ASCII);
+    public static final int VERSION = 1;
+
+    public static final byte NULL = 0;
+    public static final byte STRING = 1;
+    public static final byte TRUE = 2;
+    public static final byte FALSE = 3;
+    public static final byte MAP = 4;
+    public static final byte LIST = 5;
+    public static final byte REFERENCE = 6;
+
+    @Override
+    public String[] getValidFileExtensions() {
+        return new String[]{
+                FILE_EXTENSION
+        };
+    }
+
+    /**
+     * Returns the binary snapshot encoded as Base64
+     */
+    @Override
+    public String serialize(LiquibaseSerializable object, boolean pretty) {
+        if (!(object instanceof DatabaseSnapshot)) {
+            throw new UnexpectedLiquibaseException("Only snapshots can be serialized in " + FILE_EXTENSION + " format");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write((DatabaseSnapshot) object, out);
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    @Override
+    public void write(DatabaseSnapshot snapshot, OutputStream out) throws IOException {
+        Output output = new Output(new DataOutputStream(new BufferedOutputStream(out)));
+        output.out.write(MAGIC);
+        output.writeVarInt(VERSION);
+
+        output.writeValue(toHeaderMap(snapshot));
+
+        Map<String, SortedMap<String, List<DatabaseObject>>> sections = new LinkedHashMap<>();
+        for (String field : OBJECT_FIELDS) {
+            Object value = snapshot.getSerializableFields().contains(field) ? snapshot.getSerializableFieldValue(field) : null;
+            if (value instanceof DatabaseObjectCollection) {
+                sections.put(field, getSortedObjects((DatabaseObjectCollection) value));
+            }
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (SortedMap<String, List<DatabaseObject>> types : sections.values()) {
+            for (List<DatabaseObject> objects : types.values()) {
+                for (DatabaseObject object : objects) {
+                    String key = snapshot.getLoadedObjectKey(object);
+                    if (!output.objectIndexes.containsKey(key)) {
+                        output.objectIndexes.put(key, keys.size());
+                        keys.add(key);
+                    }
+                }
+            }
+        }
+        output.writeVarInt(keys.size());
+        for (String key : keys) {
+            output.writeString(key);
+        }
+
+        output.writeVarInt(sections.size());
+        for (Map.Entry<String, SortedMap<String, List<DatabaseObject>>> section : sections.entrySet()) {
+            output.writeString(section.getKey());
+            output.writeVarInt(section.getValue().size());
+            for (Map.Entry<String, List<DatabaseObject>> type : section.getValue().entrySet()) {
+                output.writeString(type.getKey());
+                output.writeVarInt(type.getValue().size());
+                for (DatabaseObject object : type.getValue()) {
+                    output.writeValue(toMap(object));
+                }
+            }
+        }
+        output.out.flush();
+    }
+
+    /**
+     * Returns the string the JSON and YAML serializers write for values that are not strings, booleans or
+     * collections, so they are loaded back the same way
+     */
+    protected String toTypedString(Object value) {
+        String string;
+        if (value instanceof Date) {
+            string = new ISODateFormat().format((Date) value);
+        } else if (value instanceof Enum) {
+            string = ((Enum) value).name();
+        } else {
+            string = value.toString();
+        }
+        return string + "!{" + value.getClass().getName() + "}";
+    }
+
+    private class Output {
+        private final DataOutputStream out;
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final Map<String, Integer> objectIndexes = new HashMap<>();
+
+        private Output(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof Map) {
+                out.writeByte(MAP);
+                writeVarInt(((Map<?, ?>) value).size());
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    writeString(String.valueOf(entry.getKey()));
+                    writeValue(entry.getValue());
+                }
+            } else if (value instanceof Collection) {
+                out.writeByte(LIST);
+                writeVarInt(((Collection<?>) value).size());
+                for (Object item : (Collection<?>) value) {
+                    writeValue(item);
+                }
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if ((value instanceof String) && objectIndexes.containsKey(value)) {
+                out.writeByte(REFERENCE);
+                writeVarInt(objectIndexes.get(value));
+            } else if ((value instanceof String) || (value instanceof Character)) {
+                out.writeByte(STRING);
+                writeString(value.toString());
+            } else if ((value instanceof Number) || (value instanceof Date) || (value instanceof Enum)
+                    || (value instanceof DatabaseFunction)) {
+                out.writeByte(STRING);
+                writeString(toTypedString(value));
+            } else {
+                out.writeByte(STRING);
+                writeString(value.toString());
+            }
+        }
+
+        /**
+         * Writes 0 and the UTF-8 bytes the first time a string is written, its number + 1 after that
+         */
+        private void writeString(String value) throws IOException {
+            Integer index = stringIndexes.get(value);
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            stringIndexes.put(value, stringIndexes.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(0);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+}
@@ -1,7 +1,25 @@
 package liquibase.serializer.core.json;
 
+import liquibase.GlobalConfiguration;
 import liquibase.serializer.core.yaml.YamlSnapshotSerializer;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.DatabaseObjectCollection;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.nodes.Tag;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Writes snapshots as JSON. {@link #write(DatabaseSnapshot, OutputStream)} streams the objects one at a time instead of
+ * building the whole document in memory first, so the memory needed does not grow with the size of the file.
+ * The output is read by {@link liquibase.parser.core.json.JsonSnapshotParser}.
+ */
 public class JsonSnapshotSerializer extends YamlSnapshotSerializer {
 
     @Override
@@ -11,4 +29,73 @@ public class JsonSnapshotSerializer extends YamlSnapshotSerializer {
         };
     }
 
+    @Override
+    public void write(DatabaseSnapshot snapshot, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
+        writer.write("{\n  \"snapshot\": {");
+
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : toHeaderMap(snapshot).entrySet()) {
+            writeSeparator(writer, first, "    ");
+            writer.write(toJsonMember(entry.getKey(), entry.getValue(), "    "));
+            first = false;
+        }
+
+        for (String field : OBJECT_FIELDS) {
+            if (!snapshot.getSerializableFields().contains(field)) {
+                continue;
+            }
+            Object value = snapshot.getSerializableFieldValue(field);
+            if (!(value instanceof DatabaseObjectCollection)) {
+                continue;
+            }
+            writeSeparator(writer, first, "    ");
+            writer.write("\"" + field + "\": {");
+            writeObjects(writer, (DatabaseObjectCollection) value);
+            writer.write("\n    }");
+            first = false;
+        }
+
+        writer.write("\n  }\n}\n");
+        writer.flush();
+    }
+
+    private void writeObjects(Writer writer, DatabaseObjectCollection collection) throws IOException {
+        boolean firstType = true;
+        for (Map.Entry<String, List<DatabaseObject>> entry : getSortedObjects(collection).entrySet()) {
+            writeSeparator(writer, firstType, "      ");
+            writer.write("\"" + entry.getKey() + "\": [");
+            boolean firstObject = true;
+            for (DatabaseObject object : entry.getValue()) {
+                writeSeparator(writer, firstObject, "        ");
+                writer.write(indent(toJson(toMap(object)), "        "));
+                firstObject = false;
+            }
+            writer.write("\n      ]");
+            firstType = false;
+        }
+    }
+
+    private void writeSeparator(Writer writer, boolean first, String indent) throws IOException {
+        writer.write(first ? "\n" : ",\n");
+        writer.write(indent);
+    }
+
+    /**
+     * Returns the given value as a "key": value member, to be written at the given indentation.
+     */
+    private String toJsonMember(String key, Object value, String indent) {
+        String json = toJson(Collections.singletonMap(key, value)).trim();
+        // remove the braces of the single entry map, the member lines are already indented by one level
+        json = json.substring(1, json.length() - 1).trim();
+        return indent(json, indent.substring(2));
+    }
+
+    private String toJson(Object map) {
+        return removeClassTypeMarksFromSerializedJson(yaml.dumpAs(map, Tag.MAP, DumperOptions.FlowStyle.FLOW)).trim();
+    }
+
+    private String indent(String json, String indent) {
+        return json.replace("\n", "\n" + indent);
+    }
 }
@@ -166,7 +166,7 @@ public abstract class YamlSerializer implements LiquibaseSerializer {
         };
     }
 
-    private String removeClassTypeMarksFromSerializedJson(String json) {
+    protected String removeClassTypeMarksFromSerializedJson(String json) {
         json = json.replaceAll("!!int \"(\\d+)\"", "$1");
         json = json.replaceAll("!!bool \"(\\w+)\"", "$1");
         json = json.replaceAll("!!timestamp \"([^\"]*)\"", "$1");
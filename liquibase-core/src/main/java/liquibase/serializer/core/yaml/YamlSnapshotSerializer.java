@@ -28,7 +28,13 @@ import java.util.*;
 
 public class YamlSnapshotSerializer extends YamlSerializer implements SnapshotSerializer {
 
+    /**
+     * The snapshot fields holding a {@link DatabaseObjectCollection}, which streaming serializers write separately
+     */
+    protected static final List<String> OBJECT_FIELDS = Arrays.asList("objects", "referencedObjects");
+
     private boolean alreadySerializingObject;
+    private boolean skipObjectFields;
 
     @Override
     public void write(DatabaseSnapshot snapshot, OutputStream out) throws IOException {
@@ -95,6 +101,42 @@ public class YamlSnapshotSerializer extends YamlSerializer implements SnapshotSe
         return super.toMap(object);
     }
 
+    /**
+     * Returns the serialized fields of the snapshot other than its {@link #OBJECT_FIELDS}
+     */
+    protected Map<String, Object> toHeaderMap(DatabaseSnapshot snapshot) {
+        skipObjectFields = true;
+        try {
+            return (Map<String, Object>) ((Map) toMap(snapshot)).get(snapshot.getSerializedObjectName());
+        } finally {
+            skipObjectFields = false;
+        }
+    }
+
+    /**
+     * Returns the objects of the collection by type name, sorted the same way as {@link #toMap(LiquibaseSerializable)}
+     * sorts them
+     */
+    protected SortedMap<String, List<DatabaseObject>> getSortedObjects(DatabaseObjectCollection collection) {
+        SortedMap<String, List<DatabaseObject>> types = new TreeMap<>();
+        for (Map.Entry<Class<? extends DatabaseObject>, Set<? extends DatabaseObject>> entry : collection.toMap().entrySet()) {
+            List<DatabaseObject> objects = new ArrayList<>(entry.getValue());
+            objects.sort(new DatabaseObjectComparator());
+            types.put(entry.getKey().getName(), objects);
+        }
+        return types;
+    }
+
+    @Override
+    protected Set<String> getSerializableObjectFields(LiquibaseSerializable object) {
+        Set<String> fields = super.getSerializableObjectFields(object);
+        if (skipObjectFields && (object instanceof DatabaseSnapshot)) {
+            fields = new HashSet<>(fields);
+            fields.removeAll(OBJECT_FIELDS);
+        }
+        return fields;
+    }
+
     protected LiquibaseRepresenter getLiquibaseRepresenter() {
         return new SnapshotLiquibaseRepresenter();
     }
@@ -1,35 +1,65 @@
 package liquibase.snapshot;
 
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * A row of a metadata query. Rows read from the same result set share one column-name-to-index map
+ * and hold their values in an array, instead of every row carrying its own map.
+ */
 public class CachedRow {
-    private Map row;
+    private final Map<String, Integer> columnIndexes;
+    private final Object[] values;
+    private Map<String, Object> addedValues;
 
     public CachedRow(Map row) {
-        this.row = row;
+        this.columnIndexes = new HashMap<>();
+        this.values = new Object[row.size()];
+        int index = 0;
+        for (Object entry : row.entrySet()) {
+            columnIndexes.put((String) ((Map.Entry) entry).getKey(), index);
+            values[index++] = ((Map.Entry) entry).getValue();
+        }
     }
 
-
+    /**
+     * @param columnIndexes index into values for each column name, shared by all rows of the same result set
+     */
+    CachedRow(Map<String, Integer> columnIndexes, Object[] values) {
+        this.columnIndexes = columnIndexes;
+        this.values = values;
+    }
 
     public Object get(String columnName) {
-        return row.get(columnName);
+        Integer index = columnIndexes.get(columnName);
+        if (index != null) {
+            return values[index];
+        }
+        return (addedValues == null) ? null : addedValues.get(columnName);
     }
 
     public void set(String columnName, Object value) {
-        row.put(columnName, value);
+        Integer index = columnIndexes.get(columnName);
+        if (index != null) {
+            values[index] = value;
+        } else {
+            if (addedValues == null) {
+                addedValues = new HashMap<>();
+            }
+            addedValues.put(columnName, value);
+        }
     }
 
-
     public boolean containsColumn(String columnName) {
-        return row.containsKey(columnName);
+        return columnIndexes.containsKey(columnName) || ((addedValues != null) && addedValues.containsKey(columnName));
     }
 
     public String getString(String columnName) {
-        return (String) row.get(columnName);
+        return (String) get(columnName);
     }
 
     public Integer getInt(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             return ((Number) o).intValue();
         } else if (o instanceof String) {
@@ -46,7 +76,7 @@ public class CachedRow {
     }
 
     public Short getShort(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             return ((Number) o).shortValue();
         } else if (o instanceof String) {
@@ -56,7 +86,7 @@ public class CachedRow {
     }
 
     public Boolean getBoolean(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             if (((Number) o).longValue() == 0) {
                 return false;
@@ -80,7 +110,7 @@ public class CachedRow {
      * @nullable
      */
     public Boolean yesNoToBoolean(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof String && "YES".equalsIgnoreCase((String)o)) {
             return Boolean.TRUE;
         }
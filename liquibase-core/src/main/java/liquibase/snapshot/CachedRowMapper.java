@@ -0,0 +1,78 @@
+package liquibase.snapshot;
+
+import liquibase.executor.jvm.ColumnMapRowMapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the rows of one metadata result set to {@link CachedRow}s. The column names are read once and shared by all
+ * rows, and repeated string values such as catalog, schema and type names are stored only once. Use a new instance
+ * for each result set.
+ */
+class CachedRowMapper extends ColumnMapRowMapper {
+
+    private Map<String, Integer> columnIndexes;
+    private int columnCount;
+    private final Map<String, String> strings = new HashMap<>();
+
+    @Override
+    public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (columnIndexes == null) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            columnCount = metaData.getColumnCount();
+            //a repeated column label maps to its last column, like the map of ColumnMapRowMapper
+            Map<String, Integer> indexes = new HashMap<>();
+            for (int i = 1; i <= columnCount; i++) {
+                indexes.put(getColumnKey(metaData.getColumnLabel(i)).intern(), i - 1);
+            }
+            columnIndexes = Collections.unmodifiableMap(indexes);
+        }
+
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = share(getColumnValue(rs, i + 1));
+        }
+        return new CachedRow(columnIndexes, values);
+    }
+
+    /**
+     * Converts rows that were already read into maps, e.g. by a ResultSetExtractor that needs to filter them.
+     * All maps must have the same columns in the same order.
+     */
+    List<CachedRow> toCachedRows(List<Map> rows) {
+        List<CachedRow> cachedRows = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            if (columnIndexes == null) {
+                Map<String, Integer> indexes = new HashMap<>();
+                for (String column : row.keySet()) {
+                    indexes.put(column.intern(), indexes.size());
+                }
+                columnIndexes = Collections.unmodifiableMap(indexes);
+            }
+            Object[] values = new Object[columnIndexes.size()];
+            int index = 0;
+            for (Object value : row.values()) {
+                values[index++] = share(value);
+            }
+            cachedRows.add(new CachedRow(columnIndexes, values));
+        }
+        return cachedRows;
+    }
+
+    private Object share(Object value) {
+        if (value instanceof String) {
+            String existing = strings.putIfAbsent((String) value, (String) value);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return value;
+    }
+}
@@ -23,8 +23,10 @@ import liquibase.util.ISODateFormat;
 import liquibase.util.ObjectUtil;
 import liquibase.util.StringUtil;
 
+import java.nio.charset.Charset;
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class DatabaseSnapshot implements LiquibaseSerializable {
@@ -32,7 +34,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
     private static final Logger LOGGER = Scope.getCurrentScope().getLog(DatabaseSnapshot.class);
     public static final String ALL_CATALOGS_STRING_SCRATCH_KEY = "DatabaseSnapshot.allCatalogsString";
 
-    private final DatabaseObject[] originalExamples;
+    private DatabaseObject[] originalExamples;
     private HashSet<String> serializableFields;
     private SnapshotControl snapshotControl;
     private Database database;
@@ -42,7 +44,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
     private Map<String, Object> snapshotScratchPad = new HashMap<>();
 
-    private Map<String, ResultSetCache> resultSetCaches = new HashMap<>();
+    private Map<String, ResultSetCache> resultSetCaches = new ConcurrentHashMap<>();
     private CompareControl.SchemaComparison[] schemaComparisons;
 
     private Map<String, Object> metadata = new HashMap<>();
@@ -57,6 +59,10 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
         init(examples);
 
+        for (Map.Entry<String, ResultSetCache> cache : resultSetCaches.entrySet()) {
+            LOGGER.fine("Snapshot cache " + cache.getKey() + ": " + cache.getValue());
+        }
+
         this.serializableFields = new HashSet<>();
         this.serializableFields.add("snapshotControl");
         this.serializableFields.add("objects");
@@ -166,7 +172,8 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
     /**
      *
-     *  Method which merges two object snapshot models into one
+     *  Method which merges two object snapshot models into one. The original examples of the other snapshot are added
+     *  to the original examples of this one.
      *
      *  @param  snapshotToMerge            Another object snapshot model
      *  @return DatabaseSnapshot           Merged object model
@@ -186,9 +193,30 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
                 returnSnapshot.referencedObjects.add(dbObject);
             }
         }
+        List<DatabaseObject> examples = new ArrayList<>(Arrays.asList(returnSnapshot.originalExamples));
+        for (DatabaseObject example : snapshotToMerge.originalExamples) {
+            if (!examples.contains(example)) {
+                examples.add(example);
+            }
+        }
+        returnSnapshot.originalExamples = examples.toArray(new DatabaseObject[0]);
         return returnSnapshot;
     }
 
+    /**
+     * Adds an object read by another snapshot, e.g. the unchanged tables of a previous snapshot
+     */
+    void addObject(DatabaseObject object) {
+        allFound.add(object);
+    }
+
+    /**
+     * Returns the objects this snapshot was created for
+     */
+    public DatabaseObject[] getOriginalExamples() {
+        return Arrays.copyOf(originalExamples, originalExamples.length);
+    }
+
     public SnapshotControl getSnapshotControl() {
         return snapshotControl;
     }
@@ -263,10 +291,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
     }
 
     public ResultSetCache getResultSetCache(String key) {
-        if (!resultSetCaches.containsKey(key)) {
-            resultSetCaches.put(key, new ResultSetCache());
-        }
-        return resultSetCaches.get(key);
+        return resultSetCaches.computeIfAbsent(key, k -> new ResultSetCache(this));
     }
 
     /**
@@ -585,59 +610,76 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
             Map<String, DatabaseObject> referencedObjects = new HashMap<>();
             Map<String, DatabaseObject> objects = new HashMap<>();
             Map<String, DatabaseObject> allObjects = new HashMap<>();
-            ParsedNode databaseNode = parsedNode.getChild(null, "database");
-            DatabaseConnection connection = getDatabase().getConnection();
-            if ((databaseNode != null) && (connection instanceof OfflineConnection)) {
-                ((OfflineConnection) connection).setDatabaseMajorVersion(databaseNode.getChildValue(null, "majorVersion", Integer.class));
-                ((OfflineConnection) connection).setDatabaseMinorVersion(databaseNode.getChildValue(null, "minorVersion", Integer.class));
-                ((OfflineConnection) connection).setProductVersion(databaseNode.getChildValue(null, "productVersion", String.class));
-                ((OfflineConnection) connection).setConnectionUserName(databaseNode.getChildValue(null, "user", String.class));
-            }
+            loadDatabase(parsedNode.getChild(null, "database"));
 
             loadObjects(referencedObjects, allObjects, parsedNode.getChild(null, "referencedObjects"), resourceAccessor);
             loadObjects(objects, allObjects, parsedNode.getChild(null, "objects"), resourceAccessor);
 
-            for (DatabaseObject object : allObjects.values()) {
-                for (String attr : new ArrayList<>(object.getAttributes())) {
-                    Object value = object.getAttribute(attr, Object.class);
-                    if ((value instanceof String) && allObjects.containsKey(value)) {
-                        if (ObjectUtil.hasProperty(object, attr)) {
-                            ObjectUtil.setProperty(object, attr, allObjects.get(value));
-                        } else {
-                            object.setAttribute(attr, allObjects.get(value));
-                        }
-                    } else if ((value instanceof Collection) && !((Collection) value).isEmpty() && allObjects
-                            .containsKey(((Collection) value).iterator().next())) {
-                        List<DatabaseObject> newList = new ArrayList<DatabaseObject>();
-                        for (String element : (Collection<String>) value) {
-                            newList.add(allObjects.get(element));
-                        }
-                        if (ObjectUtil.hasProperty(object, attr)) {
-                            ObjectUtil.setProperty(object, attr, newList);
-                        } else {
-                            object.setAttribute(attr, newList);
-                        }
+            addLoadedObjects(objects, referencedObjects);
+        } catch (Exception e) {
+            throw new ParsedNodeException(e);
+        }
+    }
+
+    /**
+     * Sets the versions and user name of the "database" node on an {@link OfflineConnection}.
+     */
+    public void loadDatabase(ParsedNode databaseNode) throws ParsedNodeException {
+        DatabaseConnection connection = getDatabase().getConnection();
+        if ((databaseNode != null) && (connection instanceof OfflineConnection)) {
+            ((OfflineConnection) connection).setDatabaseMajorVersion(databaseNode.getChildValue(null, "majorVersion", Integer.class));
+            ((OfflineConnection) connection).setDatabaseMinorVersion(databaseNode.getChildValue(null, "minorVersion", Integer.class));
+            ((OfflineConnection) connection).setProductVersion(databaseNode.getChildValue(null, "productVersion", String.class));
+            ((OfflineConnection) connection).setConnectionUserName(databaseNode.getChildValue(null, "user", String.class));
+        }
+    }
+
+    /**
+     * Adds objects loaded with {@link #loadObject(String, ParsedNode, ResourceAccessor)}, keyed by
+     * {@link #getLoadedObjectKey(DatabaseObject)}. References to other objects, which are loaded as "type#snapshotId"
+     * strings, are replaced with the objects themselves.
+     */
+    public void addLoadedObjects(Map<String, DatabaseObject> objects, Map<String, DatabaseObject> referencedObjects) {
+        Map<String, DatabaseObject> allObjects = new HashMap<>(referencedObjects);
+        allObjects.putAll(objects);
+        for (DatabaseObject object : allObjects.values()) {
+            for (String attr : new ArrayList<>(object.getAttributes())) {
+                Object value = object.getAttribute(attr, Object.class);
+                if ((value instanceof String) && allObjects.containsKey(value)) {
+                    if (ObjectUtil.hasProperty(object, attr)) {
+                        ObjectUtil.setProperty(object, attr, allObjects.get(value));
                     } else {
-                        if ((value != null) && ObjectUtil.hasProperty(object, attr)) {
-                            if ((value instanceof byte[]) && ObjectUtil.getPropertyType(object, attr).equals(String
-                                    .class)) {
-                                value = new String((byte[]) value, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                            }
-                            object.setAttribute(attr, null);
-                            ObjectUtil.setProperty(object, attr, value);
+                        object.setAttribute(attr, allObjects.get(value));
+                    }
+                } else if ((value instanceof Collection) && !((Collection) value).isEmpty() && allObjects
+                        .containsKey(((Collection) value).iterator().next())) {
+                    List<DatabaseObject> newList = new ArrayList<DatabaseObject>();
+                    for (String element : (Collection<String>) value) {
+                        newList.add(allObjects.get(element));
+                    }
+                    if (ObjectUtil.hasProperty(object, attr)) {
+                        ObjectUtil.setProperty(object, attr, newList);
+                    } else {
+                        object.setAttribute(attr, newList);
+                    }
+                } else {
+                    if ((value != null) && ObjectUtil.hasProperty(object, attr)) {
+                        if ((value instanceof byte[]) && ObjectUtil.getPropertyType(object, attr).equals(String
+                                .class)) {
+                            value = new String((byte[]) value, Charset.forName(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
                         }
+                        object.setAttribute(attr, null);
+                        ObjectUtil.setProperty(object, attr, value);
                     }
                 }
             }
+        }
 
-            for (DatabaseObject object : objects.values()) {
-                this.allFound.add(object);
-            }
-            for (DatabaseObject object : referencedObjects.values()) {
-                this.referencedObjects.add(object);
-            }
-        } catch (Exception e) {
-            throw new ParsedNodeException(e);
+        for (DatabaseObject object : objects.values()) {
+            this.allFound.add(object);
+        }
+        for (DatabaseObject object : referencedObjects.values()) {
+            this.referencedObjects.add(object);
         }
     }
 
@@ -646,17 +688,33 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
             return;
         }
         for (ParsedNode typeNode : node.getChildren()) {
-            Class<? extends DatabaseObject> objectType = (Class<? extends DatabaseObject>) Class.forName(typeNode.getName());
             for (ParsedNode objectNode : typeNode.getChildren()) {
-                DatabaseObject databaseObject = objectType.getConstructor().newInstance();
-                databaseObject.load(objectNode, resourceAccessor);
-                String key = objectType.getName() + "#" + databaseObject.getSnapshotId();
+                DatabaseObject databaseObject = loadObject(typeNode.getName(), objectNode, resourceAccessor);
+                String key = getLoadedObjectKey(databaseObject);
                 objectMap.put(key, databaseObject);
                 allObjects.put(key, databaseObject);
             }
         }
     }
 
+    /**
+     * Creates an object of the given class from its serialized node. References to other objects are not resolved
+     * until {@link #addLoadedObjects(Map, Map)}.
+     */
+    public DatabaseObject loadObject(String type, ParsedNode objectNode, ResourceAccessor resourceAccessor) throws ReflectiveOperationException, ParsedNodeException {
+        Class<? extends DatabaseObject> objectType = (Class<? extends DatabaseObject>) Class.forName(type);
+        DatabaseObject databaseObject = objectType.getConstructor().newInstance();
+        databaseObject.load(objectNode, resourceAccessor);
+        return databaseObject;
+    }
+
+    /**
+     * Returns the "type#snapshotId" string other objects use to reference the given object in serialized snapshots.
+     */
+    public String getLoadedObjectKey(DatabaseObject object) {
+        return object.getClass().getName() + "#" + object.getSnapshotId();
+    }
+
     @Override
     public ParsedNode serialize() {
         throw new RuntimeException("TODO");
@@ -0,0 +1,300 @@
+package liquibase.snapshot;
+
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.*;
+
+import java.util.*;
+
+/**
+ * Refreshes a previous snapshot by re-reading only the tables and views whose last DDL time changed. Used by
+ * {@link SnapshotGeneratorFactory} when {@link SnapshotControl#getPreviousSnapshot()} is set.
+ * <p>
+ * The last DDL time of every table and view is stored in the {@link #DDL_TIMES_METADATA} snapshot metadata, so the
+ * next refresh can compare against it. Tables and views with an unchanged time are copied from the previous snapshot
+ * together with their columns, indexes, primary keys, unique constraints and foreign keys, and the copies are linked to
+ * the objects of the new snapshot. Tables with a foreign key to a changed table are read again as well. All other
+ * object types, such as sequences, are always read again. Changes that do not update the DDL time of the table, like comments
+ * set with sp_addextendedproperty on SQL Server, are not noticed.
+ * <p>
+ * Databases without per-object DDL times get a full snapshot.
+ */
+class IncrementalSnapshotGenerator {
+
+    static final String DDL_TIMES_METADATA = "lastDdlTimes";
+
+    private static final List<Class<? extends DatabaseObject>> RELATION_TYPES = Arrays.asList(
+            Table.class, View.class, Column.class, Index.class, PrimaryKey.class, UniqueConstraint.class, ForeignKey.class);
+
+    DatabaseSnapshot createSnapshot(Schema[] schemas, Database database, SnapshotControl snapshotControl)
+            throws DatabaseException, InvalidExampleException {
+        SnapshotGeneratorFactory factory = SnapshotGeneratorFactory.getInstance();
+        SnapshotControl fullControl = new SnapshotControl(snapshotControl);
+
+        Map<String, String> ddlTimes = readDdlTimes(database, schemas);
+        Map<String, String> previousDdlTimes = getPreviousDdlTimes(snapshotControl.getPreviousSnapshot());
+        if ((ddlTimes == null) || (previousDdlTimes == null)) {
+            Scope.getCurrentScope().getLog(getClass()).info("Cannot refresh the previous snapshot incrementally, creating a full snapshot");
+            DatabaseSnapshot snapshot = factory.createSnapshot(schemas, database, fullControl);
+            if (ddlTimes != null) {
+                snapshot.getMetadata().put(DDL_TIMES_METADATA, ddlTimes);
+            }
+            return snapshot;
+        }
+
+        SnapshotControl otherControl = new SnapshotControl(snapshotControl);
+        otherControl.getTypesToInclude().removeAll(RELATION_TYPES);
+        DatabaseSnapshot snapshot = factory.createSnapshot(schemas, database, otherControl);
+
+        List<DatabaseObject> changed = new ArrayList<>();
+        int changedCount = 0;
+        Set<Relation> unchanged = new HashSet<>();
+        Set<String> unchangedKeys = new HashSet<>();
+        for (Class<? extends Relation> type : Arrays.asList(Table.class, View.class)) {
+            if (!snapshotControl.shouldInclude(type)) {
+                continue;
+            }
+            for (Relation relation : snapshotControl.getPreviousSnapshot().get(type)) {
+                String key = getKey(database, relation.getSchema(), relation.getName());
+                if (ddlTimes.containsKey(key) && ddlTimes.get(key).equals(previousDdlTimes.get(key))) {
+                    unchanged.add(relation);
+                    unchangedKeys.add(key);
+                }
+            }
+        }
+        removeReferencingRelations(snapshotControl.getPreviousSnapshot(), database, unchanged, unchangedKeys);
+        for (Schema schema : schemas) {
+            String prefix = getKey(database, schema, "");
+            for (Map.Entry<String, String> entry : ddlTimes.entrySet()) {
+                if (entry.getKey().startsWith(prefix) && !unchangedKeys.contains(entry.getKey())) {
+                    // the query does not tell tables and views apart, the one that does not exist is skipped
+                    String name = entry.getKey().substring(prefix.length());
+                    changedCount++;
+                    if (snapshotControl.shouldInclude(Table.class)) {
+                        changed.add(new Table().setName(name).setSchema(schema));
+                    }
+                    if (snapshotControl.shouldInclude(View.class)) {
+                        changed.add(new View().setName(name).setSchema(schema));
+                    }
+                }
+            }
+        }
+        Scope.getCurrentScope().getLog(getClass()).info("Refreshing snapshot: " + changedCount
+                + " changed tables and views, " + unchanged.size() + " unchanged");
+
+        List<DatabaseObject> changedObjects = new ArrayList<>();
+        if (!changed.isEmpty()) {
+            SnapshotControl changedControl = new SnapshotControl(snapshotControl);
+            changedControl.getTypesToInclude().retainAll(RELATION_TYPES);
+            changedControl.setWarnIfObjectNotFound(false);
+            DatabaseSnapshot changedSnapshot = factory.createSnapshot(changed.toArray(new DatabaseObject[0]), database, changedControl);
+            for (Class<? extends DatabaseObject> type : RELATION_TYPES) {
+                for (DatabaseObject object : changedSnapshot.get(type)) {
+                    changedObjects.add(object);
+                    snapshot.addObject(object);
+                }
+            }
+        }
+
+        // the previous snapshot is not changed, its objects are copied and linked to the objects of the new snapshot
+        Map<DatabaseObject, DatabaseObject> copies = new IdentityHashMap<>();
+        for (DatabaseObject object : getRelationObjects(snapshotControl.getPreviousSnapshot(), unchanged)) {
+            copies.put(object, copy(object));
+        }
+        for (Map.Entry<DatabaseObject, DatabaseObject> entry : copies.entrySet()) {
+            link(entry.getKey(), entry.getValue(), copies, snapshot);
+        }
+        for (DatabaseObject copy : copies.values()) {
+            snapshot.addObject(copy);
+        }
+        // e.g. foreign keys of changed tables that reference an unchanged table
+        for (DatabaseObject object : changedObjects) {
+            link(object, object, Collections.emptyMap(), snapshot);
+        }
+
+        for (Class<? extends Relation> type : Arrays.asList(Table.class, View.class)) {
+            for (Relation relation : snapshot.get(type)) {
+                Schema schema = snapshot.get(relation.getSchema());
+                if (schema != null) {
+                    relation.setSchema(schema);
+                    schema.addDatabaseObject(relation);
+                }
+            }
+        }
+
+        snapshot.getMetadata().put(DDL_TIMES_METADATA, ddlTimes);
+        return snapshot;
+    }
+
+    /**
+     * Removes the relations with a foreign key to a changed relation from the unchanged ones, so that they are read
+     * again together with it
+     */
+    private void removeReferencingRelations(DatabaseSnapshot previousSnapshot, Database database, Set<Relation> unchanged,
+                                            Set<String> unchangedKeys) {
+        boolean removed = true;
+        while (removed) {
+            removed = false;
+            for (ForeignKey foreignKey : previousSnapshot.get(ForeignKey.class)) {
+                Table foreignKeyTable = foreignKey.getForeignKeyTable();
+                Table primaryKeyTable = foreignKey.getPrimaryKeyTable();
+                if ((foreignKeyTable != null) && unchanged.contains(foreignKeyTable)
+                        && ((primaryKeyTable == null) || !unchanged.contains(primaryKeyTable))) {
+                    unchanged.remove(foreignKeyTable);
+                    unchangedKeys.remove(getKey(database, foreignKeyTable.getSchema(), foreignKeyTable.getName()));
+                    removed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a new object of the same type with the same attributes. References to other objects are fixed by
+     * {@link #link(DatabaseObject, DatabaseObject, Map, DatabaseSnapshot)}.
+     */
+    private DatabaseObject copy(DatabaseObject object) {
+        DatabaseObject copy;
+        try {
+            copy = object.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new UnexpectedLiquibaseException("Cannot copy " + object.getClass().getName() + " " + object.getName(), e);
+        }
+        for (String attribute : object.getAttributes()) {
+            copy.setAttribute(attribute, object.getAttribute(attribute, Object.class));
+        }
+        // fields that are kept outside of the attributes
+        copy.setName(object.getName());
+        if (object instanceof Column) {
+            ((Column) copy).setComputed(((Column) object).getComputed());
+            ((Column) copy).setDescending(((Column) object).getDescending());
+        } else if (object instanceof View) {
+            ((View) copy).setContainsFullDefinition(((View) object).getContainsFullDefinition());
+        }
+        return copy;
+    }
+
+    /**
+     * Replaces the references of the target to objects of the previous snapshot with their copies, or with the object
+     * of the new snapshot that was read again
+     */
+    private void link(DatabaseObject source, DatabaseObject target, Map<DatabaseObject, DatabaseObject> copies,
+                      DatabaseSnapshot snapshot) {
+        for (String attribute : new ArrayList<>(source.getAttributes())) {
+            Object value = source.getAttribute(attribute, Object.class);
+            if (value instanceof DatabaseObject) {
+                target.setAttribute(attribute, resolve((DatabaseObject) value, copies, snapshot));
+            } else if (value instanceof Collection) {
+                Collection<Object> resolved = (value instanceof Set) ? new LinkedHashSet<>() : new ArrayList<>();
+                for (Object item : (Collection<?>) value) {
+                    resolved.add((item instanceof DatabaseObject) ? resolve((DatabaseObject) item, copies, snapshot) : item);
+                }
+                target.setAttribute(attribute, resolved);
+            }
+        }
+    }
+
+    private DatabaseObject resolve(DatabaseObject object, Map<DatabaseObject, DatabaseObject> copies, DatabaseSnapshot snapshot) {
+        DatabaseObject copy = copies.get(object);
+        if (copy != null) {
+            return copy;
+        }
+        DatabaseObject current = snapshot.get(object);
+        return (current == null) ? object : current;
+    }
+
+    /**
+     * Returns the given relations and all objects that belong to them
+     */
+    private List<DatabaseObject> getRelationObjects(DatabaseSnapshot previousSnapshot, Set<Relation> relations) {
+        List<DatabaseObject> objects = new ArrayList<>(relations);
+        for (Class<? extends DatabaseObject> type : RELATION_TYPES) {
+            if ((type == Table.class) || (type == View.class)) {
+                continue;
+            }
+            for (DatabaseObject object : previousSnapshot.get(type)) {
+                for (String attribute : new String[]{"relation", "table", "foreignKeyTable"}) {
+                    Object owner = object.getAttribute(attribute, Object.class);
+                    if (owner instanceof Relation) {
+                        if (relations.contains(owner)) {
+                            objects.add(object);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        return objects;
+    }
+
+    private Map<String, String> getPreviousDdlTimes(DatabaseSnapshot previousSnapshot) {
+        Object previousDdlTimes = previousSnapshot.getMetadata().get(DDL_TIMES_METADATA);
+        if (!(previousDdlTimes instanceof Map)) {
+            return null;
+        }
+        Map<String, String> ddlTimes = new HashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) previousDdlTimes).entrySet()) {
+            ddlTimes.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+        }
+        return ddlTimes;
+    }
+
+    /**
+     * Returns the last DDL time of every table and view in the schemas, keyed by {@link #getKey(Database, Schema, String)}.
+     * Returns null if the database has no per-object DDL times.
+     */
+    protected Map<String, String> readDdlTimes(Database database, Schema[] schemas) throws DatabaseException {
+        Map<String, String> ddlTimes = new HashMap<>();
+        for (Schema schema : schemas) {
+            String sql = getDdlTimesSql(database, schema);
+            if (sql == null) {
+                return null;
+            }
+            List<Map<String, ?>> rows = Scope.getCurrentScope().getSingleton(ExecutorService.class)
+                    .getExecutor("jdbc", database).queryForList(new RawSqlStatement(sql));
+            for (Map<String, ?> row : rows) {
+                ddlTimes.put(getKey(database, schema, (String) row.get("OBJECT_NAME")), String.valueOf(row.get("LAST_DDL_TIME")));
+            }
+        }
+        return ddlTimes;
+    }
+
+    /**
+     * Returns a query for the OBJECT_NAME and LAST_DDL_TIME of all tables and views in the schema, or null if the
+     * database is not supported.
+     */
+    protected String getDdlTimesSql(Database database, Schema schema) {
+        String schemaName = database.escapeStringForDatabase(getSchemaName(database, schema));
+        if (database instanceof OracleDatabase) {
+            return "SELECT OBJECT_NAME, TO_CHAR(LAST_DDL_TIME, 'YYYY-MM-DD HH24:MI:SS') AS LAST_DDL_TIME FROM ALL_OBJECTS "
+                    + "WHERE OWNER = '" + schemaName + "' AND OBJECT_TYPE IN ('TABLE', 'VIEW') AND SECONDARY = 'N'";
+        }
+        if (database instanceof MSSQLDatabase) {
+            String prefix = "";
+            if (schema.getCatalogName() != null) {
+                prefix = database.escapeObjectName(schema.getCatalogName(), Catalog.class) + ".";
+            }
+            return "SELECT o.name AS OBJECT_NAME, CONVERT(VARCHAR(30), o.modify_date, 121) AS LAST_DDL_TIME FROM "
+                    + prefix + "sys.objects o JOIN " + prefix + "sys.schemas s ON o.schema_id = s.schema_id "
+                    + "WHERE s.name = N'" + schemaName + "' AND o.type IN ('U', 'V')";
+        }
+        return null;
+    }
+
+    protected String getKey(Database database, Schema schema, String objectName) {
+        return getSchemaName(database, schema) + "." + objectName;
+    }
+
+    private String getSchemaName(Database database, Schema schema) {
+        if ((schema == null) || (schema.getName() == null)) {
+            return database.getDefaultSchemaName();
+        }
+        return schema.getName();
+    }
+}
@@ -375,7 +375,10 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
             @Override
             boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
-                return !(tableName.equalsIgnoreCase(database.getDatabaseChangeLogTableName()) || tableName.equalsIgnoreCase(database.getDatabaseChangeLogLockTableName()));
+                if (tableName.equalsIgnoreCase(database.getDatabaseChangeLogTableName()) || tableName.equalsIgnoreCase(database.getDatabaseChangeLogLockTableName())) {
+                    return false;
+                }
+                return super.shouldBulkSelect(schemaKey, resultSetCache);
             }
 
             @Override
@@ -910,7 +913,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                         tableName.equalsIgnoreCase(database.getDatabaseChangeLogLockTableName())) {
                     return false;
                 }
-                return true;
+                return super.shouldBulkSelect(schemaKey, resultSetCache);
             }
 
             @Override
@@ -974,9 +977,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                         }
                     }).extractData(resultSet);
 
-                    for (Map row : result) {
-                        cachedRowList.add(new CachedRow(row));
-                    }
+                    cachedRowList.addAll(new CachedRowMapper().toCachedRows(result));
                 } finally {
                     JdbcUtil.closeResultSet(resultSet);
                 }
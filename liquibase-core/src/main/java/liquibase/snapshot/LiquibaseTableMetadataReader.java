@@ -0,0 +1,114 @@
+package liquibase.snapshot;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.AbstractJdbcDatabase;
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.structure.core.Catalog;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.DataType;
+import liquibase.structure.core.Schema;
+import liquibase.structure.core.Table;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads the columns of the DATABASECHANGELOG and DATABASECHANGELOGLOCK tables with a single catalog query instead of a
+ * full snapshot. Databases with an information_schema query information_schema.columns, others use
+ * {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)}.
+ * <p>
+ * The returned tables only contain the column names, types and sizes that
+ * {@link liquibase.changelog.StandardChangeLogHistoryService} and {@link liquibase.lockservice.StandardLockService} check.
+ */
+public class LiquibaseTableMetadataReader {
+
+    /**
+     * Returns true if the database has a live JDBC connection to query
+     */
+    public boolean supports(Database database) {
+        return (database instanceof AbstractJdbcDatabase) && (database.getConnection() instanceof JdbcConnection);
+    }
+
+    /**
+     * Returns the table in the liquibase catalog and schema with its columns, or null if it does not exist
+     */
+    public Table read(Database database, String tableName) throws DatabaseException {
+        CatalogAndSchema schema = new CatalogAndSchema(database.getLiquibaseCatalogName(),
+                database.getLiquibaseSchemaName()).customize(database);
+        String correctedTableName = database.correctObjectName(tableName, Table.class);
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+
+        Table table = (Table) new Table().setName(correctedTableName).setSchema(new Schema(schema.getCatalogName(), schema.getSchemaName()));
+        try {
+            String sql = getInformationSchemaQuery(database, schema);
+            if (sql == null) {
+                AbstractJdbcDatabase jdbcDatabase = (AbstractJdbcDatabase) database;
+                try (ResultSet rs = connection.getMetaData().getColumns(jdbcDatabase.getJdbcCatalogName(schema),
+                        jdbcDatabase.getJdbcSchemaName(schema), correctedTableName, null)) {
+                    readColumns(table, rs);
+                }
+            } else {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, database instanceof MySQLDatabase ? schema.getCatalogName() : schema.getSchemaName());
+                    statement.setString(2, correctedTableName);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        readColumns(table, rs);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+
+        if (table.getColumns().isEmpty()) {
+            return null;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the query of information_schema.columns for the database, or null to use the JDBC metadata. The query
+     * returns the COLUMN_NAME, TYPE_NAME and COLUMN_SIZE of the columns with the given schema and table name.
+     */
+    protected String getInformationSchemaQuery(Database database, CatalogAndSchema schema) {
+        if (database instanceof PostgresDatabase) {
+            return "SELECT column_name AS COLUMN_NAME, udt_name AS TYPE_NAME, character_maximum_length AS COLUMN_SIZE "
+                    + "FROM information_schema.columns WHERE table_schema = ? AND table_name = ?";
+        }
+        if (database instanceof MySQLDatabase) {
+            return "SELECT COLUMN_NAME, DATA_TYPE AS TYPE_NAME, CHARACTER_MAXIMUM_LENGTH AS COLUMN_SIZE "
+                    + "FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+        }
+        if (database instanceof MSSQLDatabase) {
+            String view = "INFORMATION_SCHEMA.COLUMNS";
+            if (schema.getCatalogName() != null) {
+                view = database.escapeObjectName(schema.getCatalogName(), Catalog.class) + "." + view;
+            }
+            return "SELECT COLUMN_NAME, DATA_TYPE AS TYPE_NAME, CHARACTER_MAXIMUM_LENGTH AS COLUMN_SIZE "
+                    + "FROM " + view + " WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+        }
+        return null;
+    }
+
+    private void readColumns(Table table, ResultSet rs) throws SQLException {
+        while (rs.next()) {
+            DataType type = new DataType(rs.getString("TYPE_NAME"));
+            long columnSize = rs.getLong("COLUMN_SIZE");
+            if (!rs.wasNull()) {
+                // MSSQL reports -1 for varchar(max) and nvarchar(max)
+                type.setColumnSize(((columnSize < 0) || (columnSize > Integer.MAX_VALUE)) ? Integer.MAX_VALUE : (int) columnSize);
+            }
+            Column column = new Column(rs.getString("COLUMN_NAME"));
+            column.setRelation(table);
+            column.setType(type);
+            table.addColumn(column);
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package liquibase.snapshot;
 
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
 import liquibase.database.Database;
 import liquibase.database.core.InformixDatabase;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
-import liquibase.executor.jvm.ColumnMapRowMapper;
 import liquibase.executor.jvm.RowMapperResultSetExtractor;
 import liquibase.util.JdbcUtil;
 import liquibase.util.StringUtil;
@@ -15,95 +15,216 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the rows of metadata queries during a snapshot. The {@link SnapshotFetchStrategy} of the snapshot decides
+ * whether the rows of the requested object or all rows of its schema are fetched. Once all rows of a schema were
+ * fetched, later requests are answered from the cache.
+ * <p>
+ * The cache can be used from several threads. Lookups of cached rows do not lock, fetches are done one at a time.
+ * If {@link GlobalConfiguration#SNAPSHOT_CACHE_MAX_ROWS} is set, the rows of the least recently used schemas are
+ * evicted once the cache holds more rows, and are fetched again when needed.
+ */
+public class ResultSetCache {
+    private final Map<String, Integer> timesSingleQueried = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> didBulkQuery = new ConcurrentHashMap<>();
+    private volatile boolean bulkTracking = true;
+    private boolean didBulkQueryAllSchemas;
+    private final Set<String> evictedSchemas = new HashSet<>();
+
+    private final Map<String, SchemaCache> cacheBySchema = new ConcurrentHashMap<>();
+    private final int maxRows;
+    private int cachedRows;
+
+    private final AtomicLong accessCounter = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bulkFetches = new AtomicLong();
+    private final AtomicLong singleFetches = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong bulkFetchNanos = new AtomicLong();
+    private final AtomicLong singleFetchNanos = new AtomicLong();
+
+    private final DatabaseSnapshot snapshot;
+
+    private final Map<String, Object> info = new ConcurrentHashMap<>();
+
+    ResultSetCache() {
+        this((DatabaseSnapshot) null);
+    }
 
-class ResultSetCache {
-    private Map<String, Integer> timesSingleQueried = new HashMap<>();
-    private Map<String, Boolean> didBulkQuery = new HashMap<>();
-    private boolean bulkTracking = true;
+    /**
+     * @param snapshot the snapshot whose {@link SnapshotControl#getFetchStrategy()} is used, null to use
+     *                 {@link StandardSnapshotFetchStrategy#DEFAULT_SINGLE_FETCH_THRESHOLD} only
+     */
+    ResultSetCache(DatabaseSnapshot snapshot) {
+        this(snapshot, GlobalConfiguration.SNAPSHOT_CACHE_MAX_ROWS.getCurrentValue());
+    }
 
-    private Map<String, Map<String, List<CachedRow>>> cacheBySchema = new HashMap<>();
+    /**
+     * @param maxRows number of rows to keep before evicting schemas, 0 or less to keep all rows
+     */
+    ResultSetCache(Integer maxRows) {
+        this(null, maxRows);
+    }
 
-    private Map<String, Object> info = new HashMap<>();
+    ResultSetCache(DatabaseSnapshot snapshot, Integer maxRows) {
+        this.snapshot = snapshot;
+        this.maxRows = ((maxRows == null) || (maxRows <= 0)) ? Integer.MAX_VALUE : maxRows;
+    }
 
     public List<CachedRow> get(ResultSetExtractor resultSetExtractor) throws DatabaseException {
-        try {
-            String wantedKey = resultSetExtractor.wantedKeyParameters().createParamsKey(resultSetExtractor.database);
-
-            String schemaKey = resultSetExtractor.wantedKeyParameters().createSchemaKey(resultSetExtractor.database);
+        String wantedKey = resultSetExtractor.wantedKeyParameters().createParamsKey(resultSetExtractor.database);
+        String schemaKey = resultSetExtractor.wantedKeyParameters().createSchemaKey(resultSetExtractor.database);
 
-            Map<String, List<CachedRow>> cache = cacheBySchema.get(schemaKey);
-            if (cache == null) {
-                cache = new HashMap<>();
-                cacheBySchema.put(schemaKey, cache);
-            }
+        List<CachedRow> cached = getCached(schemaKey, wantedKey);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
 
-            if (cache.containsKey(wantedKey)) {
-                return cache.get(wantedKey);
+        synchronized (this) {
+            cached = getCached(schemaKey, wantedKey);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
             }
-
-            if (didBulkQuery.containsKey(schemaKey) && didBulkQuery.get(schemaKey)) {
+            if (didBulkQuery.getOrDefault(schemaKey, false)
+                    || (didBulkQueryAllSchemas && !evictedSchemas.contains(schemaKey))) {
+                hits.incrementAndGet();
                 return new ArrayList<>();
             }
+            misses.incrementAndGet();
 
-            List<CachedRow> results;
-            boolean bulkQueried = false;
-            if (resultSetExtractor.shouldBulkSelect(schemaKey, this)) {
-
-                //remove any existing single fetches that may be duplicated
-                if (resultSetExtractor.bulkContainsSchema(schemaKey)) {
-                    for (Map cachedValue : cacheBySchema.values()) {
-                        cachedValue.clear();
-                    }
-                } else {
-                    cache.clear();
+            try {
+                if (resultSetExtractor.shouldBulkSelect(schemaKey, this)) {
+                    return bulkFetch(resultSetExtractor, schemaKey, wantedKey);
                 }
 
-                results = resultSetExtractor.bulkFetch();
-                didBulkQuery.put(schemaKey, bulkTracking);
-                bulkQueried = true;
-            } else {
                 // Don't store results in real cache to prevent confusion if later fetching all items.
-                cache = new HashMap<>();
-                Integer previousCount = timesSingleQueried.get(schemaKey);
-                if (previousCount == null) {
-                    previousCount = 0;
+                long start = System.nanoTime();
+                List<CachedRow> results = resultSetExtractor.fastFetch();
+                singleFetchNanos.addAndGet(System.nanoTime() - start);
+                singleFetches.incrementAndGet();
+                timesSingleQueried.put(schemaKey, getTimesSingleQueried(schemaKey) + 1);
+                Map<String, List<CachedRow>> cache = new HashMap<>();
+                for (CachedRow row : results) {
+                    for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
+                        cache.computeIfAbsent(rowKey, key -> new ArrayList<>()).add(row);
+                    }
                 }
-                timesSingleQueried.put(schemaKey, previousCount + 1);
-                results = resultSetExtractor.fastFetch();
+                List<CachedRow> returnList = cache.get(wantedKey);
+                return (returnList == null) ? new ArrayList<>() : returnList;
+            } catch (SQLException e) {
+                throw new DatabaseException(e);
             }
+        }
+    }
 
-            for (CachedRow row : results) {
-                for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
-                    if (bulkQueried && resultSetExtractor.bulkContainsSchema(schemaKey)) {
-                        String rowSchema = CatalogAndSchema.CatalogAndSchemaCase.ORIGINAL_CASE.
-                                equals(resultSetExtractor.database.getSchemaAndCatalogCase())?resultSetExtractor.getSchemaKey(row):
-                                resultSetExtractor.getSchemaKey(row).toLowerCase();
-                        cache = cacheBySchema.get(rowSchema);
-                        if (cache == null) {
-                            cache = new HashMap<String, List<CachedRow>>();
-                            cacheBySchema.put(rowSchema, cache);
-                        }
-                    }
-                    if (!cache.containsKey(rowKey)) {
-                        cache.put(rowKey, new ArrayList<CachedRow>());
-                    }
-                    cache.get(rowKey).add(row);
+    private List<CachedRow> getCached(String schemaKey, String wantedKey) {
+        SchemaCache cache = cacheBySchema.get(schemaKey);
+        if (cache == null) {
+            return null;
+        }
+        List<CachedRow> rows = cache.rows.get(wantedKey);
+        if (rows != null) {
+            cache.lastAccess = accessCounter.incrementAndGet();
+        }
+        return rows;
+    }
+
+    /**
+     * Fetches all rows of the schema, or of all schemas if the extractor supports it. The rows are grouped in new maps
+     * first, so lookups without the lock never see a partially filled list.
+     * <p>
+     * The first fetch of all schemas replaces the cache and marks every schema as fetched. Later fetches of all schemas
+     * are only needed for evicted schemas, so they only store the rows of the requested schema and leave the others
+     * alone.
+     */
+    private List<CachedRow> bulkFetch(ResultSetExtractor resultSetExtractor, String schemaKey, String wantedKey)
+            throws SQLException, DatabaseException {
+        boolean allSchemas = resultSetExtractor.bulkContainsSchema(schemaKey);
+        boolean refetch = allSchemas && didBulkQueryAllSchemas;
+        long start = System.nanoTime();
+        List<CachedRow> results = resultSetExtractor.bulkFetch();
+        bulkFetchNanos.addAndGet(System.nanoTime() - start);
+        bulkFetches.incrementAndGet();
+
+        Map<String, SchemaCache> fetched = new HashMap<>();
+        fetched.put(schemaKey, new SchemaCache());
+        for (CachedRow row : results) {
+            String rowSchema = schemaKey;
+            if (allSchemas) {
+                rowSchema = CatalogAndSchema.CatalogAndSchemaCase.ORIGINAL_CASE.
+                        equals(resultSetExtractor.database.getSchemaAndCatalogCase())?resultSetExtractor.getSchemaKey(row):
+                        resultSetExtractor.getSchemaKey(row).toLowerCase();
+                if (refetch && !rowSchema.equals(schemaKey)) {
+                    continue;
                 }
             }
+            SchemaCache cache = fetched.computeIfAbsent(rowSchema, key -> new SchemaCache());
+            cache.rowCount++;
+            for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
+                cache.rows.computeIfAbsent(rowKey, key -> new ArrayList<>()).add(row);
+            }
+        }
+
+        //remove any existing single fetches that may be duplicated
+        if (allSchemas && !refetch) {
+            cacheBySchema.clear();
+            cachedRows = 0;
+            didBulkQuery.clear();
+            evictedSchemas.clear();
+            didBulkQueryAllSchemas = bulkTracking;
+        } else {
+            remove(schemaKey);
+        }
+        long now = accessCounter.incrementAndGet();
+        for (Map.Entry<String, SchemaCache> entry : fetched.entrySet()) {
+            entry.getValue().lastAccess = now;
+            cachedRows += entry.getValue().rowCount;
+            cacheBySchema.put(entry.getKey(), entry.getValue());
+            didBulkQuery.put(entry.getKey(), bulkTracking);
+            evictedSchemas.remove(entry.getKey());
+        }
 
-            if (bulkQueried) {
-                cache = cacheBySchema.get(schemaKey);
+        evict(schemaKey);
+
+        List<CachedRow> returnList = fetched.get(schemaKey).rows.get(wantedKey);
+        return (returnList == null) ? new ArrayList<>() : returnList;
+    }
+
+    /**
+     * Evicts the least recently used schemas other than the given one until the cache is within its row limit.
+     * Evicted schemas are bulk fetched again on their next miss, without replacing the schemas that are still cached.
+     */
+    private void evict(String keepSchemaKey) {
+        while (cachedRows > maxRows) {
+            String oldest = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<String, SchemaCache> entry : cacheBySchema.entrySet()) {
+                if (!entry.getKey().equals(keepSchemaKey) && (entry.getValue().lastAccess < oldestAccess)) {
+                    oldest = entry.getKey();
+                    oldestAccess = entry.getValue().lastAccess;
+                }
             }
-            List<CachedRow> returnList = cache.get(wantedKey);
-            if (returnList == null) {
-                returnList = new ArrayList<>();
+            if (oldest == null) {
+                return;
             }
-            return returnList;
-
+            remove(oldest);
+            evictedSchemas.add(oldest);
+            evictions.incrementAndGet();
+        }
+    }
 
-        } catch (SQLException e) {
-            throw new DatabaseException(e);
+    private void remove(String schemaKey) {
+        SchemaCache removed = cacheBySchema.remove(schemaKey);
+        if (removed != null) {
+            cachedRows -= removed.rowCount;
         }
+        didBulkQuery.remove(schemaKey);
     }
 
     public <T> T getInfo(String key, Class<T> type) {
@@ -114,7 +235,21 @@ class ResultSetCache {
         info.put(key, value);
     }
 
-    private int getTimesSingleQueried(String schemaKey) {
+    /**
+     * Asks the {@link SnapshotFetchStrategy} of the snapshot whether all rows of the schema should be fetched.
+     */
+    boolean shouldBulkFetch(String schemaKey) {
+        SnapshotControl snapshotControl = (snapshot == null) ? null : snapshot.getSnapshotControl();
+        if ((snapshotControl == null) || (snapshotControl.getFetchStrategy() == null)) {
+            return getTimesSingleQueried(schemaKey) >= StandardSnapshotFetchStrategy.DEFAULT_SINGLE_FETCH_THRESHOLD;
+        }
+        return snapshotControl.getFetchStrategy().shouldBulkFetch(snapshot, schemaKey, this);
+    }
+
+    /**
+     * Number of times the rows of a single object of the schema were fetched
+     */
+    public int getTimesSingleQueried(String schemaKey) {
         Integer integer = timesSingleQueried.get(schemaKey);
         if (integer == null) {
             return 0;
@@ -122,6 +257,76 @@ class ResultSetCache {
         return integer;
     }
 
+    /**
+     * Number of requests answered from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Number of requests that needed a query
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Number of queries for all rows of a schema
+     */
+    public long getBulkFetches() {
+        return bulkFetches.get();
+    }
+
+    /**
+     * Number of queries for the rows of a single object
+     */
+    public long getSingleFetches() {
+        return singleFetches.get();
+    }
+
+    /**
+     * Average duration of the queries for all rows of a schema, 0 if there were none
+     */
+    public long getAverageBulkFetchNanos() {
+        long count = bulkFetches.get();
+        return (count == 0) ? 0 : (bulkFetchNanos.get() / count);
+    }
+
+    /**
+     * Average duration of the queries for the rows of a single object, 0 if there were none
+     */
+    public long getAverageSingleFetchNanos() {
+        long count = singleFetches.get();
+        return (count == 0) ? 0 : (singleFetchNanos.get() / count);
+    }
+
+    /**
+     * Number of schemas removed from the cache because of the row limit
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Number of rows currently cached
+     */
+    public synchronized int getCachedRows() {
+        return cachedRows;
+    }
+
+    @Override
+    public String toString() {
+        return getHits() + " hits, " + getMisses() + " misses, " + getBulkFetches() + " bulk fetches, "
+                + getSingleFetches() + " single fetches, " + getEvictions() + " evictions";
+    }
+
+    private static class SchemaCache {
+        private final Map<String, List<CachedRow>> rows = new HashMap<>();
+        private int rowCount;
+        private volatile long lastAccess;
+    }
+
     public static class RowData {
         private Database database;
         private String[] parameters;
@@ -168,7 +373,14 @@ class ResultSetCache {
             }
         }
 
+        /**
+         * Creates the key of the catalog and schema of this row. The catalog and schema are customized for the database
+         * first, so a null catalog or schema and the explicitly given default catalog or schema share the same key.
+         */
         public String createSchemaKey(Database database) {
+            CatalogAndSchema catalogAndSchema = new CatalogAndSchema(this.catalog, this.schema).customize(database);
+            String catalog = catalogAndSchema.getCatalogName();
+            String schema = catalogAndSchema.getSchemaName();
             if (!database.supportsCatalogs() && !database.supportsSchemas()) {
                 return "all";
             } else if (database.supportsCatalogs() && database.supportsSchemas()) {
@@ -255,7 +467,7 @@ class ResultSetCache {
         }
 
         boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
-            return resultSetCache.getTimesSingleQueried(schemaKey) >= 3;
+            return resultSetCache.shouldBulkFetch(schemaKey);
         }
 
         List<CachedRow> executeAndExtract(String sql, Database database) throws DatabaseException, SQLException {
@@ -311,10 +523,9 @@ class ResultSetCache {
         protected List<CachedRow> extract(ResultSet resultSet, final boolean informixIndexTrimHint)
                 throws SQLException {
             resultSet.setFetchSize(database.getFetchSize());
-            List<Map> result;
-            List<CachedRow> returnList = new ArrayList<>();
+            List<CachedRow> returnList;
             try {
-                result = (List<Map>) new RowMapperResultSetExtractor(new ColumnMapRowMapper() {
+                returnList = (List<CachedRow>) new RowMapperResultSetExtractor(new CachedRowMapper() {
                     @Override
                     protected Object getColumnValue(ResultSet rs, int index) throws SQLException {
                         Object value = super.getColumnValue(rs, index);
@@ -341,10 +552,6 @@ class ResultSetCache {
                         return value;
                     }
                 }).extractData(resultSet);
-
-                for (Map row : result) {
-                    returnList.add(new CachedRow(row));
-                }
             } finally {
                 JdbcUtil.closeResultSet(resultSet);
             }
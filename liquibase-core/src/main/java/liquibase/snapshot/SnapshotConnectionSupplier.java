@@ -0,0 +1,17 @@
+package liquibase.snapshot;
+
+import liquibase.database.DatabaseConnection;
+import liquibase.exception.DatabaseException;
+
+/**
+ * Opens additional connections to the database being snapshotted. Attach instances to
+ * {@link liquibase.snapshot.SnapshotControl} together with a concurrency greater than 1 to snapshot several schemas in
+ * parallel.
+ */
+public interface SnapshotConnectionSupplier {
+
+    /**
+     * Returns a new connection to the same database. The caller closes it once the snapshot is done.
+     */
+    DatabaseConnection getConnection() throws DatabaseException;
+}
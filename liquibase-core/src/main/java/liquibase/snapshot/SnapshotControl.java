@@ -22,6 +22,10 @@ public class SnapshotControl implements LiquibaseSerializable {
     private ObjectChangeFilter objectChangeFilter;
     private SnapshotListener snapshotListener;
     private boolean warnIfObjectNotFound = true;
+    private int concurrency = 1;
+    private SnapshotConnectionSupplier connectionSupplier;
+    private DatabaseSnapshot previousSnapshot;
+    private SnapshotFetchStrategy fetchStrategy = new StandardSnapshotFetchStrategy();
     
     
     /**
@@ -69,6 +73,20 @@ public class SnapshotControl implements LiquibaseSerializable {
         this.objectChangeFilter = objectChangeFilter;
     }
 
+    /**
+     * Copies the settings of the given SnapshotControl, e.g. for snapshotting a single schema on another connection.
+     */
+    SnapshotControl(SnapshotControl snapshotControl) {
+        this.types = new HashSet<>(snapshotControl.types);
+        this.objectChangeFilter = snapshotControl.objectChangeFilter;
+        this.snapshotListener = snapshotControl.snapshotListener;
+        this.warnIfObjectNotFound = snapshotControl.warnIfObjectNotFound;
+        this.concurrency = snapshotControl.concurrency;
+        this.connectionSupplier = snapshotControl.connectionSupplier;
+        this.previousSnapshot = snapshotControl.previousSnapshot;
+        this.fetchStrategy = snapshotControl.fetchStrategy;
+    }
+
     public SnapshotListener getSnapshotListener() {
         return snapshotListener;
     }
@@ -192,4 +210,64 @@ public class SnapshotControl implements LiquibaseSerializable {
         }
         return shouldInclude(example.getClass());
     }
+
+    /**
+     * Returns the maximum number of connections used to snapshot multiple schemas at the same time.
+     * @return the concurrency, 1 (default) to snapshot all schemas one after another on the database connection
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Snapshots up to the given number of schemas at the same time. The database connection handles the first schema,
+     * the {@link #getConnectionSupplier() connection supplier} opens one connection for each of the others.
+     * Without a connection supplier the schemas are still snapshotted one after another.
+     * A {@link SnapshotListener} is called from several threads in this mode.
+     * @param concurrency maximum number of connections to use, including the database connection
+     */
+    public SnapshotControl setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public SnapshotConnectionSupplier getConnectionSupplier() {
+        return connectionSupplier;
+    }
+
+    /**
+     * Sets where the additional connections for {@link #setConcurrency(int) parallel snapshots} come from.
+     */
+    public SnapshotControl setConnectionSupplier(SnapshotConnectionSupplier connectionSupplier) {
+        this.connectionSupplier = connectionSupplier;
+        return this;
+    }
+
+    public DatabaseSnapshot getPreviousSnapshot() {
+        return previousSnapshot;
+    }
+
+    /**
+     * Refreshes the given snapshot instead of reading everything again: only the tables and views whose last DDL time
+     * changed since the previous snapshot are read. The previous snapshot can be a snapshot restored from a file, as
+     * long as it was created in this mode. Only Oracle and SQL Server provide the needed DDL times, other databases
+     * always get a full snapshot.
+     */
+    public SnapshotControl setPreviousSnapshot(DatabaseSnapshot previousSnapshot) {
+        this.previousSnapshot = previousSnapshot;
+        return this;
+    }
+
+    public SnapshotFetchStrategy getFetchStrategy() {
+        return fetchStrategy;
+    }
+
+    /**
+     * Sets how the metadata is read: for each requested object or for whole schemas at once.
+     * Defaults to {@link StandardSnapshotFetchStrategy}.
+     */
+    public SnapshotControl setFetchStrategy(SnapshotFetchStrategy fetchStrategy) {
+        this.fetchStrategy = fetchStrategy;
+        return this;
+    }
 }
@@ -0,0 +1,20 @@
+package liquibase.snapshot;
+
+/**
+ * Decides whether a {@link ResultSetCache} reads the metadata of a single object or of the whole schema at once.
+ * Attach instances to {@link SnapshotControl#setFetchStrategy(SnapshotFetchStrategy)}.
+ * The default is {@link StandardSnapshotFetchStrategy}.
+ * <p>
+ * Strategies are called while the cache is locked and may be called from several threads for
+ * {@link SnapshotControl#setConcurrency(int) parallel snapshots}.
+ */
+public interface SnapshotFetchStrategy {
+
+    /**
+     * Returns true if all rows of the schema should be fetched, false to only fetch the rows of the requested object.
+     * @param snapshot the snapshot being created, with its examples and {@link SnapshotControl}
+     * @param schemaKey the schema of the requested object, as used by {@link ResultSetCache#getTimesSingleQueried(String)}
+     * @param cache the cache that is asked for the rows, with the number and duration of the previous fetches
+     */
+    boolean shouldBulkFetch(DatabaseSnapshot snapshot, String schemaKey, ResultSetCache cache);
+}
@@ -4,6 +4,7 @@ import liquibase.CatalogAndSchema;
 import liquibase.Scope;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
+import liquibase.database.DatabaseFactory;
 import liquibase.database.OfflineConnection;
 import liquibase.database.core.PostgresDatabase;
 import liquibase.diff.compare.DatabaseObjectComparatorFactory;
@@ -13,10 +14,17 @@ import liquibase.executor.ExecutorService;
 import liquibase.servicelocator.ServiceLocator;
 import liquibase.statement.core.RawSqlStatement;
 import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Catalog;
+import liquibase.structure.core.Column;
 import liquibase.structure.core.Schema;
 import liquibase.structure.core.Table;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class SnapshotGeneratorFactory {
 
@@ -24,6 +32,14 @@ public class SnapshotGeneratorFactory {
 
     private List<SnapshotGenerator> generators = new ArrayList<>();
 
+    private final LiquibaseTableMetadataReader liquibaseTableReader = new LiquibaseTableMetadataReader();
+
+    /**
+     * DATABASECHANGELOG and DATABASECHANGELOGLOCK tables found per database, by table name.
+     * Only existing tables are cached, so tables created by other processes are still found.
+     */
+    private final Map<Database, Map<String, Table>> liquibaseTables = Collections.synchronizedMap(new WeakHashMap<>());
+
     protected SnapshotGeneratorFactory() {
         try {
             for (SnapshotGenerator generator : Scope.getCurrentScope().getServiceLocator().findInstances(SnapshotGenerator.class)) {
@@ -107,7 +123,10 @@ public class SnapshotGeneratorFactory {
          */
         // @todo Actually, there may be extreme cases (distorted table statistics etc.) where a COUNT(*) might not be so cheap. Maybe SELECT a dummy constant is the better way?
         if ((example instanceof Table) && (example.getName().equals(database.getDatabaseChangeLogTableName()) ||
-            example.getName().equals(database.getDatabaseChangeLogLockTableName()))) {
+            example.getName().equals(database.getDatabaseChangeLogLockTableName())) && isInLiquibaseSchema(example, database)) {
+            if (liquibaseTableReader.supports(database)) {
+                return getLiquibaseTable(database, example.getName()) != null;
+            }
             try {
                 Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).queryForInt(
                         new RawSqlStatement("SELECT COUNT(*) FROM " +
@@ -158,6 +177,9 @@ public class SnapshotGeneratorFactory {
     /**
      * Creates a database snapshot for a given array of catalog/schema combinations.
      *
+     * If the snapshotControl has a {@link SnapshotControl#getPreviousSnapshot() previous snapshot}, only the tables
+     * and views that changed since then are read again.
+     *
      * @param examples        an array of CatalogAndSchema objects
      * @param database        the database to work on
      * @param snapshotControl the options/settings for snapshot generation
@@ -185,11 +207,18 @@ public class SnapshotGeneratorFactory {
 
         }
 
+        if ((snapshotControl != null) && (snapshotControl.getPreviousSnapshot() != null)
+                && !(database.getConnection() instanceof OfflineConnection) && (database.getConnection() != null)) {
+            return new IncrementalSnapshotGenerator().createSnapshot(schemas, database, snapshotControl);
+        }
         return createSnapshot(schemas, database, snapshotControl);
     }
 
     /**
-     * Creates a database snapshot for a given array of DatabaseObjects
+     * Creates a database snapshot for a given array of DatabaseObjects.
+     * If all examples are schemas and the snapshotControl has a {@link SnapshotControl#getConcurrency() concurrency}
+     * above 1 and a {@link SnapshotControl#getConnectionSupplier() connection supplier}, the schemas are snapshotted in
+     * parallel and merged into one snapshot.
      *
      * @param examples        an array of DatabaseObjects objects
      * @param database        the database to work on
@@ -212,9 +241,84 @@ public class SnapshotGeneratorFactory {
             }
             return snapshot;
         }
+        if (shouldSnapshotInParallel(examples, snapshotControl)) {
+            return createParallelSnapshot(examples, database, snapshotControl);
+        }
         return new JdbcDatabaseSnapshot(examples, database, snapshotControl);
     }
 
+    private boolean shouldSnapshotInParallel(DatabaseObject[] examples, SnapshotControl snapshotControl) {
+        if ((snapshotControl == null) || (snapshotControl.getConcurrency() <= 1)
+                || (snapshotControl.getConnectionSupplier() == null) || (examples == null) || (examples.length <= 1)) {
+            return false;
+        }
+        for (DatabaseObject example : examples) {
+            if (!(example instanceof Schema)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Snapshots each schema on its own connection and merges the results into the snapshot of the first schema,
+     * which is taken on the database connection.
+     */
+    private DatabaseSnapshot createParallelSnapshot(DatabaseObject[] examples, Database database,
+                                                    SnapshotControl snapshotControl)
+            throws DatabaseException, InvalidExampleException {
+        List<Callable<DatabaseSnapshot>> tasks = new ArrayList<>(examples.length);
+        tasks.add(() -> new JdbcDatabaseSnapshot(new DatabaseObject[]{examples[0]}, database, snapshotControl));
+        for (int i = 1; i < examples.length; i++) {
+            DatabaseObject[] schemaExample = new DatabaseObject[]{examples[i]};
+            SnapshotControl schemaControl = new SnapshotControl(snapshotControl);
+            tasks.add(() -> {
+                Database schemaDatabase = openDatabase(database, snapshotControl.getConnectionSupplier());
+                try {
+                    return new JdbcDatabaseSnapshot(schemaExample, schemaDatabase, schemaControl);
+                } finally {
+                    schemaDatabase.close();
+                }
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(snapshotControl.getConcurrency(), tasks.size()));
+        try {
+            DatabaseSnapshot snapshot = null;
+            for (Future<DatabaseSnapshot> result : pool.invokeAll(tasks)) {
+                if (snapshot == null) {
+                    snapshot = result.get();
+                } else {
+                    snapshot.merge(result.get());
+                }
+            }
+            return snapshot;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DatabaseException) {
+                throw (DatabaseException) e.getCause();
+            }
+            if (e.getCause() instanceof InvalidExampleException) {
+                throw (InvalidExampleException) e.getCause();
+            }
+            throw new UnexpectedLiquibaseException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Database openDatabase(Database database, SnapshotConnectionSupplier connectionSupplier) throws DatabaseException {
+        Database schemaDatabase = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connectionSupplier.getConnection());
+        schemaDatabase.setDefaultCatalogName(database.getDefaultCatalogName());
+        schemaDatabase.setDefaultSchemaName(database.getDefaultSchemaName());
+        schemaDatabase.setOutputDefaultCatalog(database.getOutputDefaultCatalog());
+        schemaDatabase.setOutputDefaultSchema(database.getOutputDefaultSchema());
+        schemaDatabase.setObjectQuotingStrategy(database.getObjectQuotingStrategy());
+        return schemaDatabase;
+    }
+
     /**
      * Creates a DatabaseSnapshot for a single DatabaseObject.
      * @param example the object to snapshot
@@ -246,6 +350,9 @@ public class SnapshotGeneratorFactory {
     }
 
     public Table getDatabaseChangeLogTable(SnapshotControl snapshotControl, Database database) throws DatabaseException {
+        if (liquibaseTableReader.supports(database) && includesOnlyTablesAndColumns(snapshotControl)) {
+            return getLiquibaseTable(database, database.getDatabaseChangeLogTableName());
+        }
         try {
             Table liquibaseTable = (Table) new Table().setName(database.getDatabaseChangeLogTableName()).setSchema(
                     new Schema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName()));
@@ -266,6 +373,9 @@ public class SnapshotGeneratorFactory {
     }
 
     public boolean hasDatabaseChangeLogTable(Database database) throws DatabaseException {
+        if (liquibaseTableReader.supports(database)) {
+            return getLiquibaseTable(database, database.getDatabaseChangeLogTableName()) != null;
+        }
         try {
             return has(new Table().setName(database.getDatabaseChangeLogTableName()).setSchema(new Schema(
                     database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName())), database);
@@ -275,6 +385,9 @@ public class SnapshotGeneratorFactory {
     }
 
     public boolean hasDatabaseChangeLogLockTable(Database database) throws DatabaseException {
+        if (liquibaseTableReader.supports(database)) {
+            return getLiquibaseTable(database, database.getDatabaseChangeLogLockTableName()) != null;
+        }
         try {
             return has(new Table().setName(database.getDatabaseChangeLogLockTableName()).setSchema(
                     new Schema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName())), database);
@@ -283,6 +396,52 @@ public class SnapshotGeneratorFactory {
         }
     }
 
+    /**
+     * Removes the cached DATABASECHANGELOG and DATABASECHANGELOGLOCK tables of the database. Call after creating,
+     * altering or dropping them.
+     */
+    public void resetLiquibaseTables(Database database) {
+        liquibaseTables.remove(database);
+    }
+
+    /**
+     * Returns the given liquibase table with its columns read by {@link LiquibaseTableMetadataReader}, or null if it
+     * does not exist. Existing tables are cached for the lifetime of the database object.
+     */
+    protected Table getLiquibaseTable(Database database, String tableName) throws DatabaseException {
+        Map<String, Table> tables = liquibaseTables.computeIfAbsent(database, key -> new ConcurrentHashMap<>());
+        String key = database.getLiquibaseCatalogName() + "." + database.getLiquibaseSchemaName() + "." + tableName;
+        Table table = tables.get(key);
+        if (table == null) {
+            table = liquibaseTableReader.read(database, tableName);
+            if (table != null) {
+                tables.put(key, table);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns true if the example has no schema or a schema that resolves to the liquibase catalog and schema
+     */
+    private boolean isInLiquibaseSchema(DatabaseObject example, Database database) {
+        Schema schema = example.getSchema();
+        CatalogAndSchema exampleSchema = (schema == null) ? new CatalogAndSchema(null, null)
+                : new CatalogAndSchema(schema.getCatalogName(), schema.getName());
+        return new CatalogAndSchema(database.getLiquibaseCatalogName(), database.getLiquibaseSchemaName())
+                .equals(exampleSchema, database);
+    }
+
+    private boolean includesOnlyTablesAndColumns(SnapshotControl snapshotControl) {
+        for (Class<? extends DatabaseObject> type : snapshotControl.getTypesToInclude()) {
+            if (!type.equals(Table.class) && !type.equals(Column.class) && !type.equals(Schema.class)
+                    && !type.equals(Catalog.class)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public Set<Class<? extends DatabaseObject>> getContainerTypes(Class<? extends DatabaseObject> type,
                                                                   Database database) {
         Set<Class<? extends DatabaseObject>>  returnSet = new HashSet<>();
@@ -0,0 +1,60 @@
+package liquibase.snapshot;
+
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Catalog;
+import liquibase.structure.core.Schema;
+
+/**
+ * Default {@link SnapshotFetchStrategy}.
+ * <ul>
+ *     <li>Snapshots of whole schemas or catalogs need the rows of every object, so they fetch all rows right away.</li>
+ *     <li>Snapshots of more objects than the single fetch threshold, such as the tables of a diff, fetch all rows
+ *     right away as well.</li>
+ *     <li>Snapshots of a few objects, such as the ones of preconditions, fetch the rows of each object until the
+ *     threshold is reached. Once both kinds of fetches were timed, all rows are fetched as soon as the time spent on
+ *     single fetches of the schema is at least the time of a bulk fetch.</li>
+ * </ul>
+ */
+public class StandardSnapshotFetchStrategy implements SnapshotFetchStrategy {
+
+    public static final int DEFAULT_SINGLE_FETCH_THRESHOLD = 3;
+
+    private final int singleFetchThreshold;
+
+    public StandardSnapshotFetchStrategy() {
+        this(DEFAULT_SINGLE_FETCH_THRESHOLD);
+    }
+
+    /**
+     * @param singleFetchThreshold number of single fetches of a schema before all its rows are fetched
+     */
+    public StandardSnapshotFetchStrategy(int singleFetchThreshold) {
+        this.singleFetchThreshold = singleFetchThreshold;
+    }
+
+    @Override
+    public boolean shouldBulkFetch(DatabaseSnapshot snapshot, String schemaKey, ResultSetCache cache) {
+        DatabaseObject[] examples = snapshot.getOriginalExamples();
+        if (isContainerSnapshot(examples) || (examples.length > singleFetchThreshold)) {
+            return true;
+        }
+
+        int timesSingleQueried = cache.getTimesSingleQueried(schemaKey);
+        if ((cache.getBulkFetches() > 0) && (cache.getSingleFetches() > 0)) {
+            return (timesSingleQueried * cache.getAverageSingleFetchNanos()) >= cache.getAverageBulkFetchNanos();
+        }
+        return timesSingleQueried >= singleFetchThreshold;
+    }
+
+    private boolean isContainerSnapshot(DatabaseObject[] examples) {
+        if (examples.length == 0) {
+            return false;
+        }
+        for (DatabaseObject example : examples) {
+            if (!(example instanceof Schema) && !(example instanceof Catalog)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
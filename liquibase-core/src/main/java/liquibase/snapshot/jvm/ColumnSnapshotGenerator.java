@@ -14,6 +14,7 @@ import liquibase.logging.Logger;
 import liquibase.snapshot.CachedRow;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.JdbcDatabaseSnapshot;
+import liquibase.snapshot.ResultSetCache;
 import liquibase.statement.DatabaseFunction;
 import liquibase.statement.core.RawSqlStatement;
 import liquibase.structure.DatabaseObject;
@@ -40,6 +41,12 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
     private Pattern postgresNumberValuePattern = Pattern.compile("\\(?(\\d*)\\)?::[\\w .]+");
 
 
+    /**
+     * Snapshot passed to {@link #readColumn(CachedRow, Relation, Database, DatabaseSnapshot)}, for the
+     * {@link #readColumn(CachedRow, Relation, Database)} call it makes on the same thread.
+     */
+    private static final ThreadLocal<DatabaseSnapshot> READING_SNAPSHOT = new ThreadLocal<>();
+
     public ColumnSnapshotGenerator() {
         super(Column.class, new Class[]{Table.class, View.class});
     }
@@ -77,7 +84,7 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
 
             if (!metaDataColumns.isEmpty()) {
                 CachedRow data = metaDataColumns.get(0);
-                column = readColumn(data, relation, database);
+                column = readColumn(data, relation, database, snapshot);
                 setAutoIncrementDetails(column, database, snapshot);
 
                 populateValidateNullableIfNeeded(column, metaDataNotNullConst, database);
@@ -198,7 +205,7 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
 
                 // Iterate through all (repaired) rows and add the columns to our result.
                 for (CachedRow row : allColumnsMetadataRs) {
-                    Column column = readColumn(row, relation, database);
+                    Column column = readColumn(row, relation, database, snapshot);
                     setAutoIncrementDetails(column, database, snapshot);
                     populateValidateNullableIfNeeded(column, metaDataNotNullConst, database);
                     column.setAttribute(LIQUIBASE_COMPLETE, !column.isNullable());
@@ -256,8 +263,29 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
         }
     }
 
+    /**
+     * Reads the column with {@link #readColumn(CachedRow, Relation, Database)}, so subclasses overriding that method
+     * still take effect. The auto-increment lookups of drivers that do not report IS_AUTOINCREMENT are cached in the
+     * snapshot while it runs.
+     */
+    protected Column readColumn(CachedRow columnMetadataResultSet, Relation table, Database database,
+                                DatabaseSnapshot snapshot) throws SQLException, DatabaseException {
+        DatabaseSnapshot previousSnapshot = READING_SNAPSHOT.get();
+        READING_SNAPSHOT.set(snapshot);
+        try {
+            return readColumn(columnMetadataResultSet, table, database);
+        } finally {
+            if (previousSnapshot == null) {
+                READING_SNAPSHOT.remove();
+            } else {
+                READING_SNAPSHOT.set(previousSnapshot);
+            }
+        }
+    }
+
     protected Column readColumn(CachedRow columnMetadataResultSet, Relation table, Database database)
             throws SQLException, DatabaseException {
+        DatabaseSnapshot snapshot = READING_SNAPSHOT.get();
         String rawTableName = (String) columnMetadataResultSet.get("TABLE_NAME");
         String rawColumnName = (String) columnMetadataResultSet.get("COLUMN_NAME");
         String rawSchemaName = StringUtil.trimToNull((String) columnMetadataResultSet.get("TABLE_SCHEM"));
@@ -347,42 +375,11 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
                             throw new UnexpectedLiquibaseException("Unknown is_autoincrement value: '" + isAutoincrement + "'");
                         }
                     } else {
-                        //probably older version of java, need to select from the column to find out if it is auto-increment
-                        String selectStatement;
-                        if (database.getDatabaseProductName().startsWith("DB2 UDB for AS/400")) {
-                            selectStatement = "select " + database.escapeColumnName(rawCatalogName, rawSchemaName, rawTableName, rawColumnName) + " from " + rawSchemaName + "." + rawTableName + " where 0=1";
-                            Scope.getCurrentScope().getLog(getClass()).fine("rawCatalogName : <" + rawCatalogName + ">");
-                            Scope.getCurrentScope().getLog(getClass()).fine("rawSchemaName : <" + rawSchemaName + ">");
-                            Scope.getCurrentScope().getLog(getClass()).fine("rawTableName : <" + rawTableName + ">");
-                            Scope.getCurrentScope().getLog(getClass()).fine("raw selectStatement : <" + selectStatement + ">");
-
-
+                        //probably older version of java, need to select from the table to find out if it is auto-increment
+                        if ((rawColumnName != null) && getAutoIncrementColumns(database, snapshot, rawCatalogName, rawSchemaName, rawTableName).contains(rawColumnName.trim())) {
+                            column.setAutoIncrementInformation(new Column.AutoIncrementInformation());
                         } else {
-                            selectStatement = "select " + database.escapeColumnName(rawCatalogName, rawSchemaName, rawTableName, rawColumnName) + " from " + database.escapeTableName(rawCatalogName, rawSchemaName, rawTableName) + " where 0=1";
-                        }
-                        Scope.getCurrentScope().getLog(getClass()).fine("Checking " + rawTableName + "." + rawCatalogName + " for auto-increment with SQL: '" + selectStatement + "'");
-                        Connection underlyingConnection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
-                        Statement statement = null;
-                        ResultSet columnSelectRS = null;
-
-                        try {
-                            statement = underlyingConnection.createStatement();
-                            columnSelectRS = statement.executeQuery(selectStatement);
-                            if (columnSelectRS.getMetaData().isAutoIncrement(1)) {
-                                column.setAutoIncrementInformation(new Column.AutoIncrementInformation());
-                            } else {
-                                column.setAutoIncrementInformation(null);
-                            }
-                        } finally {
-                            try {
-                                if (statement != null) {
-                                    statement.close();
-                                }
-                            } catch (SQLException ignore) {
-                            }
-                            if (columnSelectRS != null) {
-                                columnSelectRS.close();
-                            }
+                            column.setAutoIncrementInformation(null);
                         }
                     }
                 }
@@ -406,6 +403,68 @@ public class ColumnSnapshotGenerator extends JdbcSnapshotGenerator {
         return column;
     }
 
+    /**
+     * Returns the names of the auto-increment columns of the table, for drivers that do not report IS_AUTOINCREMENT.
+     * Reads the metadata of all columns with a single query that returns no rows, and caches the result in the
+     * snapshot so each table is only queried once. The returned set compares names case-insensitively, because the
+     * result set metadata does not always use the case of getColumns().
+     */
+    protected Set<String> getAutoIncrementColumns(Database database, DatabaseSnapshot snapshot, String rawCatalogName,
+                                                  String rawSchemaName, String rawTableName) throws SQLException, DatabaseException {
+        if (snapshot == null) {
+            return readAutoIncrementColumns(database, rawCatalogName, rawSchemaName, rawTableName);
+        }
+        ResultSetCache cache = snapshot.getResultSetCache("getAutoIncrementColumns");
+        String key = rawCatalogName + "." + rawSchemaName + "." + rawTableName;
+        Set<String> autoIncrementColumns = cache.getInfo(key, Set.class);
+        if (autoIncrementColumns == null) {
+            autoIncrementColumns = readAutoIncrementColumns(database, rawCatalogName, rawSchemaName, rawTableName);
+            cache.putInfo(key, autoIncrementColumns);
+        }
+        return autoIncrementColumns;
+    }
+
+    private Set<String> readAutoIncrementColumns(Database database, String rawCatalogName, String rawSchemaName,
+                                                 String rawTableName) throws SQLException, DatabaseException {
+        String selectStatement;
+        if (database.getDatabaseProductName().startsWith("DB2 UDB for AS/400")) {
+            selectStatement = "select * from " + rawSchemaName + "." + rawTableName + " where 0=1";
+            Scope.getCurrentScope().getLog(getClass()).fine("rawCatalogName : <" + rawCatalogName + ">");
+            Scope.getCurrentScope().getLog(getClass()).fine("rawSchemaName : <" + rawSchemaName + ">");
+            Scope.getCurrentScope().getLog(getClass()).fine("rawTableName : <" + rawTableName + ">");
+            Scope.getCurrentScope().getLog(getClass()).fine("raw selectStatement : <" + selectStatement + ">");
+        } else {
+            selectStatement = "select * from " + database.escapeTableName(rawCatalogName, rawSchemaName, rawTableName) + " where 0=1";
+        }
+        Scope.getCurrentScope().getLog(getClass()).fine("Checking " + rawTableName + "." + rawCatalogName + " for auto-increment columns with SQL: '" + selectStatement + "'");
+        Connection underlyingConnection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        Statement statement = null;
+        ResultSet columnSelectRS = null;
+
+        try {
+            statement = underlyingConnection.createStatement();
+            columnSelectRS = statement.executeQuery(selectStatement);
+            ResultSetMetaData metaData = columnSelectRS.getMetaData();
+            Set<String> autoIncrementColumns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                if (metaData.isAutoIncrement(i)) {
+                    autoIncrementColumns.add(metaData.getColumnName(i).trim());
+                }
+            }
+            return autoIncrementColumns;
+        } finally {
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+            } catch (SQLException ignore) {
+            }
+            if (columnSelectRS != null) {
+                columnSelectRS.close();
+            }
+        }
+    }
+
     /**
      * Processes metadata of a column, e.g. name, type and default value. We start with the result of the JDBC
      * {@link DatabaseMetaData}.getColumns() method. Depending on Database, additional columns might be present.
@@ -3,6 +3,7 @@ package liquibase.sql.visitor;
 import liquibase.ContextExpression;
 import liquibase.Labels;
 import liquibase.change.CheckSum;
+import liquibase.changelog.ChangeSet;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParsedNodeException;
 import liquibase.resource.ResourceAccessor;
@@ -19,6 +20,28 @@ public abstract class AbstractSqlVisitor implements SqlVisitor {
     private boolean applyToRollback;
     private ContextExpression contexts;
     private Labels labels;
+    private ChangeSet changeSet;
+
+    /**
+     * Returns the changeSet this visitor was added to, or null if it has not been added to one.
+     */
+    public ChangeSet getChangeSet() {
+        return changeSet;
+    }
+
+    public void setChangeSet(ChangeSet changeSet) {
+        this.changeSet = changeSet;
+    }
+
+    /**
+     * Clears the checksum cached by the {@link ChangeSet} of this visitor. Called by the setters of the visitor
+     * properties.
+     */
+    protected void clearCheckSum() {
+        if (changeSet != null) {
+            changeSet.clearCheckSum();
+        }
+    }
 
     @Override
     public Set<String> getApplicableDbms() {
@@ -27,6 +50,7 @@ public abstract class AbstractSqlVisitor implements SqlVisitor {
 
     @Override
     public void setApplicableDbms(Set<String> applicableDbms) {
+        clearCheckSum();
         this.applicableDbms = applicableDbms;
     }
 
@@ -37,6 +61,7 @@ public abstract class AbstractSqlVisitor implements SqlVisitor {
 
     @Override
     public void setApplyToRollback(boolean applyToRollback) {
+        clearCheckSum();
         this.applyToRollback = applyToRollback;
     }
 
@@ -47,6 +72,7 @@ public abstract class AbstractSqlVisitor implements SqlVisitor {
 
     @Override
     public void setContexts(ContextExpression contexts) {
+        clearCheckSum();
         this.contexts = contexts;
     }
 
@@ -55,6 +81,7 @@ public abstract class AbstractSqlVisitor implements SqlVisitor {
     }
 
     public void setLabels(Labels labels) {
+        clearCheckSum();
         this.labels = labels;
     }
 
@@ -65,7 +92,9 @@ public abstract class AbstractSqlVisitor implements SqlVisitor {
 
     @Override
     public Set<String> getSerializableFields() {
-        return ReflectionSerializer.getInstance().getFields(this);
+        Set<String> fields = new HashSet<>(ReflectionSerializer.getInstance().getFields(this));
+        fields.remove("changeSet");
+        return fields;
     }
 
     @Override
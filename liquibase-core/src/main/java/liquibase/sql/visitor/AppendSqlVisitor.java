@@ -16,6 +16,7 @@ public class AppendSqlVisitor extends AbstractSqlVisitor{
     }
 
     public void setValue(String value) {
+        clearCheckSum();
         this.value = value;
     }
 
@@ -16,6 +16,7 @@ public class PrependSqlVisitor extends AbstractSqlVisitor {
     }
 
     public void setValue(String value) {
+        clearCheckSum();
         this.value = value;
     }
 
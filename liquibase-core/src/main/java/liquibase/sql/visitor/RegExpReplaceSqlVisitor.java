@@ -17,6 +17,7 @@ public class RegExpReplaceSqlVisitor extends AbstractSqlVisitor {
     }
 
     public void setReplace(String replace) {
+        clearCheckSum();
         this.replace = replace;
     }
 
@@ -25,6 +26,7 @@ public class RegExpReplaceSqlVisitor extends AbstractSqlVisitor {
     }
 
     public void setWith(String with) {
+        clearCheckSum();
         this.with = with;
     }
 
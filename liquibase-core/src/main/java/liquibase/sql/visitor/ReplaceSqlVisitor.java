@@ -17,6 +17,7 @@ public class ReplaceSqlVisitor extends AbstractSqlVisitor {
     }
 
     public void setReplace(String replace) {
+        clearCheckSum();
         this.replace = replace;
     }
 
@@ -25,6 +26,7 @@ public class ReplaceSqlVisitor extends AbstractSqlVisitor {
     }
 
     public void setWith(String with) {
+        clearCheckSum();
         this.with = with;
     }
 
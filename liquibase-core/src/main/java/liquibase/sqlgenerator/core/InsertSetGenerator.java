@@ -1,6 +1,7 @@
 package liquibase.sqlgenerator.core;
 
 import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
 import liquibase.exception.ValidationErrors;
 import liquibase.sql.Sql;
 import liquibase.sql.UnparsedSql;
@@ -17,6 +18,8 @@ import java.util.SortedSet;
 
 public class InsertSetGenerator extends AbstractSqlGenerator<InsertSetStatement> {
 
+    public static final int DEFAULT_MAX_STATEMENT_LENGTH = 1024 * 1024;
+
     @Override
     public ValidationErrors validate(InsertSetStatement insertStatementSet, Database database, SqlGeneratorChain sqlGeneratorChain) {
         ValidationErrors validationErrors = new ValidationErrors();
@@ -32,22 +35,28 @@ public class InsertSetGenerator extends AbstractSqlGenerator<InsertSetStatement>
 		if (statement.peek() == null) {
 			return new UnparsedSql[0];
 		}
+		int maxRows = Math.max(1, Math.min(statement.getBatchThreshold(), getMaxRowsPerStatement(statement, database)));
+		int maxLength = getMaxStatementLength(database);
+
 		StringBuilder sql = new StringBuilder();
 		generateHeader(sql, statement, database);
+		int headerLength = sql.length();
 
 		ArrayList<Sql> result = new ArrayList<>();
+		StringBuilder row = new StringBuilder();
 		int index = 0;
 		for (InsertStatement sttmnt : statement.getStatements()) {
-			index++;
-			getInsertGenerator(database).generateValues(sql, sttmnt, database);
-			sql.append(",");
-			if (index > statement.getBatchThreshold()) {
+			row.setLength(0);
+			generateRow(row, statement, sttmnt, database);
+			// start a new statement once the row or length limit is reached, but always put at least one row into it
+			if ((index > 0) && ((index >= maxRows) || ((sql.length() + row.length()) > maxLength))) {
 				result.add(completeStatement(statement, sql));
 
 				index = 0;
-				sql.setLength(0);
-				generateHeader(sql, statement, database);
+				sql.setLength(headerLength);
 			}
+			sql.append(row);
+			index++;
 		}
 		if (index > 0) {
 			result.add(completeStatement(statement, sql));
@@ -55,8 +64,36 @@ public class InsertSetGenerator extends AbstractSqlGenerator<InsertSetStatement>
 
 		return result.toArray(new UnparsedSql[result.size()]);
 	}
-    
-	private Sql completeStatement(InsertSetStatement statement, StringBuilder sql) {
+
+	/**
+	 * Maximum number of rows the database accepts in a single multi-row insert. The batch threshold of the
+	 * {@link InsertSetStatement} is used if it is lower.
+	 */
+	protected int getMaxRowsPerStatement(InsertSetStatement statement, Database database) {
+		if (database instanceof MSSQLDatabase) {
+			// table value constructors are limited to 1000 rows
+			return 1000;
+		}
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Maximum length of a generated statement, in characters. Rows are moved to a new statement before this length
+	 * is exceeded, so the statement stays below packet size limits such as MySQL's max_allowed_packet.
+	 */
+	protected int getMaxStatementLength(Database database) {
+		return DEFAULT_MAX_STATEMENT_LENGTH;
+	}
+
+	/**
+	 * Appends the SQL for a single row of the statement, including any separator
+	 */
+	protected void generateRow(StringBuilder sql, InsertSetStatement statement, InsertStatement row, Database database) {
+		getInsertGenerator(database).generateValues(sql, row, database);
+		sql.append(",");
+	}
+
+	protected Sql completeStatement(InsertSetStatement statement, StringBuilder sql) {
 		sql.deleteCharAt(sql.lastIndexOf(","));
 		sql.append(";\n");
 		return new UnparsedSql(sql.toString(), getAffectedTable(statement));
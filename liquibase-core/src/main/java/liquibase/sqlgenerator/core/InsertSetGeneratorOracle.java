@@ -0,0 +1,81 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SequenceNextValueFunction;
+import liquibase.statement.core.InsertSetStatement;
+import liquibase.statement.core.InsertStatement;
+
+/**
+ * Oracle does not support multi-row VALUES lists, so the rows are combined into an
+ * {@code INSERT ALL INTO ... VALUES (...) INTO ... VALUES (...) SELECT * FROM DUAL} statement.
+ */
+public class InsertSetGeneratorOracle extends InsertSetGenerator {
+
+    private static final int MAX_TARGET_COLUMNS = 999;
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    @Override
+    public boolean supports(InsertSetStatement statement, Database database) {
+        return database instanceof OracleDatabase;
+    }
+
+    @Override
+    public Sql[] generateSql(InsertSetStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        if (usesSequence(statement)) {
+            // a sequence is only incremented once per INSERT ALL statement, so every row would get the same value
+            return SqlGeneratorFactory.getInstance().generateSql(statement.getStatementsArray(), database);
+        }
+        return super.generateSql(statement, database, sqlGeneratorChain);
+    }
+
+    @Override
+    protected int getMaxRowsPerStatement(InsertSetStatement statement, Database database) {
+        // an INSERT ALL may not have more than 999 target columns in total (ORA-24335), and parsing it gets slow quickly with more rows
+        int columnCount = 0;
+        for (InsertStatement insert : statement.getStatements()) {
+            columnCount = Math.max(columnCount, insert.getColumnValues().size());
+        }
+        return Math.min(1000, Math.max(1, MAX_TARGET_COLUMNS / Math.max(1, columnCount)));
+    }
+
+    @Override
+    public void generateHeader(StringBuilder sql, InsertSetStatement statement, Database database) {
+        sql.append("INSERT ALL");
+    }
+
+    @Override
+    protected void generateRow(StringBuilder sql, InsertSetStatement statement, InsertStatement row, Database database) {
+        InsertGenerator insertGenerator = getInsertGenerator(database);
+        StringBuilder into = new StringBuilder();
+        insertGenerator.generateHeader(into, row, database);
+        // turn "INSERT INTO x (...) VALUES " into "INTO x (...) VALUES "
+        sql.append(" ").append(into, "INSERT ".length(), into.length());
+        insertGenerator.generateValues(sql, row, database);
+    }
+
+    @Override
+    protected Sql completeStatement(InsertSetStatement statement, StringBuilder sql) {
+        sql.append(" SELECT * FROM DUAL");
+        return new UnparsedSql(sql.toString(), getAffectedTable(statement));
+    }
+
+    private boolean usesSequence(InsertSetStatement statement) {
+        for (InsertStatement insert : statement.getStatements()) {
+            for (Object value : insert.getColumnValues().values()) {
+                if (value instanceof SequenceNextValueFunction) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
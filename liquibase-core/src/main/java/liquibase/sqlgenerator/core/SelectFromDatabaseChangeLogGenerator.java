@@ -55,6 +55,10 @@ public class SelectFromDatabaseChangeLogGenerator extends AbstractSqlGenerator<S
                     sql += " WHERE "+database.escapeColumnName(null, null, null, "TAG")+"='" + ((SelectFromDatabaseChangeLogStatement.ByTag) whereClause).getTagName() + "'";
                 } else if (whereClause instanceof SelectFromDatabaseChangeLogStatement.ByNotNullCheckSum) {
                     sql += " WHERE "+database.escapeColumnName(null, null, null, "MD5SUM")+" IS NOT NULL";
+                } else if (whereClause instanceof SelectFromDatabaseChangeLogStatement.ByNotNullTag) {
+                    sql += " WHERE "+database.escapeColumnName(null, null, null, "TAG")+" IS NOT NULL";
+                } else if (whereClause instanceof SelectFromDatabaseChangeLogStatement.ByOrderExecutedAfter) {
+                    sql += " WHERE "+database.escapeColumnName(null, null, null, "ORDEREXECUTED")+" > " + ((SelectFromDatabaseChangeLogStatement.ByOrderExecutedAfter) whereClause).getOrderExecuted();
                 } else {
                     throw new UnexpectedLiquibaseException("Unknown where clause type: " + whereClause.getClass().getName());
                 }
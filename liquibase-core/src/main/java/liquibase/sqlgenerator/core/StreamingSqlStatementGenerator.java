@@ -0,0 +1,43 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingSqlStatement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generates the SQL of all chunks of a {@link StreamingSqlStatement} at once. Used by executors that do not handle
+ * the chunks one at a time themselves, the way {@link liquibase.executor.jvm.JdbcExecutor} and
+ * {@link liquibase.executor.LoggingExecutor} do.
+ */
+public class StreamingSqlStatementGenerator extends AbstractSqlGenerator<StreamingSqlStatement> {
+
+    @Override
+    public ValidationErrors validate(StreamingSqlStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new ValidationErrors();
+    }
+
+    @Override
+    public Sql[] generateSql(StreamingSqlStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        List<Sql> sql = new ArrayList<>();
+        try {
+            statement.generateChunks(statements -> {
+                for (SqlStatement chunkStatement : statements) {
+                    sql.addAll(Arrays.asList(SqlGeneratorFactory.getInstance().generateSql(chunkStatement, database)));
+                }
+            });
+        } catch (DatabaseException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        return sql.toArray(new Sql[0]);
+    }
+}
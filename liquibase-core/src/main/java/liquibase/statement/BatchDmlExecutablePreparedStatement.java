@@ -24,15 +24,39 @@ import java.util.List;
  */
 public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedStatementBase {
     private final List<ExecutablePreparedStatementBase> collectedStatements;
+    private final int batchSize;
     private final Logger LOG = Scope.getCurrentScope().getLog(getClass());
+    private int pendingOperations;
+    private int executedOperations;
+    private long confirmedUpdates;
 
     public BatchDmlExecutablePreparedStatement(
             Database database, String catalogName, String schemaName, String tableName,
             List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
             List<ExecutablePreparedStatementBase> statements) {
+        this(database, catalogName, schemaName, tableName, columns, changeSet, resourceAccessor, statements,
+            Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param batchSize the number of statements added to the JDBC batch before it is executed and cleared. Values
+     *                  less than 1 send all statements in a single batch.
+     */
+    public BatchDmlExecutablePreparedStatement(
+            Database database, String catalogName, String schemaName, String tableName,
+            List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
+            List<ExecutablePreparedStatementBase> statements, int batchSize) {
         super(database, catalogName, schemaName, tableName, new ArrayList<ColumnConfig>(columns), changeSet,
             resourceAccessor);
         this.collectedStatements = new ArrayList<>(statements);
+        this.batchSize = batchSize < 1 ? Integer.MAX_VALUE : batchSize;
+    }
+
+    /**
+     * Returns the maximum number of statements sent to the database in one JDBC batch.
+     */
+    public int getBatchSize() {
+        return batchSize;
     }
 
     /**
@@ -46,9 +70,17 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
     @Override
     protected void attachParams(List<? extends ColumnConfig> ignored, PreparedStatement stmt)
             throws SQLException, DatabaseException {
+        pendingOperations = 0;
+        executedOperations = 0;
+        confirmedUpdates = 0;
         for (ExecutablePreparedStatementBase insertStatement : collectedStatements) {
             super.attachParams(insertStatement.getColumns(), stmt);
             stmt.addBatch();
+            pendingOperations++;
+            if (pendingOperations >= batchSize) {
+                // keep the driver from buffering the whole data set
+                executeBatch(stmt);
+            }
         }
     }
 
@@ -61,13 +93,23 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
 
     @Override
     protected void executePreparedStatement(PreparedStatement stmt) throws SQLException {
-        int updateCounts[] = stmt.executeBatch();
-        long sumUpdateCounts = 0;
-        for (int updateCount : updateCounts) {
-            sumUpdateCounts = updateCount;
+        if (pendingOperations > 0) {
+            executeBatch(stmt);
         }
         LOG.info(String.format("Executing JDBC DML batch was successful. %d operations were executed, %d individual UPDATE events were confirmed by the database.",
-                updateCounts.length, sumUpdateCounts));
+                executedOperations, confirmedUpdates));
+    }
+
+    private void executeBatch(PreparedStatement stmt) throws SQLException {
+        int[] updateCounts = stmt.executeBatch();
+        stmt.clearBatch();
+        executedOperations += pendingOperations;
+        pendingOperations = 0;
+        for (int updateCount : updateCounts) {
+            if (updateCount > 0) {
+                confirmedUpdates += updateCount;
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,23 @@
+package liquibase.statement;
+
+import liquibase.exception.DatabaseException;
+
+/**
+ * A {@link SqlStatement} that creates the statements to actually execute in chunks while it is being executed,
+ * instead of all at once. Executors must handle each chunk before asking for the next one so that memory use depends
+ * on the chunk size rather than on the total number of statements.
+ */
+public interface StreamingSqlStatement extends SqlStatement {
+
+    /**
+     * Creates the statements, passing each chunk to the handler as soon as it is complete.
+     */
+    void generateChunks(ChunkHandler handler) throws DatabaseException;
+
+    /**
+     * Called with each chunk of statements created by {@link #generateChunks(ChunkHandler)}.
+     */
+    interface ChunkHandler {
+        void handle(SqlStatement[] statements) throws DatabaseException;
+    }
+}
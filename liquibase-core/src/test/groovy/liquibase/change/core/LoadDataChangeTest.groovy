@@ -10,16 +10,22 @@ import liquibase.database.DatabaseConnection
 import liquibase.database.DatabaseFactory
 import liquibase.database.core.MSSQLDatabase
 import liquibase.database.core.MockDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.exception.DatabaseException
+import liquibase.exception.UnexpectedLiquibaseException
 import liquibase.exception.ValidationErrors
 import liquibase.parser.core.ParsedNodeException
 import liquibase.resource.ClassLoaderResourceAccessor
 import liquibase.resource.ResourceAccessor
 import liquibase.snapshot.MockSnapshotGeneratorFactory
 import liquibase.snapshot.SnapshotGeneratorFactory
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.sql.visitor.AppendSqlVisitor
 import liquibase.statement.DatabaseFunction
 import liquibase.statement.ExecutablePreparedStatement
 import liquibase.statement.ExecutablePreparedStatementBase
 import liquibase.statement.SqlStatement
+import liquibase.statement.StreamingSqlStatement
 import liquibase.statement.core.InsertSetStatement
 import liquibase.statement.core.InsertStatement
 import liquibase.structure.DatabaseObject
@@ -32,6 +38,7 @@ import liquibase.util.csv.CSVReader
 import spock.lang.Unroll
 
 import java.sql.Date
+import java.sql.DriverManager
 import java.sql.Time
 import java.sql.Timestamp
 import java.time.LocalDate
@@ -852,6 +859,407 @@ public class LoadDataChangeTest extends StandardChangeTest {
     }
 
 
+    def "streaming mode reads the file only when the statement is executed"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setSchemaName("SCHEMA_NAME")
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/does-not-exist.csv")
+        change.setStreaming(true)
+
+        SqlStatement[] statements = change.generateStatements(mssqlDb)
+
+        then:
+        statements.length == 1
+        statements[0] instanceof StreamingSqlStatement
+    }
+
+    def "streaming mode creates the same statements as the default mode"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setSchemaName("SCHEMA_NAME")
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/sample.data1.csv")
+        SqlStatement[] expected = change.generateStatements(mssqlDb)
+
+        change.setStreaming(true)
+        def chunks = []
+        ((StreamingSqlStatement) change.generateStatements(mssqlDb)[0]).generateChunks({ statements -> chunks.add(statements) } as StreamingSqlStatement.ChunkHandler)
+
+        then:
+        chunks.size() == 1
+        chunks[0].length == 1
+        chunks[0][0] instanceof InsertSetStatement
+        ((InsertSetStatement) chunks[0][0]).statements*.columnValues == ((InsertSetStatement) expected[0]).statements*.columnValues
+    }
+
+    def "streaming mode reads batchSize rows per chunk"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setSchemaName("SCHEMA_NAME")
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/sample.data1.csv")
+        change.setStreaming(true)
+        change.setBatchSize(1)
+        def chunks = []
+        ((StreamingSqlStatement) change.generateStatements(mssqlDb)[0]).generateChunks({ statements -> chunks.add(statements) } as StreamingSqlStatement.ChunkHandler)
+
+        then:
+        chunks.size() == 2
+    }
+
+    def "streaming mode skips the rest of the file on errors if failOnError is false"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/does-not-exist.csv")
+        change.setStreaming(true)
+        def changeSet = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null)
+        changeSet.setFailOnError(false)
+        changeSet.addChange(change)
+        def chunks = []
+        ((StreamingSqlStatement) change.generateStatements(mssqlDb)[0]).generateChunks({ statements -> chunks.add(statements) } as StreamingSqlStatement.ChunkHandler)
+
+        then:
+        chunks.isEmpty()
+
+        when:
+        changeSet.setFailOnError(true)
+        ((StreamingSqlStatement) change.generateStatements(mssqlDb)[0]).generateChunks({ statements -> chunks.add(statements) } as StreamingSqlStatement.ChunkHandler)
+
+        then:
+        thrown(UnexpectedLiquibaseException)
+    }
+
+    def "streaming statements can be generated as SQL by executors that do not stream"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setSchemaName("SCHEMA_NAME")
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/sample.data1.csv")
+        def expected = SqlGeneratorFactory.getInstance().generateSql(change.generateStatements(mssqlDb), mssqlDb)*.toSql()
+        change.setStreaming(true)
+
+        then:
+        SqlGeneratorFactory.getInstance().generateSql(change.generateStatements(mssqlDb), mssqlDb)*.toSql() == expected
+    }
+
+    def "batchSize must be positive"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/sample.data1.csv")
+        change.setBatchSize(batchSize)
+
+        then:
+        change.validate(mssqlDb).getErrorMessages().contains("batchSize must be greater than 0") == expectError
+
+        where:
+        batchSize | expectError
+        null      | false
+        1         | false
+        0         | true
+        -5        | true
+    }
+
+    def "native load mode loads the rows with CSVREAD on embedded H2"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()))
+        connection.getUnderlyingConnection().createStatement().execute("CREATE TABLE person (id INT, name VARCHAR(50), active BOOLEAN)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        change.setLoadMode("native")
+        change.addColumn(new LoadDataColumnConfig(name: "active", type: "BOOLEAN"))
+
+        when:
+        SqlStatement[] statements = change.generateStatements(database)
+        database.execute(statements, null)
+        def rows = []
+        def resultSet = connection.getUnderlyingConnection().createStatement().executeQuery("SELECT id, name, active FROM person ORDER BY id")
+        while (resultSet.next()) {
+            rows.add([resultSet.getInt(1), resultSet.getString(2), resultSet.getObject(3)])
+        }
+
+        then:
+        statements.length == 1
+        statements[0] instanceof LoadDataChange.NativeLoadDataStatement
+        rows == [[1, 'Smith, "Bob"', true], [2, null, false], [3, "", null]]
+
+        cleanup:
+        database?.close()
+    }
+
+    def "native load mode falls back to inserts if the database has no supported bulk loader"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:hsqldb:mem:" + UUID.randomUUID()))
+        connection.getUnderlyingConnection().createStatement().execute("CREATE TABLE person (id INT, name VARCHAR(50), active BOOLEAN)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        change.setLoadMode("native")
+        change.addColumn(new LoadDataColumnConfig(name: "active", type: "BOOLEAN"))
+
+        when:
+        SqlStatement[] statements = change.generateStatements(database)
+        database.execute(statements, null)
+        def resultSet = connection.getUnderlyingConnection().createStatement().executeQuery("SELECT COUNT(*) FROM person")
+        resultSet.next()
+
+        then:
+        !statements.any { it instanceof LoadDataChange.NativeLoadDataStatement }
+        resultSet.getInt(1) == 3
+
+        cleanup:
+        database?.close()
+    }
+
+    def "native load mode falls back to inserts if the loader turns out to be disabled"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()))
+        connection.getUnderlyingConnection().createStatement().execute("CREATE TABLE person (id INT, name VARCHAR(50), active BOOLEAN)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        change.setLoadMode("native")
+        change.addColumn(new LoadDataColumnConfig(name: "active", type: "BOOLEAN"))
+        def loader = new LoadDataNativeLoaderH2() {
+            @Override
+            void load(Database db, String catalogName, String schemaName, String tableName, List<List<LoadDataColumnConfig>> rows) {
+                throw new DatabaseException("disabled")
+            }
+
+            @Override
+            boolean isUnavailable(DatabaseException e) {
+                return e.getMessage() == "disabled"
+            }
+        }
+
+        when:
+        database.execute([new LoadDataChange.NativeLoadDataStatement(change, database, loader)] as SqlStatement[], null)
+        def resultSet = connection.getUnderlyingConnection().createStatement().executeQuery("SELECT COUNT(*) FROM person")
+        resultSet.next()
+
+        then:
+        resultSet.getInt(1) == 3
+
+        cleanup:
+        database?.close()
+    }
+
+    def "native load mode keeps the order of the file when some rows are inserted"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()))
+        connection.getUnderlyingConnection().createStatement().execute("CREATE TABLE person (seq INT AUTO_INCREMENT, id INT, name VARCHAR(50), active BOOLEAN)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        change.setLoadMode("native")
+        change.addColumn(new LoadDataColumnConfig(name: "active", type: "BOOLEAN"))
+        def loader = new LoadDataNativeLoaderH2() {
+            @Override
+            boolean canLoad(Database db, List<LoadDataColumnConfig> row) {
+                return row.find { it.name == "id" }.valueObject.toString() != "2"
+            }
+        }
+
+        when:
+        database.execute([new LoadDataChange.NativeLoadDataStatement(change, database, loader)] as SqlStatement[], null)
+        def ids = []
+        def resultSet = connection.getUnderlyingConnection().createStatement().executeQuery("SELECT id FROM person ORDER BY seq")
+        while (resultSet.next()) {
+            ids.add(resultSet.getInt(1))
+        }
+
+        then:
+        ids == [1, 2, 3]
+
+        cleanup:
+        database?.close()
+    }
+
+    def "native load mode does not fall back to inserts once rows were loaded"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()))
+        connection.getUnderlyingConnection().createStatement().execute("CREATE TABLE person (id INT, name VARCHAR(50), active BOOLEAN)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        change.setLoadMode("native")
+        change.setBatchSize(1)
+        change.addColumn(new LoadDataColumnConfig(name: "active", type: "BOOLEAN"))
+        def loads = 0
+        def loader = new LoadDataNativeLoaderH2() {
+            @Override
+            void load(Database db, String catalogName, String schemaName, String tableName, List<List<LoadDataColumnConfig>> rows) {
+                if (++loads > 1) {
+                    throw new DatabaseException("disabled")
+                }
+                super.load(db, catalogName, schemaName, tableName, rows)
+            }
+
+            @Override
+            boolean isUnavailable(DatabaseException e) {
+                return e.getMessage() == "disabled"
+            }
+        }
+
+        when:
+        database.execute([new LoadDataChange.NativeLoadDataStatement(change, database, loader)] as SqlStatement[], null)
+
+        then:
+        def e = thrown(DatabaseException)
+        e.message.contains("disabled")
+        loads == 2
+
+        cleanup:
+        database?.close()
+    }
+
+    def "loadMode does not change the checksum"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        def checkSum = change.generateCheckSum()
+        change.setLoadMode("native")
+
+        then:
+        change.generateCheckSum() == checkSum
+    }
+
+    def "streaming does not change the checksum"() {
+        when:
+        def changeSet = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null)
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        changeSet.addChange(change)
+        def checkSum = change.generateCheckSum()
+        def changeSetCheckSum = changeSet.generateCheckSum()
+        change.setStreaming(true)
+
+        then:
+        change.generateCheckSum() == checkSum
+        changeSet.generateCheckSum() == changeSetCheckSum
+    }
+
+    def "batchSize does not change the checksum"() {
+        when:
+        def changeSet = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null)
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        changeSet.addChange(change)
+        def checkSum = change.generateCheckSum()
+        def changeSetCheckSum = changeSet.generateCheckSum()
+        change.setBatchSize(10)
+
+        then:
+        change.generateCheckSum() == checkSum
+        changeSet.generateCheckSum() == changeSetCheckSum
+    }
+
+    def "native load mode is not used for change sets with modifySql"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()))
+        connection.getUnderlyingConnection().createStatement().execute("CREATE TABLE person (id INT, name VARCHAR(50), active BOOLEAN)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+
+        def changeSet = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null)
+        changeSet.addSqlVisitor(new AppendSqlVisitor(value: " -- appended"))
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("person")
+        change.setFile("liquibase/change/core/sample.native.csv")
+        change.setLoadMode("native")
+        changeSet.addChange(change)
+
+        when:
+        SqlStatement[] statements = change.generateStatements(database)
+
+        then:
+        statements.length > 0
+        !statements.any { it instanceof LoadDataChange.NativeLoadDataStatement }
+
+        cleanup:
+        database?.close()
+    }
+
+    def "native loaders write decimals without an exponent"() {
+        when:
+        def csv = new String(new LoadDataNativeLoaderH2().toCsv([[new LoadDataColumnConfig(name: "amount", valueNumeric: new BigDecimal("1E+3"))]]), "UTF-8")
+
+        then:
+        csv == "1000\n"
+    }
+
+    def "rows the native loader cannot write are inserted instead"() {
+        when:
+        def loader = new LoadDataNativeLoaderH2()
+
+        then:
+        loader.canLoad(mssqlDb, [new LoadDataColumnConfig(name: "id", valueNumeric: 1)])
+        !loader.canLoad(mssqlDb, [new LoadDataColumnConfig(name: "id", valueComputed: new DatabaseFunction("next_id()"))])
+        !loader.canLoad(mssqlDb, [new LoadDataColumnConfig(name: "data", type: "BLOB", value: "AAAA")])
+    }
+
+    def "loadMode must be insert or native"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/sample.data1.csv")
+        change.setLoadMode(loadMode)
+
+        then:
+        change.validate(mssqlDb).getErrorMessages().contains("loadMode must be 'insert' or 'native'") == expectError
+
+        where:
+        loadMode | expectError
+        null     | false
+        "insert" | false
+        "NATIVE" | false
+        "copy"   | true
+    }
+
+    def "validate only reads the header of the CSV file"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/sample.malformed.csv")
+        change.addColumn(new LoadDataColumnConfig(header: "name", name: "full_name"))
+
+        def shape = change.generateStatementShape(mssqlDb)
+        def errors = change.validate(mssqlDb)
+
+        then:
+        shape.length == 1
+        shape[0] instanceof InsertSetStatement
+        ((InsertSetStatement) shape[0]).peek().columnValues.keySet() as List == ["id", "full_name"]
+        !errors.hasErrors()
+
+        when:
+        change.generateStatements(mssqlDb)
+
+        then:
+        thrown(UnexpectedLiquibaseException)
+    }
+
     class ColDef {
         ColDef(Object n, String type) {
             this.name = n.toString()
@@ -120,6 +120,21 @@ public class LoadUpdateDataChangeTest extends StandardChangeTest {
         assert statements[0].getOnlyUpdate()
     }
 
+    def "statement shape is a single InsertOrUpdateStatement"() {
+        when:
+        LoadUpdateDataChange change = new LoadUpdateDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setPrimaryKey("name")
+        change.setFile("liquibase/change/core/sample.data1.csv")
+        SqlStatement[] shape = change.generateStatementShape(new PostgresDatabase())
+
+        then:
+        shape.length == 1
+        shape[0] instanceof InsertOrUpdateStatement
+        ((InsertOrUpdateStatement) shape[0]).columnValues.keySet() as List == ["name", "username"]
+        !change.validate(new PostgresDatabase()).hasErrors()
+    }
+
     def "generateChecksum produces different values with each field"() {
         LoadUpdateDataChange refactoring = new LoadUpdateDataChange();
         refactoring.setSchemaName("SCHEMA_NAME");
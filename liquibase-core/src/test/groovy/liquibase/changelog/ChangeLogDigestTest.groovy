@@ -0,0 +1,182 @@
+package liquibase.changelog
+
+import liquibase.Contexts
+import liquibase.GlobalConfiguration
+import liquibase.LabelExpression
+import liquibase.Liquibase
+import liquibase.Scope
+import liquibase.change.core.RawSQLChange
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.exception.LockException
+import liquibase.lockservice.LockServiceFactory
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.snapshot.SnapshotGeneratorFactory
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.DriverManager
+
+class ChangeLogDigestTest extends Specification {
+
+    private Connection connection
+    private Database database
+    private long lockWaitTime = 5
+
+    def setup() {
+        SnapshotGeneratorFactory.reset()
+        ChangeLogHistoryServiceFactory.getInstance().resetAll()
+        LockServiceFactory.getInstance().resetAll()
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        ChangeLogHistoryServiceFactory.getInstance().resetAll()
+        LockServiceFactory.getInstance().resetAll()
+        database.close()
+    }
+
+    def "the digest changes with the changesets, contexts and labels"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        def digest = ChangeLogDigest.compute(changeLog, new Contexts(), null)
+
+        expect:
+        digest == ChangeLogDigest.compute(changeLog, new Contexts(), null)
+        digest != ChangeLogDigest.compute(changeLog, new Contexts("test"), null)
+
+        when:
+        add(changeLog, "2", "SELECT 2 FROM DUAL")
+
+        then:
+        digest != ChangeLogDigest.compute(changeLog, new Contexts(), null)
+    }
+
+    def "an update of an unchanged changelog returns without taking the lock"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        add(changeLog, "2", "SELECT 2 FROM DUAL")
+        update(changeLog)
+        lockChangeLog()
+
+        when:
+        update(changeLog)
+
+        then:
+        notThrown(LockException)
+
+        when:
+        add(changeLog, "3", "SELECT 3 FROM DUAL")
+        update(changeLog)
+
+        then:
+        thrown(LockException)
+    }
+
+    def "the digest is kept in the database"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        update(changeLog)
+
+        expect:
+        query("SELECT DIGEST FROM DATABASECHANGELOGDIGEST") == [ChangeLogDigest.compute(changeLog, new Contexts(), new LabelExpression())]
+
+        when: "the changelog changes and leaves a changeset to run"
+        add(changeLog, "2", "SELECT 2 FROM DUAL", true)
+        update(changeLog)
+
+        then:
+        query("SELECT DIGEST FROM DATABASECHANGELOGDIGEST") == []
+    }
+
+    def "updates without useChangelogDigest do not create the digest table"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+
+        when:
+        new Liquibase(changeLog, new ClassLoaderResourceAccessor(), database).update(new Contexts())
+
+        then:
+        query("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'DATABASECHANGELOGDIGEST'") == [0L]
+    }
+
+    def "no digest is stored while changesets are left to run"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL", true)
+        update(changeLog)
+        lockChangeLog()
+
+        when:
+        update(changeLog)
+
+        then:
+        thrown(LockException)
+    }
+
+    def "no digest is stored after a changeset failed without failOnError"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        add(changeLog, "2", "SELECT 1 FROM missing_table")
+        changeLog.getChangeSet("changelog.xml", "test", "2").setFailOnError(false)
+        update(changeLog)
+        lockChangeLog()
+
+        when:
+        update(changeLog)
+
+        then:
+        thrown(LockException)
+    }
+
+    def "changes to the history run the update in full"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        add(changeLog, "2", "SELECT 2 FROM DUAL")
+        update(changeLog)
+
+        when:
+        connection.createStatement().execute("DELETE FROM DATABASECHANGELOG WHERE ID = '2'")
+        update(changeLog)
+
+        then:
+        query("SELECT ID FROM DATABASECHANGELOG ORDER BY ORDEREXECUTED") == ["1", "2"]
+    }
+
+    private void update(DatabaseChangeLog changeLog) {
+        Scope.child([
+                (GlobalConfiguration.USE_CHANGELOG_DIGEST.getKey()): true,
+                (GlobalConfiguration.CHANGELOGLOCK_WAIT_TIME.getKey()): lockWaitTime
+        ], {
+            new Liquibase(changeLog, new ClassLoaderResourceAccessor(), database).update(new Contexts())
+        } as Scope.ScopedRunner)
+    }
+
+    private void lockChangeLog() {
+        lockWaitTime = 0
+        connection.createStatement().execute("UPDATE DATABASECHANGELOGLOCK SET LOCKED = TRUE, LOCKEDBY = 'test', LOCKGRANTED = CURRENT_TIMESTAMP")
+    }
+
+    private List query(String sql) {
+        def rs = connection.createStatement().executeQuery(sql)
+        def values = []
+        while (rs.next()) {
+            values << rs.getObject(1)
+        }
+        return values
+    }
+
+    private static void add(DatabaseChangeLog changeLog, String id, String sql, boolean alwaysRun = false) {
+        def changeSet = new ChangeSet(id, "test", alwaysRun, false, "changelog.xml", null, null, changeLog)
+        changeSet.addChange(new RawSQLChange(sql))
+        changeLog.addChangeSet(changeSet)
+    }
+}
@@ -0,0 +1,182 @@
+package liquibase.changelog
+
+import liquibase.Contexts
+import liquibase.GlobalConfiguration
+import liquibase.Liquibase
+import liquibase.Scope
+import liquibase.change.core.RawSQLChange
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.snapshot.SnapshotGeneratorFactory
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.DriverManager
+
+class ChangeLogHistoryCacheTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    private Connection connection
+    private Database database
+
+    def setup() {
+        SnapshotGeneratorFactory.reset()
+        ChangeLogHistoryServiceFactory.getInstance().resetAll()
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        ChangeLogHistoryServiceFactory.getInstance().resetAll()
+        database.close()
+    }
+
+    def "changesets are written to and read back from the cache"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        add(changeLog, "2", "SELECT 2 FROM DUAL")
+        update(changeLog)
+
+        when:
+        def ranChangeSets = withCache { readRanChangeSets() }
+        def cache = withCache { ChangeLogHistoryCache.forDatabase(database) }
+
+        then:
+        cache.file.exists()
+        cache.read()*.id == ["1", "2"]
+        cache.read()*.lastCheckSum == ranChangeSets*.lastCheckSum
+        cache.read()*.orderExecuted == [1, 2]
+        cache.read()*.storedChangeLog == ["changelog.xml", "changelog.xml"]
+    }
+
+    def "only rows after the cached ORDEREXECUTED are read"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        update(changeLog)
+        withCache { readRanChangeSets() }
+
+        when:
+        add(changeLog, "2", "SELECT 2 FROM DUAL")
+        add(changeLog, "3", "SELECT 3 FROM DUAL")
+        update(changeLog)
+        def cache = withCache { ChangeLogHistoryCache.forDatabase(database) }
+        def cached = cache.read()
+        def ranChangeSets = withCache { readRanChangeSets() }
+
+        then:
+        cached*.id == ["1"]
+        ranChangeSets*.id == ["1", "2", "3"]
+        ranChangeSets*.orderExecuted == [1, 2, 3]
+        cache.read()*.id == ["1", "2", "3"]
+        ranChangeSets*.lastCheckSum == readRanChangeSets()*.lastCheckSum
+    }
+
+    def "reran changesets move to the end"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL", true)
+        add(changeLog, "2", "SELECT 2 FROM DUAL")
+        update(changeLog)
+        withCache { readRanChangeSets() }
+
+        when:
+        update(changeLog)
+        def ranChangeSets = withCache { readRanChangeSets() }
+
+        then:
+        ranChangeSets*.id == ["2", "1"]
+        ranChangeSets*.execType == [ChangeSet.ExecType.EXECUTED, ChangeSet.ExecType.RERAN]
+    }
+
+    def "the whole table is read again if rows were changed outside of the cache"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        add(changeLog, "2", "SELECT 2 FROM DUAL")
+        update(changeLog)
+        withCache { readRanChangeSets() }
+
+        when:
+        connection.createStatement().execute(sql)
+        def ranChangeSets = withCache { readRanChangeSets() }
+
+        then:
+        ranChangeSets*.id == expectedIds
+        ranChangeSets*.lastCheckSum*.toString() == readRanChangeSets()*.lastCheckSum*.toString()
+
+        where:
+        sql                                                             | expectedIds
+        "DELETE FROM DATABASECHANGELOG WHERE ID = '1'"                  | ["2"]
+        "UPDATE DATABASECHANGELOG SET MD5SUM = '9:ffff' WHERE ID = '1'" | ["1", "2"]
+    }
+
+    def "the whole table is read again if only a tag was changed outside of the cache"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        add(changeLog, "2", "SELECT 2 FROM DUAL")
+        update(changeLog)
+        connection.createStatement().execute("UPDATE DATABASECHANGELOG SET TAG = 'a' WHERE ID = '1'")
+        connection.createStatement().execute("UPDATE DATABASECHANGELOG SET TAG = 'z' WHERE ID = '2'")
+        withCache { readRanChangeSets() }
+
+        when:
+        connection.createStatement().execute(sql)
+        def ranChangeSets = withCache { readRanChangeSets() }
+
+        then:
+        ranChangeSets*.tag == expectedTags
+
+        where:
+        sql                                                            | expectedTags
+        "UPDATE DATABASECHANGELOG SET TAG = 'b' WHERE ID = '1'"        | ["b", "z"]
+        "UPDATE DATABASECHANGELOG SET TAG = NULL WHERE ID = '1'"       | [null, "z"]
+        "UPDATE DATABASECHANGELOG SET TAG = CASE ID WHEN '1' THEN 'z' ELSE 'a' END" | ["z", "a"]
+    }
+
+    def "changes to existing rows through the service remove the cache"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        add(changeLog, "1", "SELECT 1 FROM DUAL")
+        update(changeLog)
+        withCache { readRanChangeSets() }
+        def cache = withCache { ChangeLogHistoryCache.forDatabase(database) }
+
+        when:
+        withCache { ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database).tag("a tag") }
+
+        then:
+        !cache.file.exists()
+        withCache { readRanChangeSets() }*.tag == ["a tag"]
+    }
+
+    private List<RanChangeSet> readRanChangeSets() {
+        def service = ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database)
+        service.reset()
+        return service.getRanChangeSets()
+    }
+
+    private <T> T withCache(Closure<T> closure) {
+        return Scope.child([(GlobalConfiguration.HISTORY_CACHE_DIRECTORY.getKey()): temporaryFolder.getRoot().getAbsolutePath()],
+                closure as Scope.ScopedRunnerWithReturn<T>)
+    }
+
+    private void update(DatabaseChangeLog changeLog) {
+        new Liquibase(changeLog, new ClassLoaderResourceAccessor(), database).update(new Contexts())
+        ChangeLogHistoryServiceFactory.getInstance().resetAll()
+    }
+
+    private static void add(DatabaseChangeLog changeLog, String id, String sql, boolean alwaysRun = false) {
+        def changeSet = new ChangeSet(id, "test", alwaysRun, false, "changelog.xml", null, null, changeLog)
+        changeSet.addChange(new RawSQLChange(sql))
+        changeLog.addChangeSet(changeSet)
+    }
+}
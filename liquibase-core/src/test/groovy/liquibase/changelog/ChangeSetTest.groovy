@@ -1,7 +1,13 @@
 package liquibase.changelog
 
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.change.ChangeFactory
+import liquibase.change.ColumnConfig
+import liquibase.change.ConstraintsConfig
 import liquibase.change.CheckSum
 import liquibase.change.core.*
+import liquibase.exception.UnexpectedLiquibaseException
 import liquibase.parser.core.ParsedNode
 import liquibase.parser.core.ParsedNodeException
 import liquibase.precondition.core.RunningAsPrecondition
@@ -78,6 +84,90 @@ public class ChangeSetTest extends Specification {
         assert !md5Sum1.equals(md5Sum2);
     }
 
+    def "generateCheckSum is cleared when changes, sql visitors or their properties change"() {
+        when:
+        def changeSet = new ChangeSet("testId", "testAuthor", false, false, null, null, null, null)
+        def change = new CreateTableChange()
+        change.setTableName("table_name")
+        changeSet.addChange(change)
+        def initialCheckSum = changeSet.generateCheckSum()
+
+        change.setTableName("other_name")
+        def changedCheckSum = changeSet.generateCheckSum()
+
+        then:
+        changedCheckSum != initialCheckSum
+
+        when:
+        def visitor = new ReplaceSqlVisitor(replace: "a", with: "b")
+        changeSet.addSqlVisitor(visitor)
+        def visitorCheckSum = changeSet.generateCheckSum()
+
+        then:
+        visitorCheckSum != changedCheckSum
+
+        when:
+        visitor.setWith("c")
+
+        then:
+        changeSet.generateCheckSum() != visitorCheckSum
+    }
+
+    def "generateCheckSum is cleared when a change parameter is set through metadata"() {
+        when:
+        def changeSet = new ChangeSet("testId", "testAuthor", false, false, null, null, null, null)
+        def change = new CreateTableChange()
+        change.setTableName("table_name")
+        changeSet.addChange(change)
+        def initialCheckSum = changeSet.generateCheckSum()
+
+        Scope.getCurrentScope().getSingleton(ChangeFactory).getChangeMetaData(change).getParameters().get("tableName").setValue(change, "other_name")
+
+        then:
+        changeSet.generateCheckSum() != initialCheckSum
+    }
+
+    def "generateCheckSum is cleared when a column or its constraints change"() {
+        when:
+        def changeSet = new ChangeSet("testId", "testAuthor", false, false, null, null, null, null)
+        def change = new CreateTableChange()
+        change.setTableName("table_name")
+        change.addColumn(new ColumnConfig().setName("id").setType("int").setConstraints(new ConstraintsConfig()))
+        changeSet.addChange(change)
+        def initialCheckSum = changeSet.generateCheckSum()
+
+        change.getColumns().get(0).setType("bigint")
+        def columnCheckSum = changeSet.generateCheckSum()
+
+        then:
+        columnCheckSum != initialCheckSum
+
+        when:
+        change.getColumns().get(0).getConstraints().setNullable(false)
+
+        then:
+        changeSet.generateCheckSum() != columnCheckSum
+    }
+
+    def "generateCheckSum fails on a stale cached checksum when verifyCachedChecksums is set"() {
+        when:
+        def changeSet = new ChangeSet("testId", "testAuthor", false, false, null, null, null, null)
+        def change = new CreateTableChange()
+        change.setTableName("table_name")
+        change.addColumn(new ColumnConfig().setName("id").setType("int"))
+        changeSet.addChange(change)
+
+        changeSet.generateCheckSum()
+        change.getColumns().add(new ColumnConfig().setName("other_id").setType("int"))
+        Scope.child(GlobalConfiguration.VERIFY_CACHED_CHECKSUMS.key, true, { ->
+            changeSet.generateCheckSum()
+        } as Scope.ScopedRunner)
+
+        then:
+        def e = thrown(UnexpectedLiquibaseException)
+        e.message.contains("does not match the current checksum")
+    }
+
     def isCheckSumValid_validCheckSum() {
         when:
         def changeSet = new ChangeSet("1", "2", false, false, "/test.xml", null, null, null);
@@ -89,6 +89,140 @@ create view sql_view as select * from sql_table;'''
         changeLog.getChangeSet(path, "auth", "with-dbms-and-context") == null
     }
 
+    def "getChangeSet ignores case and path formatting"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        changeLog.addChangeSet(new ChangeSet("id-1", "Auth", false, false, path, null, null, changeLog))
+
+        then:
+        changeLog.getChangeSet("classpath:COM/Example//path.xml", "auth", "ID-1").id == "id-1"
+        changeLog.getChangeSet("com\\example\\path.xml", "AUTH", "id-1").id == "id-1"
+        changeLog.getChangeSet("com/example/other.xml", "auth", "id-1") == null
+        changeLog.getChangeSet(null, "auth", "id-1") == null
+    }
+
+    def "getChangeSet finds changeSets added directly to the list"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        changeLog.addChangeSet(new ChangeSet("1", "auth", false, false, path, null, null, changeLog))
+        changeLog.getChangeSet(path, "auth", "1")
+        changeLog.getChangeSets().add(new ChangeSet("2", "auth", false, false, path, null, null, changeLog))
+
+        then:
+        changeLog.getChangeSet(path, "auth", "1").id == "1"
+        changeLog.getChangeSet(path, "auth", "2").id == "2"
+    }
+
+    def "getChangeSet sees replaced, removed and renamed changeSets"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        def moved = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        def reloaded = new ChangeSet("2", "auth", false, false, path, null, null, changeLog)
+        changeLog.addChangeSet(moved)
+        changeLog.addChangeSet(reloaded)
+        changeLog.addChangeSet(new ChangeSet("3", "auth", false, false, path, null, null, changeLog))
+        assert changeLog.getChangeSet(path, "auth", "1").is(moved)
+        assert changeLog.getChangeSet(path, "auth", "2").is(reloaded)
+        assert changeLog.getChangeSet(path, "auth", "3") != null
+
+        moved.setFilePath("com/example/other.xml")
+        reloaded.load(new ParsedNode(null, "changeSet").addChildren([id: "2b", author: "other"]), new MockResourceAccessor())
+        changeLog.getChangeSets().set(2, new ChangeSet("4", "auth", false, false, path, null, null, changeLog))
+
+        then:
+        changeLog.getChangeSet(path, "auth", "1") == null
+        changeLog.getChangeSet("com/example/other.xml", "auth", "1").is(moved)
+        changeLog.getChangeSet(path, "auth", "2") == null
+        changeLog.getChangeSet(path, "other", "2b").is(reloaded)
+        changeLog.getChangeSet(path, "auth", "3") == null
+        changeLog.getChangeSet(path, "auth", "4").id == "4"
+
+        when:
+        changeLog.getChangeSets().removeIf({ it.id == "4" })
+
+        then:
+        changeLog.getChangeSet(path, "auth", "4") == null
+    }
+
+    def "getChangeSet sees changeSets replaced through an iterator or sorted"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        def first = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        def duplicate = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        changeLog.addChangeSet(first)
+        changeLog.addChangeSet(duplicate)
+        assert changeLog.getChangeSet(path, "auth", "1").is(first)
+
+        def iterator = changeLog.getChangeSets().listIterator()
+        iterator.next()
+        iterator.set(new ChangeSet("2", "auth", false, false, path, null, null, changeLog))
+        iterator.next()
+
+        then:
+        changeLog.getChangeSet(path, "auth", "1").is(duplicate)
+        changeLog.getChangeSet(path, "auth", "2") != null
+
+        when:
+        changeLog.getChangeSets().add(0, first)
+        changeLog.getChangeSets().sort({ a, b -> a.is(duplicate) ? -1 : (b.is(duplicate) ? 1 : 0) })
+
+        then:
+        changeLog.getChangeSet(path, "auth", "1").is(duplicate)
+    }
+
+    def "getChangeSet returns the first changeSet in run order when several match"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        def normal = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        def first = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        first.runOrder = "first"
+        changeLog.addChangeSet(normal)
+        changeLog.addChangeSet(first)
+
+        then:
+        changeLog.getChangeSet(path, "auth", "1").is(first)
+    }
+
+    def "precomputeCheckSums caches the same checksums as serial computation"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        def expected = [:]
+        for (int i = 0; i < 50; i++) {
+            def changeSet = new ChangeSet("id-" + i, "auth", false, false, path, null, null, changeLog)
+            changeSet.addChange(new CreateTableChange(tableName: "table_" + i))
+            changeSet.addChange(new RawSQLChange("select " + i))
+            changeLog.addChangeSet(changeSet)
+
+            def copy = new ChangeSet("id-" + i, "auth", false, false, path, null, null, changeLog)
+            copy.addChange(new CreateTableChange(tableName: "table_" + i))
+            copy.addChange(new RawSQLChange("select " + i))
+            expected[changeSet.id] = copy.generateCheckSum()
+        }
+        changeLog.precomputeCheckSums(4)
+
+        then:
+        changeLog.changeSets.every { it.@checkSum != null }
+        changeLog.changeSets.every { it.generateCheckSum() == expected[it.id] }
+    }
+
+    def "precomputeCheckSums does nothing when parallelism is 1"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        changeLog.addChangeSet(new ChangeSet("1", "auth", false, false, path, null, null, changeLog))
+        changeLog.addChangeSet(new ChangeSet("2", "auth", false, false, path, null, null, changeLog))
+        changeLog.precomputeCheckSums(1)
+
+        then:
+        changeLog.changeSets.every { it.@checkSum == null }
+    }
+
     def "load handles both changes and preconditions"() {
         when:
         def children = [
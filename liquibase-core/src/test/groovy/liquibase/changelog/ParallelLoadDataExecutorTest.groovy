@@ -0,0 +1,145 @@
+package liquibase.changelog
+
+import liquibase.Scope
+import liquibase.change.core.LoadDataChange
+import liquibase.change.core.LoadDataColumnConfig
+import liquibase.change.core.SQLFileChange
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.exception.MigrationFailedException
+import liquibase.snapshot.SnapshotGeneratorFactory
+import org.h2.jdbcx.JdbcDataSource
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.sql.Connection
+import java.sql.SQLException
+import java.util.concurrent.atomic.AtomicInteger
+
+class ParallelLoadDataExecutorTest extends Specification {
+
+    private JdbcDataSource dataSource
+    private Database database
+
+    def setup() {
+        SnapshotGeneratorFactory.reset()
+        dataSource = new JdbcDataSource()
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")
+        def connection = dataSource.getConnection()
+        connection.createStatement().execute("CREATE TABLE person (id INT, name VARCHAR(50), active BOOLEAN)")
+        connection.createStatement().execute("CREATE TABLE person2 (id INT, name VARCHAR(50), active BOOLEAN)")
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        database.close()
+        def connection = dataSource.getConnection()
+        connection.createStatement().execute("SHUTDOWN")
+        connection.close()
+    }
+
+    def "loadData changes are loaded into their tables in parallel"() {
+        given:
+        def changeSet = createChangeSet(3, "person", "person2", "person")
+
+        when:
+        Scope.child(Scope.Attr.parallelLoadDataSource, dataSource, {
+            assert ParallelLoadDataExecutor.canExecute(changeSet, database)
+            changeSet.execute(new DatabaseChangeLog(), database)
+        } as Scope.ScopedRunner)
+
+        then:
+        countRows("person") == 6
+        countRows("person2") == 3
+    }
+
+    def "all tables are rolled back if one of the loads fails"() {
+        given:
+        def changeSet = createChangeSet(2, "person", "missing_table")
+
+        when:
+        Scope.child(Scope.Attr.parallelLoadDataSource, dataSource, {
+            changeSet.execute(new DatabaseChangeLog(), database)
+        } as Scope.ScopedRunner)
+
+        then:
+        def e = thrown(MigrationFailedException)
+        e.message.toUpperCase().contains("MISSING_TABLE")
+        countRows("person") == 0
+    }
+
+    def "connections after a failed commit are rolled back and the committed changes are reported"() {
+        given:
+        def changeSet = createChangeSet(2, "person", "person2")
+        def commits = new AtomicInteger()
+        def failingDataSource = [getConnection: { ->
+            def connection = dataSource.getConnection()
+            return (Connection) Proxy.newProxyInstance(Connection.classLoader, [Connection] as Class[], { proxy, Method method, Object[] args ->
+                if ((method.name == "commit") && (commits.incrementAndGet() == 2)) {
+                    throw new SQLException("commit failed")
+                }
+                try {
+                    return method.invoke(connection, args)
+                } catch (InvocationTargetException e) {
+                    throw e.cause
+                }
+            } as InvocationHandler)
+        }] as DataSource
+
+        when:
+        Scope.child(Scope.Attr.parallelLoadDataSource, failingDataSource, {
+            changeSet.execute(new DatabaseChangeLog(), database)
+        } as Scope.ScopedRunner)
+
+        then:
+        def e = thrown(MigrationFailedException)
+        e.message.contains("commit failed")
+        e.message.contains("Already committed: Data loaded from 'liquibase/change/core/sample.native.csv' into table 'person'")
+        countRows("person") == 3
+        countRows("person2") == 0
+    }
+
+    def "changeSets are run sequentially without a DataSource, with other changes or parallelLoad below 2"() {
+        when:
+        def withOtherChange = createChangeSet(2, "person")
+        withOtherChange.addChange(new SQLFileChange())
+        def withoutDataSource = createChangeSet(2, "person")
+        def singleThreaded = createChangeSet(1, "person", "person2")
+
+        then:
+        !ParallelLoadDataExecutor.canExecute(withoutDataSource, database)
+        Scope.child(Scope.Attr.parallelLoadDataSource, dataSource, {
+            assert !ParallelLoadDataExecutor.canExecute(withOtherChange, database)
+            assert !ParallelLoadDataExecutor.canExecute(singleThreaded, database)
+        } as Scope.ScopedRunner)
+    }
+
+    private static ChangeSet createChangeSet(int parallelLoad, String... tableNames) {
+        def changeSet = new ChangeSet("1", "test", false, false, "com/example/test.xml", null, null, null)
+        changeSet.setParallelLoad(parallelLoad)
+        for (String tableName : tableNames) {
+            def change = new LoadDataChange()
+            change.setTableName(tableName)
+            change.setFile("liquibase/change/core/sample.native.csv")
+            change.addColumn(new LoadDataColumnConfig(name: "active", type: "BOOLEAN"))
+            changeSet.addChange(change)
+        }
+        return changeSet
+    }
+
+    private int countRows(String tableName) {
+        def connection = dataSource.getConnection()
+        try {
+            def resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM " + tableName)
+            resultSet.next()
+            return resultSet.getInt(1)
+        } finally {
+            connection.close()
+        }
+    }
+}
@@ -79,6 +79,31 @@ public class ShouldRunChangeSetFilterTest extends Specification {
         assertFalse(filter.accepts(changeSet).isAccepted());
     }
 
+    public void does_NOT_accept_changeset_when_paths_differ_only_by_case_or_separators() throws DatabaseException {
+        when:
+        given_a_database_with_two_executed_changesets();
+        ShouldRunChangeSetFilter filter = new ShouldRunChangeSetFilter(database);
+
+        then:
+        assertFalse(filter.accepts(new ChangeSet("1", "testAuthor", false, false, "PATH\\Changelog", null, null, null)).isAccepted());
+        assertFalse(filter.accepts(new ChangeSet("2", "testAuthor", false, false, "./path//changelog", null, null, null)).isAccepted());
+    }
+
+    public void uses_overridden_matching_in_subclasses() throws DatabaseException {
+        when:
+        given_a_database_with_two_executed_changesets();
+        ShouldRunChangeSetFilter filter = new ShouldRunChangeSetFilter(database) {
+            @Override
+            protected boolean authorsAreEqual(ChangeSet changeSet, RanChangeSet ranChangeSet) {
+                return ranChangeSet.getAuthor().equalsIgnoreCase(changeSet.getAuthor())
+            }
+        }
+
+        then:
+        assertFalse(filter.accepts(new ChangeSet("1", "TESTAUTHOR", false, false, "path/changelog", null, null, null)).isAccepted());
+        assertTrue(filter.accepts(new ChangeSet("3", "TESTAUTHOR", false, false, "path/changelog", null, null, null)).isAccepted());
+    }
+
 //    public void should_decline_not_changed_changeset_when_has_run_on_change() throws DatabaseException {
 //        when:
 //        given_a_database_with_one_twice_executed_changeset();
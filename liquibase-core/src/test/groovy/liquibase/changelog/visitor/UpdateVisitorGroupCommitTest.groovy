@@ -0,0 +1,144 @@
+package liquibase.changelog.visitor
+
+import liquibase.Contexts
+import liquibase.GlobalConfiguration
+import liquibase.LabelExpression
+import liquibase.Liquibase
+import liquibase.RuntimeEnvironment
+import liquibase.Scope
+import liquibase.change.ColumnConfig
+import liquibase.change.core.CreateTableChange
+import liquibase.change.core.InsertDataChange
+import liquibase.changelog.ChangeLogHistoryServiceFactory
+import liquibase.changelog.ChangeLogIterator
+import liquibase.changelog.ChangeSet
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.exception.LiquibaseException
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.snapshot.SnapshotGeneratorFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.DriverManager
+
+class UpdateVisitorGroupCommitTest extends Specification {
+
+    private Connection connection
+    private Database database
+
+    def setup() {
+        SnapshotGeneratorFactory.reset()
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        connection.createStatement().execute("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50))")
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        database.close()
+    }
+
+    def "grouped changeSets are all recorded in order"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        insert(changeLog, "1", 1)
+        insert(changeLog, "2", 2)
+        createTable(changeLog, "3", "other")
+        insert(changeLog, "4", 3)
+        insert(changeLog, "5", 4)
+        insert(changeLog, "6", 5)
+
+        when:
+        update(changeLog, 2)
+
+        then:
+        query("SELECT id FROM person ORDER BY id") == [1, 2, 3, 4, 5]
+        query("SELECT id FROM DATABASECHANGELOG ORDER BY orderexecuted") == ["1", "2", "3", "4", "5", "6"]
+        query("SELECT orderexecuted FROM DATABASECHANGELOG ORDER BY orderexecuted") == [1, 2, 3, 4, 5, 6]
+    }
+
+    @Unroll
+    def "a failing changeSet rolls back the changeSets of its group with their history, group size #groupCommitSize"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        insert(changeLog, "1", 1)
+        insert(changeLog, "2", 2)
+        insert(changeLog, "3", 3)
+        insert(changeLog, "duplicate", 1)
+
+        when:
+        update(changeLog, groupCommitSize)
+
+        then:
+        thrown(LiquibaseException)
+        query("SELECT id FROM person ORDER BY id") == expectedRows
+        query("SELECT id FROM DATABASECHANGELOG ORDER BY orderexecuted") == expectedHistory
+
+        where:
+        groupCommitSize | expectedRows | expectedHistory
+        1               | [1, 2, 3]    | ["1", "2", "3"]
+        2               | [1, 2]       | ["1", "2"]
+        10              | []           | []
+    }
+
+    def "a group whose history cannot be inserted is rolled back"() {
+        given:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        insert(changeLog, "1", 1)
+        insert(changeLog, "x" * 300, 2)
+        insert(changeLog, "3", 3)
+        def historyService = ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database)
+
+        when:
+        Scope.child(GlobalConfiguration.HISTORY_GROUP_COMMIT_SIZE.getKey(), 10, {
+            historyService.init()
+            new ChangeLogIterator(changeLog).run(new UpdateVisitor(database, null),
+                    new RuntimeEnvironment(database, new Contexts(), new LabelExpression()))
+        } as Scope.ScopedRunner)
+
+        then:
+        thrown(LiquibaseException)
+        !historyService.hasPendingGroupCommit()
+        query("SELECT id FROM person ORDER BY id") == []
+        query("SELECT id FROM DATABASECHANGELOG ORDER BY orderexecuted") == []
+    }
+
+    private void update(DatabaseChangeLog changeLog, int groupCommitSize) {
+        Scope.child(GlobalConfiguration.HISTORY_GROUP_COMMIT_SIZE.getKey(), groupCommitSize, {
+            new Liquibase(changeLog, new ClassLoaderResourceAccessor(), database).update(new Contexts())
+        } as Scope.ScopedRunner)
+    }
+
+    private static void insert(DatabaseChangeLog changeLog, String id, int personId) {
+        def change = new InsertDataChange()
+        change.setTableName("person")
+        change.addColumn(new ColumnConfig().setName("id").setValueNumeric(personId))
+        change.addColumn(new ColumnConfig().setName("name").setValue("person " + personId))
+        add(changeLog, id, change)
+    }
+
+    private static void createTable(DatabaseChangeLog changeLog, String id, String tableName) {
+        def change = new CreateTableChange()
+        change.setTableName(tableName)
+        change.addColumn(new ColumnConfig().setName("id").setType("int"))
+        add(changeLog, id, change)
+    }
+
+    private static void add(DatabaseChangeLog changeLog, String id, def change) {
+        def changeSet = new ChangeSet(id, "test", false, false, "changelog.xml", null, null, changeLog)
+        changeSet.addChange(change)
+        changeLog.addChangeSet(changeSet)
+    }
+
+    private List query(String sql) {
+        def rs = connection.createStatement().executeQuery(sql)
+        def values = []
+        while (rs.next()) {
+            values << rs.getObject(1)
+        }
+        return values
+    }
+}
@@ -0,0 +1,147 @@
+package liquibase.precondition
+
+import liquibase.CatalogAndSchema
+import liquibase.Scope
+import liquibase.change.ColumnConfig
+import liquibase.change.core.CreateTableChange
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.snapshot.SnapshotControl
+import liquibase.snapshot.SnapshotGeneratorFactory
+import liquibase.structure.DatabaseObject
+import liquibase.structure.core.Column
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class PreconditionMetadataCacheTest extends Specification {
+
+    private Database database
+
+    def setup() {
+        SnapshotGeneratorFactory.reset()
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        execute("CREATE TABLE existing (id INT PRIMARY KEY, name VARCHAR(50))")
+    }
+
+    def cleanup() {
+        database.close()
+    }
+
+    def "checks in a run are answered from the cached metadata"() {
+        when:
+        def results = withCache {
+            def before = [
+                    PreconditionMetadataCache.has(table("EXISTING"), database),
+                    PreconditionMetadataCache.has(table("CREATED_LATER"), database),
+                    PreconditionMetadataCache.has(column("EXISTING", "NAME"), database),
+                    PreconditionMetadataCache.has(column("EXISTING", "MISSING"), database)
+            ]
+            execute("CREATE TABLE created_later (id INT)")
+            return before + PreconditionMetadataCache.has(table("CREATED_LATER"), database)
+        }
+
+        then:
+        results == [true, false, true, false, false]
+    }
+
+    def "checks outside of a run always read the database"() {
+        expect:
+        !PreconditionMetadataCache.has(table("CREATED_LATER"), database)
+
+        when:
+        execute("CREATE TABLE created_later (id INT)")
+
+        then:
+        PreconditionMetadataCache.has(table("CREATED_LATER"), database)
+    }
+
+    def "changes executed in the run invalidate the cached metadata"() {
+        given:
+        def change = new CreateTableChange()
+        change.setTableName("created_by_change")
+        change.addColumn(new ColumnConfig().setName("id").setType("int"))
+
+        when:
+        def results = withCache {
+            def before = PreconditionMetadataCache.has(table("CREATED_BY_CHANGE"), database)
+            database.executeStatements(change, null, null)
+            PreconditionMetadataCache.invalidate(change, database)
+            return [before, PreconditionMetadataCache.has(table("CREATED_BY_CHANGE"), database)]
+        }
+
+        then:
+        results == [false, true]
+    }
+
+    def "changes only evict the tables they affect"() {
+        given:
+        def cache = new CountingPreconditionMetadataCache()
+        def change = new CreateTableChange()
+        change.setTableName("created_by_change")
+        change.addColumn(new ColumnConfig().setName("id").setType("int"))
+
+        when:
+        def results = withCache(cache) {
+            def before = [
+                    PreconditionMetadataCache.has(table("EXISTING"), database),
+                    PreconditionMetadataCache.has(column("EXISTING", "NAME"), database),
+                    PreconditionMetadataCache.has(table("CREATED_BY_CHANGE"), database)
+            ]
+            database.executeStatements(change, null, null)
+            PreconditionMetadataCache.invalidate(change, database)
+            return before + [
+                    PreconditionMetadataCache.has(table("EXISTING"), database),
+                    PreconditionMetadataCache.has(column("EXISTING", "NAME"), database),
+                    PreconditionMetadataCache.has(table("CREATED_BY_CHANGE"), database),
+                    PreconditionMetadataCache.has(column("CREATED_BY_CHANGE", "ID"), database)
+            ]
+        }
+
+        then:
+        results == [true, true, false, true, true, true, true]
+        cache.createdSnapshots == 2
+        cache.lookups == 2
+    }
+
+    private <T> T withCache(Closure<T> closure) {
+        return withCache(new PreconditionMetadataCache(), closure)
+    }
+
+    private <T> T withCache(PreconditionMetadataCache cache, Closure<T> closure) {
+        return Scope.child([(Scope.Attr.preconditionMetadataCache.name()): cache], closure as Scope.ScopedRunnerWithReturn<T>)
+    }
+
+    private void execute(String sql) {
+        ((JdbcConnection) database.getConnection()).createStatement().execute(sql)
+    }
+
+    private static Table table(String name) {
+        return new Table().setName(name)
+    }
+
+    private static Column column(String tableName, String name) {
+        return new Column(Table, null, null, tableName, name)
+    }
+
+    private static class CountingPreconditionMetadataCache extends PreconditionMetadataCache {
+        int createdSnapshots
+        int lookups
+
+        @Override
+        protected DatabaseSnapshot createSnapshot(CatalogAndSchema schema, Database database, SnapshotControl snapshotControl) {
+            createdSnapshots++
+            return super.createSnapshot(schema, database, snapshotControl)
+        }
+
+        @Override
+        protected boolean exists(DatabaseObject example, Database database) {
+            lookups++
+            return super.exists(example, database)
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package liquibase.serializer.core.binary
+
+import liquibase.CatalogAndSchema
+import liquibase.Scope
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.exception.LiquibaseParseException
+import liquibase.parser.SnapshotParserFactory
+import liquibase.parser.core.binary.BinarySnapshotParser
+import liquibase.parser.core.json.JsonSnapshotParser
+import liquibase.resource.FileSystemResourceAccessor
+import liquibase.serializer.SnapshotSerializerFactory
+import liquibase.serializer.core.json.JsonSnapshotSerializer
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.snapshot.SnapshotControl
+import liquibase.snapshot.SnapshotGeneratorFactory
+import liquibase.structure.core.Column
+import liquibase.structure.core.ForeignKey
+import liquibase.structure.core.Sequence
+import liquibase.structure.core.Table
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class BinarySnapshotSerializerTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    private Database database
+
+    def setup() {
+        SnapshotGeneratorFactory.reset()
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        database.close()
+    }
+
+    def "binary snapshots restore the same objects as json snapshots"() {
+        given:
+        execute("CREATE TABLE parent (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50) DEFAULT 'x' NOT NULL, " +
+                "created TIMESTAMP DEFAULT CURRENT_TIMESTAMP, amount DECIMAL(10, 2) DEFAULT 1.5, CONSTRAINT uq_name UNIQUE (name))")
+        execute("CREATE TABLE child (id INT PRIMARY KEY, parent_id INT REFERENCES parent(id))")
+        execute("CREATE INDEX idx_child ON child(parent_id)")
+        execute("CREATE SEQUENCE seq_test START WITH 10")
+        def snapshot = createSnapshot()
+        snapshot.getMetadata().put("source", "test")
+
+        when:
+        def binary = write(new BinarySnapshotSerializer(), snapshot, "snapshot.lbsnap")
+        def json = write(new JsonSnapshotSerializer(), snapshot, "snapshot.json")
+        def fromBinary = new BinarySnapshotParser().parse("snapshot.lbsnap", resourceAccessor())
+        def fromJson = new JsonSnapshotParser().parse("snapshot.json", resourceAccessor())
+
+        then:
+        binary.length() < json.length()
+        fromBinary.get(Table)*.name.sort() == ["CHILD", "PARENT"]
+        fromBinary.get(Column).size() == 6
+        fromBinary.get(ForeignKey).size() == 1
+        fromBinary.get(Sequence)*.name == ["SEQ_TEST"]
+        fromBinary.getMetadata().get("source") == "test"
+        serialize(fromBinary) == serialize(fromJson)
+    }
+
+    def "the format is registered by file extension"() {
+        expect:
+        SnapshotSerializerFactory.getInstance().getSerializer("snapshot.lbsnap") instanceof BinarySnapshotSerializer
+        SnapshotParserFactory.getInstance().getParser("snapshot.lbsnap", resourceAccessor()) instanceof BinarySnapshotParser
+    }
+
+    def "files of a newer format version are rejected"() {
+        given:
+        def file = temporaryFolder.newFile("newer.lbsnap")
+        file.withOutputStream { out ->
+            out.write(BinarySnapshotSerializer.MAGIC)
+            out.write(BinarySnapshotSerializer.VERSION + 1)
+        }
+
+        when:
+        new BinarySnapshotParser().parse("newer.lbsnap", resourceAccessor())
+
+        then:
+        def e = thrown(LiquibaseParseException)
+        e.message.contains("Unsupported lbsnap snapshot version 2")
+    }
+
+    def "large snapshots reload from binary and json, logging the reload times"() {
+        given:
+        for (int i = 0; i < 150; i++) {
+            execute("CREATE TABLE table_$i (id INT PRIMARY KEY, name VARCHAR(50) DEFAULT 'x' NOT NULL, amount DECIMAL(10, 2), " +
+                    "created TIMESTAMP, description VARCHAR(200))")
+            execute("CREATE INDEX idx_table_$i ON table_$i(name)")
+        }
+        def snapshot = createSnapshot()
+        write(new BinarySnapshotSerializer(), snapshot, "large.lbsnap")
+        write(new JsonSnapshotSerializer(), snapshot, "large.json")
+
+        when:
+        long jsonMillis = bestReloadMillis(new JsonSnapshotParser(), "large.json")
+        long binaryMillis = bestReloadMillis(new BinarySnapshotParser(), "large.lbsnap")
+        // timings depend on the machine, so they are only logged
+        Scope.getCurrentScope().getLog(getClass()).info("Reloading " + snapshot.get(Column).size() + " columns took "
+                + jsonMillis + "ms from json and " + binaryMillis + "ms from lbsnap")
+
+        then:
+        new BinarySnapshotParser().parse("large.lbsnap", resourceAccessor()).get(Column).size() == snapshot.get(Column).size()
+        new JsonSnapshotParser().parse("large.json", resourceAccessor()).get(Column).size() == snapshot.get(Column).size()
+    }
+
+    private long bestReloadMillis(def parser, String path) {
+        long best = Long.MAX_VALUE
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime()
+            parser.parse(path, resourceAccessor())
+            best = Math.min(best, System.nanoTime() - start)
+        }
+        return best / 1000000L as long
+    }
+
+    private void execute(String sql) {
+        ((JdbcConnection) database.getConnection()).createStatement().execute(sql)
+    }
+
+    private DatabaseSnapshot createSnapshot() {
+        return SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema(null, "PUBLIC"), database,
+                new SnapshotControl(database))
+    }
+
+    private File write(def serializer, DatabaseSnapshot snapshot, String fileName) {
+        def file = new File(temporaryFolder.getRoot(), fileName)
+        file.withOutputStream { serializer.write(snapshot, it) }
+        return file
+    }
+
+    private FileSystemResourceAccessor resourceAccessor() {
+        return new FileSystemResourceAccessor(temporaryFolder.getRoot())
+    }
+
+    private static String serialize(DatabaseSnapshot snapshot) {
+        return new JsonSnapshotSerializer().serialize(snapshot, true).replaceAll('"created": "[^"]*"', "")
+    }
+}
@@ -0,0 +1,70 @@
+package liquibase.serializer.core.json
+
+import liquibase.CatalogAndSchema
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.parser.core.json.JsonSnapshotParser
+import liquibase.parser.core.yaml.YamlSnapshotParser
+import liquibase.resource.FileSystemResourceAccessor
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.snapshot.SnapshotControl
+import liquibase.snapshot.SnapshotGeneratorFactory
+import liquibase.structure.core.Column
+import liquibase.structure.core.ForeignKey
+import liquibase.structure.core.PrimaryKey
+import liquibase.structure.core.Table
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class JsonSnapshotSerializerTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    def "streamed snapshots are read back the same as with the yaml parser"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        connection.createStatement().execute("CREATE TABLE parent (id INT PRIMARY KEY, name VARCHAR(50) DEFAULT 'x' NOT NULL)")
+        connection.createStatement().execute("CREATE TABLE child (id INT PRIMARY KEY, parent_id INT REFERENCES parent(id))")
+        connection.createStatement().execute("CREATE INDEX idx_child ON child(parent_id)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema(null, "PUBLIC"), database,
+                new SnapshotControl(database))
+        snapshot.getMetadata().put("source", "test")
+
+        def serializer = new JsonSnapshotSerializer()
+        def file = temporaryFolder.newFile("snapshot.json")
+
+        when:
+        file.withOutputStream { serializer.write(snapshot, it) }
+        def resourceAccessor = new FileSystemResourceAccessor(temporaryFolder.getRoot())
+        def streamed = new JsonSnapshotParser().parse("snapshot.json", resourceAccessor)
+        def parsed = new YamlSnapshotParser().parse("snapshot.json", resourceAccessor)
+
+        then:
+        streamed.get(Table)*.name.sort() == ["CHILD", "PARENT"]
+        streamed.get(Column).size() == 4
+        streamed.get(ForeignKey).size() == 1
+        streamed.get(PrimaryKey)*.table*.name.sort() == ["CHILD", "PARENT"]
+        streamed.getMetadata().get("source") == "test"
+        streamed.getDatabase().getShortName() == "h2"
+        withoutConnection(serializer, streamed) == withoutConnection(serializer, parsed)
+        withoutConnection(serializer, streamed) == withoutConnection(serializer, snapshot)
+
+        cleanup:
+        database?.close()
+    }
+
+    /**
+     * Removes the creation time and the database node, which describes the offline connection for restored snapshots
+     */
+    private static String withoutConnection(JsonSnapshotSerializer serializer, DatabaseSnapshot snapshot) {
+        return serializer.serialize(snapshot, true)
+                .replaceAll('"created": "[^"]*"', "")
+                .replaceAll('"database": \\{[^}]*}', "")
+    }
+}
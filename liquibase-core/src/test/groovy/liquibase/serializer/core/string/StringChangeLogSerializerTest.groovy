@@ -297,7 +297,7 @@ public class StringChangeLogSerializerTest extends Specification {
                 //nothing, from emma
             } else if (field.getName().equals("serialVersionUID")) {
                 //nothing
-            } else if (Modifier.isStatic(field.getModifiers())) {
+            } else if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
                 // nothing if it is static
             } else if (field.getType().equals(Logger.class)) {
                 //nothing
@@ -0,0 +1,82 @@
+package liquibase.snapshot
+
+import liquibase.executor.jvm.RowMapperResultSetExtractor
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class CachedRowMapperTest extends Specification {
+
+    def "rows of a result set share their column names and repeated values"() {
+        given:
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        def resultSet = connection.createStatement().executeQuery(
+                "SELECT * FROM (VALUES ('PUBLIC', 'T1', 1, TRUE), ('PUBLIC', 'T2', 2, FALSE)) AS t(table_schem, table_name, ordinal, nullable)")
+
+        when:
+        def rows = (List<CachedRow>) new RowMapperResultSetExtractor(new CachedRowMapper()).extractData(resultSet)
+
+        then:
+        rows.size() == 2
+        rows[0].getString("TABLE_NAME") == "T1"
+        rows[1].getInt("ORDINAL") == 2
+        rows[0].getBoolean("NULLABLE")
+        !rows[1].getBoolean("NULLABLE")
+        rows[0].@columnIndexes.is(rows[1].@columnIndexes)
+        rows[0].get("TABLE_SCHEM").is(rows[1].get("TABLE_SCHEM"))
+
+        cleanup:
+        connection?.close()
+    }
+
+    def "a repeated column label maps to its last column"() {
+        given:
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        def resultSet = connection.createStatement().executeQuery("SELECT 1 AS A, 2 AS B, 3 AS A, 4 AS C, 5 AS D")
+
+        when:
+        def rows = (List<CachedRow>) new RowMapperResultSetExtractor(new CachedRowMapper()).extractData(resultSet)
+
+        then:
+        rows.size() == 1
+        rows[0].getInt("A") == 3
+        rows[0].getInt("B") == 2
+        rows[0].getInt("C") == 4
+        rows[0].getInt("D") == 5
+
+        cleanup:
+        connection?.close()
+    }
+
+    def "values can be replaced and added per row"() {
+        given:
+        def rows = new CachedRowMapper().toCachedRows([
+                [TABLE_NAME: "T1", COLUMN_SIZE: 10],
+                [TABLE_NAME: "T2", COLUMN_SIZE: 20],
+        ])
+
+        when:
+        rows[0].set("COLUMN_SIZE", null)
+        rows[0].set("EXTRA", "x")
+
+        then:
+        rows[0].containsColumn("COLUMN_SIZE")
+        rows[0].get("COLUMN_SIZE") == null
+        rows[1].getInt("COLUMN_SIZE") == 20
+        rows[0].getString("EXTRA") == "x"
+        rows[0].containsColumn("EXTRA")
+        !rows[1].containsColumn("EXTRA")
+        !rows[1].containsColumn("MISSING")
+    }
+
+    def "rows can still be created from a map"() {
+        when:
+        def row = new CachedRow([TABLE_NAME: "T1", NULLABLE: "YES"])
+
+        then:
+        row.getString("TABLE_NAME") == "T1"
+        row.yesNoToBoolean("NULLABLE")
+        row.containsColumn("NULLABLE")
+        !row.containsColumn("OTHER")
+    }
+}
@@ -0,0 +1,154 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.structure.core.Column
+import liquibase.structure.core.ForeignKey
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class IncrementalSnapshotGeneratorTest extends Specification {
+
+    def "only tables with a changed DDL time are read again"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        connection.createStatement().execute("CREATE TABLE A (a1 INT)")
+        connection.createStatement().execute("CREATE TABLE B (b1 INT)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        def example = new CatalogAndSchema(null, "PUBLIC").customize(database)
+        def schemas = [new Schema(example.catalogName, example.schemaName)] as Schema[]
+        def ddlTimes = ["PUBLIC.A": "1", "PUBLIC.B": "1"]
+        def generator = new IncrementalSnapshotGenerator() {
+            @Override
+            protected Map<String, String> readDdlTimes(Database db, Schema[] s) {
+                return new HashMap<String, String>(ddlTimes)
+            }
+        }
+
+        when: "there is no previous DDL time, everything is read"
+        def first = generator.createSnapshot(schemas, database,
+                new SnapshotControl(database).setPreviousSnapshot(new RestoredDatabaseSnapshot(database)))
+
+        then:
+        columns(first) == ["A.A1", "B.B1"]
+        first.metadata[IncrementalSnapshotGenerator.DDL_TIMES_METADATA] == ["PUBLIC.A": "1", "PUBLIC.B": "1"]
+
+        when: "B and the new table C changed, A changed without a new DDL time"
+        connection.createStatement().execute("ALTER TABLE A ADD a2 INT")
+        connection.createStatement().execute("ALTER TABLE B ADD b2 INT")
+        connection.createStatement().execute("CREATE TABLE C (c1 INT)")
+        ddlTimes = ["PUBLIC.A": "1", "PUBLIC.B": "2", "PUBLIC.C": "1"]
+        def second = generator.createSnapshot(schemas, database, new SnapshotControl(database).setPreviousSnapshot(first))
+
+        then:
+        columns(second) == ["A.A1", "B.B1", "B.B2", "C.C1"]
+        second.get(Table).every { it.schema.is(second.get(Schema).first()) }
+        second.metadata[IncrementalSnapshotGenerator.DDL_TIMES_METADATA] == ddlTimes
+
+        when: "B was dropped"
+        connection.createStatement().execute("DROP TABLE B")
+        ddlTimes = ["PUBLIC.A": "1", "PUBLIC.C": "1"]
+        def third = generator.createSnapshot(schemas, database, new SnapshotControl(database).setPreviousSnapshot(second))
+
+        then:
+        columns(third) == ["A.A1", "C.C1"]
+
+        cleanup:
+        database?.close()
+    }
+
+    def "copied tables are linked to the tables that were read again"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        connection.createStatement().execute("CREATE TABLE PARENT (id INT PRIMARY KEY)")
+        connection.createStatement().execute("CREATE TABLE CHILD (id INT, parent_id INT, CONSTRAINT FK_CHILD_PARENT FOREIGN KEY (parent_id) REFERENCES PARENT (id))")
+        connection.createStatement().execute("CREATE TABLE OTHER (id INT)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        def example = new CatalogAndSchema(null, "PUBLIC").customize(database)
+        def schemas = [new Schema(example.catalogName, example.schemaName)] as Schema[]
+        def ddlTimes = ["PUBLIC.PARENT": "1", "PUBLIC.CHILD": "1", "PUBLIC.OTHER": "1"]
+        def generator = new IncrementalSnapshotGenerator() {
+            @Override
+            protected Map<String, String> readDdlTimes(Database db, Schema[] s) {
+                return new HashMap<String, String>(ddlTimes)
+            }
+        }
+        def first = generator.createSnapshot(schemas, database,
+                new SnapshotControl(database).setPreviousSnapshot(new RestoredDatabaseSnapshot(database)))
+
+        when: "the table with the foreign key changed"
+        connection.createStatement().execute("ALTER TABLE CHILD ADD name VARCHAR(10)")
+        ddlTimes = ["PUBLIC.PARENT": "1", "PUBLIC.CHILD": "2", "PUBLIC.OTHER": "1"]
+        def second = generator.createSnapshot(schemas, database, new SnapshotControl(database).setPreviousSnapshot(first))
+
+        then:
+        columns(second) == ["CHILD.ID", "CHILD.NAME", "CHILD.PARENT_ID", "OTHER.ID", "PARENT.ID"]
+        linked(second)
+        !second.get(table("PARENT")).is(first.get(table("PARENT")))
+        first.get(table("PARENT")).schema.is(first.get(Schema).first())
+        first.get(Column).every { column -> first.get(Table).any { it.is(column.relation) } }
+
+        when: "the referenced table changed, the table with the foreign key is read again"
+        connection.createStatement().execute("ALTER TABLE PARENT ADD name VARCHAR(10)")
+        ddlTimes = ["PUBLIC.PARENT": "2", "PUBLIC.CHILD": "2", "PUBLIC.OTHER": "1"]
+        def third = generator.createSnapshot(schemas, database, new SnapshotControl(database).setPreviousSnapshot(second))
+
+        then:
+        columns(third) == ["CHILD.ID", "CHILD.NAME", "CHILD.PARENT_ID", "OTHER.ID", "PARENT.ID", "PARENT.NAME"]
+        linked(third)
+        third.get(table("CHILD")).is(third.get(ForeignKey).first().foreignKeyTable)
+        !third.get(table("OTHER")).is(second.get(table("OTHER")))
+
+        cleanup:
+        database?.close()
+    }
+
+    def "databases without DDL times get a full snapshot"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        connection.createStatement().execute("CREATE TABLE A (a1 INT)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+
+        when:
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema(null, "PUBLIC"), database,
+                new SnapshotControl(database).setPreviousSnapshot(new RestoredDatabaseSnapshot(database)))
+
+        then:
+        columns(snapshot) == ["A.A1"]
+        !snapshot.metadata.containsKey(IncrementalSnapshotGenerator.DDL_TIMES_METADATA)
+
+        cleanup:
+        database?.close()
+    }
+
+    /**
+     * Returns true if the foreign key, the columns and the tables of the snapshot all reference each other
+     */
+    private static boolean linked(DatabaseSnapshot snapshot) {
+        def schema = snapshot.get(Schema).first()
+        def foreignKey = snapshot.get(ForeignKey).first()
+        return snapshot.get(ForeignKey).size() == 1 &&
+                foreignKey.primaryKeyTable.is(snapshot.get(table("PARENT"))) &&
+                foreignKey.foreignKeyTable.is(snapshot.get(table("CHILD"))) &&
+                foreignKey.primaryKeyColumns.every { column -> snapshot.get(Column).any { it.is(column) } } &&
+                foreignKey.foreignKeyColumns.every { column -> snapshot.get(Column).any { it.is(column) } } &&
+                snapshot.get(Column).every { column -> snapshot.get(Table).any { it.is(column.relation) } } &&
+                snapshot.get(Table).every { it.schema.is(schema) }
+    }
+
+    private static Table table(String name) {
+        return new Table().setName(name)
+    }
+
+    private static List<String> columns(DatabaseSnapshot snapshot) {
+        return snapshot.get(Column).findAll { it.relation instanceof Table }.collect { it.relation.name + "." + it.name }.sort()
+    }
+}
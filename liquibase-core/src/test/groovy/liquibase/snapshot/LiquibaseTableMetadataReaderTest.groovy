@@ -0,0 +1,115 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.core.H2Database
+import liquibase.database.core.MSSQLDatabase
+import liquibase.database.core.MySQLDatabase
+import liquibase.database.core.PostgresDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.structure.core.Column
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.DriverManager
+
+class LiquibaseTableMetadataReaderTest extends Specification {
+
+    private Database database
+
+    def setup() {
+        SnapshotGeneratorFactory.reset()
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        database.close()
+    }
+
+    def "reads the columns of the changelog table with one query"() {
+        given:
+        execute("CREATE TABLE DATABASECHANGELOG (ID VARCHAR(255) NOT NULL, MD5SUM VARCHAR(35), LIQUIBASE VARCHAR(20), ORDEREXECUTED INT)")
+
+        when:
+        def table = new LiquibaseTableMetadataReader().read(database, "databasechangelog")
+
+        then:
+        table.name == "DATABASECHANGELOG"
+        table.columns*.name == ["ID", "MD5SUM", "LIQUIBASE", "ORDEREXECUTED"]
+        table.getColumn("MD5SUM").type.columnSize == 35
+        table.getColumn("LIQUIBASE").type.columnSize == 20
+        new LiquibaseTableMetadataReader().read(database, "DATABASECHANGELOGLOCK") == null
+    }
+
+    def "existing liquibase tables are cached until reset"() {
+        given:
+        def factory = SnapshotGeneratorFactory.getInstance()
+
+        expect:
+        !factory.hasDatabaseChangeLogLockTable(database)
+
+        when:
+        execute("CREATE TABLE DATABASECHANGELOGLOCK (ID INT NOT NULL, LOCKED BOOLEAN NOT NULL)")
+
+        then: "missing tables are not cached"
+        factory.hasDatabaseChangeLogLockTable(database)
+
+        when:
+        execute("DROP TABLE DATABASECHANGELOGLOCK")
+
+        then:
+        factory.hasDatabaseChangeLogLockTable(database)
+
+        when:
+        factory.resetLiquibaseTables(database)
+
+        then:
+        !factory.hasDatabaseChangeLogLockTable(database)
+    }
+
+    def "changelog table columns come from the reader when only tables and columns are requested"() {
+        given:
+        execute("CREATE TABLE DATABASECHANGELOG (ID VARCHAR(255) NOT NULL, LIQUIBASE VARCHAR(20))")
+
+        when:
+        def table = SnapshotGeneratorFactory.getInstance().getDatabaseChangeLogTable(
+                new SnapshotControl(database, false, Table, Column), database)
+
+        then:
+        table.columns*.name == ["ID", "LIQUIBASE"]
+        table.getColumn("LIQUIBASE").type.columnSize == 20
+    }
+
+    def "liquibase tables in other schemas are not found through the liquibase schema"() {
+        given:
+        execute("CREATE SCHEMA OTHER")
+        execute("CREATE TABLE DATABASECHANGELOGLOCK (ID INT NOT NULL, LOCKED BOOLEAN NOT NULL)")
+        def factory = SnapshotGeneratorFactory.getInstance()
+
+        expect:
+        factory.has(new Table().setName("DATABASECHANGELOGLOCK"), database)
+        factory.has(new Table().setName("DATABASECHANGELOGLOCK").setSchema(new Schema((String) null, "PUBLIC")), database)
+        !factory.has(new Table().setName("DATABASECHANGELOGLOCK").setSchema(new Schema((String) null, "OTHER")), database)
+    }
+
+    @Unroll
+    def "information_schema is queried for #database.shortName"() {
+        expect:
+        (new LiquibaseTableMetadataReader().getInformationSchemaQuery(database, new CatalogAndSchema("cat", "sch")) != null) == expected
+
+        where:
+        database               | expected
+        new PostgresDatabase() | true
+        new MySQLDatabase()    | true
+        new MSSQLDatabase()    | true
+        new H2Database()       | false
+    }
+
+    private void execute(String sql) {
+        ((JdbcConnection) database.getConnection()).createStatement().execute(sql)
+    }
+}
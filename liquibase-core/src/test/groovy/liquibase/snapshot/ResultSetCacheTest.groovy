@@ -0,0 +1,202 @@
+package liquibase.snapshot
+
+import liquibase.database.Database
+import liquibase.database.core.H2Database
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class ResultSetCacheTest extends Specification {
+
+    private Database database = new H2Database()
+
+    def "rows are fetched one at a time until the schema is bulk fetched"() {
+        given:
+        def cache = new ResultSetCache(0)
+        def extractor = { String name -> new TestExtractor(database, "s1", name, ["s1": ["a", "b", "c", "d"]]) }
+
+        when:
+        def results = ["a", "b", "c", "d", "a", "x"].collect { cache.get(extractor(it))*.get("NAME") }
+
+        then:
+        results == [["a"], ["b"], ["c"], ["d"], ["a"], []]
+        cache.singleFetches == 3
+        cache.bulkFetches == 1
+        cache.misses == 4
+        cache.hits == 2
+        cache.cachedRows == 4
+    }
+
+    def "least recently used schemas are evicted once the row limit is reached"() {
+        given:
+        def cache = new ResultSetCache(3)
+        def rows = ["s1": ["a", "b"], "s2": ["c", "d"], "s3": ["e"]]
+        def extractor = { String schema, String name -> new TestExtractor(database, schema, name, rows, true) }
+
+        when:
+        cache.get(extractor("s1", "a"))
+        cache.get(extractor("s2", "c"))
+
+        then:
+        cache.evictions == 1
+        cache.cachedRows == 2
+
+        when: "the evicted schema is needed again"
+        def found = cache.get(extractor("s1", "b"))
+
+        then:
+        found*.get("NAME") == ["b"]
+        cache.bulkFetches == 3
+        cache.evictions == 2
+        cache.cachedRows == 2
+
+        when: "s3 fits next to s1"
+        cache.get(extractor("s3", "e"))
+
+        then:
+        cache.evictions == 2
+        cache.cachedRows == 3
+        cache.get(extractor("s1", "a"))*.get("NAME") == ["a"]
+        cache.bulkFetches == 4
+    }
+
+    def "a fetch of all schemas is only repeated for evicted schemas"() {
+        given:
+        def cache = new ResultSetCache(3)
+        def rows = ["s1": ["a", "b"], "s2": ["c", "d"]]
+        def extractor = { String schema, String name -> new TestExtractor(database, schema, name, rows, true, true) }
+
+        when:
+        def found = cache.get(extractor("s1", "a"))
+
+        then:
+        found*.get("NAME") == ["a"]
+        cache.bulkFetches == 1
+        cache.evictions == 1
+        cache.cachedRows == 2
+
+        when: "schemas without the row or without any rows were fetched already"
+        cache.get(extractor("s1", "x"))
+        cache.get(extractor("s3", "x"))
+
+        then:
+        cache.bulkFetches == 1
+
+        when: "the evicted schema is needed again"
+        found = cache.get(extractor("s2", "c"))
+
+        then:
+        found*.get("NAME") == ["c"]
+        cache.bulkFetches == 2
+        cache.evictions == 2
+        cache.cachedRows == 2
+        cache.get(extractor("s2", "x")) == []
+        cache.get(extractor("s3", "x")) == []
+        cache.bulkFetches == 2
+    }
+
+    def "a null schema and the explicit default schema share the cached rows"() {
+        given:
+        def h2 = new H2Database()
+        h2.setDefaultCatalogName("DB")
+        h2.setDefaultSchemaName("PUBLIC")
+        def cache = new ResultSetCache(0)
+        def rows = [(null): ["a"], "public": ["a"]]
+
+        expect:
+        new ResultSetCache.RowData(null, null, h2, "a").createSchemaKey(h2) == new ResultSetCache.RowData("db", "public", h2, "a").createSchemaKey(h2)
+
+        when:
+        cache.get(new TestExtractor(h2, null, "a", rows, true))
+        def found = cache.get(new TestExtractor(h2, "public", "a", rows, true))
+
+        then:
+        found*.get("NAME") == ["a"]
+        cache.bulkFetches == 1
+        cache.hits == 1
+    }
+
+    def "the cache can be used from several threads"() {
+        given:
+        def cache = new ResultSetCache(0)
+        def names = (0..<50).collect { "t" + it }
+        def pool = Executors.newFixedThreadPool(8)
+
+        when:
+        def results = pool.invokeAll((0..<400).collect { i ->
+            def name = names[i % names.size()]
+            return { cache.get(new TestExtractor(database, "s1", name, ["s1": names]))*.get("NAME") } as Callable
+        })*.get()
+
+        then:
+        results.eachWithIndex { List found, int i -> assert found == [names[i % names.size()]] }
+        cache.bulkFetches == 1
+        cache.hits + cache.misses == 400
+
+        cleanup:
+        pool?.shutdown()
+    }
+
+    private static class TestExtractor extends ResultSetCache.SingleResultSetExtractor {
+        private final Database database
+        private final String schema
+        private final String name
+        private final Map<String, List<String>> rowsBySchema
+        private final boolean alwaysBulk
+        private final boolean allSchemas
+
+        TestExtractor(Database database, String schema, String name, Map<String, List<String>> rowsBySchema,
+                      boolean alwaysBulk = false, boolean allSchemas = false) {
+            super(database)
+            this.database = database
+            this.schema = schema
+            this.name = name
+            this.rowsBySchema = rowsBySchema
+            this.alwaysBulk = alwaysBulk
+            this.allSchemas = allSchemas
+        }
+
+        @Override
+        boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
+            return alwaysBulk || super.shouldBulkSelect(schemaKey, resultSetCache)
+        }
+
+        @Override
+        boolean bulkContainsSchema(String schemaKey) {
+            return allSchemas
+        }
+
+        @Override
+        String getSchemaKey(CachedRow row) {
+            return "null." + row.getString("SCHEMA")
+        }
+
+        @Override
+        ResultSetCache.RowData rowKeyParameters(CachedRow row) {
+            return new ResultSetCache.RowData(null, row.getString("SCHEMA"), database, row.getString("NAME"))
+        }
+
+        @Override
+        ResultSetCache.RowData wantedKeyParameters() {
+            return new ResultSetCache.RowData(null, schema, database, name)
+        }
+
+        @Override
+        List<CachedRow> fastFetchQuery() {
+            return rowsBySchema[schema].findAll { it == name }.collect { row(it) }
+        }
+
+        @Override
+        List<CachedRow> bulkFetchQuery() {
+            if (allSchemas) {
+                return rowsBySchema.collectMany { rowSchema, names -> names.collect { row(it, rowSchema) } }
+            }
+            return rowsBySchema[schema].collect { row(it) }
+        }
+
+        private CachedRow row(String rowName, String rowSchema = schema) {
+            return new CachedRow([SCHEMA: rowSchema, NAME: rowName])
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+import java.sql.DriverManager
+import java.util.concurrent.atomic.AtomicInteger
+
+class SnapshotGeneratorFactoryTest extends Specification {
+
+    def "schemas are snapshotted in parallel on connections from the supplier"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"
+        def connection = DriverManager.getConnection(url)
+        for (String schema : ["S1", "S2", "S3"]) {
+            connection.createStatement().execute("CREATE SCHEMA " + schema)
+            connection.createStatement().execute("CREATE TABLE " + schema + ".TABLE_" + schema + " (id INT)")
+        }
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        def openedConnections = new AtomicInteger()
+
+        def snapshotControl = new SnapshotControl(database, Table)
+                .setConcurrency(2)
+                .setConnectionSupplier({
+                    openedConnections.incrementAndGet()
+                    return new JdbcConnection(DriverManager.getConnection(url))
+                } as SnapshotConnectionSupplier)
+
+        when:
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot([
+                new CatalogAndSchema(null, "S1"),
+                new CatalogAndSchema(null, "S2"),
+                new CatalogAndSchema(null, "S3"),
+        ] as CatalogAndSchema[], database, snapshotControl)
+
+        then:
+        openedConnections.get() == 2
+        snapshot.getDatabase() == database
+        snapshot.getSnapshotControl() == snapshotControl
+        snapshot.get(Table)*.name.sort() == ["TABLE_S1", "TABLE_S2", "TABLE_S3"]
+        snapshot.get(Schema)*.name.sort() == ["S1", "S2", "S3"]
+        snapshot.getOriginalExamples()*.name.sort() == ["S1", "S2", "S3"]
+
+        when:
+        def copy = new SnapshotControl(snapshotControl)
+
+        then:
+        copy.getConcurrency() == 2
+        copy.getConnectionSupplier() == snapshotControl.getConnectionSupplier()
+        copy.getPreviousSnapshot() == snapshotControl.getPreviousSnapshot()
+
+        cleanup:
+        connection?.createStatement()?.execute("DROP ALL OBJECTS")
+        database?.close()
+    }
+
+    def "schemas are snapshotted on the database connection without a connection supplier"() {
+        given:
+        SnapshotGeneratorFactory.reset()
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        connection.createStatement().execute("CREATE SCHEMA S1")
+        connection.createStatement().execute("CREATE TABLE S1.TABLE_S1 (id INT)")
+        connection.createStatement().execute("CREATE TABLE PUBLIC.TABLE_PUBLIC (id INT)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+
+        when:
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot([
+                new CatalogAndSchema(null, "S1"),
+                new CatalogAndSchema(null, "PUBLIC"),
+        ] as CatalogAndSchema[], database, new SnapshotControl(database, Table).setConcurrency(4))
+
+        then:
+        snapshot.get(Table)*.name.sort() == ["TABLE_PUBLIC", "TABLE_S1"]
+
+        cleanup:
+        database?.close()
+    }
+}
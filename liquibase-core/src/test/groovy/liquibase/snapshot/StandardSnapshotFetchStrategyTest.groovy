@@ -0,0 +1,141 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.structure.core.Column
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.DriverManager
+
+class StandardSnapshotFetchStrategyTest extends Specification {
+
+    private Connection connection
+    private Database database
+
+    def setup() {
+        SnapshotGeneratorFactory.reset()
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        connection.createStatement().execute("CREATE TABLE table_a (id INT, name VARCHAR(50))")
+        connection.createStatement().execute("CREATE TABLE table_b (id INT)")
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        database.close()
+    }
+
+    def "full schema snapshots fetch all columns at once"() {
+        when:
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema(null, "PUBLIC"),
+                database, new SnapshotControl(database, Table, Column))
+        def cache = snapshot.getResultSetCache("getColumns")
+
+        then:
+        snapshot.get(Column).size() == 3
+        cache.getBulkFetches() == 1
+        cache.getSingleFetches() == 0
+    }
+
+    def "snapshots of a single table only fetch the columns of that table"() {
+        when:
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot([table("TABLE_A")] as Table[],
+                database, new SnapshotControl(database, Table, Column))
+        def cache = snapshot.getResultSetCache("getColumns")
+
+        then:
+        snapshot.get(Column).size() == 2
+        cache.getBulkFetches() == 0
+        cache.getSingleFetches() > 0
+    }
+
+    def "a custom strategy replaces the default"() {
+        when:
+        def snapshotControl = new SnapshotControl(database, Table, Column)
+                .setFetchStrategy({ s, key, c -> false } as SnapshotFetchStrategy)
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema(null, "PUBLIC"),
+                database, snapshotControl)
+        def cache = snapshot.getResultSetCache("getColumns")
+
+        then:
+        snapshot.get(Column).size() == 3
+        cache.getBulkFetches() == 0
+        cache.getSingleFetches() >= 2
+    }
+
+    @Unroll
+    def "targeted snapshots fetch all rows once the single fetches took as long as a bulk fetch: #timesSingleQueried single fetches of #singleNanos, bulk fetch of #bulkNanos"() {
+        given:
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot([table("TABLE_A")] as Table[],
+                database, new SnapshotControl(database, Table))
+        def cache = new TimedResultSetCache(timesSingleQueried: timesSingleQueried, singleNanos: singleNanos, bulkNanos: bulkNanos)
+
+        expect:
+        new StandardSnapshotFetchStrategy().shouldBulkFetch(snapshot, "public", cache) == expected
+
+        where:
+        timesSingleQueried | singleNanos | bulkNanos | expected
+        0                  | 0           | 0         | false
+        2                  | 0           | 0         | false
+        3                  | 0           | 0         | true
+        1                  | 100         | 1000      | false
+        5                  | 100         | 1000      | false
+        10                 | 100         | 1000      | true
+        1                  | 1000        | 500       | true
+    }
+
+    def "snapshots of more objects than the threshold fetch all rows right away"() {
+        when:
+        def examples = (1..4).collect { table("TABLE_" + it) }
+        def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(examples as Table[], database,
+                new SnapshotControl(database, Table).setWarnIfObjectNotFound(false))
+
+        then:
+        new StandardSnapshotFetchStrategy().shouldBulkFetch(snapshot, "public", new ResultSetCache(0))
+        !new StandardSnapshotFetchStrategy(5).shouldBulkFetch(snapshot, "public", new ResultSetCache(0))
+    }
+
+    private static Table table(String name) {
+        return new Table().setName(name).setSchema(new Schema((String) null, "PUBLIC"))
+    }
+
+    private static class TimedResultSetCache extends ResultSetCache {
+        int timesSingleQueried
+        long singleNanos
+        long bulkNanos
+
+        TimedResultSetCache() {
+            super(0)
+        }
+
+        @Override
+        int getTimesSingleQueried(String schemaKey) {
+            return timesSingleQueried
+        }
+
+        @Override
+        long getSingleFetches() {
+            return (singleNanos == 0) ? 0 : timesSingleQueried
+        }
+
+        @Override
+        long getBulkFetches() {
+            return (bulkNanos == 0) ? 0 : 1
+        }
+
+        @Override
+        long getAverageSingleFetchNanos() {
+            return singleNanos
+        }
+
+        @Override
+        long getAverageBulkFetchNanos() {
+            return bulkNanos
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package liquibase.snapshot.jvm
 
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
 import liquibase.database.core.MSSQLDatabase
 import liquibase.database.core.PostgresDatabase
+import liquibase.database.jvm.JdbcConnection
 import liquibase.snapshot.CachedRow
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.snapshot.ResultSetCache
 import liquibase.statement.DatabaseFunction
 import liquibase.structure.core.Column
 import liquibase.structure.core.DataType
+import liquibase.structure.core.Relation
+import liquibase.structure.core.Table
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.sql.DriverManager
+
 class ColumnSnapshotGeneratorTest extends Specification {
     private ColumnSnapshotGenerator columnSnapshotGenerator
 
@@ -64,4 +73,51 @@ class ColumnSnapshotGeneratorTest extends Specification {
         "3::real"            | "float"   | new PostgresDatabase() | 3
         "'a value'::varchar" | "varchar" | new PostgresDatabase() | "a value"
     }
+
+    def "auto-increment columns are read once per table and cached in the snapshot"() {
+        given:
+        def connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())
+        connection.createStatement().execute("CREATE TABLE person (id INT GENERATED BY DEFAULT AS IDENTITY, name VARCHAR(50))")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        def cache = new ResultSetCache(0)
+        def snapshot = Mock(DatabaseSnapshot) {
+            getResultSetCache("getAutoIncrementColumns") >> cache
+        }
+
+        when:
+        def first = columnSnapshotGenerator.getAutoIncrementColumns(database, snapshot, null, "PUBLIC", "PERSON")
+        connection.createStatement().execute("DROP TABLE person")
+        def second = columnSnapshotGenerator.getAutoIncrementColumns(database, snapshot, null, "PUBLIC", "PERSON")
+
+        then:
+        first == ["ID"] as Set
+        first.contains("id")
+        !first.contains("NAME")
+        second.is(first)
+
+        cleanup:
+        database?.close()
+    }
+
+    def "readColumn with a snapshot goes through readColumn without one, so overrides of it still apply"() {
+        given:
+        def snapshot = Mock(DatabaseSnapshot)
+        def seenSnapshots = []
+        def generator = new ColumnSnapshotGenerator() {
+            @Override
+            protected Column readColumn(CachedRow columnMetadataResultSet, Relation table, Database database) {
+                seenSnapshots << ColumnSnapshotGenerator.READING_SNAPSHOT.get()
+                return new Column("overridden")
+            }
+        }
+
+        when:
+        def column = generator.readColumn(new CachedRow([:]), new Table(), new PostgresDatabase(), snapshot)
+
+        then:
+        column.name == "overridden"
+        seenSnapshots.size() == 1
+        seenSnapshots[0].is(snapshot)
+        ColumnSnapshotGenerator.READING_SNAPSHOT.get() == null
+    }
 }
@@ -0,0 +1,105 @@
+package liquibase.sqlgenerator.core
+
+import liquibase.database.core.MSSQLDatabase
+import liquibase.database.core.MySQLDatabase
+import liquibase.database.core.OracleDatabase
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.statement.SequenceNextValueFunction
+import liquibase.statement.core.InsertSetStatement
+import liquibase.statement.core.InsertStatement
+import spock.lang.Specification
+
+class InsertSetGeneratorTest extends Specification {
+
+    def "rows are split into statements of batchThreshold rows"() {
+        when:
+        def sql = SqlGeneratorFactory.instance.generateSql(createStatement(5, 2), new MySQLDatabase())
+
+        then:
+        sql*.toSql() == [
+                "INSERT INTO person (id, name) VALUES (0, 'name0'),(1, 'name1');",
+                "INSERT INTO person (id, name) VALUES (2, 'name2'),(3, 'name3');",
+                "INSERT INTO person (id, name) VALUES (4, 'name4');",
+        ]
+    }
+
+    def "mssql never puts more than 1000 rows into a statement"() {
+        when:
+        def sql = SqlGeneratorFactory.instance.generateSql(createStatement(2500, 5000), new MSSQLDatabase())
+
+        then:
+        sql.length == 3
+    }
+
+    def "rows are split once the statement length limit is reached"() {
+        given:
+        def generator = new InsertSetGenerator() {
+            @Override
+            protected int getMaxStatementLength(liquibase.database.Database database) {
+                return 70
+            }
+        }
+
+        when:
+        def sql = generator.generateSql(createStatement(3, 50), new MySQLDatabase(), null)
+
+        then:
+        sql*.toSql() == [
+                "INSERT INTO person (id, name) VALUES (0, 'name0'),(1, 'name1');",
+                "INSERT INTO person (id, name) VALUES (2, 'name2');",
+        ]
+    }
+
+    def "oracle uses insert all"() {
+        when:
+        def sql = SqlGeneratorFactory.instance.generateSql(createStatement(2, 50), new OracleDatabase())
+
+        then:
+        sql*.toSql() == [
+                "INSERT ALL INTO person (id, name) VALUES (0, 'name0') INTO person (id, name) VALUES (1, 'name1') SELECT * FROM DUAL"
+        ]
+    }
+
+    def "oracle keeps each insert all below 1000 target columns"() {
+        given:
+        def wide = new InsertSetStatement(null, null, "wide", 5000)
+        for (int i = 0; i < 25; i++) {
+            def insert = new InsertStatement(null, null, "wide")
+            for (int column = 0; column < 100; column++) {
+                insert.addColumnValue("col" + column, i)
+            }
+            wide.addInsertStatement(insert)
+        }
+
+        when:
+        def wideSql = SqlGeneratorFactory.instance.generateSql(wide, new OracleDatabase())
+        def narrowSql = SqlGeneratorFactory.instance.generateSql(createStatement(1500, 5000), new OracleDatabase())
+
+        then:
+        wideSql*.toSql().collect { it.count(" INTO wide ") } == [9, 9, 7]
+        narrowSql*.toSql().collect { it.count(" INTO person ") } == [499, 499, 499, 3]
+    }
+
+    def "oracle falls back to single inserts when a sequence is used"() {
+        given:
+        def statement = createStatement(2, 50)
+        statement.statements*.addColumnValue("id", new SequenceNextValueFunction("person_seq"))
+
+        when:
+        def sql = SqlGeneratorFactory.instance.generateSql(statement, new OracleDatabase())
+
+        then:
+        sql.length == 2
+        sql.every { it.toSql().startsWith("INSERT INTO person") }
+    }
+
+    private static InsertSetStatement createStatement(int rows, int batchThreshold) {
+        def statement = new InsertSetStatement(null, null, "person", batchThreshold)
+        for (int i = 0; i < rows; i++) {
+            statement.addInsertStatement(new InsertStatement(null, null, "person")
+                    .addColumnValue("id", i)
+                    .addColumnValue("name", "name" + i))
+        }
+        return statement
+    }
+}
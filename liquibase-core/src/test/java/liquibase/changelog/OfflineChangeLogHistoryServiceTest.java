@@ -15,7 +15,9 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -95,6 +97,88 @@ public class OfflineChangeLogHistoryServiceTest {
         assertFalse(writer.toString().contains("CREATE TABLE PUBLIC.DATABASECHANGELOG"));
         assertTrue(writer.toString().contains("INSERT INTO PUBLIC.DATABASECHANGELOG"));
     }
+
+    /**
+     * Test that changesets are appended to the changelogCsv in the order they ran
+     */
+    @Test
+    public void testAppendChangeSets() throws Exception {
+        // Given
+        OfflineChangeLogHistoryService service = createService(new StringWriter(), "false");
+        service.init();
+
+        // When
+        for (int i = 0; i < 250; i++) {
+            service.setExecType(createChangeSet("id" + i), ChangeSet.ExecType.EXECUTED);
+        }
+        service.reset();
+
+        // Assert
+        List<RanChangeSet> ranChangeSets = service.getRanChangeSets();
+        assertEquals(250, ranChangeSets.size());
+        for (int i = 0; i < 250; i++) {
+            assertEquals("id" + i, ranChangeSets.get(i).getId());
+        }
+    }
+
+    /**
+     * Test that changesets in the middle of the changelogCsv are replaced and removed in place
+     */
+    @Test
+    public void testReplaceAndRemoveChangeSets() throws Exception {
+        // Given
+        OfflineChangeLogHistoryService service = createService(new StringWriter(), "false");
+        service.init();
+        for (int i = 0; i < 5; i++) {
+            service.setExecType(createChangeSet("id" + i), ChangeSet.ExecType.EXECUTED);
+        }
+
+        // When
+        service.tag("a tag longer than the empty one");
+        service.setExecType(createChangeSet("id1"), ChangeSet.ExecType.RERAN);
+        service.removeFromHistory(createChangeSet("id2"));
+        service.setExecType(createChangeSet("id5"), ChangeSet.ExecType.EXECUTED);
+        service.removeFromHistory(createChangeSet("id0"));
+        service.tag("shorter");
+
+        // Assert
+        List<RanChangeSet> ranChangeSets = service.getRanChangeSets();
+        assertEquals(4, ranChangeSets.size());
+        assertEquals("id1", ranChangeSets.get(0).getId());
+        assertEquals(ChangeSet.ExecType.RERAN, ranChangeSets.get(0).getExecType());
+        assertEquals("id3", ranChangeSets.get(1).getId());
+        assertEquals("id4", ranChangeSets.get(2).getId());
+        assertEquals("a tag longer than the empty one", ranChangeSets.get(2).getTag());
+        assertEquals("id5", ranChangeSets.get(3).getId());
+        assertEquals("shorter", ranChangeSets.get(3).getTag());
+        assertFalse(new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV + ".new").exists());
+    }
+
+    /**
+     * Test that a changeset appended a second time is replaced in both lines
+     */
+    @Test
+    public void testReplaceChangeSetAppendedTwice() throws Exception {
+        // Given
+        OfflineChangeLogHistoryService service = createService(new StringWriter(), "false");
+        service.init();
+        service.setExecType(createChangeSet("id0"), ChangeSet.ExecType.EXECUTED);
+        service.setExecType(createChangeSet("id1"), ChangeSet.ExecType.EXECUTED);
+        service.tag("tag");
+
+        // When
+        service.setExecType(createChangeSet("id0"), ChangeSet.ExecType.EXECUTED);
+        service.setExecType(createChangeSet("id0"), ChangeSet.ExecType.RERAN);
+
+        // Assert
+        List<RanChangeSet> ranChangeSets = service.getRanChangeSets();
+        assertEquals(3, ranChangeSets.size());
+        assertEquals("id0", ranChangeSets.get(0).getId());
+        assertEquals(ChangeSet.ExecType.RERAN, ranChangeSets.get(0).getExecType());
+        assertEquals("id0", ranChangeSets.get(2).getId());
+        assertEquals(ChangeSet.ExecType.RERAN, ranChangeSets.get(2).getExecType());
+    }
+
     /**
      *
      * Create OfflineChangeLogHistoryService and register LoggingExecutor
@@ -122,8 +206,12 @@ public class OfflineChangeLogHistoryServiceTest {
      * Create ChangeLog and ChangeSet
      */
     private ChangeSet createChangeSet() {
+        return createChangeSet("id");
+    }
+
+    private ChangeSet createChangeSet(String id) {
         DatabaseChangeLog databaseChangeLog = new DatabaseChangeLog("/patch/changeLog.xml");
-        ChangeSet changeSet = new ChangeSet("id", "author", false, false, "/path/changeSet.xml", "", "", databaseChangeLog);
+        ChangeSet changeSet = new ChangeSet(id, "author", false, false, "/path/changeSet.xml", "", "", databaseChangeLog);
         databaseChangeLog.addChangeSet(changeSet);
         return changeSet;
     }
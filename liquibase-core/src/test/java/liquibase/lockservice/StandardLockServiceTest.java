@@ -1,14 +1,18 @@
 package liquibase.lockservice;
 
 import liquibase.Scope;
+import liquibase.database.core.MySQLDatabase;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.LockException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
+import liquibase.logging.Logger;
+import liquibase.statement.core.RawSqlStatement;
 import org.assertj.core.api.Assertions;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.MockedStatic;
 
@@ -82,6 +86,76 @@ public class StandardLockServiceTest {
         }
     }
 
+    @Test
+    public void recheckDelayGrowsWithJitterUpToThePollRate() {
+        lockService.setChangeLogLockRecheckTime(2);
+
+        Assertions.assertThat(lockService.getRecheckDelay(0)).isBetween(50L, 100L);
+        Assertions.assertThat(lockService.getRecheckDelay(1)).isBetween(100L, 200L);
+        Assertions.assertThat(lockService.getRecheckDelay(3)).isBetween(400L, 800L);
+        Assertions.assertThat(lockService.getRecheckDelay(10)).isBetween(1000L, 2000L);
+        Assertions.assertThat(lockService.getRecheckDelay(100)).isBetween(1000L, 2000L);
+
+        lockService.setChangeLogLockRecheckTime(0);
+        Assertions.assertThat(lockService.getRecheckDelay(5)).isEqualTo(0L);
+    }
+
+    @Test
+    public void advisoryLockIsAcquiredAndReleasedOnMySQL() throws Exception {
+        Executor executor = Mockito.mock(Executor.class);
+        Mockito
+            .when(executor.queryForObject(Mockito.any(), Mockito.eq(Integer.class)))
+            .thenReturn(1);
+        ExecutorService executorService = Mockito.mock(ExecutorService.class);
+        Mockito
+            .when(executorService.getExecutor(Mockito.any(), Mockito.any()))
+            .thenReturn(executor);
+        Mockito.when(mockedScope.getSingleton(ExecutorService.class)).thenReturn(executorService);
+        Mockito.when(mockedScope.getLog(Mockito.any())).thenReturn(Mockito.mock(Logger.class));
+
+        StandardLockService advisoryLockService = new StandardLockService() {
+            @Override
+            protected boolean isAdvisoryLockEnabled() {
+                return true;
+            }
+
+            @Override
+            protected String getAdvisoryLockName() {
+                return "liquibase_test";
+            }
+        };
+        advisoryLockService.setDatabase(Mockito.mock(MySQLDatabase.class));
+
+        try (MockedStatic<Scope> scope = Mockito.mockStatic(Scope.class)) {
+            scope.when(Scope::getCurrentScope).thenReturn(mockedScope);
+
+            Assertions.assertThat(advisoryLockService.acquireAdvisoryLock(2500)).isTrue();
+            advisoryLockService.releaseAdvisoryLock();
+        }
+
+        ArgumentCaptor<RawSqlStatement> statements = ArgumentCaptor.forClass(RawSqlStatement.class);
+        Mockito.verify(executor, Mockito.times(2)).queryForObject(statements.capture(), Mockito.eq(Integer.class));
+        Assertions.assertThat(statements.getAllValues().get(0).getSql()).isEqualTo("SELECT GET_LOCK('liquibase_test', 3)");
+        Assertions.assertThat(statements.getAllValues().get(1).getSql()).isEqualTo("SELECT RELEASE_LOCK('liquibase_test')");
+        Assertions.assertThat(advisoryLockService.hasAdvisoryLock).isFalse();
+    }
+
+    @Test
+    public void advisoryLockIsNotUsedWhenDisabled() {
+        try (MockedStatic<Scope> scope = Mockito.mockStatic(Scope.class)) {
+            scope.when(Scope::getCurrentScope).thenReturn(mockedScope);
+            StandardLockService disabledLockService = new StandardLockService() {
+                @Override
+                protected boolean isAdvisoryLockEnabled() {
+                    return false;
+                }
+            };
+            disabledLockService.setDatabase(Mockito.mock(MySQLDatabase.class));
+
+            Assertions.assertThat(disabledLockService.acquireAdvisoryLock(1000)).isFalse();
+        }
+    }
+
     private static List<Map<String, ?>> sampleLockData() {
         Map<String, Object> columnMapRow0 = new TreeMap<>();
 
@@ -0,0 +1,100 @@
+package liquibase.statement;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import liquibase.change.ColumnConfig;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ResourceAccessor;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.*;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BatchDmlExecutablePreparedStatementTest {
+    @Mock
+    private ChangeSet changeSet;
+
+    @Mock
+    private ResourceAccessor resourceAccessor;
+
+    @Mock
+    private JdbcConnection connection;
+
+    @Mock
+    private PreparedStatement ps;
+
+    private Database database;
+
+    private PreparedStatementFactory preparedStatementFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+        when(connection.prepareStatement(any(String.class))).thenReturn(ps);
+        when(ps.executeBatch()).thenReturn(new int[]{1, 1});
+        database = new PostgresDatabase();
+        preparedStatementFactory = new PreparedStatementFactory(connection);
+    }
+
+    @Test
+    public void testExecuteFlushesEveryBatchSizeRows() throws Exception {
+        // given
+        BatchDmlExecutablePreparedStatement statement = new BatchDmlExecutablePreparedStatement(
+                database, null, null, "person", emptyList(), changeSet, resourceAccessor, rows(5), 2);
+
+        // when
+        statement.execute(preparedStatementFactory);
+
+        // then
+        verify(connection).prepareStatement("INSERT INTO person(name) VALUES(?)");
+        verify(ps, times(5)).addBatch();
+        verify(ps, times(3)).executeBatch();
+        verify(ps, times(3)).clearBatch();
+    }
+
+    @Test
+    public void testExecuteWithoutBatchSizeSendsSingleBatch() throws Exception {
+        // given
+        BatchDmlExecutablePreparedStatement statement = new BatchDmlExecutablePreparedStatement(
+                database, null, null, "person", emptyList(), changeSet, resourceAccessor, rows(4));
+
+        // when
+        statement.execute(preparedStatementFactory);
+
+        // then
+        verify(ps, times(4)).addBatch();
+        verify(ps, times(1)).executeBatch();
+    }
+
+    @Test
+    public void testExecuteWithExactMultipleOfBatchSizeDoesNotSendEmptyBatch() throws Exception {
+        // given
+        BatchDmlExecutablePreparedStatement statement = new BatchDmlExecutablePreparedStatement(
+                database, null, null, "person", emptyList(), changeSet, resourceAccessor, rows(4), 2);
+
+        // when
+        statement.execute(preparedStatementFactory);
+
+        // then
+        verify(ps, times(2)).executeBatch();
+    }
+
+    private List<ExecutablePreparedStatementBase> rows(int count) {
+        List<ExecutablePreparedStatementBase> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new InsertExecutablePreparedStatement(database, null, null, "person",
+                    new ArrayList<ColumnConfig>(asList(new ColumnConfig().setName("name").setValue("name" + i))),
+                    changeSet, resourceAccessor));
+        }
+        return rows;
+    }
+}